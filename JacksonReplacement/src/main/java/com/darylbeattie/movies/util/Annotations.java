@@ -0,0 +1,71 @@
+package com.darylbeattie.movies.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Finds the mapping annotations by their simple name.
+ *
+ * This means that classes annotated for Jackson (e.g. with com.fasterxml.jackson.annotation.JsonProperty) can be read as well
+ * as those using the annotations in this package. The annotations are only read when the plan for a class is built.
+ */
+final class Annotations {
+
+    static final String JSON_PROPERTY = "JsonProperty";
+    static final String JSON_SETTER = "JsonSetter";
+    static final String JSON_ANY_SETTER = "JsonAnySetter";
+    static final String JSON_CREATOR = "JsonCreator";
+    static final String JSON_TYPE_INFO = "JsonTypeInfo";
+    static final String JSON_SUB_TYPES = "JsonSubTypes";
+
+    private Annotations() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static Annotation find(AnnotatedElement element, String simpleName) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (annotation.annotationType().getSimpleName().equals(simpleName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    static boolean has(AnnotatedElement element, String simpleName) {
+        return find(element, simpleName) != null;
+    }
+
+    /**
+     * Get the name given by a JsonProperty or JsonSetter annotation.
+     *
+     * @return The name, or null if there is no annotation or it has no name.
+     */
+    static String explicitName(AnnotatedElement element) {
+        for (String simpleName : new String[]{JSON_SETTER, JSON_PROPERTY}) {
+            Annotation annotation = find(element, simpleName);
+            if (annotation != null) {
+                String name = (String) value(annotation, "value");
+                if (name != null && !name.isEmpty()) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get an annotation member.
+     *
+     * @return The value, or null if the annotation has no such member.
+     */
+    static Object value(Annotation annotation, String member) {
+        try {
+            return annotation.annotationType().getMethod(member).invoke(annotation);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Unable to read " + annotation, ex);
+        }
+    }
+}
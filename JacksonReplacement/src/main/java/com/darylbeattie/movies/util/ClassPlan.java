@@ -0,0 +1,562 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The cached plan for reading one class: how to create it and how to set each of its JSON properties.
+ *
+ * The class is examined once, the same way Jackson would, and the setters and fields are turned into method handles. Reading
+ * an object after that needs no reflection.
+ */
+final class ClassPlan extends ValueReader {
+
+    private static final ConcurrentMap<Type, ClassPlan> PLANS = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType ANY_SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class, Object.class);
+    /**
+     * Setters taking types from this package are skipped, they are for Jackson only (e.g. TokenBuffer)
+     */
+    private static final String JACKSON_PACKAGE = "com.fasterxml.";
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final Map<String, PropertyPlan> properties = new HashMap<>();
+    private final PropertyPlan[] externals;
+    private final MethodHandle anySetter;
+
+    private ClassPlan(Class<?> type, Map<TypeVariable<?>, Type> bindings) {
+        this.type = type;
+        this.constructor = constructor(type);
+
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+
+        Map<String, Field> fields = new LinkedHashMap<>();
+        Map<String, Setter> setters = new LinkedHashMap<>();
+        Method any = null;
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.put(field.getName(), field);
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || method.isBridge()) {
+                    continue;
+                }
+                int params = method.getParameterTypes().length;
+                if (params == 2 && Annotations.has(method, Annotations.JSON_ANY_SETTER)) {
+                    any = method;
+                } else if (params == 1) {
+                    addSetter(method, setters);
+                }
+            }
+        }
+        this.anySetter = any == null ? null : unreflect(any, ANY_SETTER_TYPE);
+
+        // Group the members by their internal name, as Jackson does
+        Map<String, List<Setter>> groups = new LinkedHashMap<>();
+        for (Field field : fields.values()) {
+            if (isVisible(field)) {
+                groups.put(field.getName(), new ArrayList<Setter>());
+            }
+        }
+        for (Setter setter : setters.values()) {
+            List<Setter> group = groups.get(setter.internalName);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(setter.internalName, group);
+            }
+            group.add(setter);
+        }
+
+        Map<String, Integer> depths = new HashMap<>();
+        List<PropertyPlan> external = new ArrayList<>();
+        for (Map.Entry<String, List<Setter>> entry : groups.entrySet()) {
+            Field field = fields.get(entry.getKey());
+            PropertyPlan property = buildProperty(field != null && isVisible(field) ? field : null, entry.getValue(), bindings);
+            if (property == null) {
+                continue;
+            }
+            // If two members have the same JSON name the one declared in the subclass is used
+            int depth = hierarchy.indexOf(property.member.getDeclaringClass());
+            Integer existing = depths.get(property.name);
+            if (existing != null && existing == depth) {
+                throw new IllegalArgumentException("More than one property called '" + property.name + "' in " + type.getName());
+            }
+            if (existing == null || depth > existing) {
+                properties.put(property.name, property);
+                depths.put(property.name, depth);
+            }
+        }
+        for (PropertyPlan property : properties.values()) {
+            if (property.typeInfo != null && property.typeInfo.external) {
+                property.external = external.size();
+                external.add(property);
+            }
+        }
+        this.externals = external.toArray(new PropertyPlan[external.size()]);
+    }
+
+    /**
+     * Get the plan for a class or parameterized type.
+     *
+     * @param type The class or parameterized type.
+     * @param bindings The values of any type variables used in the type.
+     * @return The plan.
+     */
+    static ClassPlan planFor(Type type, Map<TypeVariable<?>, Type> bindings) {
+        boolean cacheable = bindings.isEmpty();
+        if (cacheable) {
+            ClassPlan plan = PLANS.get(type);
+            if (plan != null) {
+                return plan;
+            }
+        }
+
+        Class<?> raw = rawClass(type, bindings);
+        Map<TypeVariable<?>, Type> allBindings = new HashMap<>(bindings);
+        if (type instanceof ParameterizedType) {
+            bind(raw.getTypeParameters(), ((ParameterizedType) type).getActualTypeArguments(), allBindings);
+        }
+        for (Class<?> current = raw; current != null && current != Object.class; current = current.getSuperclass()) {
+            Type superclass = current.getGenericSuperclass();
+            if (superclass instanceof ParameterizedType) {
+                ParameterizedType parameterized = (ParameterizedType) superclass;
+                bind(((Class<?>) parameterized.getRawType()).getTypeParameters(), parameterized.getActualTypeArguments(), allBindings);
+            }
+        }
+
+        ClassPlan plan = new ClassPlan(raw, allBindings);
+        if (cacheable) {
+            ClassPlan existing = PLANS.putIfAbsent(type, plan);
+            plan = existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    private static void bind(TypeVariable<?>[] variables, Type[] arguments, Map<TypeVariable<?>, Type> bindings) {
+        for (int i = 0; i < variables.length && i < arguments.length; i++) {
+            bindings.put(variables[i], arguments[i]);
+        }
+    }
+
+    @Override
+    Object read(JsonInput in) throws IOException {
+        if (in.current() == Token.NULL) {
+            return null;
+        }
+        if (in.current() != Token.START_OBJECT) {
+            throw mismatch(in, type);
+        }
+        return readProperties(in, in.nextValue());
+    }
+
+    /**
+     * Read the properties of an object.
+     *
+     * @param in The input.
+     * @param first The current token, the first field name or the end of the object.
+     * @return The new object.
+     * @throws IOException If the object can't be read.
+     */
+    Object readProperties(JsonInput in, Token first) throws IOException {
+        Object bean = newInstance(constructor);
+        RecordedInput[] buffers = null;
+        String[] typeIds = null;
+        if (externals.length > 0) {
+            buffers = new RecordedInput[externals.length];
+            typeIds = new String[externals.length];
+        }
+
+        Token token = first;
+        for (; token == Token.FIELD_NAME; token = in.nextValue()) {
+            String name = in.text();
+            in.nextValue();
+
+            boolean typeProperty = false;
+            for (int i = 0; buffers != null && i < externals.length; i++) {
+                if (externals[i].typeInfo.property.equals(name)) {
+                    typeIds[i] = in.text();
+                    typeProperty = true;
+                }
+            }
+
+            PropertyPlan property = properties.get(name);
+            if (property == null) {
+                if (!typeProperty) {
+                    handleUnknown(bean, name, in);
+                }
+            } else if (property.external < 0) {
+                property.set(bean, property.reader().read(in));
+            } else if (typeIds[property.external] != null) {
+                property.set(bean, property.typeInfo.readerFor(typeIds[property.external]).read(in));
+            } else {
+                // The type isn't known yet, keep the value until the end of the object
+                RecordedInput buffer = new RecordedInput();
+                buffer.copyCurrent(in);
+                buffers[property.external] = buffer;
+            }
+        }
+        if (token != Token.END_OBJECT) {
+            throw mismatch(in, type);
+        }
+
+        for (int i = 0; buffers != null && i < buffers.length; i++) {
+            if (buffers[i] != null) {
+                buffers[i].replay().next();
+                externals[i].set(bean, externals[i].typeInfo.readerFor(typeIds[i]).read(buffers[i]));
+            }
+        }
+        return bean;
+    }
+
+    private void handleUnknown(Object bean, String name, JsonInput in) throws IOException {
+        if (anySetter == null) {
+            in.skipChildren();
+            return;
+        }
+        Object value = UNTYPED.read(in);
+        try {
+            anySetter.invokeExact(bean, name, value);
+        } catch (IOException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IOException("Failed to handle unknown property '" + name + "' of " + type.getName(), ex);
+        }
+    }
+
+    private static void addSetter(Method method, Map<String, Setter> setters) {
+        String methodName = method.getName();
+        boolean annotated = Annotations.has(method, Annotations.JSON_SETTER) || Annotations.has(method, Annotations.JSON_PROPERTY);
+        String internalName;
+        if (methodName.startsWith("set") && methodName.length() > 3) {
+            internalName = mangle(methodName.substring(3));
+        } else if (annotated) {
+            internalName = methodName;
+        } else {
+            return;
+        }
+
+        Setter setter = new Setter(method, internalName, annotated, Annotations.explicitName(method));
+        String key = methodName + "(" + method.getParameterTypes()[0].getName() + ")";
+        Setter overridden = setters.get(key);
+        if (overridden != null) {
+            // An overriding method keeps the annotations of the method it overrides
+            setter.annotated |= overridden.annotated;
+            if (setter.explicitName == null) {
+                setter.explicitName = overridden.explicitName;
+            }
+            setter.annotatedMembers.addAll(overridden.annotatedMembers);
+        }
+        setters.put(key, setter);
+    }
+
+    private PropertyPlan buildProperty(Field field, List<Setter> setters, Map<TypeVariable<?>, Type> bindings) {
+        Set<String> explicitNames = new HashSet<>();
+        String internalName = field == null ? setters.get(0).internalName : field.getName();
+        if (field != null && Annotations.explicitName(field) != null) {
+            explicitNames.add(Annotations.explicitName(field));
+        }
+        List<Setter> annotated = new ArrayList<>();
+        List<Setter> implicit = new ArrayList<>();
+        for (Setter setter : setters) {
+            if (setter.explicitName != null) {
+                explicitNames.add(setter.explicitName);
+            }
+            if (setter.method.getParameterTypes()[0].getName().startsWith(JACKSON_PACKAGE)) {
+                continue;
+            }
+            if (setter.annotated) {
+                annotated.add(setter);
+            } else {
+                implicit.add(setter);
+            }
+        }
+        if (explicitNames.size() > 1) {
+            throw new IllegalArgumentException("Property '" + internalName + "' of " + type.getName() + " has more than one name " + explicitNames);
+        }
+        String name = explicitNames.isEmpty() ? internalName : explicitNames.iterator().next();
+
+        // Annotated setters are preferred, then the one declared in the subclass
+        List<Setter> candidates = annotated.isEmpty() ? implicit : annotated;
+        Setter chosen = null;
+        for (Setter setter : candidates) {
+            if (chosen == null || chosen.method.getDeclaringClass().isAssignableFrom(setter.method.getDeclaringClass())) {
+                if (chosen != null && chosen.method.getDeclaringClass() == setter.method.getDeclaringClass()) {
+                    throw new IllegalArgumentException("Conflicting setters for '" + name + "' of " + type.getName());
+                }
+                chosen = setter;
+            }
+        }
+
+        List<AnnotatedElement> annotatedMembers = new ArrayList<>();
+        PropertyPlan property;
+        if (chosen != null) {
+            property = new PropertyPlan(name, chosen.method, unreflect(chosen.method, SETTER_TYPE),
+                    chosen.method.getGenericParameterTypes()[0], bindings);
+            annotatedMembers.addAll(chosen.annotatedMembers);
+        } else if (field != null && !Modifier.isFinal(field.getModifiers())) {
+            try {
+                field.setAccessible(true);
+                property = new PropertyPlan(name, field, LOOKUP.unreflectSetter(field).asType(SETTER_TYPE), field.getGenericType(), bindings);
+            } catch (IllegalAccessException | SecurityException ex) {
+                throw new IllegalArgumentException("Unable to set field " + field, ex);
+            }
+        } else {
+            return null;
+        }
+        if (field != null) {
+            annotatedMembers.add(field);
+        }
+        for (AnnotatedElement member : annotatedMembers) {
+            Annotation typeInfo = Annotations.find(member, Annotations.JSON_TYPE_INFO);
+            if (typeInfo != null) {
+                property.typeInfo = new TypeInfo(name, typeInfo, Annotations.find(member, Annotations.JSON_SUB_TYPES));
+                break;
+            }
+        }
+        return property;
+    }
+
+    private static boolean isVisible(Field field) {
+        return Modifier.isPublic(field.getModifiers()) || Annotations.has(field, Annotations.JSON_PROPERTY);
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType methodType) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asType(methodType);
+        } catch (IllegalAccessException | SecurityException ex) {
+            throw new IllegalArgumentException("Unable to call " + method, ex);
+        }
+    }
+
+    /**
+     * Jackson's naming of a property from a setter: the leading upper case letters are made lower case
+     */
+    static String mangle(String name) {
+        StringBuilder result = null;
+        for (int i = 0; i < name.length(); i++) {
+            char upper = name.charAt(i);
+            char lower = Character.toLowerCase(upper);
+            if (upper == lower) {
+                break;
+            }
+            if (result == null) {
+                result = new StringBuilder(name);
+            }
+            result.setCharAt(i, lower);
+        }
+        return result == null ? name : result.toString();
+    }
+
+    /**
+     * A single argument method that may set a property
+     */
+    private static final class Setter {
+
+        final Method method;
+        final String internalName;
+        boolean annotated;
+        String explicitName;
+        final List<AnnotatedElement> annotatedMembers = new ArrayList<>();
+
+        Setter(Method method, String internalName, boolean annotated, String explicitName) {
+            this.method = method;
+            this.internalName = internalName;
+            this.annotated = annotated;
+            this.explicitName = explicitName;
+            this.annotatedMembers.add(method);
+        }
+    }
+
+    /**
+     * How to set one property of the class
+     */
+    private final class PropertyPlan {
+
+        final String name;
+        final Member member;
+        final MethodHandle setter;
+        final Type valueType;
+        final Map<TypeVariable<?>, Type> bindings;
+        TypeInfo typeInfo;
+        int external = -1;
+        private volatile ValueReader reader;
+
+        PropertyPlan(String name, Member member, MethodHandle setter, Type valueType, Map<TypeVariable<?>, Type> bindings) {
+            this.name = name;
+            this.member = member;
+            this.setter = setter;
+            this.valueType = valueType;
+            this.bindings = bindings;
+        }
+
+        /**
+         * Get the reader for the value, this is found on first use so that classes can refer to each other
+         */
+        ValueReader reader() {
+            ValueReader result = reader;
+            if (result == null) {
+                if (typeInfo == null) {
+                    result = forType(valueType, bindings);
+                } else {
+                    Class<?> raw = rawClass(valueType, bindings);
+                    result = new TypedReader(typeInfo);
+                    if (Collection.class.isAssignableFrom(raw)) {
+                        result = CollectionReader.forClass(raw, result);
+                    }
+                }
+                reader = result;
+            }
+            return result;
+        }
+
+        void set(Object bean, Object value) throws IOException {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IOException("Failed to set '" + name + "' of " + type.getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * The subtypes of a property, chosen by a type name in the JSON
+     */
+    private static final class TypeInfo {
+
+        final String property;
+        final boolean external;
+        private final String[] names;
+        private final Class<?>[] types;
+        private final Class<?> defaultType;
+
+        TypeInfo(String propertyName, Annotation typeInfo, Annotation subTypes) {
+            String use = String.valueOf(Annotations.value(typeInfo, "use"));
+            if (!"NAME".equals(use)) {
+                throw new IllegalArgumentException("Type ids other than NAME are not supported for '" + propertyName + "'");
+            }
+            String include = String.valueOf(Annotations.value(typeInfo, "include"));
+            if (!"PROPERTY".equals(include) && !"EXTERNAL_PROPERTY".equals(include)) {
+                throw new IllegalArgumentException("Type ids included as " + include + " are not supported for '" + propertyName + "'");
+            }
+            this.external = "EXTERNAL_PROPERTY".equals(include);
+            String name = (String) Annotations.value(typeInfo, "property");
+            this.property = name == null || name.isEmpty() ? "@type" : name;
+
+            Class<?> defaultImpl = (Class<?>) Annotations.value(typeInfo, "defaultImpl");
+            boolean none = defaultImpl == null || defaultImpl == Void.class || "None".equals(defaultImpl.getSimpleName());
+            this.defaultType = none ? null : defaultImpl;
+
+            Annotation[] values = subTypes == null ? new Annotation[0] : (Annotation[]) Annotations.value(subTypes, "value");
+            this.names = new String[values.length];
+            this.types = new Class<?>[values.length];
+            for (int i = 0; i < values.length; i++) {
+                types[i] = (Class<?>) Annotations.value(values[i], "value");
+                String typeName = (String) Annotations.value(values[i], "name");
+                names[i] = typeName == null || typeName.isEmpty() ? types[i].getSimpleName() : typeName;
+            }
+        }
+
+        ValueReader readerFor(String typeName) throws IOException {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(typeName)) {
+                    return forType(types[i]);
+                }
+            }
+            if (defaultType == null) {
+                throw new IOException("Unknown type '" + typeName + "' for property '" + property + "'");
+            }
+            return forType(defaultType);
+        }
+    }
+
+    /**
+     * Reads an object that has its type name as one of its properties
+     */
+    private static final class TypedReader extends ValueReader {
+
+        private final TypeInfo typeInfo;
+
+        TypedReader(TypeInfo typeInfo) {
+            this.typeInfo = typeInfo;
+        }
+
+        @Override
+        Object read(JsonInput in) throws IOException {
+            if (in.current() == Token.NULL) {
+                return null;
+            }
+            if (in.current() != Token.START_OBJECT) {
+                throw mismatch(in, Object.class);
+            }
+
+            Token token = in.nextValue();
+            if (token == Token.FIELD_NAME && typeInfo.property.equals(in.text())) {
+                // The type comes first, so the object can be read without buffering
+                in.nextValue();
+                ValueReader reader = typeInfo.readerFor(in.text());
+                if (reader instanceof ClassPlan) {
+                    return ((ClassPlan) reader).readProperties(in, in.nextValue());
+                }
+                token = in.nextValue();
+                return readBuffered(in, token, reader);
+            }
+            return readBuffered(in, token, null);
+        }
+
+        /**
+         * Copy the rest of the object without the type property, then read it as the type found
+         */
+        private Object readBuffered(JsonInput in, Token first, ValueReader known) throws IOException {
+            RecordedInput buffer = new RecordedInput();
+            String typeName = null;
+            buffer.add(Token.START_OBJECT, null);
+            for (Token token = first; token == Token.FIELD_NAME; token = in.nextValue()) {
+                String name = in.text();
+                in.nextValue();
+                if (known == null && typeName == null && typeInfo.property.equals(name)) {
+                    typeName = in.text();
+                } else {
+                    buffer.add(Token.FIELD_NAME, name);
+                    buffer.copyCurrent(in);
+                }
+            }
+            buffer.add(Token.END_OBJECT, null);
+
+            ValueReader reader = known == null ? typeInfo.readerFor(typeName) : known;
+            buffer.replay().next();
+            return reader.read(buffer);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+
+/**
+ * A stream of JSON tokens.
+ *
+ * The text of field names, strings and numbers is available from {@link #text()} while they are the current token.
+ */
+abstract class JsonInput {
+
+    protected Token current;
+    protected String text;
+
+    /**
+     * Move to the next token.
+     *
+     * @return The token, or null at the end of the input.
+     * @throws IOException If the JSON is not valid.
+     */
+    abstract Token next() throws IOException;
+
+    Token current() {
+        return current;
+    }
+
+    String text() {
+        return text;
+    }
+
+    /**
+     * Move to the next token, failing at the end of the input.
+     */
+    Token nextValue() throws IOException {
+        Token token = next();
+        if (token == null) {
+            throw new IOException("Unexpected end of JSON input");
+        }
+        return token;
+    }
+
+    /**
+     * If the current token starts an object or array, skip to its end.
+     */
+    void skipChildren() throws IOException {
+        if (current != Token.START_OBJECT && current != Token.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (nextValue()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
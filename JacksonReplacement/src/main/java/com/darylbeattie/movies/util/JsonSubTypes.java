@@ -0,0 +1,23 @@
+package com.darylbeattie.movies.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The types that can be named by {@link JsonTypeInfo}.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonSubTypes {
+
+    Type[] value();
+
+    @interface Type {
+
+        Class<?> value();
+
+        String name() default "";
+    }
+}
@@ -0,0 +1,37 @@
+package com.darylbeattie.movies.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chooses the type of a property from a type name in the JSON. Only
+ * {@link Id#NAME} is supported.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonTypeInfo {
+
+    Id use();
+
+    As include() default As.PROPERTY;
+
+    String property() default "";
+
+    Class<?> defaultImpl() default None.class;
+
+    enum Id {
+        NONE, NAME
+    }
+
+    enum As {
+        PROPERTY, EXTERNAL_PROPERTY
+    }
+
+    /**
+     * Used when there is no default type.
+     */
+    abstract class None {
+    }
+}
@@ -0,0 +1,109 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+import org.json.JSONObject;
+
+public class ObjectMapper {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * This takes a JSON string and creates (and populates) an object of the
+     * given class with the data from that JSON string. It mimics the method
+     * signature of the jackson JSON API, so that we don't have to import the
+     * jackson library into this application.
+     *
+     * @param jsonString The JSON string to parse.
+     * @param objClass The class of object we want to create.
+     * @return The instantiation of that class, populated with data from the
+     * JSON object.
+     * @throws IOException If there was any kind of issue.
+     */
+    public <T> T readValue(String jsonString, Class<T> objClass) throws IOException {
+        return read(new TextInput(jsonString), objClass);
+    }
+
+    /**
+     * Read an object from JSON text as it arrives from the reader, without
+     * holding the whole document in memory. The reader is not closed.
+     *
+     * @param reader The JSON text.
+     * @param objClass The class of object we want to create.
+     * @return The populated object.
+     * @throws IOException If there was any kind of issue.
+     */
+    public <T> T readValue(Reader reader, Class<T> objClass) throws IOException {
+        return read(new TextInput(reader), objClass);
+    }
+
+    /**
+     * Read an object from UTF-8 JSON as it arrives from the stream. The
+     * stream is not closed.
+     *
+     * @param stream The JSON text.
+     * @param objClass The class of object we want to create.
+     * @return The populated object.
+     * @throws IOException If there was any kind of issue.
+     */
+    public <T> T readValue(InputStream stream, Class<T> objClass) throws IOException {
+        return readValue(new InputStreamReader(stream, UTF8), objClass);
+    }
+
+    /**
+     * Read an object from JSON text into a generic type, e.g. the type of a
+     * field declared as {@code List<MovieBasic>}.
+     *
+     * @param reader The JSON text.
+     * @param type The type of object we want to create.
+     * @return The populated object.
+     * @throws IOException If there was any kind of issue.
+     */
+    public Object readValue(Reader reader, Type type) throws IOException {
+        return read(new TextInput(reader), type);
+    }
+
+    /**
+     * Populate an object from an already parsed JSON object.
+     *
+     * @param json The JSON object.
+     * @param objClass The class of object we want to create.
+     * @return The populated object.
+     * @throws IOException If there was any kind of issue.
+     */
+    public <T, R> T readValue(JSONObject json, Class<T> objClass) throws IOException {
+        RecordedInput input = new RecordedInput();
+        input.addTree(json);
+        return read(input.replay(), objClass);
+    }
+
+    private <T> T read(JsonInput input, Class<T> objClass) throws IOException {
+        Object value = read(input, (Type) objClass);
+        if (objClass.isPrimitive()) {
+            @SuppressWarnings("unchecked")
+            T boxed = (T) value;
+            return boxed;
+        }
+        return objClass.cast(value);
+    }
+
+    private Object read(JsonInput input, Type type) throws IOException {
+        try {
+            if (input.next() == null) {
+                throw new IOException("No JSON content");
+            }
+            Object value = ValueReader.forType(type).read(input);
+            if (input.next() != null) {
+                throw new IOException("Unexpected content after the end of the value");
+            }
+            return value;
+        } catch (RuntimeException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
+}
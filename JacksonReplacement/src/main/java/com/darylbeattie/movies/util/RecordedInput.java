@@ -0,0 +1,109 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A recorded sequence of JSON tokens that can be replayed as input.
+ *
+ * Used to hold a value while its type is not yet known, and to read from an already parsed org.json tree.
+ */
+final class RecordedInput extends JsonInput {
+
+    private Token[] tokens = new Token[16];
+    private String[] texts = new String[16];
+    private int size = 0;
+    private int index = 0;
+
+    void add(Token token, String value) {
+        if (size == tokens.length) {
+            tokens = Arrays.copyOf(tokens, size * 2);
+            texts = Arrays.copyOf(texts, size * 2);
+        }
+        tokens[size] = token;
+        texts[size] = value;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+        index = 0;
+    }
+
+    /**
+     * Record the current value of the input, including any children.
+     */
+    void copyCurrent(JsonInput in) throws IOException {
+        add(in.current(), in.text());
+        if (in.current() != Token.START_OBJECT && in.current() != Token.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            Token token = in.nextValue();
+            add(token, in.text());
+            if (token == Token.START_OBJECT || token == Token.START_ARRAY) {
+                depth++;
+            } else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Record a value from an org.json tree.
+     */
+    void addTree(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            add(Token.START_OBJECT, null);
+            Iterator<String> keys = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                add(Token.FIELD_NAME, key);
+                addTree(object.opt(key));
+            }
+            add(Token.END_OBJECT, null);
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            add(Token.START_ARRAY, null);
+            for (int i = 0; i < array.length(); i++) {
+                addTree(array.opt(i));
+            }
+            add(Token.END_ARRAY, null);
+        } else if (value == null || JSONObject.NULL.equals(value)) {
+            add(Token.NULL, null);
+        } else if (value instanceof Boolean) {
+            add((Boolean) value ? Token.TRUE : Token.FALSE, null);
+        } else if (value instanceof Number) {
+            add(Token.NUMBER, value.toString());
+        } else {
+            add(Token.STRING, value.toString());
+        }
+    }
+
+    /**
+     * Start replaying the tokens from the beginning.
+     *
+     * @return This input, positioned before the first token.
+     */
+    RecordedInput replay() {
+        index = 0;
+        current = null;
+        text = null;
+        return this;
+    }
+
+    @Override
+    Token next() {
+        if (index == size) {
+            text = null;
+            return current = null;
+        }
+        text = texts[index];
+        return current = tokens[index++];
+    }
+}
@@ -0,0 +1,260 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads JSON tokens from text as it arrives, without building the whole document in memory.
+ */
+final class TextInput extends JsonInput {
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int pos = 0;
+    private int limit = 0;
+    private long offset = 0;
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+    private final StringBuilder builder = new StringBuilder();
+
+    TextInput(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[8192];
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    TextInput(String json) {
+        this.reader = null;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    @Override
+    Token next() throws IOException {
+        text = null;
+        int c = nextNonWhitespace();
+        int context = stack[stackSize - 1];
+        switch (context) {
+            case EMPTY_ARRAY:
+            case NONEMPTY_ARRAY:
+                if (c == ']') {
+                    stackSize--;
+                    return current = Token.END_ARRAY;
+                }
+                if (context == NONEMPTY_ARRAY) {
+                    expect(c, ',');
+                    c = nextNonWhitespace();
+                }
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                return current = readValue(c);
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                if (c == '}') {
+                    stackSize--;
+                    return current = Token.END_OBJECT;
+                }
+                if (context == NONEMPTY_OBJECT) {
+                    expect(c, ',');
+                    c = nextNonWhitespace();
+                }
+                expect(c, '"');
+                text = readString();
+                expect(nextNonWhitespace(), ':');
+                stack[stackSize - 1] = DANGLING_NAME;
+                return current = Token.FIELD_NAME;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                return current = readValue(c);
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                return current = readValue(c);
+            default:
+                if (c != -1) {
+                    throw error("Unexpected content after the end of the document");
+                }
+                return current = null;
+        }
+    }
+
+    private Token readValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                push(EMPTY_OBJECT);
+                return Token.START_OBJECT;
+            case '[':
+                push(EMPTY_ARRAY);
+                return Token.START_ARRAY;
+            case '"':
+                text = readString();
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                return Token.TRUE;
+            case 'f':
+                readLiteral("alse");
+                return Token.FALSE;
+            case 'n':
+                readLiteral("ull");
+                return Token.NULL;
+            case -1:
+                throw error("Unexpected end of JSON input");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    text = readNumber((char) c);
+                    return Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void push(int context) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = context;
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        offset += limit;
+        pos = 0;
+        limit = 0;
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) == 0) {
+            // Keep reading until there is some input or the end of the stream
+        }
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private int nextChar() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+
+    private void expect(int c, char expected) throws IOException {
+        if (c != expected) {
+            throw error(c == -1 ? "Unexpected end of JSON input" : "Expected '" + expected + "' but found '" + (char) c + "'");
+        }
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (nextChar() != rest.charAt(i)) {
+                throw error("Invalid literal");
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        // Fast path for a string with no escapes that is all in the buffer
+        int start = pos;
+        for (int i = pos; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                pos = i + 1;
+                return new String(buffer, start, i - start);
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+
+        builder.setLength(0);
+        while (true) {
+            int c = nextChar();
+            if (c == '"') {
+                return builder.toString();
+            } else if (c == '\\') {
+                builder.append(readEscape());
+            } else if (c == -1) {
+                throw error("Unterminated string");
+            } else {
+                builder.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = nextChar();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextChar(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    private String readNumber(char first) throws IOException {
+        builder.setLength(0);
+        builder.append(first);
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                builder.append(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return builder.toString();
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at character " + (offset + pos));
+    }
+}
@@ -0,0 +1,17 @@
+package com.darylbeattie.movies.util;
+
+/**
+ * The tokens read from the JSON input.
+ */
+enum Token {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    FIELD_NAME,
+    STRING,
+    NUMBER,
+    TRUE,
+    FALSE,
+    NULL
+}
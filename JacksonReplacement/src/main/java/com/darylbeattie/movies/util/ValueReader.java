@@ -0,0 +1,581 @@
+package com.darylbeattie.movies.util;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads a value of one type from the JSON input.
+ *
+ * Readers are created once for each type and then cached, so no reflection is needed to read a value.
+ */
+abstract class ValueReader {
+
+    private static final ConcurrentMap<Class<?>, ValueReader> READERS = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    static final ValueReader UNTYPED = new UntypedReader();
+
+    static {
+        addScalar(ScalarReader.STRING, String.class, String.class);
+        addScalar(ScalarReader.INT, int.class, Integer.class);
+        addScalar(ScalarReader.LONG, long.class, Long.class);
+        addScalar(ScalarReader.SHORT, short.class, Short.class);
+        addScalar(ScalarReader.BYTE, byte.class, Byte.class);
+        addScalar(ScalarReader.FLOAT, float.class, Float.class);
+        addScalar(ScalarReader.DOUBLE, double.class, Double.class);
+        addScalar(ScalarReader.BOOLEAN, boolean.class, Boolean.class);
+        addScalar(ScalarReader.CHAR, char.class, Character.class);
+        READERS.put(Object.class, UNTYPED);
+    }
+
+    private static void addScalar(int kind, Class<?> primitive, Class<?> boxed) {
+        READERS.put(primitive, new ScalarReader(kind, primitive.isPrimitive()));
+        if (boxed != primitive) {
+            READERS.put(boxed, new ScalarReader(kind, false));
+        }
+    }
+
+    /**
+     * Read the value that starts at the current token.
+     *
+     * @param in The input, positioned on the first token of the value.
+     * @return The value.
+     * @throws IOException If the value can't be read.
+     */
+    abstract Object read(JsonInput in) throws IOException;
+
+    /**
+     * Get the reader for a type.
+     *
+     * @param type The type, with no unresolved type variables.
+     * @return The reader.
+     */
+    static ValueReader forType(Type type) {
+        return forType(type, Collections.<TypeVariable<?>, Type>emptyMap());
+    }
+
+    /**
+     * Get the reader for a type.
+     *
+     * @param type The type.
+     * @param bindings The values of any type variables in the type.
+     * @return The reader.
+     */
+    static ValueReader forType(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof Class) {
+            Class<?> cls = (Class<?>) type;
+            ValueReader reader = READERS.get(cls);
+            if (reader == null) {
+                reader = createReader(cls);
+                ValueReader existing = READERS.putIfAbsent(cls, reader);
+                reader = existing == null ? reader : existing;
+            }
+            return reader;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw)) {
+                return new CollectionReader(collectionConstructor(raw), forType(arguments[0], bindings));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return new MapReader(mapConstructor(raw), rawClass(arguments[0], bindings), forType(arguments[1], bindings));
+            }
+            return ClassPlan.planFor(parameterized, bindings);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            return new ArrayReader(rawClass(component, bindings), forType(component, bindings));
+        }
+        if (type instanceof WildcardType) {
+            return forType(((WildcardType) type).getUpperBounds()[0], bindings);
+        }
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return forType(bound == null ? ((TypeVariable<?>) type).getBounds()[0] : bound, bindings);
+        }
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    private static ValueReader createReader(Class<?> cls) {
+        if (cls.isEnum()) {
+            return new EnumReader(cls);
+        }
+        if (cls.isArray()) {
+            return new ArrayReader(cls.getComponentType(), forType(cls.getComponentType()));
+        }
+        if (Collection.class.isAssignableFrom(cls)) {
+            return new CollectionReader(collectionConstructor(cls), UNTYPED);
+        }
+        if (Map.class.isAssignableFrom(cls)) {
+            return new MapReader(mapConstructor(cls), String.class, UNTYPED);
+        }
+        return ClassPlan.planFor(cls, Collections.<TypeVariable<?>, Type>emptyMap());
+    }
+
+    /**
+     * Get the class of a type, ignoring any type arguments.
+     */
+    static Class<?> rawClass(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType(), bindings);
+            return Array.newInstance(component, 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0], bindings);
+        }
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return rawClass(bound == null ? ((TypeVariable<?>) type).getBounds()[0] : bound, bindings);
+        }
+        return Object.class;
+    }
+
+    static MethodHandle constructor(Class<?> cls) {
+        try {
+            Constructor<?> constructor = cls.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException ex) {
+            throw new IllegalArgumentException("No default constructor for " + cls.getName(), ex);
+        }
+    }
+
+    private static MethodHandle collectionConstructor(Class<?> cls) {
+        if (cls.isInterface() || Modifier.isAbstract(cls.getModifiers())) {
+            if (SortedSet.class.isAssignableFrom(cls)) {
+                return constructor(TreeSet.class);
+            }
+            return constructor(Set.class.isAssignableFrom(cls) ? HashSet.class : ArrayList.class);
+        }
+        return constructor(cls);
+    }
+
+    private static MethodHandle mapConstructor(Class<?> cls) {
+        if (cls.isInterface() || Modifier.isAbstract(cls.getModifiers())) {
+            return constructor(LinkedHashMap.class);
+        }
+        return constructor(cls);
+    }
+
+    static Object newInstance(MethodHandle constructor) throws IOException {
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (IOException | RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IOException("Failed to create instance", ex);
+        }
+    }
+
+    static IOException mismatch(JsonInput in, Class<?> type) {
+        return new IOException("Can't read " + in.current() + " as " + type.getName());
+    }
+
+    /**
+     * Simple values: strings, numbers, booleans and characters
+     */
+    private static final class ScalarReader extends ValueReader {
+
+        static final int STRING = 0;
+        static final int INT = 1;
+        static final int LONG = 2;
+        static final int SHORT = 3;
+        static final int BYTE = 4;
+        static final int FLOAT = 5;
+        static final int DOUBLE = 6;
+        static final int BOOLEAN = 7;
+        static final int CHAR = 8;
+        private final int kind;
+        private final boolean primitive;
+
+        ScalarReader(int kind, boolean primitive) {
+            this.kind = kind;
+            this.primitive = primitive;
+        }
+
+        @Override
+        Object read(JsonInput in) throws IOException {
+            Token token = in.current();
+            if (token == Token.NULL) {
+                return nullValue();
+            }
+            if (kind == STRING) {
+                if (token == Token.STRING || token == Token.NUMBER) {
+                    return in.text();
+                }
+                if (token == Token.TRUE || token == Token.FALSE) {
+                    return token == Token.TRUE ? "true" : "false";
+                }
+                throw mismatch(in, String.class);
+            }
+            if (kind == BOOLEAN) {
+                return readBoolean(in);
+            }
+            if (token != Token.NUMBER && token != Token.STRING) {
+                throw mismatch(in, primitive ? int.class : Number.class);
+            }
+            String text = in.text().trim();
+            if (text.isEmpty()) {
+                return nullValue();
+            }
+            if (kind == CHAR) {
+                if (text.length() != 1) {
+                    throw mismatch(in, char.class);
+                }
+                return text.charAt(0);
+            }
+            try {
+                return parseNumber(text);
+            } catch (NumberFormatException ex) {
+                throw new IOException("Invalid number '" + text + "'", ex);
+            }
+        }
+
+        private Object readBoolean(JsonInput in) throws IOException {
+            switch (in.current()) {
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case NUMBER:
+                    return !"0".equals(in.text());
+                case STRING:
+                    String text = in.text().trim();
+                    if ("true".equals(text)) {
+                        return Boolean.TRUE;
+                    }
+                    if ("false".equals(text)) {
+                        return Boolean.FALSE;
+                    }
+                    if (text.isEmpty()) {
+                        return nullValue();
+                    }
+                    throw new IOException("Invalid boolean '" + text + "'");
+                default:
+                    throw mismatch(in, boolean.class);
+            }
+        }
+
+        private Object parseNumber(String text) {
+            switch (kind) {
+                case INT:
+                    return (int) parseLong(text);
+                case LONG:
+                    return parseLong(text);
+                case SHORT:
+                    return (short) parseLong(text);
+                case BYTE:
+                    return (byte) parseLong(text);
+                case FLOAT:
+                    return Float.parseFloat(text);
+                default:
+                    return Double.parseDouble(text);
+            }
+        }
+
+        private static long parseLong(String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ex) {
+                // Allow floating point values for integer types, as Jackson does
+                return (long) Double.parseDouble(text);
+            }
+        }
+
+        private Object nullValue() {
+            if (!primitive) {
+                return null;
+            }
+            switch (kind) {
+                case INT:
+                    return 0;
+                case LONG:
+                    return 0L;
+                case SHORT:
+                    return (short) 0;
+                case BYTE:
+                    return (byte) 0;
+                case FLOAT:
+                    return 0f;
+                case DOUBLE:
+                    return 0d;
+                case BOOLEAN:
+                    return Boolean.FALSE;
+                default:
+                    return '\0';
+            }
+        }
+    }
+
+    /**
+     * Any value, read as maps, lists, strings, numbers and booleans
+     */
+    private static final class UntypedReader extends ValueReader {
+
+        private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+        private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+        @Override
+        Object read(JsonInput in) throws IOException {
+            switch (in.current()) {
+                case START_OBJECT:
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    while (in.nextValue() == Token.FIELD_NAME) {
+                        String name = in.text();
+                        in.nextValue();
+                        map.put(name, read(in));
+                    }
+                    return map;
+                case START_ARRAY:
+                    List<Object> list = new ArrayList<>();
+                    while (in.nextValue() != Token.END_ARRAY) {
+                        list.add(read(in));
+                    }
+                    return list;
+                case STRING:
+                    return in.text();
+                case NUMBER:
+                    return parseNumber(in.text());
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case NULL:
+                    return null;
+                default:
+                    throw mismatch(in, Object.class);
+            }
+        }
+
+        private static Number parseNumber(String text) throws IOException {
+            try {
+                if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+                    return Double.valueOf(text);
+                }
+                BigInteger value = new BigInteger(text);
+                if (value.compareTo(LONG_MIN) < 0 || value.compareTo(LONG_MAX) > 0) {
+                    return value;
+                }
+                long longValue = value.longValue();
+                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                    return (int) longValue;
+                }
+                return longValue;
+            } catch (NumberFormatException ex) {
+                throw new IOException("Invalid number '" + text + "'", ex);
+            }
+        }
+    }
+
+    /**
+     * Enum constants, by name or with a JsonCreator factory method
+     */
+    private static final class EnumReader extends ValueReader {
+
+        private final Class<?> type;
+        private final Object[] constants;
+        private final Map<String, Object> byName = new HashMap<>();
+        private final MethodHandle creator;
+
+        EnumReader(Class<?> type) {
+            this.type = type;
+            this.constants = type.getEnumConstants();
+            for (Object constant : constants) {
+                byName.put(((Enum<?>) constant).name(), constant);
+            }
+            this.creator = findCreator(type);
+        }
+
+        private static MethodHandle findCreator(Class<?> type) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers())
+                        && method.getParameterTypes().length == 1
+                        && method.getParameterTypes()[0] == String.class
+                        && Annotations.has(method, Annotations.JSON_CREATOR)) {
+                    try {
+                        method.setAccessible(true);
+                        return LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, String.class));
+                    } catch (IllegalAccessException ex) {
+                        throw new IllegalArgumentException("Unable to use creator " + method, ex);
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Object read(JsonInput in) throws IOException {
+            switch (in.current()) {
+                case NULL:
+                    return null;
+                case NUMBER:
+                    int ordinal = Integer.parseInt(in.text());
+                    if (ordinal < 0 || ordinal >= constants.length) {
+                        throw new IOException("No " + type.getName() + " with index " + ordinal);
+                    }
+                    return constants[ordinal];
+                case STRING:
+                    return fromString(in.text());
+                default:
+                    throw mismatch(in, type);
+            }
+        }
+
+        private Object fromString(String text) throws IOException {
+            if (creator != null) {
+                try {
+                    return (Object) creator.invokeExact(text);
+                } catch (IOException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new IOException("Failed to create " + type.getName() + " from '" + text + "'", ex);
+                }
+            }
+            Object constant = byName.get(text);
+            if (constant == null) {
+                throw new IOException("No " + type.getName() + " called '" + text + "'");
+            }
+            return constant;
+        }
+    }
+
+    /**
+     * Lists and sets
+     */
+    static final class CollectionReader extends ValueReader {
+
+        private final MethodHandle constructor;
+        private final ValueReader element;
+
+        CollectionReader(MethodHandle constructor, ValueReader element) {
+            this.constructor = constructor;
+            this.element = element;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object read(JsonInput in) throws IOException {
+            if (in.current() == Token.NULL) {
+                return null;
+            }
+            if (in.current() != Token.START_ARRAY) {
+                throw mismatch(in, Collection.class);
+            }
+            Collection<Object> collection = (Collection<Object>) newInstance(constructor);
+            while (in.nextValue() != Token.END_ARRAY) {
+                collection.add(element.read(in));
+            }
+            return collection;
+        }
+
+        static ValueReader forClass(Class<?> cls, ValueReader element) {
+            return new CollectionReader(collectionConstructor(cls), element);
+        }
+    }
+
+    /**
+     * Arrays of any type
+     */
+    private static final class ArrayReader extends ValueReader {
+
+        private final Class<?> component;
+        private final ValueReader element;
+
+        ArrayReader(Class<?> component, ValueReader element) {
+            this.component = component;
+            this.element = element;
+        }
+
+        @Override
+        Object read(JsonInput in) throws IOException {
+            if (in.current() == Token.NULL) {
+                return null;
+            }
+            if (in.current() != Token.START_ARRAY) {
+                throw mismatch(in, Array.newInstance(component, 0).getClass());
+            }
+            List<Object> values = new ArrayList<>();
+            while (in.nextValue() != Token.END_ARRAY) {
+                values.add(element.read(in));
+            }
+            Object array = Array.newInstance(component, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                Array.set(array, i, values.get(i));
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Maps with string, number or enum keys
+     */
+    private static final class MapReader extends ValueReader {
+
+        private final MethodHandle constructor;
+        private final ValueReader keyReader;
+        private final ValueReader value;
+
+        MapReader(MethodHandle constructor, Class<?> keyType, ValueReader value) {
+            this.constructor = constructor;
+            this.keyReader = keyType == String.class || keyType == Object.class ? null : forType(keyType);
+            this.value = value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object read(JsonInput in) throws IOException {
+            if (in.current() == Token.NULL) {
+                return null;
+            }
+            if (in.current() != Token.START_OBJECT) {
+                throw mismatch(in, Map.class);
+            }
+            Map<Object, Object> map = (Map<Object, Object>) newInstance(constructor);
+            RecordedInput key = keyReader == null ? null : new RecordedInput();
+            while (in.nextValue() == Token.FIELD_NAME) {
+                Object name = in.text();
+                if (key != null) {
+                    key.clear();
+                    key.add(Token.STRING, in.text());
+                    key.replay().next();
+                    name = keyReader.read(key);
+                }
+                in.nextValue();
+                map.put(name, value.read(in));
+            }
+            return map;
+        }
+    }
+}
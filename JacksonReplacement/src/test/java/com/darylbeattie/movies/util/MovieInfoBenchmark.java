@@ -0,0 +1,48 @@
+package com.darylbeattie.movies.util;
+
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares this mapper with Jackson databind reading a MovieInfo response.
+ *
+ * Run with "mvn test-compile exec:exec -P benchmark".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieInfoBenchmark {
+
+    private final String json = ObjectMapperTest.readResource("/movie-info.json");
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final com.fasterxml.jackson.databind.ObjectMapper jackson = new com.fasterxml.jackson.databind.ObjectMapper();
+
+    @Benchmark
+    public MovieInfo jackson() throws IOException {
+        return jackson.readValue(json, MovieInfo.class);
+    }
+
+    @Benchmark
+    public MovieInfo streaming() throws IOException {
+        return mapper.readValue(json, MovieInfo.class);
+    }
+
+    @Benchmark
+    public MovieInfo jsonObject() throws Exception {
+        return mapper.readValue(new JSONObject(json), MovieInfo.class);
+    }
+}
@@ -0,0 +1,196 @@
+package com.darylbeattie.movies.util;
+
+import com.omertron.themoviedbapi.model.artwork.ArtworkMedia;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.WrapperMultiSearch;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import org.json.JSONObject;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectMapperTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final com.fasterxml.jackson.databind.ObjectMapper JACKSON = new com.fasterxml.jackson.databind.ObjectMapper();
+    private static final String ITEM_JSON = "{\"id\":12,\"title\":\"Fight \\\"Club\\\" \\u00e9\",\"rating\":7.5,\"adult\":true,"
+            + "\"tags\":[\"a\",\"b\"],\"counts\":{\"x\":1,\"y\":2},\"kind\":\"big\",\"extra\":{\"nested\":[1,2.5,null]},"
+            + "\"children\":[{\"id\":13,\"title\":null}],\"code\":\"AB\"}";
+
+    public enum Kind {
+        SMALL, BIG;
+
+        @JsonCreator
+        public static Kind fromString(String value) {
+            return valueOf(value.toUpperCase());
+        }
+    }
+
+    public static class Item {
+
+        @JsonProperty("id")
+        private int id;
+        private String title;
+        @JsonProperty("rating")
+        private float rating;
+        public boolean adult;
+        private List<String> tags;
+        private Map<String, Integer> counts;
+        private Kind kind;
+        private List<Item> children;
+        private String code;
+        private final Map<String, Object> unknown = new HashMap<>();
+
+        @JsonSetter("title")
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public void setCounts(Map<String, Integer> counts) {
+            this.counts = counts;
+        }
+
+        public void setKind(Kind kind) {
+            this.kind = kind;
+        }
+
+        public void setChildren(List<Item> children) {
+            this.children = children;
+        }
+
+        private void setCode(String code) {
+            this.code = code.toLowerCase();
+        }
+
+        @JsonAnySetter
+        protected void handleUnknown(String key, Object value) {
+            unknown.put(key, value);
+        }
+    }
+
+    public static class Shape {
+
+        public String colour;
+    }
+
+    public static class Circle extends Shape {
+
+        public double radius;
+    }
+
+    public static class Square extends Shape {
+
+        public double side;
+    }
+
+    public static class Drawing {
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = Shape.class)
+        @JsonSubTypes({
+            @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+            @JsonSubTypes.Type(value = Square.class)
+        })
+        public List<Shape> shapes = new ArrayList<>();
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY, property = "main_type")
+        @JsonSubTypes({
+            @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+            @JsonSubTypes.Type(value = Square.class, name = "square")
+        })
+        public Shape main;
+    }
+
+    @Test
+    public void testReadValue() throws IOException {
+        checkItem(MAPPER.readValue(ITEM_JSON, Item.class));
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        checkItem(MAPPER.readValue(new StringReader(ITEM_JSON), Item.class));
+    }
+
+    @Test
+    public void testJsonObject() throws Exception {
+        checkItem(MAPPER.readValue(new JSONObject(ITEM_JSON), Item.class));
+    }
+
+    private static void checkItem(Item item) {
+        assertEquals("Wrong id", 12, item.id);
+        assertEquals("Wrong title", "Fight \"Club\" \u00e9", item.title);
+        assertEquals("Wrong rating", 7.5f, item.rating, 0.0001f);
+        assertTrue("Wrong adult", item.adult);
+        assertEquals("Wrong tags", 2, item.tags.size());
+        assertEquals("Wrong counts", Integer.valueOf(2), item.counts.get("y"));
+        assertEquals("Wrong kind", Kind.BIG, item.kind);
+        assertEquals("Wrong child", 13, item.children.get(0).id);
+        assertNull("Wrong child title", item.children.get(0).title);
+        assertEquals("Wrong code", "ab", item.code);
+        assertTrue("Missing unknown", item.unknown.containsKey("extra"));
+        assertEquals("Wrong unknown", 1, item.unknown.size());
+    }
+
+    @Test
+    public void testTypes() throws IOException {
+        String json = "{\"shapes\":[{\"type\":\"circle\",\"colour\":\"red\",\"radius\":2},"
+                + "{\"side\":3,\"type\":\"Square\"},{\"colour\":\"blue\"}],"
+                + "\"main\":{\"side\":4},\"main_type\":\"square\"}";
+        Drawing drawing = MAPPER.readValue(json, Drawing.class);
+        assertEquals("Wrong shapes", 3, drawing.shapes.size());
+        assertEquals("Wrong circle", 2d, ((Circle) drawing.shapes.get(0)).radius, 0.0001);
+        assertEquals("Wrong colour", "red", drawing.shapes.get(0).colour);
+        assertEquals("Wrong square", 3d, ((Square) drawing.shapes.get(1)).side, 0.0001);
+        assertEquals("Wrong default", Shape.class, drawing.shapes.get(2).getClass());
+        assertEquals("Wrong main", 4d, ((Square) drawing.main).side, 0.0001);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalid() throws IOException {
+        MAPPER.readValue("{\"id\":12,", Item.class);
+    }
+
+    @Test
+    public void testMovieInfo() throws IOException {
+        String json = readResource("/movie-info.json");
+        MovieInfo expected = JACKSON.readValue(json, MovieInfo.class);
+        MovieInfo actual = MAPPER.readValue(json, MovieInfo.class);
+        assertEquals("Wrong movie", expected.toString(), actual.toString());
+        assertEquals("Wrong company", "Fox 2000 Pictures", actual.getProductionCompanies().get(1).getName());
+    }
+
+    @Test
+    public void testJacksonTypes() throws IOException {
+        String json = "{\"page\":1,\"results\":[{\"id\":550,\"media_type\":\"movie\",\"title\":\"Fight Club\"},"
+                + "{\"id\":1396,\"name\":\"Breaking Bad\",\"media_type\":\"tv\"}],\"total_pages\":1,\"total_results\":2}";
+        WrapperMultiSearch expected = JACKSON.readValue(json, WrapperMultiSearch.class);
+        WrapperMultiSearch actual = MAPPER.readValue(json, WrapperMultiSearch.class);
+        assertEquals("Wrong results", expected.getResults().toString(), actual.getResults().toString());
+        assertTrue("Wrong TV type", actual.getResults().get(1) instanceof TVBasic);
+
+        json = "{\"media\":{\"id\":1396,\"name\":\"Breaking Bad\"},\"media_type\":\"tv\"}";
+        ArtworkMedia expectedArtwork = JACKSON.readValue(json, ArtworkMedia.class);
+        ArtworkMedia actualArtwork = MAPPER.readValue(json, ArtworkMedia.class);
+        assertEquals("Wrong artwork", expectedArtwork.toString(), actualArtwork.toString());
+    }
+
+    static String readResource(String name) {
+        try (InputStream stream = ObjectMapperTest.class.getResourceAsStream(name);
+                Scanner scanner = new Scanner(stream, "UTF-8")) {
+            return scanner.useDelimiter("\\A").next();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
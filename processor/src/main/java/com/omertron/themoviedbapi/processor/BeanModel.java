@@ -0,0 +1,60 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * The JSON properties of a model class
+ */
+final class BeanModel {
+
+    final TypeElement type;
+    final String packageName;
+    final String beanClass;
+    final String deserializerName;
+    final List<BeanProperty> properties = new ArrayList<>();
+    /**
+     * Count unknown properties with UnknownProperties rather than passing them to Jackson
+     */
+    boolean recordUnknown;
+
+    BeanModel(TypeElement type, String packageName, String deserializerName) {
+        this.type = type;
+        this.packageName = packageName;
+        this.beanClass = type.getQualifiedName().toString();
+        this.deserializerName = deserializerName;
+    }
+
+    String getQualifiedDeserializerName() {
+        return packageName.isEmpty() ? deserializerName : packageName + "." + deserializerName;
+    }
+
+    BeanProperty find(String name) {
+        for (BeanProperty property : properties) {
+            if (property.name.equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+}
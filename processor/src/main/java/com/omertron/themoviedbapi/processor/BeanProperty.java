@@ -0,0 +1,97 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.processor;
+
+import java.util.List;
+import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A JSON property of a model class and how to set it
+ */
+final class BeanProperty {
+
+    /**
+     * How the value of the property is read
+     */
+    enum Kind {
+        /**
+         * Simple value read with one of the StdDeserializer parse methods
+         */
+        SCALAR,
+        /**
+         * Value copied into a TokenBuffer, or read with the section setter when the append section is not lazy
+         */
+        BUFFER,
+        /**
+         * Object with the type name as one of its properties
+         */
+        TYPED,
+        /**
+         * List of objects with the type name as one of their properties
+         */
+        TYPED_LIST,
+        /**
+         * Object with the type name as a property of the parent
+         */
+        EXTERNAL,
+        /**
+         * Any other value, read with the deserializer from Jackson
+         */
+        VALUE
+    }
+
+    final String name;
+    final Element member;
+    final String mutator;
+    final boolean field;
+    final TypeMirror type;
+    final Kind kind;
+    final boolean nullable;
+    TypeMirror sectionType;
+    String parseMethod;
+    String typeProperty;
+    List<String> typeNames;
+    List<String> typeClasses;
+    String defaultType;
+
+    BeanProperty(String name, Element member, boolean field, TypeMirror type, Kind kind, boolean nullable) {
+        this.name = name;
+        this.member = member;
+        this.mutator = member.getSimpleName().toString();
+        this.field = field;
+        this.type = type;
+        this.kind = kind;
+        this.nullable = nullable;
+    }
+
+    /**
+     * Create the statement to set the value on the bean
+     *
+     * @param value
+     * @return
+     */
+    String assign(String value) {
+        if (field) {
+            return "bean." + mutator + " = " + value + ";";
+        }
+        return "bean." + mutator + "(" + value + ");";
+    }
+}
@@ -0,0 +1,707 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a streaming Jackson deserializer for each model class that uses the Jackson annotations, along with a module to
+ * register them.
+ *
+ * The generated code calls the setters directly, so Jackson doesn't need to introspect the classes at runtime. Classes that
+ * use a feature the generator doesn't support are left to the normal Jackson bean deserializer, with a note in the build
+ * output.
+ *
+ * Options:
+ * <ul>
+ * <li>themoviedbapi.processor.package - only classes in this package (and below) are processed</li>
+ * <li>themoviedbapi.processor.module - the qualified name of the module class to generate</li>
+ * </ul>
+ */
+@SupportedAnnotationTypes({
+    DeserializerProcessor.JSON_PROPERTY,
+    DeserializerProcessor.JSON_SETTER
+})
+@SupportedOptions({
+    DeserializerProcessor.OPTION_PACKAGE,
+    DeserializerProcessor.OPTION_MODULE
+})
+public class DeserializerProcessor extends AbstractProcessor {
+
+    static final String OPTION_PACKAGE = "themoviedbapi.processor.package";
+    static final String OPTION_MODULE = "themoviedbapi.processor.module";
+    private static final String DEFAULT_PACKAGE = "com.omertron.themoviedbapi";
+    private static final String DEFAULT_MODULE = "com.omertron.themoviedbapi.tools.GeneratedDeserializerModule";
+
+    private static final String JACKSON_PREFIX = "com.fasterxml.jackson.";
+    static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    static final String JSON_SETTER = "com.fasterxml.jackson.annotation.JsonSetter";
+    private static final String JSON_ANY_SETTER = "com.fasterxml.jackson.annotation.JsonAnySetter";
+    private static final String JSON_TYPE_INFO = "com.fasterxml.jackson.annotation.JsonTypeInfo";
+    private static final String JSON_SUB_TYPES = "com.fasterxml.jackson.annotation.JsonSubTypes";
+    private static final String JSON_TYPE_NAME = "com.fasterxml.jackson.annotation.JsonTypeName";
+    private static final String JSON_ROOT_NAME = "com.fasterxml.jackson.annotation.JsonRootName";
+    private static final Set<String> MEMBER_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            JSON_PROPERTY, JSON_SETTER, JSON_ANY_SETTER, JSON_TYPE_INFO, JSON_SUB_TYPES));
+    private static final String TOKEN_BUFFER = "com.fasterxml.jackson.databind.util.TokenBuffer";
+    private static final String UNKNOWN_HANDLER_CLASS = "com.omertron.themoviedbapi.model.AbstractJsonMapping";
+    private static final String UNKNOWN_HANDLER_METHOD = "handleUnknown";
+    private static final Map<String, String> PARSE_METHODS = new LinkedHashMap<>();
+
+    static {
+        PARSE_METHODS.put("int", "_parseIntPrimitive");
+        PARSE_METHODS.put("java.lang.Integer", "_parseInteger");
+        PARSE_METHODS.put("long", "_parseLongPrimitive");
+        PARSE_METHODS.put("java.lang.Long", "_parseLong");
+        PARSE_METHODS.put("float", "_parseFloatPrimitive");
+        PARSE_METHODS.put("java.lang.Float", "_parseFloat");
+        PARSE_METHODS.put("double", "_parseDoublePrimitive");
+        PARSE_METHODS.put("java.lang.Double", "_parseDouble");
+        PARSE_METHODS.put("boolean", "_parseBooleanPrimitive");
+        PARSE_METHODS.put("java.lang.Boolean", "_parseBoolean");
+        PARSE_METHODS.put("short", "_parseShortPrimitive");
+        PARSE_METHODS.put("java.lang.Short", "_parseShort");
+        PARSE_METHODS.put("java.lang.String", "_parseString");
+    }
+
+    private boolean done = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (done || roundEnv.processingOver()) {
+            return false;
+        }
+        done = true;
+
+        String packagePrefix = option(OPTION_PACKAGE, DEFAULT_PACKAGE);
+        List<TypeElement> candidates = new ArrayList<>();
+        for (Element element : roundEnv.getRootElements()) {
+            addCandidates(element, packagePrefix, candidates);
+        }
+
+        List<BeanModel> models = new ArrayList<>();
+        for (TypeElement type : candidates) {
+            BeanModel model = analyse(type);
+            if (model != null) {
+                models.add(model);
+            }
+        }
+
+        DeserializerWriter writer = new DeserializerWriter(processingEnv);
+        try {
+            for (BeanModel model : models) {
+                writer.writeDeserializer(model);
+            }
+            writer.writeModule(option(OPTION_MODULE, DEFAULT_MODULE), models);
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write deserializers: " + ex.getMessage());
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated " + models.size() + " deserializers");
+        return false;
+    }
+
+    private String option(String name, String defaultValue) {
+        String value = processingEnv.getOptions().get(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private void addCandidates(Element element, String packagePrefix, List<TypeElement> candidates) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String name = type.getQualifiedName().toString();
+        if (!name.startsWith(packagePrefix)) {
+            return;
+        }
+        candidates.add(type);
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            addCandidates(nested, packagePrefix, candidates);
+        }
+    }
+
+    /**
+     * Work out the properties of the class
+     *
+     * @param type
+     * @return The model, or null if a deserializer can't or shouldn't be generated
+     */
+    private BeanModel analyse(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC)
+                || modifiers.contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()
+                || (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC))
+                || type.getNestingKind() == NestingKind.LOCAL
+                || type.getNestingKind() == NestingKind.ANONYMOUS
+                || !hasPublicConstructor(type)) {
+            return null;
+        }
+
+        List<TypeElement> hierarchy = getHierarchy(type);
+        if (!usesJackson(hierarchy)) {
+            return null;
+        }
+
+        try {
+            return buildModel(type, hierarchy);
+        } catch (UnsupportedException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Using Jackson for " + type.getQualifiedName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean hasPublicConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the class and its superclasses, from the top down
+     */
+    private List<TypeElement> getHierarchy(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !"java.lang.Object".equals(current.getQualifiedName().toString())) {
+            hierarchy.add(0, current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return hierarchy;
+    }
+
+    private static boolean usesJackson(List<TypeElement> hierarchy) {
+        for (TypeElement type : hierarchy) {
+            for (Element member : type.getEnclosedElements()) {
+                for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+                    if (annotationName(annotation).startsWith(JACKSON_PREFIX)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private BeanModel buildModel(TypeElement type, List<TypeElement> hierarchy) throws UnsupportedException {
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        Map<String, Setter> setters = new LinkedHashMap<>();
+        ExecutableElement anySetter = null;
+
+        for (TypeElement current : hierarchy) {
+            for (AnnotationMirror annotation : current.getAnnotationMirrors()) {
+                String name = annotationName(annotation);
+                if (name.startsWith(JACKSON_PREFIX) && !JSON_ROOT_NAME.equals(name)) {
+                    throw new UnsupportedException("@" + simpleName(name) + " on " + current.getSimpleName());
+                }
+            }
+
+            for (Element member : current.getEnclosedElements()) {
+                if (member.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (member.getKind() == ElementKind.FIELD) {
+                    checkAnnotations(member);
+                    if (member.getModifiers().contains(Modifier.TRANSIENT)) {
+                        continue;
+                    }
+                    fields.put(member.getSimpleName().toString(), (VariableElement) member);
+                } else if (member.getKind() == ElementKind.METHOD) {
+                    checkAnnotations(member);
+                    ExecutableElement method = (ExecutableElement) member;
+                    int params = method.getParameters().size();
+                    if (params == 2 && hasAnnotation(method, JSON_ANY_SETTER)) {
+                        anySetter = method;
+                    } else if (params == 1) {
+                        addSetter(method, setters);
+                    } else if (params == 0 && hasJacksonAnnotation(method)) {
+                        throw new UnsupportedException("annotated getter " + method.getSimpleName());
+                    }
+                }
+            }
+        }
+
+        String packageName = getPackage(type).getQualifiedName().toString();
+        BeanModel model = new BeanModel(type, packageName, deserializerName(type));
+        model.recordUnknown = checkAnySetter(anySetter);
+
+        // Group the members by their internal name
+        Map<String, List<Setter>> groups = new LinkedHashMap<>();
+        for (String name : fields.keySet()) {
+            if (isVisibleField(fields.get(name))) {
+                groups.put(name, new ArrayList<Setter>());
+            }
+        }
+        for (Setter setter : setters.values()) {
+            List<Setter> group = groups.get(setter.internalName);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(setter.internalName, group);
+            }
+            group.add(setter);
+        }
+
+        for (Map.Entry<String, List<Setter>> entry : groups.entrySet()) {
+            VariableElement field = fields.get(entry.getKey());
+            if (field != null && !isVisibleField(field)) {
+                field = null;
+            }
+            BeanProperty property = buildProperty(type, entry.getKey(), field, entry.getValue());
+            if (property != null) {
+                addProperty(model, hierarchy, property);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Add the property to the model. As in Jackson, if two members have the same JSON name the one declared in the subclass is used
+     */
+    private static void addProperty(BeanModel model, List<TypeElement> hierarchy, BeanProperty property) throws UnsupportedException {
+        BeanProperty existing = model.find(property.name);
+        if (existing == null) {
+            model.properties.add(property);
+            return;
+        }
+        int existingDepth = hierarchy.indexOf(existing.member.getEnclosingElement());
+        int depth = hierarchy.indexOf(property.member.getEnclosingElement());
+        if (depth == existingDepth) {
+            throw new UnsupportedException("more than one property called '" + property.name + "'");
+        }
+        if (depth > existingDepth) {
+            model.properties.set(model.properties.indexOf(existing), property);
+        }
+    }
+
+    private BeanProperty buildProperty(TypeElement type, String internalName, VariableElement field, List<Setter> setters) throws UnsupportedException {
+        Set<String> explicitNames = new HashSet<>();
+        if (field != null) {
+            addExplicitName(explicitName(field), explicitNames);
+        }
+        List<Setter> annotated = new ArrayList<>();
+        for (Setter setter : setters) {
+            addExplicitName(setter.explicitName, explicitNames);
+            if (setter.annotated) {
+                annotated.add(setter);
+            }
+        }
+        if (explicitNames.size() > 1) {
+            throw new UnsupportedException("property '" + internalName + "' has more than one name " + explicitNames);
+        }
+        String name = explicitNames.isEmpty() ? internalName : explicitNames.iterator().next();
+
+        // Annotated setters are preferred over implicit ones, as in Jackson
+        List<Setter> candidates = annotated.isEmpty() ? setters : annotated;
+        if (candidates.size() > 1) {
+            throw new UnsupportedException("conflicting setters for '" + name + "'");
+        }
+
+        Element member;
+        boolean isField;
+        TypeMirror valueType;
+        List<Element> members = new ArrayList<>();
+        if (candidates.size() == 1) {
+            ExecutableElement method = candidates.get(0).method;
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                throw new UnsupportedException("setter " + method.getSimpleName() + " is not public");
+            }
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), method);
+            member = method;
+            isField = false;
+            valueType = methodType.getParameterTypes().get(0);
+            members.addAll(candidates.get(0).annotatedMembers);
+        } else if (field != null) {
+            if (!field.getModifiers().contains(Modifier.PUBLIC) || field.getModifiers().contains(Modifier.FINAL)) {
+                throw new UnsupportedException("field '" + field.getSimpleName() + "' has no setter");
+            }
+            member = field;
+            isField = true;
+            valueType = processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), field);
+        } else {
+            return null;
+        }
+        if (field != null) {
+            members.add(field);
+        }
+        if (containsTypeVariable(valueType)) {
+            throw new UnsupportedException("property '" + name + "' has a generic type");
+        }
+
+        AnnotationMirror typeInfo = null;
+        AnnotationMirror subTypes = null;
+        for (Element element : members) {
+            if (typeInfo == null) {
+                typeInfo = findAnnotation(element, JSON_TYPE_INFO);
+                subTypes = findAnnotation(element, JSON_SUB_TYPES);
+            }
+        }
+        if (typeInfo != null) {
+            return buildTypedProperty(name, member, isField, valueType, typeInfo, subTypes);
+        }
+
+        String key = valueType.toString();
+        if (PARSE_METHODS.containsKey(key)) {
+            BeanProperty property = new BeanProperty(name, member, isField, valueType, BeanProperty.Kind.SCALAR, !valueType.getKind().isPrimitive());
+            property.parseMethod = PARSE_METHODS.get(key);
+            return property;
+        }
+        if (TOKEN_BUFFER.equals(key)) {
+            BeanProperty property = new BeanProperty(name, member, isField, valueType, BeanProperty.Kind.BUFFER, true);
+            if (!isField) {
+                property.sectionType = sectionType(type, (ExecutableElement) member, setters);
+            }
+            return property;
+        }
+        return new BeanProperty(name, member, isField, valueType, BeanProperty.Kind.VALUE, true);
+    }
+
+    /**
+     * Find the type of the setter with the same name that takes the mapped section rather than the buffer
+     */
+    private TypeMirror sectionType(TypeElement type, ExecutableElement bufferSetter, List<Setter> setters) {
+        for (Setter setter : setters) {
+            ExecutableElement method = setter.method;
+            if (method == bufferSetter || !method.getSimpleName().equals(bufferSetter.getSimpleName())
+                    || !method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), method);
+            TypeMirror sectionType = methodType.getParameterTypes().get(0);
+            if (!TOKEN_BUFFER.equals(sectionType.toString()) && !sectionType.getKind().isPrimitive() && !containsTypeVariable(sectionType)) {
+                return sectionType;
+            }
+        }
+        return null;
+    }
+
+    private BeanProperty buildTypedProperty(String name, Element member, boolean isField, TypeMirror valueType, AnnotationMirror typeInfo, AnnotationMirror subTypes) throws UnsupportedException {
+        Map<String, Object> values = annotationValues(typeInfo);
+        if (!"NAME".equals(values.get("use").toString())) {
+            throw new UnsupportedException("type ids other than NAME for '" + name + "'");
+        }
+        if (Boolean.TRUE.equals(values.get("visible"))) {
+            throw new UnsupportedException("visible type id for '" + name + "'");
+        }
+        TypeMirror defaultImpl = (TypeMirror) values.get("defaultImpl");
+        String defaultType = processingEnv.getTypeUtils().erasure(defaultImpl).toString();
+        if (defaultType.startsWith(JACKSON_PREFIX)) {
+            throw new UnsupportedException("no default type for '" + name + "'");
+        }
+        String typeProperty = values.get("property").toString();
+        if (typeProperty.isEmpty()) {
+            typeProperty = "@type";
+        }
+
+        BeanProperty.Kind kind;
+        String include = values.get("include").toString();
+        if ("PROPERTY".equals(include)) {
+            kind = isCollection(valueType) ? BeanProperty.Kind.TYPED_LIST : BeanProperty.Kind.TYPED;
+        } else if ("EXTERNAL_PROPERTY".equals(include) && !isCollection(valueType)) {
+            kind = BeanProperty.Kind.EXTERNAL;
+        } else {
+            throw new UnsupportedException("type id included as " + include + " for '" + name + "'");
+        }
+
+        List<String> typeNames = new ArrayList<>();
+        List<String> typeClasses = new ArrayList<>();
+        if (subTypes != null) {
+            for (Object item : (List<?>) annotationValues(subTypes).get("value")) {
+                Map<String, Object> subType = annotationValues((AnnotationMirror) ((AnnotationValue) item).getValue());
+                TypeMirror subClass = (TypeMirror) subType.get("value");
+                String typeName = subType.get("name").toString();
+                if (typeName.isEmpty()) {
+                    Element subElement = processingEnv.getTypeUtils().asElement(subClass);
+                    if (findAnnotation(subElement, JSON_TYPE_NAME) != null) {
+                        throw new UnsupportedException("@JsonTypeName on " + subElement.getSimpleName());
+                    }
+                    typeName = subElement.getSimpleName().toString();
+                }
+                typeNames.add(typeName);
+                typeClasses.add(processingEnv.getTypeUtils().erasure(subClass).toString());
+            }
+        }
+
+        BeanProperty property = new BeanProperty(name, member, isField, valueType, kind, true);
+        property.typeProperty = typeProperty;
+        property.typeNames = typeNames;
+        property.typeClasses = typeClasses;
+        property.defaultType = defaultType;
+        return property;
+    }
+
+    private boolean isCollection(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeMirror arrayList = processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement("java.util.ArrayList").asType());
+        TypeMirror collection = processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement("java.util.Collection").asType());
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (processingEnv.getTypeUtils().isAssignable(erased, collection)) {
+            if (processingEnv.getTypeUtils().isAssignable(arrayList, erased)) {
+                return true;
+            }
+            throw new UnsupportedException("collection type " + type + " is not a list");
+        }
+        return false;
+    }
+
+    private static boolean containsTypeVariable(TypeMirror type) {
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                if (containsTypeVariable(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addSetter(ExecutableElement method, Map<String, Setter> setters) {
+        String methodName = method.getSimpleName().toString();
+        boolean annotated = hasAnnotation(method, JSON_SETTER) || hasAnnotation(method, JSON_PROPERTY);
+        String internalName;
+        if (methodName.startsWith("set") && methodName.length() > 3) {
+            internalName = manglePropertyName(methodName, 3);
+        } else if (annotated) {
+            internalName = methodName;
+        } else {
+            return;
+        }
+
+        String key = methodName + "(" + processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType()) + ")";
+        Setter setter = new Setter(method, internalName, annotated, explicitName(method));
+        setter.annotatedMembers.add(method);
+
+        // An overriding method inherits the annotations of the method it overrides
+        Setter overridden = setters.get(key);
+        if (overridden != null) {
+            setter.annotated |= overridden.annotated;
+            if (setter.explicitName == null) {
+                setter.explicitName = overridden.explicitName;
+            }
+            setter.annotatedMembers.addAll(overridden.annotatedMembers);
+        }
+        setters.put(key, setter);
+    }
+
+    private boolean checkAnySetter(ExecutableElement anySetter) throws UnsupportedException {
+        if (anySetter == null) {
+            return false;
+        }
+        TypeElement owner = (TypeElement) anySetter.getEnclosingElement();
+        if (UNKNOWN_HANDLER_CLASS.equals(owner.getQualifiedName().toString())
+                && UNKNOWN_HANDLER_METHOD.equals(anySetter.getSimpleName().toString())) {
+            return true;
+        }
+        throw new UnsupportedException("@JsonAnySetter " + anySetter.getSimpleName());
+    }
+
+    private static void checkAnnotations(Element member) throws UnsupportedException {
+        for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+            String name = annotationName(annotation);
+            if (name.startsWith(JACKSON_PREFIX) && !MEMBER_ANNOTATIONS.contains(name)) {
+                throw new UnsupportedException("@" + simpleName(name) + " on " + member.getSimpleName());
+            }
+        }
+    }
+
+    private static boolean isVisibleField(Element field) {
+        return field.getModifiers().contains(Modifier.PUBLIC) || hasAnnotation(field, JSON_PROPERTY);
+    }
+
+    private static void addExplicitName(String name, Set<String> names) {
+        if (name != null) {
+            names.add(name);
+        }
+    }
+
+    /**
+     * Get the name from the @JsonProperty or @JsonSetter annotation
+     *
+     * @return The name, or null if there isn't one
+     */
+    private String explicitName(Element member) {
+        for (String annotationName : new String[]{JSON_SETTER, JSON_PROPERTY}) {
+            AnnotationMirror annotation = findAnnotation(member, annotationName);
+            if (annotation != null) {
+                String name = annotationValues(annotation).get("value").toString();
+                if (!name.isEmpty()) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Jackson's (non standard bean) naming of a property from a setter
+     */
+    static String manglePropertyName(String methodName, int offset) {
+        int end = methodName.length();
+        char first = methodName.charAt(offset);
+        char lower = Character.toLowerCase(first);
+        if (first == lower) {
+            return methodName.substring(offset);
+        }
+        StringBuilder name = new StringBuilder(end - offset);
+        name.append(lower);
+        for (int i = offset + 1; i < end; i++) {
+            char c = methodName.charAt(i);
+            char d = Character.toLowerCase(c);
+            if (c == d) {
+                name.append(methodName, i, end);
+                break;
+            }
+            name.append(d);
+        }
+        return name.toString();
+    }
+
+    private static String deserializerName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("Deserializer").toString();
+    }
+
+    private static PackageElement getPackage(Element element) {
+        Element current = element;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private Map<String, Object> annotationValues(AnnotationMirror annotation) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<? extends ExecutableElement, ? extends AnnotationValue> withDefaults = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : withDefaults.entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        return values;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String name) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (name.equals(annotationName(annotation))) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(Element element, String name) {
+        return findAnnotation(element, name) != null;
+    }
+
+    private static boolean hasJacksonAnnotation(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotationName(annotation).startsWith(JACKSON_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String annotationName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * A single argument method that may set a property
+     */
+    private static final class Setter {
+
+        final ExecutableElement method;
+        final String internalName;
+        boolean annotated;
+        String explicitName;
+        final List<Element> annotatedMembers = new ArrayList<>();
+
+        Setter(ExecutableElement method, String internalName, boolean annotated, String explicitName) {
+            this.method = method;
+            this.internalName = internalName;
+            this.annotated = annotated;
+            this.explicitName = explicitName;
+        }
+    }
+
+    /**
+     * Thrown when a class uses a feature that the generated code doesn't support
+     */
+    private static final class UnsupportedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.JavaFileObject;
+
+/**
+ * Writes the source of the generated deserializers and the module that registers them
+ */
+final class DeserializerWriter {
+
+    private static final String INDENT = "    ";
+    private final ProcessingEnvironment processingEnv;
+
+    DeserializerWriter(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    /**
+     * Write the deserializer for a model class
+     *
+     * @param model
+     * @throws IOException
+     */
+    void writeDeserializer(BeanModel model) throws IOException {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(model.getQualifiedDeserializerName(), model.type);
+        try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+            if (!model.packageName.isEmpty()) {
+                out.println("package " + model.packageName + ";");
+                out.println();
+            }
+            out.println("import com.fasterxml.jackson.core.JsonParser;");
+            out.println("import com.fasterxml.jackson.core.JsonToken;");
+            out.println("import com.fasterxml.jackson.databind.DeserializationContext;");
+            out.println("import com.fasterxml.jackson.databind.JavaType;");
+            out.println("import com.fasterxml.jackson.databind.JsonDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.JsonMappingException;");
+            out.println("import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.type.TypeFactory;");
+            out.println("import com.fasterxml.jackson.databind.util.TokenBuffer;");
+            out.println("import com.omertron.themoviedbapi.model.AppendSection;");
+            out.println("import com.omertron.themoviedbapi.tools.GeneratedDeserializers;");
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("/**");
+            out.println(" * Generated deserializer for {@link " + model.beanClass + "}");
+            out.println(" */");
+            out.println("@SuppressWarnings(\"unchecked\")");
+            out.println("public final class " + model.deserializerName + " extends StdDeserializer<" + model.beanClass + "> implements ResolvableDeserializer {");
+            out.println();
+            out.println(INDENT + "private static final long serialVersionUID = 1L;");
+            writeConstants(model, out);
+            out.println();
+            out.println(INDENT + "public " + model.deserializerName + "() {");
+            out.println(INDENT + INDENT + "super(" + model.beanClass + ".class);");
+            out.println(INDENT + "}");
+            out.println();
+            writeResolve(model, out);
+            out.println();
+            out.println(INDENT + "@Override");
+            out.println(INDENT + "public boolean isCachable() {");
+            out.println(INDENT + INDENT + "return true;");
+            out.println(INDENT + "}");
+            out.println();
+            writeDeserialize(model, out);
+            out.println("}");
+        }
+    }
+
+    private void writeConstants(BeanModel model, PrintWriter out) {
+        boolean factory = false;
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            if (hasDeserializer(property)) {
+                if (!factory) {
+                    out.println(INDENT + "private static final TypeFactory TYPE_FACTORY = TypeFactory.defaultInstance();");
+                    factory = true;
+                }
+                out.println(INDENT + "private static final JavaType TYPE_" + i + " = " + javaType(valueType(property)) + ";");
+            } else if (isTyped(property)) {
+                out.println(INDENT + "private static final String[] NAMES_" + i + " = {" + names(property.typeNames) + "};");
+                out.println(INDENT + "private static final Class<?>[] TYPES_" + i + " = {" + classes(property.typeClasses) + "};");
+            }
+        }
+        for (int i = 0; i < model.properties.size(); i++) {
+            if (hasDeserializer(model.properties.get(i))) {
+                out.println(INDENT + "private transient JsonDeserializer<Object> deserializer" + i + ";");
+            }
+        }
+    }
+
+    private void writeResolve(BeanModel model, PrintWriter out) {
+        out.println(INDENT + "@Override");
+        out.println(INDENT + "public void resolve(DeserializationContext ctxt) throws JsonMappingException {");
+        for (int i = 0; i < model.properties.size(); i++) {
+            if (hasDeserializer(model.properties.get(i))) {
+                out.println(INDENT + INDENT + "deserializer" + i + " = ctxt.findRootValueDeserializer(TYPE_" + i + ");");
+            }
+        }
+        out.println(INDENT + "}");
+    }
+
+    private void writeDeserialize(BeanModel model, PrintWriter out) {
+        String i2 = INDENT + INDENT;
+        String i3 = i2 + INDENT;
+        String i4 = i3 + INDENT;
+        out.println(INDENT + "@Override");
+        out.println(INDENT + "public " + model.beanClass + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+        out.println(i2 + model.beanClass + " bean = new " + model.beanClass + "();");
+        out.println(i2 + "JsonToken t = p.getCurrentToken();");
+        out.println(i2 + "if (t == JsonToken.START_OBJECT) {");
+        out.println(i3 + "t = p.nextToken();");
+        out.println(i2 + "}");
+        for (int i = 0; i < model.properties.size(); i++) {
+            if (model.properties.get(i).kind == BeanProperty.Kind.EXTERNAL) {
+                out.println(i2 + "TokenBuffer external" + i + " = null;");
+                out.println(i2 + "String externalType" + i + " = null;");
+            }
+        }
+        out.println(i2 + "for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {");
+        out.println(i3 + "String name = p.getCurrentName();");
+        out.println(i3 + "p.nextToken();");
+        out.println(i3 + "switch (name) {");
+
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            out.println(i4 + "case \"" + escape(property.name) + "\":");
+            writeExternalTypeCapture(model, property.name, out, i4 + INDENT);
+            writeRead(property, i, out, i4 + INDENT);
+            out.println(i4 + INDENT + "break;");
+        }
+        // Type properties that are not also properties of the bean
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            if (property.kind == BeanProperty.Kind.EXTERNAL && model.find(property.typeProperty) == null
+                    && firstExternal(model, property.typeProperty) == i) {
+                out.println(i4 + "case \"" + escape(property.typeProperty) + "\":");
+                writeExternalTypeCapture(model, property.typeProperty, out, i4 + INDENT);
+                out.println(i4 + INDENT + "break;");
+            }
+        }
+
+        out.println(i4 + "default:");
+        if (model.recordUnknown) {
+            out.println(i4 + INDENT + "GeneratedDeserializers.unknown(p, " + model.beanClass + ".class, name);");
+        } else {
+            out.println(i4 + INDENT + "handleUnknownProperty(p, ctxt, bean, name);");
+        }
+        out.println(i4 + INDENT + "break;");
+        out.println(i3 + "}");
+        out.println(i2 + "}");
+        out.println(i2 + "if (t != JsonToken.END_OBJECT) {");
+        out.println(i3 + "throw ctxt.mappingException(" + model.beanClass + ".class, t);");
+        out.println(i2 + "}");
+
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            if (property.kind == BeanProperty.Kind.EXTERNAL) {
+                out.println(i2 + "if (external" + i + " != null) {");
+                out.println(i3 + property.assign(cast(property) + "GeneratedDeserializers.external(external" + i + ", p, ctxt, externalType" + i
+                        + ", NAMES_" + i + ", TYPES_" + i + ", " + property.defaultType + ".class)"));
+                out.println(i2 + "}");
+            }
+        }
+        out.println(i2 + "return bean;");
+        out.println(INDENT + "}");
+    }
+
+    private static int firstExternal(BeanModel model, String typeProperty) {
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            if (property.kind == BeanProperty.Kind.EXTERNAL && property.typeProperty.equals(typeProperty)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Keep the type name for any external properties that use this property as their type
+     */
+    private static void writeExternalTypeCapture(BeanModel model, String name, PrintWriter out, String indent) {
+        for (int i = 0; i < model.properties.size(); i++) {
+            BeanProperty property = model.properties.get(i);
+            if (property.kind == BeanProperty.Kind.EXTERNAL && property.typeProperty.equals(name)) {
+                out.println(indent + "externalType" + i + " = p.getValueAsString();");
+            }
+        }
+    }
+
+    private void writeRead(BeanProperty property, int index, PrintWriter out, String indent) {
+        switch (property.kind) {
+            case SCALAR:
+                String parse = property.parseMethod + "(p, ctxt)";
+                if (property.nullable) {
+                    parse = "p.getCurrentToken() == JsonToken.VALUE_NULL ? null : " + parse;
+                }
+                out.println(indent + property.assign(parse));
+                break;
+            case BUFFER:
+                if (property.sectionType == null) {
+                    out.println(indent + property.assign("p.getCurrentToken() == JsonToken.VALUE_NULL ? null : GeneratedDeserializers.buffer(p, ctxt)"));
+                    break;
+                }
+                // Only buffer the section when it is mapped lazily
+                out.println(indent + "if (p.getCurrentToken() == JsonToken.VALUE_NULL) {");
+                out.println(indent + INDENT + property.assign("(TokenBuffer) null"));
+                out.println(indent + "} else if (AppendSection.isLazy()) {");
+                out.println(indent + INDENT + property.assign("GeneratedDeserializers.buffer(p, ctxt)"));
+                out.println(indent + "} else {");
+                out.println(indent + INDENT + property.assign("(" + property.sectionType + ") GeneratedDeserializers.value(p, ctxt, deserializer" + index + ")"));
+                out.println(indent + "}");
+                break;
+            case TYPED:
+                out.println(indent + property.assign(cast(property) + "GeneratedDeserializers.typed(p, ctxt, \"" + escape(property.typeProperty)
+                        + "\", NAMES_" + index + ", TYPES_" + index + ", " + property.defaultType + ".class)"));
+                break;
+            case TYPED_LIST:
+                out.println(indent + property.assign(cast(property) + "(Object) GeneratedDeserializers.typedList(p, ctxt, \"" + escape(property.typeProperty)
+                        + "\", NAMES_" + index + ", TYPES_" + index + ", " + property.defaultType + ".class)"));
+                break;
+            case EXTERNAL:
+                out.println(indent + "external" + index + " = p.getCurrentToken() == JsonToken.VALUE_NULL ? null : GeneratedDeserializers.buffer(p, ctxt);");
+                break;
+            default:
+                out.println(indent + property.assign(cast(property) + "GeneratedDeserializers.value(p, ctxt, deserializer" + index + ")"));
+                break;
+        }
+    }
+
+    private static boolean hasDeserializer(BeanProperty property) {
+        return property.kind == BeanProperty.Kind.VALUE || (property.kind == BeanProperty.Kind.BUFFER && property.sectionType != null);
+    }
+
+    private static TypeMirror valueType(BeanProperty property) {
+        return property.kind == BeanProperty.Kind.BUFFER ? property.sectionType : property.type;
+    }
+
+    private String cast(BeanProperty property) {
+        TypeMirror type = property.type;
+        if (type.getKind().isPrimitive()) {
+            type = processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType();
+        }
+        return "(" + type + ") ";
+    }
+
+    /**
+     * Create the source for a Jackson JavaType matching the declared type
+     */
+    private String javaType(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return "TYPE_FACTORY.constructArrayType(" + javaType(((ArrayType) type).getComponentType()) + ")";
+            case WILDCARD:
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                return bound == null ? "TYPE_FACTORY.constructType(Object.class)" : javaType(bound);
+            case DECLARED:
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                String raw = processingEnv.getTypeUtils().erasure(type) + ".class";
+                if (arguments.isEmpty()) {
+                    return "TYPE_FACTORY.constructType(" + raw + ")";
+                }
+                StringBuilder source = new StringBuilder("TYPE_FACTORY.constructParametricType(").append(raw);
+                for (TypeMirror argument : arguments) {
+                    source.append(", ").append(javaType(argument));
+                }
+                return source.append(')').toString();
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return "TYPE_FACTORY.constructType(" + type + ".class)";
+                }
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+
+    /**
+     * Write the module that registers all the generated deserializers
+     *
+     * @param moduleName The qualified name of the module
+     * @param models
+     * @throws IOException
+     */
+    void writeModule(String moduleName, List<BeanModel> models) throws IOException {
+        int dot = moduleName.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : moduleName.substring(0, dot);
+        String simpleName = moduleName.substring(dot + 1);
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(moduleName);
+        try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import com.fasterxml.jackson.databind.module.SimpleModule;");
+            out.println();
+            out.println("/**");
+            out.println(" * Generated module registering " + models.size() + " deserializers");
+            out.println(" */");
+            out.println("public final class " + simpleName + " extends SimpleModule {");
+            out.println();
+            out.println(INDENT + "private static final long serialVersionUID = 1L;");
+            out.println();
+            out.println(INDENT + "public " + simpleName + "() {");
+            out.println(INDENT + INDENT + "super(\"" + simpleName + "\");");
+            for (BeanModel model : models) {
+                out.println(INDENT + INDENT + "addDeserializer(" + model.beanClass + ".class, new " + model.getQualifiedDeserializerName() + "());");
+            }
+            out.println(INDENT + "}");
+            out.println("}");
+        }
+    }
+
+    private static boolean isTyped(BeanProperty property) {
+        return property.kind == BeanProperty.Kind.TYPED
+                || property.kind == BeanProperty.Kind.TYPED_LIST
+                || property.kind == BeanProperty.Kind.EXTERNAL;
+    }
+
+    private static String names(List<String> names) {
+        StringBuilder source = new StringBuilder();
+        for (String name : names) {
+            if (source.length() > 0) {
+                source.append(", ");
+            }
+            source.append('"').append(escape(name)).append('"');
+        }
+        return source.toString();
+    }
+
+    private static String classes(List<String> classes) {
+        StringBuilder source = new StringBuilder();
+        for (String name : classes) {
+            if (source.length() > 0) {
+                source.append(", ");
+            }
+            source.append(name).append(".class");
+        }
+        return source.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -20,7 +20,8 @@
 package com.omertron.themoviedbapi;
 
 import com.omertron.themoviedbapi.model.movie.MovieInfo;
-import org.apache.commons.lang3.StringUtils;
+import com.omertron.themoviedbapi.tools.TitleMatcher;
+import java.util.List;
 
 /**
  * Compare various objects to see if the are logically the same.
@@ -31,9 +32,6 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class Compare {
 
-    // Constants
-    private static final int YEAR_LENGTH = 4;
-
     private Compare() {
         throw new UnsupportedOperationException("Utility class");
     }
@@ -53,6 +51,8 @@ public class Compare {
     /**
      * Compare the MovieDB object with a title & year
      *
+     * The titles are compared without accents and other diacritics, see {@link TitleMatcher}
+     *
      * @param moviedb The moviedb object to compare too
      * @param title The title of the movie to compare
      * @param year The year of the movie to compare
@@ -62,48 +62,21 @@ public class Compare {
      * @return True if there is a match, False otherwise.
      */
     public static boolean movies(final MovieInfo moviedb, final String title, final String year, int maxDistance, boolean caseSensitive) {
-        if ((moviedb == null) || (StringUtils.isBlank(title))) {
-            return false;
-        }
-
-        String primaryTitle, firstCompareTitle, secondCompareTitle;
-        if (caseSensitive) {
-            primaryTitle = title;
-            firstCompareTitle = moviedb.getOriginalTitle();
-            secondCompareTitle = moviedb.getTitle();
-        } else {
-            primaryTitle = title.toLowerCase();
-            firstCompareTitle = moviedb.getTitle().toLowerCase();
-            secondCompareTitle = moviedb.getOriginalTitle().toLowerCase();
-        }
-
-        if (isValidYear(year) && isValidYear(moviedb.getReleaseDate())) {
-            // Compare with year
-            String movieYear = moviedb.getReleaseDate().substring(0, YEAR_LENGTH);
-            return movieYear.equals(year) && compareTitles(primaryTitle, firstCompareTitle, secondCompareTitle, maxDistance);
-        }
-
-        // Compare without year
-        return compareTitles(primaryTitle, firstCompareTitle, secondCompareTitle, maxDistance);
+        return TitleMatcher.matches(moviedb, title, year, maxDistance, caseSensitive);
     }
 
     /**
-     * Compare a title with two other titles.
+     * Find the movie that is the closest match for the title & year
      *
-     * @param primaryTitle Primary title
-     * @param firstCompareTitle First title to compare with
-     * @param secondCompareTitle Second title to compare with
-     * @param maxDistance Maximum difference between the titles
-     * @return
+     * @param movies The movies to compare
+     * @param title The title of the movie to compare
+     * @param year The year of the movie to compare
+     * @param maxDistance The Levenshtein Distance between the two titles. 0 = exact match
+     * @param caseSensitive true if the comparison is to be case sensitive
+     * @return The closest movie, or null if none match
      */
-    private static boolean compareTitles(String primaryTitle, String firstCompareTitle, String secondCompareTitle, int maxDistance) {
-        // Compare with the first title
-        if (compareDistance(primaryTitle, firstCompareTitle, maxDistance)) {
-            return true;
-        }
-
-        // Compare with the other title
-        return compareDistance(primaryTitle, secondCompareTitle, maxDistance);
+    public static MovieInfo bestMatch(final List<MovieInfo> movies, final String title, final String year, int maxDistance, boolean caseSensitive) {
+        return new TitleMatcher(maxDistance, caseSensitive).bestMatch(movies, title, year);
     }
 
     /**
@@ -118,24 +91,4 @@ public class Compare {
     public static boolean movies(final MovieInfo moviedb, final String title, final String year, int maxDistance) {
         return Compare.movies(moviedb, title, year, maxDistance, true);
     }
-
-    /**
-     * Compare the Levenshtein Distance between the two strings
-     *
-     * @param title1
-     * @param title2
-     * @param distance
-     */
-    private static boolean compareDistance(final String title1, final String title2, int distance) {
-        return StringUtils.getLevenshteinDistance(title1, title2) <= distance;
-    }
-
-    /**
-     * Check the year is not blank or UNKNOWN
-     *
-     * @param year
-     */
-    private static boolean isValidYear(final String year) {
-        return StringUtils.isNotBlank(year) && !"UNKNOWN".equals(year);
-    }
 }
@@ -23,6 +23,7 @@ import com.omertron.themoviedbapi.enumeration.ExternalSource;
 import com.omertron.themoviedbapi.enumeration.MediaType;
 import com.omertron.themoviedbapi.enumeration.SearchType;
 import com.omertron.themoviedbapi.enumeration.SortBy;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
 import com.omertron.themoviedbapi.methods.TmdbAccount;
 import com.omertron.themoviedbapi.methods.TmdbAuthentication;
 import com.omertron.themoviedbapi.methods.TmdbCertifications;
@@ -88,10 +89,13 @@ import com.omertron.themoviedbapi.model.tv.TVBasic;
 import com.omertron.themoviedbapi.model.tv.TVEpisodeInfo;
 import com.omertron.themoviedbapi.model.tv.TVInfo;
 import com.omertron.themoviedbapi.model.tv.TVSeasonInfo;
+import com.omertron.themoviedbapi.results.ProjectedPage;
 import com.omertron.themoviedbapi.results.ResultList;
 import com.omertron.themoviedbapi.results.ResultsMap;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import com.omertron.themoviedbapi.tools.HttpTools;
 import com.omertron.themoviedbapi.tools.MethodBase;
+import com.omertron.themoviedbapi.tools.Projection;
 import java.net.URL;
 import java.util.List;
 import org.apache.http.client.HttpClient;
@@ -463,6 +467,44 @@ public class TheMovieDbApi {
         return tmdbChanges.getChangeList(MethodBase.MOVIE, page, startDate, endDate);
     }
 
+    /**
+     * Get a list of Movie IDs that have been edited.
+     *
+     * You can then use the movie changes API to get the actual data that has
+     * been changed.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param projection The fields to keep
+     * @return Page of changed IDs
+     * @throws MovieDbException
+     */
+    public ProjectedPage getMovieChangeList(Integer page, String startDate, String endDate, Projection projection) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.MOVIE, page, startDate, endDate, projection);
+    }
+
+    /**
+     * Get a list of Movie IDs that have been edited.
+     *
+     * You can then use the movie changes API to get the actual data that has
+     * been changed.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param handler Called with each result
+     * @return The page information
+     * @throws MovieDbException
+     */
+    public StreamedPage getMovieChangeList(Integer page, String startDate, String endDate, ResultHandler<? super ChangeListItem> handler) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.MOVIE, page, startDate, endDate, handler);
+    }
+
     /**
      * Get a list of TV IDs that have been edited.
      *
@@ -479,6 +521,44 @@ public class TheMovieDbApi {
         return tmdbChanges.getChangeList(MethodBase.TV, page, startDate, endDate);
     }
 
+    /**
+     * Get a list of TV IDs that have been edited.
+     *
+     * You can then use the TV changes API to get the actual data that has been
+     * changed.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param projection The fields to keep
+     * @return Page of changed IDs
+     * @throws MovieDbException
+     */
+    public ProjectedPage getTvChangeList(Integer page, String startDate, String endDate, Projection projection) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.TV, page, startDate, endDate, projection);
+    }
+
+    /**
+     * Get a list of TV IDs that have been edited.
+     *
+     * You can then use the TV changes API to get the actual data that has been
+     * changed.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param handler Called with each result
+     * @return The page information
+     * @throws MovieDbException
+     */
+    public StreamedPage getTvChangeList(Integer page, String startDate, String endDate, ResultHandler<? super ChangeListItem> handler) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.TV, page, startDate, endDate, handler);
+    }
+
     /**
      * Get a list of PersonInfo IDs that have been edited.
      *
@@ -494,6 +574,44 @@ public class TheMovieDbApi {
     public ResultList<ChangeListItem> getPersonChangeList(Integer page, String startDate, String endDate) throws MovieDbException {
         return tmdbChanges.getChangeList(MethodBase.PERSON, page, startDate, endDate);
     }
+
+    /**
+     * Get a list of PersonInfo IDs that have been edited.
+     *
+     * You can then use the person changes API to get the actual data that has
+     * been changed.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param projection The fields to keep
+     * @return Page of changed IDs
+     * @throws MovieDbException
+     */
+    public ProjectedPage getPersonChangeList(Integer page, String startDate, String endDate, Projection projection) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.PERSON, page, startDate, endDate, projection);
+    }
+
+    /**
+     * Get a list of PersonInfo IDs that have been edited.
+     *
+     * You can then use the person changes API to get the actual data that has
+     * been changed.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param handler Called with each result
+     * @return The page information
+     * @throws MovieDbException
+     */
+    public StreamedPage getPersonChangeList(Integer page, String startDate, String endDate, ResultHandler<? super ChangeListItem> handler) throws MovieDbException {
+        return tmdbChanges.getChangeList(MethodBase.PERSON, page, startDate, endDate, handler);
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Collections">
@@ -638,6 +756,36 @@ public class TheMovieDbApi {
         return tmdbDiscover.getDiscoverMovies(discover);
     }
 
+    /**
+     * Discover movies by different types of data like average rating, number of
+     * votes, genres and certifications.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param projection The fields to keep
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getDiscoverMovies(Discover discover, Projection projection) throws MovieDbException {
+        return tmdbDiscover.getDiscoverMovies(discover, projection);
+    }
+
+    /**
+     * Discover movies by different types of data like average rating, number of
+     * votes, genres and certifications.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getDiscoverMovies(Discover discover, ResultHandler<? super MovieBasic> handler) throws MovieDbException {
+        return tmdbDiscover.getDiscoverMovies(discover, handler);
+    }
+
     /**
      * Discover movies by different types of data like average rating, number of
      * votes, genres and certifications.
@@ -649,6 +797,36 @@ public class TheMovieDbApi {
     public ResultList<TVBasic> getDiscoverTV(Discover discover) throws MovieDbException {
         return tmdbDiscover.getDiscoverTV(discover);
     }
+
+    /**
+     * Discover movies by different types of data like average rating, number of
+     * votes, genres and certifications.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param projection The fields to keep
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getDiscoverTV(Discover discover, Projection projection) throws MovieDbException {
+        return tmdbDiscover.getDiscoverTV(discover, projection);
+    }
+
+    /**
+     * Discover movies by different types of data like average rating, number of
+     * votes, genres and certifications.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getDiscoverTV(Discover discover, ResultHandler<? super TVBasic> handler) throws MovieDbException {
+        return tmdbDiscover.getDiscoverTV(discover, handler);
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Find">
@@ -1113,6 +1291,40 @@ public class TheMovieDbApi {
         return tmdbMovies.getPopularMovieList(page, language);
     }
 
+    /**
+     * This method is used to retrieve the daily movie popularity list.
+     *
+     * This list is updated daily. The default response will return 20 movies.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param language
+     * @param page
+     * @param projection The fields to keep
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getPopularMovieList(Integer page, String language, Projection projection) throws MovieDbException {
+        return tmdbMovies.getPopularMovieList(page, language, projection);
+    }
+
+    /**
+     * This method is used to retrieve the daily movie popularity list.
+     *
+     * This list is updated daily. The default response will return 20 movies.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param language
+     * @param page
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getPopularMovieList(Integer page, String language, ResultHandler<? super MovieInfo> handler) throws MovieDbException {
+        return tmdbMovies.getPopularMovieList(page, language, handler);
+    }
+
     /**
      * This method is used to retrieve the top rated movies that have over 10
      * votes on TMDb.
@@ -1382,6 +1594,66 @@ public class TheMovieDbApi {
         return tmdbSearch.searchMovie(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType);
     }
 
+    /**
+     * Search Movies This is a good starting point to start finding movies on
+     * TMDb.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param query
+     * @param searchYear Limit the search to the provided year. Zero (0) will
+     * get all years
+     * @param language The language to include. Can be blank/null.
+     * @param includeAdult true or false to include adult titles in the search
+     * @param page The page of results to return. 0 to get the default (first
+     * page)
+     * @param primaryReleaseYear
+     * @param searchType
+     * @param projection The fields to keep
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage searchMovie(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            SearchType searchType,
+            Projection projection) throws MovieDbException {
+        return tmdbSearch.searchMovie(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType, projection);
+    }
+
+    /**
+     * Search Movies This is a good starting point to start finding movies on
+     * TMDb.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param searchYear Limit the search to the provided year. Zero (0) will
+     * get all years
+     * @param language The language to include. Can be blank/null.
+     * @param includeAdult true or false to include adult titles in the search
+     * @param page The page of results to return. 0 to get the default (first
+     * page)
+     * @param primaryReleaseYear
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage searchMovie(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            SearchType searchType,
+            ResultHandler<? super MovieInfo> handler) throws MovieDbException {
+        return tmdbSearch.searchMovie(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType, handler);
+    }
+
     /**
      * Search the movie, tv show and person collections with a single query.
      *
@@ -1419,6 +1691,46 @@ public class TheMovieDbApi {
         return tmdbSearch.searchPeople(query, page, includeAdult, searchType);
     }
 
+    /**
+     * This is a good starting point to start finding people on TMDb.
+     *
+     * The idea is to be a quick and light method so you can iterate through
+     * people quickly.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param query
+     * @param includeAdult
+     * @param page
+     * @param searchType
+     * @param projection The fields to keep
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType, Projection projection) throws MovieDbException {
+        return tmdbSearch.searchPeople(query, page, includeAdult, searchType, projection);
+    }
+
+    /**
+     * This is a good starting point to start finding people on TMDb.
+     *
+     * The idea is to be a quick and light method so you can iterate through
+     * people quickly.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param includeAdult
+     * @param page
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType, ResultHandler<? super PersonFind> handler) throws MovieDbException {
+        return tmdbSearch.searchPeople(query, page, includeAdult, searchType, handler);
+    }
+
     /**
      * Search for TV shows by title.
      *
@@ -1433,6 +1745,42 @@ public class TheMovieDbApi {
     public ResultList<TVBasic> searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType) throws MovieDbException {
         return tmdbSearch.searchTV(query, page, language, firstAirDateYear, searchType);
     }
+
+    /**
+     * Search for TV shows by title.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param firstAirDateYear
+     * @param searchType
+     * @param projection The fields to keep
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public ProjectedPage searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType, Projection projection) throws MovieDbException {
+        return tmdbSearch.searchTV(query, page, language, firstAirDateYear, searchType, projection);
+    }
+
+    /**
+     * Search for TV shows by title.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param firstAirDateYear
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public StreamedPage searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType, ResultHandler<? super TVBasic> handler) throws MovieDbException {
+        return tmdbSearch.searchTV(query, page, language, firstAirDateYear, searchType, handler);
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="TV Shows">
@@ -1669,6 +2017,36 @@ public class TheMovieDbApi {
     public ResultList<TVInfo> getTVPopular(Integer page, String language) throws MovieDbException {
         return tmdbTv.getTVPopular(page, language);
     }
+
+    /**
+     * Get the list of popular TV shows. This list refreshes every day.
+     *
+     * Only the fields in the projection are kept.
+     *
+     * @param page
+     * @param language
+     * @param projection The fields to keep
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public ProjectedPage getTVPopular(Integer page, String language, Projection projection) throws MovieDbException {
+        return tmdbTv.getTVPopular(page, language, projection);
+    }
+
+    /**
+     * Get the list of popular TV shows. This list refreshes every day.
+     *
+     * Each result is passed to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param language
+     * @param handler Called with each result
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public StreamedPage getTVPopular(Integer page, String language, ResultHandler<? super TVInfo> handler) throws MovieDbException {
+        return tmdbTv.getTVPopular(page, language, handler);
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="TV Seasons">
@@ -0,0 +1,709 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.model.AppendSection;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary codec for the model classes.
+ *
+ * Each value is written as a one byte tag followed by its data. Numbers are written as variable length integers, so most IDs
+ * take one to three bytes. Each string, class name and field name is only written once per value, later uses refer back to it by
+ * its position in the string table. Append to response sections are written as a single null tag when they were not requested.
+ *
+ * The fields of a class are listed by name the first time the class is written. When reading, fields that no longer exist are
+ * skipped and new fields keep their default value, so values written by an older or newer version of the models can still be
+ * read.
+ *
+ * Objects are written field by field and created with their no argument constructor, which all the models have. Only classes
+ * from this library are written or read. Shared and circular references are not supported.
+ *
+ * The values can be compressed with deflate after the header, compressed and uncompressed values are both read by any codec.
+ *
+ * @param <V> The type of the values
+ */
+public class BinaryCodec<V> implements EntryCodec<V> {
+
+    /**
+     * The version of the format written
+     */
+    public static final int VERSION = 1;
+    private static final int MAGIC = 0xB7;
+    private static final int MAGIC_COMPRESSED = 0xB8;
+    private static final int HEADER_SIZE = 2;
+    private static final int INITIAL_SIZE = 256;
+    private static final String MODEL_PACKAGE = "com.omertron.themoviedbapi.";
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_STRING = 7;
+    private static final int TAG_LIST = 8;
+    private static final int TAG_SET = 9;
+    private static final int TAG_MAP = 10;
+    private static final int TAG_ENUM = 11;
+    private static final int TAG_OBJECT = 12;
+    private static final int TAG_INT_ARRAY = 13;
+    private static final int TAG_STRING_ARRAY = 14;
+    private static final int TAG_SECTION = 15;
+
+    private static final ConcurrentMap<Class<?>, ClassSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    private final Class<V> type;
+    private final boolean compress;
+
+    /**
+     * Create an uncompressed codec
+     *
+     * @param type The type of the values
+     */
+    public BinaryCodec(Class<V> type) {
+        this(type, false);
+    }
+
+    /**
+     * Create a codec
+     *
+     * @param type The type of the values
+     * @param compress Compress the encoded bytes
+     */
+    public BinaryCodec(Class<V> type, boolean compress) {
+        this.type = type;
+        this.compress = compress;
+    }
+
+    @Override
+    public byte[] encode(V value) throws IOException {
+        Output out = new Output();
+        out.writeByte(compress ? MAGIC_COMPRESSED : MAGIC);
+        out.writeByte(VERSION);
+        out.writeValue(value);
+        return compress ? deflate(out.toByteArray()) : out.toByteArray();
+    }
+
+    @Override
+    public V decode(byte[] bytes, int offset, int length) throws IOException {
+        if (length < HEADER_SIZE) {
+            throw new IOException("Not a binary encoded value");
+        }
+        int magic = bytes[offset] & 0xFF;
+        if (magic != MAGIC && magic != MAGIC_COMPRESSED) {
+            throw new IOException("Not a binary encoded value");
+        }
+        int version = bytes[offset + 1] & 0xFF;
+        if (version > VERSION) {
+            throw new IOException("Unsupported version " + version + ", the latest supported is " + VERSION);
+        }
+
+        Input in;
+        if (magic == MAGIC_COMPRESSED) {
+            byte[] inflated = inflate(bytes, offset + HEADER_SIZE, length - HEADER_SIZE);
+            in = new Input(inflated, 0, inflated.length);
+        } else {
+            in = new Input(bytes, offset + HEADER_SIZE, length - HEADER_SIZE);
+        }
+
+        try {
+            return type.cast(in.readValue());
+        } catch (ClassCastException ex) {
+            throw new IOException("Failed to decode " + type.getSimpleName(), ex);
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IOException("Unexpected end of the value", ex);
+        }
+    }
+
+    /**
+     * Compress the bytes after the header, the header is kept as it is
+     */
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_SIZE);
+            out.write(bytes, 0, HEADER_SIZE);
+            byte[] chunk = new byte[Math.max(INITIAL_SIZE, bytes.length / 2)];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 3);
+            byte[] chunk = new byte[Math.max(INITIAL_SIZE, length * 2)];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Unexpected end of the compressed value");
+                }
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IOException("Invalid compressed value", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ClassSchema getSchema(Class<?> cls) throws IOException {
+        ClassSchema schema = SCHEMAS.get(cls);
+        if (schema == null) {
+            schema = new ClassSchema(cls);
+            ClassSchema existing = SCHEMAS.putIfAbsent(cls, schema);
+            if (existing != null) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * The fields and constructor of a class
+     */
+    private static final class ClassSchema {
+
+        final Constructor<?> constructor;
+        final Field[] fields;
+        final Map<String, Field> byName = new HashMap<>();
+
+        ClassSchema(Class<?> cls) throws IOException {
+            try {
+                constructor = cls.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException | SecurityException ex) {
+                throw new IOException("No default constructor for " + cls.getName(), ex);
+            }
+
+            List<Field> list = new ArrayList<>();
+            for (Class<?> current = cls; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    list.add(field);
+                }
+            }
+            fields = list.toArray(new Field[list.size()]);
+            // Fields hidden by a subclass are qualified with the declaring class
+            Arrays.sort(fields, new Comparator<Field>() {
+                @Override
+                public int compare(Field o1, Field o2) {
+                    return o1.getName().compareTo(o2.getName());
+                }
+            });
+            for (Field field : fields) {
+                String name = byName.containsKey(field.getName()) ? qualifiedName(field) : field.getName();
+                byName.put(name, field);
+            }
+        }
+
+        String nameOf(Field field) {
+            return byName.get(field.getName()) == field ? field.getName() : qualifiedName(field);
+        }
+
+        static String qualifiedName(Field field) {
+            return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+        }
+
+        Object newInstance() throws IOException {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                throw new IOException("Failed to create " + constructor.getDeclaringClass().getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the values to a growing buffer
+     */
+    private static final class Output {
+
+        private byte[] buffer = new byte[INITIAL_SIZE];
+        private int size = 0;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, Integer> classes = new HashMap<>();
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        void writeFixed(long value, int bytes) {
+            ensure(bytes);
+            for (int i = 0; i < bytes; i++) {
+                buffer[size++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        /**
+         * Write a string, or a reference to it if it has already been written.
+         *
+         * References are written as the table position plus one, new strings as zero followed by the length and UTF-8 bytes
+         */
+        void writeText(String text) {
+            Integer index = strings.get(text);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            strings.put(text, strings.size());
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(0);
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /**
+         * Write a reference to a class, with its field names the first time it is written
+         */
+        void writeClass(Class<?> cls, ClassSchema schema) {
+            Integer index = classes.get(cls);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            classes.put(cls, classes.size());
+            writeVarInt(0);
+            writeText(cls.getName());
+            if (schema != null) {
+                writeVarInt(schema.fields.length);
+                for (Field field : schema.fields) {
+                    writeText(schema.nameOf(field));
+                }
+            }
+        }
+
+        void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writeByte(TAG_NULL);
+            } else if (value instanceof String) {
+                writeByte(TAG_STRING);
+                writeText((String) value);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeByte(TAG_INT);
+                int number = ((Number) value).intValue();
+                writeVarInt((number << 1) ^ (number >> 31));
+            } else if (value instanceof Long) {
+                writeByte(TAG_LONG);
+                long number = (Long) value;
+                writeVarLong((number << 1) ^ (number >> 63));
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Float) {
+                writeByte(TAG_FLOAT);
+                writeFixed(Float.floatToIntBits((Float) value), 4);
+            } else if (value instanceof Double) {
+                writeByte(TAG_DOUBLE);
+                writeFixed(Double.doubleToLongBits((Double) value), 8);
+            } else if (value instanceof AppendSection) {
+                writeByte(TAG_SECTION);
+                writeValue(((AppendSection<?>) value).get());
+            } else if (value instanceof Enum && ((Enum<?>) value).getDeclaringClass().getName().startsWith(MODEL_PACKAGE)) {
+                writeByte(TAG_ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass(), null);
+                writeText(((Enum<?>) value).name());
+            } else if (value instanceof Collection) {
+                writeByte(value instanceof Set ? TAG_SET : TAG_LIST);
+                Collection<?> collection = (Collection<?>) value;
+                writeVarInt(collection.size());
+                for (Object item : collection) {
+                    writeValue(item);
+                }
+            } else if (value instanceof Map) {
+                writeByte(TAG_MAP);
+                Map<?, ?> map = (Map<?, ?>) value;
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof int[]) {
+                writeByte(TAG_INT_ARRAY);
+                int[] array = (int[]) value;
+                writeVarInt(array.length);
+                for (int number : array) {
+                    writeVarInt((number << 1) ^ (number >> 31));
+                }
+            } else if (value instanceof String[]) {
+                writeByte(TAG_STRING_ARRAY);
+                String[] array = (String[]) value;
+                writeVarInt(array.length);
+                for (String text : array) {
+                    writeValue(text);
+                }
+            } else if (value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+                writeObject(value);
+            } else {
+                throw new IOException("Unsupported type " + value.getClass().getName());
+            }
+        }
+
+        private void writeObject(Object value) throws IOException {
+            ClassSchema schema = getSchema(value.getClass());
+            writeByte(TAG_OBJECT);
+            writeClass(value.getClass(), schema);
+            try {
+                for (Field field : schema.fields) {
+                    writeValue(field.get(value));
+                }
+            } catch (IllegalAccessException ex) {
+                throw new IOException("Failed to read field of " + value.getClass().getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the values from a buffer
+     */
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+        private final int end;
+        private final List<String> strings = new ArrayList<>();
+        private final List<ClassRef> classes = new ArrayList<>();
+
+        Input(byte[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        int readByte() throws IOException {
+            if (position >= end) {
+                throw new IOException("Unexpected end of the value");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Invalid variable length integer");
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Invalid variable length integer");
+        }
+
+        long readFixed(int bytes) throws IOException {
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value |= (long) readByte() << (i * 8);
+            }
+            return value;
+        }
+
+        String readText() throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                if (index > strings.size()) {
+                    throw new IOException("Invalid string reference " + index);
+                }
+                return strings.get(index - 1);
+            }
+            int length = readVarInt();
+            if (length < 0 || length > end - position) {
+                throw new IOException("Invalid string length " + length);
+            }
+            String text = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(text);
+            return text;
+        }
+
+        ClassRef readClass(boolean withFields) throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                if (index > classes.size()) {
+                    throw new IOException("Invalid class reference " + index);
+                }
+                return classes.get(index - 1);
+            }
+
+            String name = readText();
+            if (!name.startsWith(MODEL_PACKAGE)) {
+                throw new IOException("Class " + name + " is not a model class");
+            }
+            Class<?> cls = CLASSES.get(name);
+            if (cls == null) {
+                try {
+                    cls = Class.forName(name, false, BinaryCodec.class.getClassLoader());
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException("Unknown class " + name, ex);
+                }
+                CLASSES.putIfAbsent(name, cls);
+            }
+
+            ClassRef ref = new ClassRef(cls);
+            if (withFields) {
+                ref.schema = getSchema(cls);
+                ref.fields = new Field[readVarInt()];
+                for (int i = 0; i < ref.fields.length; i++) {
+                    // Null for fields that are no longer in the class
+                    ref.fields[i] = ref.schema.byName.get(readText());
+                }
+            }
+            classes.add(ref);
+            return ref;
+        }
+
+        Object readValue() throws IOException {
+            int tag = readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_INT:
+                    int number = readVarInt();
+                    return (number >>> 1) ^ -(number & 1);
+                case TAG_LONG:
+                    long longNumber = readVarLong();
+                    return (longNumber >>> 1) ^ -(longNumber & 1);
+                case TAG_FLOAT:
+                    return Float.intBitsToFloat((int) readFixed(4));
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(readFixed(8));
+                case TAG_STRING:
+                    return readText();
+                case TAG_SECTION:
+                    return AppendSection.of(readValue());
+                case TAG_ENUM:
+                    return readEnum();
+                case TAG_LIST:
+                case TAG_SET:
+                    int count = readSize();
+                    Collection<Object> collection = tag == TAG_SET ? new LinkedHashSet<>(count * 2) : new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        collection.add(readValue());
+                    }
+                    return collection;
+                case TAG_MAP:
+                    int entries = readSize();
+                    Map<Object, Object> map = new LinkedHashMap<>(entries * 2);
+                    for (int i = 0; i < entries; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                case TAG_INT_ARRAY:
+                    int[] ints = new int[readSize()];
+                    for (int i = 0; i < ints.length; i++) {
+                        int value = readVarInt();
+                        ints[i] = (value >>> 1) ^ -(value & 1);
+                    }
+                    return ints;
+                case TAG_STRING_ARRAY:
+                    String[] texts = new String[readSize()];
+                    for (int i = 0; i < texts.length; i++) {
+                        texts[i] = (String) readValue();
+                    }
+                    return texts;
+                case TAG_OBJECT:
+                    return readObject();
+                default:
+                    throw new IOException("Unknown tag " + tag);
+            }
+        }
+
+        private int readSize() throws IOException {
+            int size = readVarInt();
+            // Every item takes at least one byte
+            if (size < 0 || size > end - position) {
+                throw new IOException("Invalid size " + size);
+            }
+            return size;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum() throws IOException {
+            Class cls = readClass(false).cls;
+            String name = readText();
+            if (!cls.isEnum()) {
+                throw new IOException(cls.getName() + " is not an enum");
+            }
+            try {
+                return Enum.valueOf(cls, name);
+            } catch (IllegalArgumentException ex) {
+                // The constant has been removed
+                return null;
+            }
+        }
+
+        private Object readObject() throws IOException {
+            ClassRef ref = readClass(true);
+            if (ref.schema == null) {
+                throw new IOException("Class " + ref.cls.getName() + " was written without its fields");
+            }
+
+            Object object = ref.schema.newInstance();
+            for (Field field : ref.fields) {
+                Object value = readValue();
+                if (field != null) {
+                    setField(object, field, value);
+                }
+            }
+            return object;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void setField(Object object, Field field, Object value) throws IOException {
+            try {
+                Object current = field.get(object);
+                if (current instanceof EnumSet && value instanceof Collection) {
+                    // Keep the enum set created by the constructor, e.g. the append to response methods
+                    EnumSet<?> set = (EnumSet<?>) current;
+                    set.clear();
+                    ((Collection<Object>) (Collection<?>) set).addAll((Collection<?>) value);
+                } else {
+                    field.set(object, convert(value, field.getType()));
+                }
+            } catch (IllegalAccessException | IllegalArgumentException | ClassCastException ex) {
+                throw new IOException("Failed to set " + field.getDeclaringClass().getSimpleName() + "." + field.getName(), ex);
+            }
+        }
+
+        /**
+         * Convert the numbers to the type of the field
+         */
+        private static Object convert(Object value, Class<?> type) {
+            if (!(value instanceof Number) || type.isInstance(value)) {
+                return value;
+            }
+            Number number = (Number) value;
+            if (type == int.class || type == Integer.class) {
+                return number.intValue();
+            } else if (type == long.class || type == Long.class) {
+                return number.longValue();
+            } else if (type == float.class || type == Float.class) {
+                return number.floatValue();
+            } else if (type == double.class || type == Double.class) {
+                return number.doubleValue();
+            } else if (type == short.class || type == Short.class) {
+                return number.shortValue();
+            } else if (type == byte.class || type == Byte.class) {
+                return number.byteValue();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A class read from the value, with the local fields in the order they were written
+     */
+    private static final class ClassRef {
+
+        final Class<?> cls;
+        ClassSchema schema;
+        Field[] fields;
+
+        ClassRef(Class<?> cls) {
+            this.cls = cls;
+        }
+    }
+}
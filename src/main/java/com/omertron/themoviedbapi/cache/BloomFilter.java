@@ -0,0 +1,99 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A simple Bloom filter over int hashes of the keys.
+ *
+ * The filter can say for certain that a key has not been added, but may wrongly say that one has. Keys can't be removed, the
+ * filter has to be cleared and the keys added again.
+ *
+ * It can be read without a lock. A read that races with an add or a rebuild may miss the key, so it should only be used where
+ * that costs no more than a lookup that wasn't filtered.
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASHES = 7;
+    private final AtomicLongArray bits;
+    private final int size;
+
+    /**
+     * Create a filter with about a 1% false positive rate for the expected number of keys
+     *
+     * @param expectedKeys
+     */
+    BloomFilter(int expectedKeys) {
+        int words = Math.max(1, (int) (((long) expectedKeys * BITS_PER_KEY + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.size = words * 64;
+    }
+
+    void add(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+
+    private int index(int hash) {
+        return (hash & Integer.MAX_VALUE) % size;
+    }
+
+    /**
+     * Spread the bits of the hash, from the MurmurHash3 finaliser, so that close IDs use different bits
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
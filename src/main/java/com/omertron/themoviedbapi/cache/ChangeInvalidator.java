@@ -0,0 +1,273 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the movie, TV and person changes feeds and tells the caches which IDs have changed.
+ *
+ * The changes feed lists the IDs changed on each day, so every poll reads the changes from the day of the previous poll up to
+ * today and removes anything cached for those IDs that was loaded before the poll started. With this the caches can use long
+ * cache times and still pick up edits within one poll period.
+ *
+ * The feed has no time of change, so the IDs already passed on for today are remembered and not passed on again by later polls
+ * on the same day. Otherwise an ID changed in the morning would be removed by every poll until midnight, even after it had been
+ * loaded again. A second change to the same ID on the same day is therefore not seen, the entry is kept until its cache time
+ * passes.
+ *
+ * The feed covers at most 14 days. If the last poll was longer ago than that, e.g. after an outage, the changes before then are
+ * missed, so the listeners are told to drop anything loaded before the poll and the feed is read for the last 14 days.
+ */
+public class ChangeInvalidator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeInvalidator.class);
+    private static final EntityType[] TYPES = {EntityType.MOVIE, EntityType.TV, EntityType.PERSON};
+    // The most days the changes feed can be read for at once, including today
+    private static final int MAX_DAYS = 14;
+
+    private final TheMovieDbApi api;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile String lastPollDate = null;
+    private volatile ScheduledFuture<?> scheduled = null;
+    // The IDs passed on for the changes on the seen date
+    private final Map<EntityType, Set<Integer>> seen = new EnumMap<>(EntityType.class);
+    private String seenDate = null;
+
+    /**
+     * Create the invalidator
+     *
+     * @param api The API used to read the changes
+     * @param listeners The caches to tell about the changes
+     */
+    public ChangeInvalidator(TheMovieDbApi api, ChangeListener... listeners) {
+        this.api = api;
+        for (ChangeListener listener : listeners) {
+            addListener(listener);
+        }
+    }
+
+    /**
+     * Add a cache to tell about the changes
+     *
+     * @param listener
+     */
+    public final void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Read the changes since the last poll and tell the listeners
+     *
+     * @return The number of changed IDs passed to the listeners
+     * @throws MovieDbException
+     */
+    public synchronized int poll() throws MovieDbException {
+        long pollStart = now();
+        String today = formatDate(pollStart);
+        String yesterday = formatDate(pollStart - TimeUnit.DAYS.toMillis(1));
+        String earliest = formatDate(pollStart - TimeUnit.DAYS.toMillis(MAX_DAYS - 1));
+        String startDate = lastPollDate == null ? today : lastPollDate;
+        if (startDate.compareTo(earliest) < 0) {
+            LOG.warn("Changes since {} can't be read, the feed only covers {} days. Dropping everything cached before the poll",
+                    startDate, MAX_DAYS);
+            for (ChangeListener listener : listeners) {
+                listener.changesMissed(pollStart);
+            }
+            startDate = earliest;
+        }
+
+        Map<EntityType, Set<Integer>> earlier = new EnumMap<>(EntityType.class);
+        if (!today.equals(seenDate)) {
+            // The IDs seen yesterday can only be skipped if yesterday is all that is left to read before today
+            if (yesterday.equals(seenDate) && yesterday.equals(startDate)) {
+                earlier.putAll(seen);
+            }
+            seen.clear();
+            seenDate = today;
+        }
+
+        int count = 0;
+        for (EntityType type : TYPES) {
+            Set<Integer> seenToday = seen.get(type);
+            if (seenToday == null) {
+                seenToday = new HashSet<>();
+                seen.put(type, seenToday);
+            }
+            count += read(type, today, today, pollStart, seenToday, null);
+            if (startDate.compareTo(today) < 0) {
+                Set<Integer> seenEarlier = earlier.get(type);
+                count += read(type, startDate, yesterday, pollStart, seenEarlier == null ? new HashSet<Integer>() : seenEarlier,
+                        seenToday);
+            }
+        }
+
+        lastPollDate = today;
+        LOG.debug("Found {} changes from {} to {}", count, startDate, today);
+        return count;
+    }
+
+    /**
+     * Read the changes for the dates and tell the listeners about the IDs that have not been seen.
+     *
+     * The new IDs are added to the seen IDs, the IDs in the also seen set are skipped but not added to it
+     */
+    private int read(EntityType type, String startDate, String endDate, long pollStart, Set<Integer> seenIds,
+            Set<Integer> alsoSeen) throws MovieDbException {
+        int count = 0;
+        int page = 1;
+        int totalPages;
+        do {
+            ProjectedPage changes = getChanges(type, page, startDate, endDate);
+            int[] ids = changes.getInts("id");
+            int size = 0;
+            for (int id : ids) {
+                if ((alsoSeen == null || !alsoSeen.contains(id)) && seenIds.add(id)) {
+                    ids[size++] = id;
+                }
+            }
+            if (size > 0) {
+                int[] changed = Arrays.copyOf(ids, size);
+                for (ChangeListener listener : listeners) {
+                    listener.changed(type, changed, pollStart);
+                }
+            }
+            count += size;
+            totalPages = changes.getTotalPages();
+        } while (++page <= totalPages);
+        return count;
+    }
+
+    /**
+     * Get a page of the changes feed for the type
+     *
+     * @param type
+     * @param page
+     * @param startDate
+     * @param endDate
+     * @return
+     * @throws MovieDbException
+     */
+    protected ProjectedPage getChanges(EntityType type, int page, String startDate, String endDate) throws MovieDbException {
+        switch (type) {
+            case MOVIE:
+                return api.getMovieChangeList(page, startDate, endDate, Projection.CHANGES);
+            case TV:
+                return api.getTvChangeList(page, startDate, endDate, Projection.CHANGES);
+            case PERSON:
+                return api.getPersonChangeList(page, startDate, endDate, Projection.CHANGES);
+            default:
+                throw new IllegalArgumentException("No changes feed for " + type);
+        }
+    }
+
+    /**
+     * Poll the changes on a schedule.
+     *
+     * The first poll is run straight away. Failed polls are logged and the next poll will cover their changes
+     *
+     * @param executor
+     * @param period The time between polls
+     * @param unit
+     */
+    public synchronized void start(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        stop();
+        scheduled = executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    poll();
+                } catch (MovieDbException | RuntimeException ex) {
+                    LOG.warn("Failed to read the changes: {}", ex.getMessage());
+                    LOG.trace("Change poll failure", ex);
+                }
+            }
+        }, 0L, period, unit);
+    }
+
+    /**
+     * Stop polling the changes
+     */
+    public synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    /**
+     * Get the date of the last successful poll
+     *
+     * @return The date as "yyyy-MM-dd", or null if there hasn't been a poll
+     */
+    public String getLastPollDate() {
+        return lastPollDate;
+    }
+
+    /**
+     * Set the date to read the changes from on the next poll, e.g. when the caches were loaded from a snapshot
+     *
+     * @param date The date as "yyyy-MM-dd"
+     */
+    public synchronized void setLastPollDate(String date) {
+        this.lastPollDate = date;
+        seen.clear();
+        seenDate = null;
+    }
+
+    private static String formatDate(long time) {
+        DateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(time));
+    }
+
+    /**
+     * The current time in milliseconds
+     *
+     * @return
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
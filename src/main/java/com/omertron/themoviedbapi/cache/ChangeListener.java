@@ -0,0 +1,48 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+
+/**
+ * Told about the IDs in the changes feed, so anything cached for them can be removed
+ */
+public interface ChangeListener {
+
+    /**
+     * Called with the IDs that have changed.
+     *
+     * Anything for the IDs that was loaded before the time may be out of date
+     *
+     * @param type The type of the IDs, one of MOVIE, TV or PERSON
+     * @param ids The changed IDs
+     * @param loadedBefore The time in milliseconds since the epoch
+     */
+    void changed(EntityType type, int[] ids, long loadedBefore);
+
+    /**
+     * Called when some of the changes could not be read, e.g. after an outage longer than the changes feed covers.
+     *
+     * Anything loaded before the time may be out of date
+     *
+     * @param loadedBefore The time in milliseconds since the epoch
+     */
+    void changesMissed(long loadedBefore);
+}
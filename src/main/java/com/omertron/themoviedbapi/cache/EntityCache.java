@@ -0,0 +1,788 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.enumeration.ExternalSource;
+import com.omertron.themoviedbapi.enumeration.MovieMethod;
+import com.omertron.themoviedbapi.enumeration.PeopleMethod;
+import com.omertron.themoviedbapi.enumeration.TVEpisodeMethod;
+import com.omertron.themoviedbapi.enumeration.TVMethod;
+import com.omertron.themoviedbapi.enumeration.TVSeasonMethod;
+import com.omertron.themoviedbapi.interfaces.AppendToResponse;
+import com.omertron.themoviedbapi.interfaces.AppendToResponseMethod;
+import com.omertron.themoviedbapi.model.FindResults;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.person.PersonFind;
+import com.omertron.themoviedbapi.model.person.PersonInfo;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.model.tv.TVEpisodeBasic;
+import com.omertron.themoviedbapi.model.tv.TVEpisodeInfo;
+import com.omertron.themoviedbapi.model.tv.TVInfo;
+import com.omertron.themoviedbapi.model.tv.TVSeasonBasic;
+import com.omertron.themoviedbapi.model.tv.TVSeasonInfo;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.yamj.api.common.exception.ApiExceptionType;
+
+/**
+ * Cache of the movie, TV show, season, episode and person information, keyed by the type, ID and language.
+ *
+ * The cache records which append to response sections each entry has. A request is served from the cache if the entry has all
+ * of the sections asked for, even if it was loaded with more. If some of the sections are missing only those are requested from
+ * the API and the sections already cached are copied to the new object. The merged entry keeps the load time of the cached
+ * entry, so it expires, or is removed by a change, as the oldest of its sections.
+ *
+ * The objects returned are shared between callers and should not be changed.
+ *
+ * An off-heap tier can be added with {@link #enableOffHeapTier(long, int)}. Entries removed from the heap to make space are then
+ * moved to the tier as compressed bytes, and moved back to the heap on the next request for them.
+ */
+public class EntityCache implements ChangeListener {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_CACHE_MINUTES = 60;
+
+    /**
+     * The types of entity held in the cache
+     */
+    public enum EntityType {
+        MOVIE,
+        TV,
+        TV_SEASON,
+        TV_EPISODE,
+        PERSON
+    }
+
+    private final TheMovieDbApi api;
+    private final Map<Key, CacheEntry<?, ?>> entries;
+    private final int maxEntries;
+    private volatile long timeToLive;
+    private volatile NegativeCache negativeCache;
+    private volatile OffHeapCache<Key, Serializable> offHeap;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong partialHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Entries removed from the heap for the tier, only used while holding the entries lock
+    private final List<Map.Entry<Key, CacheEntry<?, ?>>> evicted = new ArrayList<>();
+    // Changed by every invalidation, so an entry moved to the tier during one can be removed again
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Create a cache with the default size and cache time
+     *
+     * @param api The API used to load the entities
+     */
+    public EntityCache(TheMovieDbApi api) {
+        this(api, DEFAULT_MAX_ENTRIES, DEFAULT_CACHE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param api The API used to load the entities
+     * @param maxEntries The maximum number of entities to hold, the least recently used are removed first
+     * @param cacheTime How long an entity is cached for
+     * @param unit The unit of the cache time
+     */
+    public EntityCache(TheMovieDbApi api, final int maxEntries, long cacheTime, TimeUnit unit) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maximum entries " + maxEntries);
+        }
+        this.api = api;
+        this.maxEntries = maxEntries;
+        this.timeToLive = unit.toMillis(cacheTime);
+        this.entries = new LinkedHashMap<Key, CacheEntry<?, ?>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry<?, ?>> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                // Encoding is slow, so the entry is moved to the tier once the lock is released
+                if (offHeap != null && now() - eldest.getValue().loadedAt < timeToLive) {
+                    evicted.add(new AbstractMap.SimpleImmutableEntry<Key, CacheEntry<?, ?>>(eldest));
+                }
+                return true;
+            }
+        };
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Entity methods">
+    /**
+     * Get the movie information, from the cache if possible
+     *
+     * @param movieId
+     * @param language
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getMovieInfo(int, java.lang.String, java.lang.String...)
+     */
+    public MovieInfo getMovieInfo(final int movieId, final String language, String... appendToResponse) throws MovieDbException {
+        return get(new Key(EntityType.MOVIE, movieId, "", language), MovieMethod.class, appendToResponse,
+                new Source<MovieInfo>() {
+            @Override
+            public MovieInfo fetch(String... append) throws MovieDbException {
+                return api.getMovieInfo(movieId, language, append);
+            }
+
+            @Override
+            public void copySections(MovieInfo target, MovieInfo source) {
+                target.copySections(source);
+            }
+        });
+    }
+
+    /**
+     * Get the TV show information, from the cache if possible
+     *
+     * @param tvID
+     * @param language
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getTVInfo(int, java.lang.String, java.lang.String...)
+     */
+    public TVInfo getTVInfo(final int tvID, final String language, String... appendToResponse) throws MovieDbException {
+        return get(new Key(EntityType.TV, tvID, "", language), TVMethod.class, appendToResponse,
+                new Source<TVInfo>() {
+            @Override
+            public TVInfo fetch(String... append) throws MovieDbException {
+                return api.getTVInfo(tvID, language, append);
+            }
+
+            @Override
+            public void copySections(TVInfo target, TVInfo source) {
+                target.copySections(source);
+            }
+        });
+    }
+
+    /**
+     * Get the season information, from the cache if possible
+     *
+     * @param tvID
+     * @param seasonNumber
+     * @param language
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getSeasonInfo(int, int, java.lang.String, java.lang.String...)
+     */
+    public TVSeasonInfo getSeasonInfo(final int tvID, final int seasonNumber, final String language, String... appendToResponse)
+            throws MovieDbException {
+        return get(new Key(EntityType.TV_SEASON, tvID, String.valueOf(seasonNumber), language), TVSeasonMethod.class,
+                appendToResponse, new Source<TVSeasonInfo>() {
+            @Override
+            public TVSeasonInfo fetch(String... append) throws MovieDbException {
+                return api.getSeasonInfo(tvID, seasonNumber, language, append);
+            }
+
+            @Override
+            public void copySections(TVSeasonInfo target, TVSeasonInfo source) {
+                target.copySections(source);
+            }
+        });
+    }
+
+    /**
+     * Get the episode information, from the cache if possible
+     *
+     * @param tvID
+     * @param seasonNumber
+     * @param episodeNumber
+     * @param language
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getEpisodeInfo(int, int, int, java.lang.String, java.lang.String...)
+     */
+    public TVEpisodeInfo getEpisodeInfo(final int tvID, final int seasonNumber, final int episodeNumber, final String language,
+            String... appendToResponse) throws MovieDbException {
+        return get(new Key(EntityType.TV_EPISODE, tvID, seasonNumber + "/" + episodeNumber, language), TVEpisodeMethod.class,
+                appendToResponse, new Source<TVEpisodeInfo>() {
+            @Override
+            public TVEpisodeInfo fetch(String... append) throws MovieDbException {
+                return api.getEpisodeInfo(tvID, seasonNumber, episodeNumber, language, append);
+            }
+
+            @Override
+            public void copySections(TVEpisodeInfo target, TVEpisodeInfo source) {
+                target.copySections(source);
+            }
+        });
+    }
+
+    /**
+     * Get the person information, from the cache if possible
+     *
+     * @param personId
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getPersonInfo(int, java.lang.String...)
+     */
+    public PersonInfo getPersonInfo(final int personId, String... appendToResponse) throws MovieDbException {
+        return get(new Key(EntityType.PERSON, personId, "", null), PeopleMethod.class, appendToResponse,
+                new Source<PersonInfo>() {
+            @Override
+            public PersonInfo fetch(String... append) throws MovieDbException {
+                return api.getPersonInfo(personId, append);
+            }
+
+            @Override
+            public void copySections(PersonInfo target, PersonInfo source) {
+                target.copySections(source);
+            }
+        });
+    }
+    //</editor-fold>
+
+    /**
+     * Get an entity from the cache, loading it or the missing sections as needed
+     */
+    private <M extends Enum<M> & AppendToResponseMethod, T extends AppendToResponse<M>> T get(Key key, Class<M> methodType,
+            String[] appendToResponse, Source<T> source) throws MovieDbException {
+        Set<M> requested = parseMethods(methodType, appendToResponse);
+        if (requested == null) {
+            // Unknown sections can't be tracked, so go straight to the API
+            misses.incrementAndGet();
+            return fetch(key, source, appendToResponse);
+        }
+
+        CacheEntry<M, T> cached = getEntry(key);
+        if (cached != null && cached.methods.containsAll(requested)) {
+            hits.incrementAndGet();
+            return cached.value;
+        }
+
+        Set<M> toFetch = EnumSet.copyOf(requested);
+        if (cached == null) {
+            misses.incrementAndGet();
+        } else {
+            partialHits.incrementAndGet();
+            toFetch.removeAll(cached.methods);
+        }
+
+        T value = fetch(key, source, toAppend(toFetch));
+        Set<M> methods = EnumSet.copyOf(toFetch);
+        if (cached != null) {
+            source.copySections(value, cached.value);
+            methods.addAll(cached.methods);
+        }
+        for (M method : methodType.getEnumConstants()) {
+            if (value.hasMethod(method)) {
+                methods.add(method);
+            }
+        }
+
+        // The copied sections are as old as the cached entry, so the merged entry keeps its load time
+        long loadedAt = cached == null ? now() : cached.loadedAt;
+        List<Map.Entry<Key, CacheEntry<?, ?>>> spilled;
+        long spilledGeneration;
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<>(value, methods, loadedAt));
+            spilled = takeEvicted();
+            spilledGeneration = generation.get();
+        }
+        moveToTier(spilled, spilledGeneration);
+        return value;
+    }
+
+    /**
+     * Load the entity, checking and updating the negative cache for the IDs of movies, TV shows and people
+     */
+    private <T> T fetch(Key key, Source<T> source, String... appendToResponse) throws MovieDbException {
+        NegativeCache negative = negativeCache;
+        boolean checkMissing = negative != null && key.path.isEmpty();
+        if (checkMissing && negative.isMissing(key.type, key.id)) {
+            throw new MovieDbException(ApiExceptionType.ID_NOT_FOUND, "No " + key.type + " found for ID: " + key.id + " (cached)");
+        }
+
+        try {
+            return source.fetch(appendToResponse);
+        } catch (MovieDbException ex) {
+            if (checkMissing && NegativeCache.isNotFound(ex)) {
+                negative.markMissing(key.type, key.id);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Find an entity by an external ID.
+     *
+     * The results are not cached, but if a negative cache is set, IDs that found nothing are remembered and not requested again
+     *
+     * @param id
+     * @param externalSource
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#find(java.lang.String, com.omertron.themoviedbapi.enumeration.ExternalSource, java.lang.String)
+     */
+    public FindResults find(String id, ExternalSource externalSource, String language) throws MovieDbException {
+        NegativeCache negative = negativeCache;
+        if (negative != null && negative.isMissing(externalSource, id)) {
+            FindResults results = new FindResults();
+            results.setMovieResults(Collections.<MovieBasic>emptyList());
+            results.setPersonResults(Collections.<PersonFind>emptyList());
+            results.setTvResults(Collections.<TVBasic>emptyList());
+            results.setTvSeasonResults(Collections.<TVSeasonBasic>emptyList());
+            results.setTvEpisodeResults(Collections.<TVEpisodeBasic>emptyList());
+            return results;
+        }
+
+        FindResults results = api.find(id, externalSource, language);
+        if (negative != null && NegativeCache.isEmpty(results)) {
+            negative.markMissing(externalSource, id);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M extends Enum<M>, T> CacheEntry<M, T> getEntry(Key key) {
+        synchronized (entries) {
+            CacheEntry<M, T> entry = (CacheEntry<M, T>) entries.get(key);
+            if (entry != null) {
+                if (now() - entry.loadedAt >= timeToLive) {
+                    entries.remove(key);
+                    return null;
+                }
+                return entry;
+            }
+        }
+
+        OffHeapCache<Key, Serializable> tier = offHeap;
+        if (tier == null) {
+            return null;
+        }
+        // Decode outside the lock, then move the entry back to the heap unless it was invalidated in the meantime
+        long before = generation.get();
+        CacheEntry<M, T> entry = (CacheEntry<M, T>) tier.get(key);
+        if (entry == null) {
+            return null;
+        }
+        tier.remove(key);
+        if (now() - entry.loadedAt >= timeToLive) {
+            return null;
+        }
+        List<Map.Entry<Key, CacheEntry<?, ?>>> spilled;
+        long spilledGeneration;
+        synchronized (entries) {
+            CacheEntry<M, T> current = (CacheEntry<M, T>) entries.get(key);
+            if (current != null) {
+                return current;
+            }
+            if (generation.get() != before) {
+                return null;
+            }
+            entries.put(key, entry);
+            spilled = takeEvicted();
+            spilledGeneration = generation.get();
+        }
+        moveToTier(spilled, spilledGeneration);
+        return entry;
+    }
+
+    /**
+     * Take the entries removed from the heap, must be called holding the entries lock
+     */
+    private List<Map.Entry<Key, CacheEntry<?, ?>>> takeEvicted() {
+        if (evicted.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<Key, CacheEntry<?, ?>>> taken = new ArrayList<>(evicted);
+        evicted.clear();
+        return taken;
+    }
+
+    /**
+     * Encode the entries removed from the heap into the tier, outside the entries lock.
+     *
+     * If anything was invalidated since the entries were taken from the heap they are removed from the tier again
+     *
+     * @param spilled The entries taken from the heap
+     * @param before The generation read holding the entries lock, when the entries were taken
+     */
+    private void moveToTier(List<Map.Entry<Key, CacheEntry<?, ?>>> spilled, long before) {
+        OffHeapCache<Key, Serializable> tier = offHeap;
+        if (tier == null || spilled.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Key, CacheEntry<?, ?>> entry : spilled) {
+            tier.put(entry.getKey(), entry.getValue());
+        }
+        if (generation.get() != before) {
+            for (Map.Entry<Key, CacheEntry<?, ?>> entry : spilled) {
+                tier.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Convert the append to response strings to the methods
+     *
+     * @return The methods, or null if any of the strings are not a known method
+     */
+    private static <M extends Enum<M> & AppendToResponseMethod> Set<M> parseMethods(Class<M> methodType, String[] appendToResponse) {
+        Set<M> methods = EnumSet.noneOf(methodType);
+        if (appendToResponse == null) {
+            return methods;
+        }
+
+        Map<String, M> byName = new HashMap<>();
+        for (M method : methodType.getEnumConstants()) {
+            byName.put(method.getPropertyString(), method);
+        }
+
+        for (String append : appendToResponse) {
+            for (String name : StringUtils.split(StringUtils.defaultString(append), ',')) {
+                M method = byName.get(name.trim());
+                if (method == null) {
+                    return null;
+                }
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private static String[] toAppend(Set<? extends AppendToResponseMethod> methods) {
+        if (methods.isEmpty()) {
+            return new String[0];
+        }
+        StringBuilder sb = new StringBuilder();
+        for (AppendToResponseMethod method : methods) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(method.getPropertyString());
+        }
+        return new String[]{sb.toString()};
+    }
+
+    /**
+     * Remove all entries for an entity, in every language.
+     *
+     * Removing a TV show also removes its seasons and episodes
+     *
+     * @param type
+     * @param id
+     * @return The number of entries removed
+     */
+    public int invalidate(final EntityType type, final int id) {
+        generation.incrementAndGet();
+        int removed = 0;
+        OffHeapCache<Key, Serializable> tier = offHeap;
+        if (tier != null) {
+            removed += tier.removeIf(new OffHeapCache.KeyFilter<Key>() {
+                @Override
+                public boolean matches(Key key) {
+                    return key.id == id && (key.type == type || (type == EntityType.TV && isTvChild(key.type)));
+                }
+            });
+        }
+        synchronized (entries) {
+            for (Iterator<Key> iter = entries.keySet().iterator(); iter.hasNext();) {
+                Key key = iter.next();
+                if (key.id == id && (key.type == type || (type == EntityType.TV && isTvChild(key.type)))) {
+                    iter.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove the entries for the changed IDs that were loaded before the time.
+     *
+     * Changes to a TV show also remove its seasons and episodes
+     *
+     * @param type
+     * @param ids
+     * @param loadedBefore
+     */
+    @Override
+    public void changed(final EntityType type, int[] ids, long loadedBefore) {
+        if (ids.length == 0) {
+            return;
+        }
+        final int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        generation.incrementAndGet();
+
+        OffHeapCache<Key, Serializable> tier = offHeap;
+        if (tier != null) {
+            // The load time is only known after decoding, so remove any matching entry from the tier
+            tier.removeIf(new OffHeapCache.KeyFilter<Key>() {
+                @Override
+                public boolean matches(Key key) {
+                    return (key.type == type || (type == EntityType.TV && isTvChild(key.type)))
+                            && Arrays.binarySearch(sorted, key.id) >= 0;
+                }
+            });
+        }
+
+        synchronized (entries) {
+            for (Iterator<Map.Entry<Key, CacheEntry<?, ?>>> iter = entries.entrySet().iterator(); iter.hasNext();) {
+                Map.Entry<Key, CacheEntry<?, ?>> entry = iter.next();
+                Key key = entry.getKey();
+                if ((key.type == type || (type == EntityType.TV && isTvChild(key.type)))
+                        && entry.getValue().loadedAt < loadedBefore
+                        && Arrays.binarySearch(sorted, key.id) >= 0) {
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * All the entries are removed, as the load time of those in the tier is only known after decoding
+     *
+     * @param loadedBefore
+     */
+    @Override
+    public void changesMissed(long loadedBefore) {
+        clear();
+    }
+
+    private static boolean isTvChild(EntityType type) {
+        return type == EntityType.TV_SEASON || type == EntityType.TV_EPISODE;
+    }
+
+    /**
+     * Remove all the entries
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+            evicted.clear();
+        }
+        OffHeapCache<Key, Serializable> tier = offHeap;
+        if (tier != null) {
+            tier.clear();
+        }
+    }
+
+    /**
+     * Get a copy of the cached entities on the heap, not including any in the off-heap tier
+     *
+     * @return
+     */
+    public List<Object> getValues() {
+        synchronized (entries) {
+            List<Object> values = new ArrayList<>(entries.size());
+            for (CacheEntry<?, ?> entry : entries.values()) {
+                values.add(entry.value);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Get the number of entries on the heap, not including any in the off-heap tier
+     *
+     * @return
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Set the cache used to remember the IDs that were not found
+     *
+     * @param negativeCache The cache, or null to not remember them
+     */
+    public void setNegativeCache(NegativeCache negativeCache) {
+        this.negativeCache = negativeCache;
+    }
+
+    public NegativeCache getNegativeCache() {
+        return negativeCache;
+    }
+
+    /**
+     * Add an off-heap tier for the entries removed from the heap.
+     *
+     * The entries are held in the compact {@link BinaryCodec} format, compressed with deflate. Any existing tier is replaced and
+     * its entries lost.
+     *
+     * @param maxBytes The total size of the tier
+     * @param slabBytes The size of each slab of the tier, entries larger than this are not moved to the tier
+     */
+    public void enableOffHeapTier(long maxBytes, int slabBytes) {
+        this.offHeap = new OffHeapCache<>(maxBytes, slabBytes, new BinaryCodec<>(Serializable.class, true));
+    }
+
+    /**
+     * Remove the off-heap tier and its entries
+     */
+    public void disableOffHeapTier() {
+        this.offHeap = null;
+    }
+
+    /**
+     * Get the off-heap tier, e.g. for the hit latency metrics
+     *
+     * @return The tier, or null if there isn't one
+     */
+    public OffHeapCache<?, ?> getOffHeapTier() {
+        return offHeap;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set how long an entity is cached for
+     *
+     * @param cacheTime
+     * @param unit
+     */
+    public void setCacheTime(long cacheTime, TimeUnit unit) {
+        this.timeToLive = unit.toMillis(cacheTime);
+    }
+
+    /**
+     * The number of requests served entirely from the cache
+     *
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of requests where only the missing sections were loaded
+     *
+     * @return
+     */
+    public long getPartialHits() {
+        return partialHits.get();
+    }
+
+    /**
+     * The number of requests that were loaded from the API
+     *
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The current time in milliseconds
+     *
+     * @return
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Loads an entity and combines the sections of two copies of it
+     *
+     * @param <T>
+     */
+    private interface Source<T> {
+
+        T fetch(String... appendToResponse) throws MovieDbException;
+
+        void copySections(T target, T source);
+    }
+
+    private static final class CacheEntry<M extends Enum<M>, T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        final T value;
+        final Set<M> methods;
+        final long loadedAt;
+
+        /**
+         * Used by the codec of the off-heap tier
+         */
+        private CacheEntry() {
+            this(null, null, 0L);
+        }
+
+        CacheEntry(T value, Set<M> methods, long loadedAt) {
+            this.value = value;
+            this.methods = methods;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Key {
+
+        final EntityType type;
+        final int id;
+        final String path;
+        final String language;
+        private final int hash;
+
+        Key(EntityType type, int id, String path, String language) {
+            this.type = type;
+            this.id = id;
+            this.path = path;
+            this.language = StringUtils.defaultString(language);
+            this.hash = ((type.hashCode() * 31 + id) * 31 + path.hashCode()) * 31 + this.language.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return id == other.id && type == other.type && path.equals(other.path) && language.equals(other.language);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
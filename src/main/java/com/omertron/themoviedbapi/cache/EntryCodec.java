@@ -0,0 +1,50 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.io.IOException;
+
+/**
+ * Converts cache values to and from bytes, for the caches that don't hold the objects on the heap
+ *
+ * @param <V> The type of the values
+ */
+public interface EntryCodec<V> {
+
+    /**
+     * Convert the value to bytes
+     *
+     * @param value
+     * @return
+     * @throws IOException If the value can't be converted
+     */
+    byte[] encode(V value) throws IOException;
+
+    /**
+     * Convert the bytes back to a value
+     *
+     * @param bytes The buffer holding the bytes
+     * @param offset The start of the bytes in the buffer
+     * @param length The number of bytes
+     * @return
+     * @throws IOException If the bytes are not a valid value
+     */
+    V decode(byte[] bytes, int offset, int length) throws IOException;
+}
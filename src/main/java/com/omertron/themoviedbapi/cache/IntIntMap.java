@@ -0,0 +1,176 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.util.Arrays;
+
+/**
+ * A map from int keys to int values without boxing either, such as the TMDb IDs to the row numbers of the
+ * {@link MediaCatalog}.
+ *
+ * The entries are held in an open addressing table (an int array of keys and one of values, with linear probing). It is not
+ * thread safe, the caller must hold a lock, and entries can't be removed, only cleared.
+ */
+final class IntIntMap {
+
+    /**
+     * The value returned for a key that is not in the map
+     */
+    static final int MISSING = -1;
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int[] values;
+    // Marks the slots in use, as any key can be stored
+    private boolean[] used;
+    private int size;
+    private int threshold;
+
+    /**
+     * Create an empty map sized for the number of entries
+     *
+     * @param expectedSize The number of entries the map is sized for, it will grow past this
+     */
+    IntIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid expected size " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Get the value for the key
+     *
+     * @param key
+     * @return The value, or {@link #MISSING} if there is none
+     */
+    int get(int key) {
+        int slot = find(key);
+        return used[slot] ? values[slot] : MISSING;
+    }
+
+    /**
+     * Set the value for the key
+     *
+     * @param key
+     * @param value Not {@link #MISSING}
+     * @return The previous value, or {@link #MISSING} if there was none
+     */
+    int put(int key, int value) {
+        if (value == MISSING) {
+            throw new IllegalArgumentException("Invalid value " + value);
+        }
+        int slot = find(key);
+        if (used[slot]) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if (size + 1 > threshold) {
+            rehash(capacityFor(size + 1));
+            slot = find(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        size++;
+        return MISSING;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Remove all of the entries, keeping the table if it is small
+     */
+    void clear() {
+        if (keys.length > MIN_CAPACITY * 128) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(used, false);
+        }
+        size = 0;
+    }
+
+    /**
+     * Find the slot with the key, or the empty slot where it would go
+     */
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int target = find(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+                used[target] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        threshold = (int) ((long) capacity * 2 / 3);
+    }
+
+    /**
+     * Spread the key bits with the MurmurHash3 finaliser, as the IDs are mostly sequential
+     */
+    private static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * The table capacity to hold the entries below the load factor of 2/3
+     */
+    private static int capacityFor(int entries) {
+        long needed = (long) entries * 3 / 2 + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("Too many entries " + entries);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    @Override
+    public String toString() {
+        return "IntIntMap[size=" + size + "]";
+    }
+}
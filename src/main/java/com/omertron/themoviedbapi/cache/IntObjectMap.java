@@ -0,0 +1,381 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A map from int keys, such as the TMDb IDs, to objects without boxing the keys.
+ *
+ * The entries are held in open addressing tables (an int array of keys and an array of values, with linear probing) split
+ * into segments. Writes lock the segment. Reads don't lock: a value is written after its key, so a reader that sees the value
+ * also sees the key, and a segment that grows publishes a new table without changing the old one. A read that races with a
+ * write may or may not see it, as with {@link java.util.concurrent.ConcurrentHashMap}.
+ *
+ * Null values are not allowed.
+ *
+ * @param <V> The type of the values
+ */
+public final class IntObjectMap<V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 64;
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Marks a removed entry, the key stays in the slot so the probes for other keys still find them
+    private static final Object REMOVED = new Object();
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Create an empty map
+     */
+    public IntObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Create an empty map sized for the number of entries
+     *
+     * @param expectedSize
+     */
+    public IntObjectMap(int expectedSize) {
+        this(expectedSize, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Create an empty map
+     *
+     * @param expectedSize The number of entries the map is sized for, it will grow past this
+     * @param concurrencyLevel The number of segments that can be written at the same time, rounded up to a power of 2
+     */
+    public IntObjectMap(int expectedSize, int concurrencyLevel) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid expected size " + expectedSize);
+        }
+        if (concurrencyLevel <= 0 || concurrencyLevel > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid concurrency level " + concurrencyLevel);
+        }
+        int count = powerOfTwo(concurrencyLevel);
+        segments = new Segment[count];
+        segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perSegment = (expectedSize + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(capacityFor(perSegment));
+        }
+    }
+
+    /**
+     * Get the value for the key
+     *
+     * @param key
+     * @return The value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int hash = hash(key);
+        Table table = segmentFor(hash).table;
+        int mask = table.keys.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            Object value = table.values.get(slot);
+            if (value == null) {
+                return null;
+            }
+            if (table.keys[slot] == key) {
+                return value == REMOVED ? null : (V) value;
+            }
+        }
+    }
+
+    /**
+     * Is there a value for the key?
+     *
+     * @param key
+     * @return
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Set the value for the key
+     *
+     * @param key
+     * @param value
+     * @return The previous value, or null if there was none
+     */
+    public V put(int key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Set the value for the key if there is no value
+     *
+     * @param key
+     * @param value
+     * @return The current value, or null if there was none and the value was set
+     */
+    public V putIfAbsent(int key, V value) {
+        return put(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(int key, V value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not allowed");
+        }
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            Table table = segment.table;
+            int slot = table.find(key, hash);
+            Object current = table.values.get(slot);
+            if (current != null && current != REMOVED) {
+                if (!onlyIfAbsent) {
+                    table.values.set(slot, value);
+                }
+                return (V) current;
+            }
+
+            if (current == null) {
+                if (segment.used + 1 > table.threshold) {
+                    table = segment.rehash(segment.size + 1);
+                    slot = table.find(key, hash);
+                }
+                table.keys[slot] = key;
+                segment.used++;
+            }
+            table.values.set(slot, value);
+            segment.size++;
+            return null;
+        }
+    }
+
+    /**
+     * Remove the value for the key
+     *
+     * @param key
+     * @return The value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            Table table = segment.table;
+            int slot = table.find(key, hash);
+            Object current = table.values.get(slot);
+            if (current == null || current == REMOVED) {
+                return null;
+            }
+            table.values.set(slot, REMOVED);
+            segment.size--;
+            return (V) current;
+        }
+    }
+
+    /**
+     * Get the number of entries
+     *
+     * @return
+     */
+    public int size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove all of the entries
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.table = new Table(MIN_CAPACITY);
+                segment.size = 0;
+                segment.used = 0;
+            }
+        }
+    }
+
+    /**
+     * Get the keys.
+     *
+     * The keys are read from each segment in turn, so they may not include concurrent changes
+     *
+     * @return
+     */
+    public int[] keys() {
+        int[] keys = new int[size()];
+        int count = 0;
+        for (Segment segment : segments) {
+            Table table = segment.table;
+            for (int slot = 0; slot < table.keys.length; slot++) {
+                Object value = table.values.get(slot);
+                if (value != null && value != REMOVED) {
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2 + 1);
+                    }
+                    keys[count++] = table.keys[slot];
+                }
+            }
+        }
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Call the visitor for each entry, with the same consistency as {@link #keys()}
+     *
+     * @param visitor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        for (Segment segment : segments) {
+            Table table = segment.table;
+            for (int slot = 0; slot < table.keys.length; slot++) {
+                Object value = table.values.get(slot);
+                if (value != null && value != REMOVED) {
+                    visitor.visit(table.keys[slot], (V) value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IntObjectMap[size=" + size() + "]";
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+    }
+
+    /**
+     * Spread the key bits with the MurmurHash3 finaliser, as the IDs are mostly sequential.
+     *
+     * The segment is taken from the high bits and the slot from the low bits
+     */
+    private static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * The table capacity to hold the entries below the load factor of 2/3
+     */
+    private static int capacityFor(int entries) {
+        long needed = (long) entries * 3 / 2 + 1;
+        return (int) Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY, powerOfTwo((int) Math.min(needed, MAX_CAPACITY))));
+    }
+
+    /**
+     * Called for the entries of the map
+     *
+     * @param <V>
+     */
+    public interface Visitor<V> {
+
+        void visit(int key, V value);
+    }
+
+    private static final class Segment {
+
+        volatile Table table;
+        volatile int size;
+        // Slots with a key, including removed entries
+        int used;
+
+        Segment(int capacity) {
+            table = new Table(capacity);
+        }
+
+        /**
+         * Copy the entries to a new table, dropping the removed ones
+         */
+        Table rehash(int entries) {
+            Table old = table;
+            Table replacement = new Table(capacityFor(Math.max(entries, old.threshold / 2 + 1)));
+            int mask = replacement.keys.length - 1;
+            for (int slot = 0; slot < old.keys.length; slot++) {
+                Object value = old.values.get(slot);
+                if (value != null && value != REMOVED) {
+                    int key = old.keys[slot];
+                    int target = hash(key) & mask;
+                    while (replacement.values.get(target) != null) {
+                        target = (target + 1) & mask;
+                    }
+                    replacement.keys[target] = key;
+                    replacement.values.lazySet(target, value);
+                }
+            }
+            used = size;
+            // Publishing the table makes the writes to it visible to the readers
+            table = replacement;
+            return replacement;
+        }
+    }
+
+    private static final class Table {
+
+        final int[] keys;
+        final AtomicReferenceArray<Object> values;
+        final int threshold;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            threshold = (int) ((long) capacity * 2 / 3);
+        }
+
+        /**
+         * Find the slot with the key, or the empty slot where it would go
+         */
+        int find(int key, int hash) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (values.get(slot) != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.tv.TVInfo;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stale while revalidate cache for the popular, now playing, upcoming, airing today and on the air lists.
+ *
+ * Until the soft cache time has passed the cached list is returned, after that it is refreshed in the background, and after the
+ * hard cache time it must be loaded again, see {@link RevalidatingCache}.
+ *
+ * The lists returned are shared between callers and should not be changed.
+ */
+public class ListCache extends RevalidatingCache {
+
+    private static final int DEFAULT_MAX_LISTS = 500;
+    private static final long DEFAULT_SOFT_MINUTES = 10;
+    private static final long DEFAULT_HARD_MINUTES = 60;
+
+    private final TheMovieDbApi api;
+
+    /**
+     * Create a cache with the default cache times
+     *
+     * @param api The API used to load the lists
+     */
+    public ListCache(TheMovieDbApi api) {
+        this(api, DEFAULT_SOFT_MINUTES, DEFAULT_HARD_MINUTES, TimeUnit.MINUTES, DEFAULT_MAX_LISTS);
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param api The API used to load the lists
+     * @param softTime How long before a list is refreshed in the background
+     * @param hardTime How long before a list must be loaded again before it is returned
+     * @param unit The unit of the times
+     * @param maxLists The maximum number of lists (each page and language is a list) to cache
+     */
+    public ListCache(TheMovieDbApi api, long softTime, long hardTime, TimeUnit unit, int maxLists) {
+        super(softTime, hardTime, unit, maxLists);
+        this.api = api;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="List methods">
+    /**
+     * Get the list of popular movies
+     *
+     * @param page
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getPopularMovieList(java.lang.Integer, java.lang.String)
+     */
+    public ResultList<MovieInfo> getPopularMovieList(final Integer page, final String language) throws MovieDbException {
+        return get(key("popular", page, language), new CachedValue.Loader<ResultList<MovieInfo>>() {
+            @Override
+            public ResultList<MovieInfo> load() throws MovieDbException {
+                return api.getPopularMovieList(page, language);
+            }
+        });
+    }
+
+    /**
+     * Get the list of movies playing in theatres
+     *
+     * @param page
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getNowPlayingMovies(java.lang.Integer, java.lang.String)
+     */
+    public ResultList<MovieInfo> getNowPlayingMovies(final Integer page, final String language) throws MovieDbException {
+        return get(key("now_playing", page, language), new CachedValue.Loader<ResultList<MovieInfo>>() {
+            @Override
+            public ResultList<MovieInfo> load() throws MovieDbException {
+                return api.getNowPlayingMovies(page, language);
+            }
+        });
+    }
+
+    /**
+     * Get the list of upcoming movies
+     *
+     * @param page
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getUpcoming(java.lang.Integer, java.lang.String)
+     */
+    public ResultList<MovieInfo> getUpcoming(final Integer page, final String language) throws MovieDbException {
+        return get(key("upcoming", page, language), new CachedValue.Loader<ResultList<MovieInfo>>() {
+            @Override
+            public ResultList<MovieInfo> load() throws MovieDbException {
+                return api.getUpcoming(page, language);
+            }
+        });
+    }
+
+    /**
+     * Get the list of TV shows airing today
+     *
+     * @param page
+     * @param language
+     * @param timezone
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getTVAiringToday(java.lang.Integer, java.lang.String, java.lang.String)
+     */
+    public ResultList<TVInfo> getTVAiringToday(final Integer page, final String language, final String timezone)
+            throws MovieDbException {
+        return get(key("airing_today", page, language) + "/" + timezone, new CachedValue.Loader<ResultList<TVInfo>>() {
+            @Override
+            public ResultList<TVInfo> load() throws MovieDbException {
+                return api.getTVAiringToday(page, language, timezone);
+            }
+        });
+    }
+
+    /**
+     * Get the list of TV shows on the air
+     *
+     * @param page
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#getTVOnTheAir(java.lang.Integer, java.lang.String)
+     */
+    public ResultList<TVInfo> getTVOnTheAir(final Integer page, final String language) throws MovieDbException {
+        return get(key("on_the_air", page, language), new CachedValue.Loader<ResultList<TVInfo>>() {
+            @Override
+            public ResultList<TVInfo> load() throws MovieDbException {
+                return api.getTVOnTheAir(page, language);
+            }
+        });
+    }
+    //</editor-fold>
+
+    private static String key(String list, Integer page, String language) {
+        return list + "/" + page + "/" + language;
+    }
+}
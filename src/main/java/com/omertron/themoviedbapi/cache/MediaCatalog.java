@@ -0,0 +1,715 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.enumeration.MediaType;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.ResultList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in memory catalog of the movie and TV list results, for local queries such as the top rated science fiction movies of
+ * the 1990s with more than 500 votes, without calling discover.
+ *
+ * The records are held by column in primitive arrays rather than as objects: the ID, vote average, vote count, popularity and
+ * release (or first air) date as a day number, the genres as a bitset and the original language as an index into a dictionary.
+ * A query is a single pass over the columns, which can be split over a fork join pool for large catalogs.
+ *
+ * Records are added, or replaced, from the list results. When the catalog is added to a {@link ChangeInvalidator} the changed
+ * IDs are dropped until they are added again.
+ */
+public class MediaCatalog implements ChangeListener {
+
+    /**
+     * Day number used when the date is not known
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PARALLEL_THRESHOLD = 16384;
+    private static final int NO_LANGUAGE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntIntMap movieRows = new IntIntMap(INITIAL_CAPACITY);
+    private final IntIntMap tvRows = new IntIntMap(INITIAL_CAPACITY);
+    private final Map<Integer, Integer> genreBits = new HashMap<>();
+    private final Map<String, Integer> languageIndex = new HashMap<>();
+    private final List<String> languages = new ArrayList<>();
+    private int rows;
+    private int removedRows;
+    private byte[] types;
+    private boolean[] removed;
+    private int[] ids;
+    private float[] voteAverages;
+    private int[] voteCounts;
+    private float[] popularities;
+    private int[] releaseDays;
+    private short[] languageCodes;
+    // One column for each 64 genres
+    private long[][] genres;
+
+    /**
+     * Sort order for the results of a query
+     */
+    public enum Sort {
+        VOTE_AVERAGE,
+        VOTE_COUNT,
+        POPULARITY,
+        RELEASE_DATE
+    }
+
+    /**
+     * Create an empty catalog
+     */
+    public MediaCatalog() {
+        clear();
+    }
+
+    /**
+     * Add or replace a movie or TV show
+     *
+     * @param media
+     * @return True if added, false if it was not a movie or TV show
+     */
+    public boolean add(MediaBasic media) {
+        MediaType type;
+        String date;
+        String language;
+        int[] genreIds;
+        if (media instanceof MovieBasic) {
+            MovieBasic movie = (MovieBasic) media;
+            type = MediaType.MOVIE;
+            date = movie.getReleaseDate();
+            language = movie.getOriginalLanguage();
+            genreIds = movie.getGenreIdArray();
+        } else if (media instanceof TVBasic) {
+            TVBasic tv = (TVBasic) media;
+            type = MediaType.TV;
+            date = tv.getFirstAirDate();
+            language = tv.getOriginalLanguage();
+            genreIds = tv.getGenreIdArray();
+        } else {
+            return false;
+        }
+
+        int releaseDay = toEpochDay(date);
+        lock.writeLock().lock();
+        try {
+            IntIntMap index = rowIndex(type);
+            int row = index.get(media.getId());
+            if (row == IntIntMap.MISSING) {
+                row = addRow();
+                index.put(media.getId(), row);
+            } else if (removed[row]) {
+                removed[row] = false;
+                removedRows--;
+            }
+
+            types[row] = (byte) type.ordinal();
+            ids[row] = media.getId();
+            voteAverages[row] = media.getVoteAverage();
+            voteCounts[row] = media.getVoteCount();
+            popularities[row] = media.getPopularity();
+            releaseDays[row] = releaseDay;
+            languageCodes[row] = (short) languageCode(language);
+            for (long[] column : genres) {
+                column[row] = 0L;
+            }
+            if (genreIds != null) {
+                for (int genreId : genreIds) {
+                    int bit = genreBit(genreId);
+                    genres[bit >>> 6][row] |= 1L << bit;
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace the movies and TV shows in a list
+     *
+     * @param results
+     * @return The number added
+     */
+    public int addAll(List<? extends MediaBasic> results) {
+        int added = 0;
+        if (results != null) {
+            for (MediaBasic media : results) {
+                if (add(media)) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Add or replace the movies and TV shows in a page of results
+     *
+     * @param results
+     * @return The number added
+     */
+    public int addAll(ResultList<? extends MediaBasic> results) {
+        return results == null ? 0 : addAll(results.getResults());
+    }
+
+    /**
+     * Remove a movie or TV show
+     *
+     * @param type
+     * @param id
+     * @return True if it was in the catalog
+     */
+    public boolean remove(MediaType type, int id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowIndex(type).get(id);
+            if (row == IntIntMap.MISSING || removed[row]) {
+                return false;
+            }
+            // The row is kept for the ID and reused if it is added again
+            removed[row] = true;
+            removedRows++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Is the movie or TV show in the catalog?
+     *
+     * @param type
+     * @param id
+     * @return
+     */
+    public boolean contains(MediaType type, int id) {
+        lock.readLock().lock();
+        try {
+            int row = rowIndex(type).get(id);
+            return row != IntIntMap.MISSING && !removed[row];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The changed movies and TV shows are removed, whenever they were added
+     *
+     * @param type
+     * @param ids
+     * @param loadedBefore
+     */
+    @Override
+    public void changed(EntityType type, int[] ids, long loadedBefore) {
+        MediaType mediaType;
+        if (type == EntityType.MOVIE) {
+            mediaType = MediaType.MOVIE;
+        } else if (type == EntityType.TV) {
+            mediaType = MediaType.TV;
+        } else {
+            return;
+        }
+        for (int id : ids) {
+            remove(mediaType, id);
+        }
+    }
+
+    /**
+     * Everything is removed, as the catalog does not know when the records were added
+     *
+     * @param loadedBefore
+     */
+    @Override
+    public void changesMissed(long loadedBefore) {
+        clear();
+    }
+
+    /**
+     * Get the number of movies and TV shows in the catalog
+     *
+     * @return
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - removedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove everything from the catalog
+     */
+    public final void clear() {
+        lock.writeLock().lock();
+        try {
+            movieRows.clear();
+            tvRows.clear();
+            genreBits.clear();
+            languageIndex.clear();
+            languages.clear();
+            rows = 0;
+            removedRows = 0;
+            types = new byte[INITIAL_CAPACITY];
+            removed = new boolean[INITIAL_CAPACITY];
+            ids = new int[INITIAL_CAPACITY];
+            voteAverages = new float[INITIAL_CAPACITY];
+            voteCounts = new int[INITIAL_CAPACITY];
+            popularities = new float[INITIAL_CAPACITY];
+            releaseDays = new int[INITIAL_CAPACITY];
+            languageCodes = new short[INITIAL_CAPACITY];
+            genres = new long[][]{new long[INITIAL_CAPACITY]};
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Start a query of the movies or TV shows
+     *
+     * @param type MOVIE or TV
+     * @return
+     */
+    public Query query(MediaType type) {
+        if (type != MediaType.MOVIE && type != MediaType.TV) {
+            throw new IllegalArgumentException("Only movies and TV shows are in the catalog, not " + type);
+        }
+        return new Query(type);
+    }
+
+    private IntIntMap rowIndex(MediaType type) {
+        return type == MediaType.MOVIE ? movieRows : tvRows;
+    }
+
+    private int addRow() {
+        if (rows == ids.length) {
+            int capacity = rows * 2;
+            types = Arrays.copyOf(types, capacity);
+            removed = Arrays.copyOf(removed, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            voteAverages = Arrays.copyOf(voteAverages, capacity);
+            voteCounts = Arrays.copyOf(voteCounts, capacity);
+            popularities = Arrays.copyOf(popularities, capacity);
+            releaseDays = Arrays.copyOf(releaseDays, capacity);
+            languageCodes = Arrays.copyOf(languageCodes, capacity);
+            for (int word = 0; word < genres.length; word++) {
+                genres[word] = Arrays.copyOf(genres[word], capacity);
+            }
+        }
+        return rows++;
+    }
+
+    private int genreBit(int genreId) {
+        Integer bit = genreBits.get(genreId);
+        if (bit == null) {
+            bit = genreBits.size();
+            genreBits.put(genreId, bit);
+            if (bit >>> 6 == genres.length) {
+                genres = Arrays.copyOf(genres, genres.length + 1);
+                genres[genres.length - 1] = new long[ids.length];
+            }
+        }
+        return bit;
+    }
+
+    private int languageCode(String language) {
+        if (language == null) {
+            return NO_LANGUAGE;
+        }
+        Integer code = languageIndex.get(language);
+        if (code == null) {
+            if (languages.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many languages in the catalog");
+            }
+            code = languages.size();
+            languages.add(language);
+            languageIndex.put(language, code);
+        }
+        return code;
+    }
+
+    /**
+     * Convert a date in the format "yyyy-MM-dd" to the number of days since 1970-01-01
+     *
+     * @param date
+     * @return The day number, or {@link #NO_DATE} if the date is missing or not valid
+     */
+    public static int toEpochDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return NO_DATE;
+        }
+        int year;
+        int month;
+        int day;
+        try {
+            year = Integer.parseInt(date.substring(0, 4));
+            month = Integer.parseInt(date.substring(5, 7));
+            day = Integer.parseInt(date.substring(8, 10));
+        } catch (NumberFormatException ex) {
+            return NO_DATE;
+        }
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return NO_DATE;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Convert a date to the number of days since 1970-01-01
+     *
+     * @param year
+     * @param month 1 to 12
+     * @param day
+     * @return
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        // Count from March so the leap day is at the end of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int sortableInt(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    /**
+     * A query of the catalog.
+     *
+     * The conditions are all required to match. The query holds a read lock on the catalog while it runs, so it sees the
+     * catalog as it was when it started.
+     */
+    public final class Query {
+
+        private final MediaType type;
+        private float minVoteAverage = Float.NEGATIVE_INFINITY;
+        private int minVoteCount = Integer.MIN_VALUE;
+        private float minPopularity = Float.NEGATIVE_INFINITY;
+        private int fromDay = NO_DATE;
+        private int toDay = Integer.MAX_VALUE;
+        private int[] genreIds = new int[0];
+        private String language;
+        private Sort sort;
+        private boolean descending;
+        private int limit = Integer.MAX_VALUE;
+        private ForkJoinPool pool;
+
+        private Query(MediaType type) {
+            this.type = type;
+        }
+
+        public Query minVoteAverage(float minVoteAverage) {
+            this.minVoteAverage = minVoteAverage;
+            return this;
+        }
+
+        public Query minVoteCount(int minVoteCount) {
+            this.minVoteCount = minVoteCount;
+            return this;
+        }
+
+        public Query minPopularity(float minPopularity) {
+            this.minPopularity = minPopularity;
+            return this;
+        }
+
+        /**
+         * Released (or first aired) between the dates, inclusive. Records without a date do not match.
+         *
+         * @param from The first date as "yyyy-MM-dd", or null for no start
+         * @param to The last date as "yyyy-MM-dd", or null for no end
+         * @return
+         */
+        public Query releasedBetween(String from, String to) {
+            fromDay = from == null ? NO_DATE + 1 : checkDate(from);
+            toDay = to == null ? Integer.MAX_VALUE : checkDate(to);
+            return this;
+        }
+
+        /**
+         * Released (or first aired) in the years, inclusive
+         *
+         * @param fromYear
+         * @param toYear
+         * @return
+         */
+        public Query releasedInYears(int fromYear, int toYear) {
+            fromDay = toEpochDay(fromYear, 1, 1);
+            toDay = toEpochDay(toYear, 12, 31);
+            return this;
+        }
+
+        private int checkDate(String date) {
+            int day = toEpochDay(date);
+            if (day == NO_DATE) {
+                throw new IllegalArgumentException("Invalid date '" + date + "', expected yyyy-MM-dd");
+            }
+            return day;
+        }
+
+        /**
+         * Has all of the genres
+         *
+         * @param genreIds
+         * @return
+         */
+        public Query withGenres(int... genreIds) {
+            this.genreIds = genreIds.clone();
+            return this;
+        }
+
+        /**
+         * Has the original language
+         *
+         * @param language The ISO 639-1 code, e.g. "en"
+         * @return
+         */
+        public Query language(String language) {
+            this.language = language;
+            return this;
+        }
+
+        public Query orderBy(Sort sort, boolean descending) {
+            this.sort = sort;
+            this.descending = descending;
+            return this;
+        }
+
+        public Query limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Invalid limit " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Split large scans over a fork join pool
+         *
+         * @param pool The pool, or null to scan in the calling thread
+         * @return
+         */
+        public Query parallel(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Count the matches
+         *
+         * @return
+         */
+        public int count() {
+            lock.readLock().lock();
+            try {
+                int[] matches = matches();
+                return matches.length;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Get the IDs of the matches, in the sort order or in the order they were added if there is no sort
+         *
+         * @return
+         */
+        public int[] ids() {
+            lock.readLock().lock();
+            try {
+                int[] matches = sort(matches());
+                int[] result = new int[Math.min(limit, matches.length)];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = ids[matches[i]];
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private int[] matches() {
+            Scan scan = new Scan(this);
+            if (scan.empty) {
+                return new int[0];
+            }
+            if (pool == null || rows <= PARALLEL_THRESHOLD) {
+                return scan.scan(0, rows);
+            }
+            return pool.invoke(new ScanTask(scan, 0, rows));
+        }
+
+        private int[] sort(int[] matches) {
+            if (sort == null || matches.length <= 1) {
+                return matches;
+            }
+            // Sort the key and row packed into a long, ties stay in the order they were added
+            long[] keys = new long[matches.length];
+            for (int i = 0; i < matches.length; i++) {
+                int row = matches[i];
+                int key = sortKey(row);
+                keys[i] = ((long) (descending ? ~key : key) << 32) | row;
+            }
+            Arrays.sort(keys);
+            int[] sorted = new int[matches.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = (int) keys[i];
+            }
+            return sorted;
+        }
+
+        private int sortKey(int row) {
+            switch (sort) {
+                case VOTE_AVERAGE:
+                    return sortableInt(voteAverages[row]);
+                case VOTE_COUNT:
+                    return voteCounts[row];
+                case POPULARITY:
+                    return sortableInt(popularities[row]);
+                default:
+                    return releaseDays[row];
+            }
+        }
+    }
+
+    /**
+     * The conditions of a query resolved against the catalog columns, so the scan only compares primitives
+     */
+    private final class Scan {
+
+        private final byte type;
+        private final float minVoteAverage;
+        private final int minVoteCount;
+        private final float minPopularity;
+        private final int fromDay;
+        private final int toDay;
+        private final int language;
+        private final long[] genreMasks;
+        private final boolean empty;
+
+        Scan(Query query) {
+            type = (byte) query.type.ordinal();
+            minVoteAverage = query.minVoteAverage;
+            minVoteCount = query.minVoteCount;
+            minPopularity = query.minPopularity;
+            fromDay = query.fromDay;
+            toDay = query.toDay;
+
+            boolean unknown = false;
+            if (query.language == null) {
+                language = NO_LANGUAGE;
+            } else {
+                Integer code = languageIndex.get(query.language);
+                unknown = code == null;
+                language = code == null ? NO_LANGUAGE : code;
+            }
+
+            genreMasks = new long[genres.length];
+            for (int genreId : query.genreIds) {
+                Integer bit = genreBits.get(genreId);
+                if (bit == null) {
+                    unknown = true;
+                } else {
+                    genreMasks[bit >>> 6] |= 1L << bit;
+                }
+            }
+            empty = unknown || fromDay > toDay;
+        }
+
+        int[] scan(int from, int to) {
+            int[] matches = new int[to - from];
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                if (types[row] == type
+                        && !removed[row]
+                        && voteCounts[row] >= minVoteCount
+                        && voteAverages[row] >= minVoteAverage
+                        && popularities[row] >= minPopularity
+                        && releaseDays[row] >= fromDay
+                        && releaseDays[row] <= toDay
+                        && (language == NO_LANGUAGE || languageCodes[row] == language)
+                        && hasGenres(row)) {
+                    matches[count++] = row;
+                }
+            }
+            return count == matches.length ? matches : Arrays.copyOf(matches, count);
+        }
+
+        private boolean hasGenres(int row) {
+            for (int word = 0; word < genreMasks.length; word++) {
+                long mask = genreMasks[word];
+                if ((genres[word][row] & mask) != mask) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scans half of the rows each until the range is small enough to scan directly
+     */
+    private static final class ScanTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final transient Scan scan;
+        private final int from;
+        private final int to;
+
+        ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return scan.scan(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask right = new ScanTask(scan, middle, to);
+            right.fork();
+            int[] first = new ScanTask(scan, from, middle).compute();
+            int[] second = right.join();
+            int[] matches = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, matches, first.length, second.length);
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.enumeration.ExternalSource;
+import com.omertron.themoviedbapi.model.FindResults;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpStatus;
+import org.yamj.api.common.exception.ApiExceptionType;
+
+/**
+ * Remembers the IDs and external IDs that were not found, so they are not requested again until the cache time has passed.
+ *
+ * The misses are held in a bounded map, oldest first, with a Bloom filter in front of it. The filter is probed with a hash of
+ * the type and ID without taking the lock, so most lookups of IDs that are not misses don't build the key, wait for the lock or
+ * search the map. An ID should be removed with {@link #invalidate(EntityType, int)}
+ * when it appears in the changes feed, as it may now exist.
+ *
+ * The changes feed only lists TMDb IDs, so it can't say when an external ID may now be found. External ID misses are instead
+ * kept for a shorter time, set with {@link #setExternalCacheTime(long, TimeUnit)}.
+ */
+public class NegativeCache implements ChangeListener {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final long DEFAULT_CACHE_HOURS = 6;
+    private static final long DEFAULT_EXTERNAL_CACHE_HOURS = 1;
+    private static final String EXTERNAL_PREFIX = "external:";
+
+    private final int maxEntries;
+    private volatile long timeToLive;
+    private volatile long externalTimeToLive;
+    private final Map<String, Miss> misses;
+    private final BloomFilter filter;
+    private int staleKeys = 0;
+
+    /**
+     * Create a cache with the default size and cache time
+     */
+    public NegativeCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_CACHE_HOURS, TimeUnit.HOURS);
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param maxEntries The maximum number of misses to remember, the oldest are removed first
+     * @param cacheTime How long a miss is remembered for
+     * @param unit The unit of the cache time
+     */
+    public NegativeCache(int maxEntries, long cacheTime, TimeUnit unit) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maximum entries " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLive = unit.toMillis(cacheTime);
+        this.externalTimeToLive = Math.min(timeToLive, TimeUnit.HOURS.toMillis(DEFAULT_EXTERNAL_CACHE_HOURS));
+        this.misses = new LinkedHashMap<>();
+        this.filter = new BloomFilter(maxEntries);
+    }
+
+    /**
+     * Is the exception because the ID was not found?
+     *
+     * Other errors, such as connection or authorisation failures, are not treated as a miss
+     *
+     * @param ex
+     * @return
+     */
+    public static boolean isNotFound(MovieDbException ex) {
+        return ex.getExceptionType() == ApiExceptionType.ID_NOT_FOUND
+                || (ex.getExceptionType() == ApiExceptionType.HTTP_404_ERROR && ex.getResponseCode() == HttpStatus.SC_NOT_FOUND);
+    }
+
+    /**
+     * Did the find return nothing?
+     *
+     * @param results
+     * @return
+     */
+    public static boolean isEmpty(FindResults results) {
+        return results == null
+                || (isEmpty(results.getMovieResults())
+                && isEmpty(results.getPersonResults())
+                && isEmpty(results.getTvResults())
+                && isEmpty(results.getTvSeasonResults())
+                && isEmpty(results.getTvEpisodeResults()));
+    }
+
+    private static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    private static String key(EntityType type, int id) {
+        return type.name() + ':' + id;
+    }
+
+    private static String key(ExternalSource source, String id) {
+        return EXTERNAL_PREFIX + source.getPropertyString() + ':' + id;
+    }
+
+    private static int hash(EntityType type, int id) {
+        return 31 * type.ordinal() + id;
+    }
+
+    private static int hash(ExternalSource source, String id) {
+        return 31 * (source.ordinal() + EntityType.values().length) + String.valueOf(id).hashCode();
+    }
+
+    /**
+     * Remember that the ID was not found
+     *
+     * @param type
+     * @param id
+     */
+    public void markMissing(EntityType type, int id) {
+        add(key(type, id), hash(type, id));
+    }
+
+    /**
+     * Remember that the external ID found nothing
+     *
+     * @param source
+     * @param id
+     */
+    public void markMissing(ExternalSource source, String id) {
+        add(key(source, id), hash(source, id));
+    }
+
+    /**
+     * Was the ID recently not found?
+     *
+     * @param type
+     * @param id
+     * @return
+     */
+    public boolean isMissing(EntityType type, int id) {
+        return filter.mightContain(hash(type, id)) && contains(key(type, id), timeToLive);
+    }
+
+    /**
+     * Did the external ID recently find nothing?
+     *
+     * @param source
+     * @param id
+     * @return
+     */
+    public boolean isMissing(ExternalSource source, String id) {
+        return filter.mightContain(hash(source, id)) && contains(key(source, id), externalTimeToLive);
+    }
+
+    /**
+     * Forget a miss, e.g. because the ID has appeared in the changes feed
+     *
+     * @param type
+     * @param id
+     * @return True if the ID was a miss
+     */
+    public synchronized boolean invalidate(EntityType type, int id) {
+        return remove(key(type, id));
+    }
+
+    /**
+     * Forget all the external ID misses, e.g. after a bulk import of new entities
+     *
+     * @return The number of misses removed
+     */
+    public synchronized int invalidateExternal() {
+        int removed = 0;
+        for (Iterator<String> iter = misses.keySet().iterator(); iter.hasNext();) {
+            if (iter.next().startsWith(EXTERNAL_PREFIX)) {
+                iter.remove();
+                removed++;
+            }
+        }
+        staleKeys += removed;
+        rebuildIfStale();
+        return removed;
+    }
+
+    /**
+     * Forget the misses for the changed IDs that were recorded before the time.
+     *
+     * External ID misses are kept, they expire after the external cache time
+     *
+     * @param type
+     * @param ids
+     * @param loadedBefore
+     */
+    @Override
+    public synchronized void changed(EntityType type, int[] ids, long loadedBefore) {
+        if (ids.length == 0) {
+            return;
+        }
+        for (int id : ids) {
+            String key = key(type, id);
+            Miss miss = misses.get(key);
+            if (miss != null && miss.recordedAt < loadedBefore) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Forget the misses for TMDb IDs that were recorded before the time.
+     *
+     * External ID misses are kept, they expire after the external cache time
+     *
+     * @param loadedBefore
+     */
+    @Override
+    public synchronized void changesMissed(long loadedBefore) {
+        int removed = 0;
+        for (Iterator<Map.Entry<String, Miss>> iter = misses.entrySet().iterator(); iter.hasNext();) {
+            Map.Entry<String, Miss> entry = iter.next();
+            if (!entry.getKey().startsWith(EXTERNAL_PREFIX) && entry.getValue().recordedAt < loadedBefore) {
+                iter.remove();
+                removed++;
+            }
+        }
+        staleKeys += removed;
+        rebuildIfStale();
+    }
+
+    /**
+     * Forget all the misses
+     */
+    public synchronized void clear() {
+        misses.clear();
+        filter.clear();
+        staleKeys = 0;
+    }
+
+    /**
+     * Get the number of misses held
+     *
+     * @return
+     */
+    public synchronized int size() {
+        return misses.size();
+    }
+
+    /**
+     * Set how long a miss is remembered for
+     *
+     * @param cacheTime
+     * @param unit
+     */
+    public void setCacheTime(long cacheTime, TimeUnit unit) {
+        this.timeToLive = unit.toMillis(cacheTime);
+    }
+
+    /**
+     * Set how long an external ID miss is remembered for.
+     *
+     * The default is one hour, or the cache time if that is shorter
+     *
+     * @param cacheTime
+     * @param unit
+     */
+    public void setExternalCacheTime(long cacheTime, TimeUnit unit) {
+        this.externalTimeToLive = unit.toMillis(cacheTime);
+    }
+
+    private synchronized void add(String key, int hash) {
+        // Re-insert so the map stays in the order the misses were recorded
+        misses.remove(key);
+        misses.put(key, new Miss(now(), hash));
+        filter.add(hash);
+
+        if (misses.size() > maxEntries) {
+            Iterator<String> iter = misses.keySet().iterator();
+            iter.next();
+            iter.remove();
+            staleKeys++;
+            rebuildIfStale();
+        }
+    }
+
+    private synchronized boolean contains(String key, long cacheTime) {
+        Miss miss = misses.get(key);
+        if (miss == null) {
+            return false;
+        }
+        if (now() - miss.recordedAt >= cacheTime) {
+            remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean remove(String key) {
+        if (misses.remove(key) == null) {
+            return false;
+        }
+        staleKeys++;
+        rebuildIfStale();
+        return true;
+    }
+
+    /**
+     * Keys can't be removed from the filter, so rebuild it once enough keys have gone to affect the false positive rate
+     */
+    private void rebuildIfStale() {
+        if (staleKeys > maxEntries / 2) {
+            filter.clear();
+            for (Miss miss : misses.values()) {
+                filter.add(miss.hash);
+            }
+            staleKeys = 0;
+        }
+    }
+
+    /**
+     * When a miss was recorded, and the hash it was added to the filter with
+     */
+    private static final class Miss {
+
+        final long recordedAt;
+        final int hash;
+
+        Miss(long recordedAt, int hash) {
+            this.recordedAt = recordedAt;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * The current time in milliseconds
+     *
+     * @return
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
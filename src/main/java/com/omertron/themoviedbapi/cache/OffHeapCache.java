@@ -0,0 +1,340 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache that holds the values as encoded bytes in direct (off-heap) buffers.
+ *
+ * The memory is split into fixed size slabs. Values are written one after another into the current slab, and when all the slabs
+ * are full the oldest slab is emptied and reused, removing the values in it. Only the keys and the position of each value are
+ * held on the heap, the values are decoded with the {@link EntryCodec} on each hit.
+ *
+ * Replacing or removing a value does not free its space straight away, it is reclaimed when its slab is reused.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class OffHeapCache<K, V> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapCache.class);
+    private static final int HEADER_BYTES = 4;
+    private static final int MAX_SLABS = 1 << 16;
+
+    private final EntryCodec<V> codec;
+    private final int slabBytes;
+    private final ByteBuffer[] slabs;
+    private final List<List<K>> slabKeys;
+    private final Map<K, Long> index = new HashMap<>();
+    private int currentSlab = 0;
+    private int usedSlabs = 1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hitNanos = new AtomicLong();
+    private final AtomicLong maxHitNanos = new AtomicLong();
+
+    /**
+     * Create a cache
+     *
+     * @param maxBytes The total size of the slabs
+     * @param slabBytes The size of each slab, which is also the largest encoded value that can be held
+     * @param codec The codec used to encode and decode the values
+     */
+    public OffHeapCache(long maxBytes, int slabBytes, EntryCodec<V> codec) {
+        if (slabBytes <= HEADER_BYTES || maxBytes < slabBytes * 2L) {
+            throw new IllegalArgumentException("Invalid sizes, need at least two slabs of " + slabBytes + " bytes from " + maxBytes);
+        }
+        long count = maxBytes / slabBytes;
+        if (count > MAX_SLABS) {
+            throw new IllegalArgumentException("Too many slabs (" + count + "), use a larger slab size");
+        }
+
+        this.codec = codec;
+        this.slabBytes = slabBytes;
+        this.slabs = new ByteBuffer[(int) count];
+        this.slabKeys = new ArrayList<>(slabs.length);
+        for (int i = 0; i < slabs.length; i++) {
+            slabKeys.add(new ArrayList<K>());
+        }
+        // Slabs are allocated as they are first needed
+        slabs[0] = ByteBuffer.allocateDirect(slabBytes);
+    }
+
+    /**
+     * Add a value to the cache, replacing any value with the same key
+     *
+     * @param key
+     * @param value
+     * @return False if the value could not be encoded or is too large for a slab
+     */
+    public boolean put(K key, V value) {
+        byte[] bytes;
+        try {
+            bytes = codec.encode(value);
+        } catch (IOException ex) {
+            LOG.debug("Failed to encode value for {}: {}", key, ex.getMessage());
+            rejected.incrementAndGet();
+            return false;
+        }
+        return putBytes(key, bytes);
+    }
+
+    private synchronized boolean putBytes(K key, byte[] bytes) {
+        int needed = bytes.length + HEADER_BYTES;
+        if (needed > slabBytes) {
+            rejected.incrementAndGet();
+            index.remove(key);
+            return false;
+        }
+
+        ByteBuffer slab = slabs[currentSlab];
+        if (slab.remaining() < needed) {
+            slab = nextSlab();
+        }
+
+        int offset = slab.position();
+        slab.putInt(bytes.length);
+        slab.put(bytes);
+        index.put(key, position(currentSlab, offset));
+        slabKeys.get(currentSlab).add(key);
+        return true;
+    }
+
+    /**
+     * Move to the next slab, allocating it or emptying it if it is in use
+     */
+    private ByteBuffer nextSlab() {
+        currentSlab = (currentSlab + 1) % slabs.length;
+        if (slabs[currentSlab] == null) {
+            slabs[currentSlab] = ByteBuffer.allocateDirect(slabBytes);
+            usedSlabs++;
+        } else {
+            List<K> keys = slabKeys.get(currentSlab);
+            for (K key : keys) {
+                Long position = index.get(key);
+                // The key may have been replaced with a value in another slab
+                if (position != null && slabOf(position) == currentSlab) {
+                    index.remove(key);
+                    evictions.incrementAndGet();
+                }
+            }
+            keys.clear();
+            slabs[currentSlab].clear();
+        }
+        return slabs[currentSlab];
+    }
+
+    /**
+     * Get a value from the cache
+     *
+     * @param key
+     * @return The decoded value, or null if it is not in the cache
+     */
+    public V get(K key) {
+        long start = System.nanoTime();
+        byte[] bytes = getBytes(key);
+        if (bytes == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        V value;
+        try {
+            value = codec.decode(bytes, 0, bytes.length);
+        } catch (IOException ex) {
+            LOG.debug("Failed to decode value for {}: {}", key, ex.getMessage());
+            remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        hits.incrementAndGet();
+        hitNanos.addAndGet(elapsed);
+        long max = maxHitNanos.get();
+        while (elapsed > max && !maxHitNanos.compareAndSet(max, elapsed)) {
+            max = maxHitNanos.get();
+        }
+        return value;
+    }
+
+    private synchronized byte[] getBytes(K key) {
+        Long position = index.get(key);
+        if (position == null) {
+            return null;
+        }
+        ByteBuffer slab = slabs[slabOf(position)];
+        int offset = offsetOf(position);
+        byte[] bytes = new byte[slab.getInt(offset)];
+        ByteBuffer view = slab.duplicate();
+        view.position(offset + HEADER_BYTES);
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Is the key in the cache?
+     *
+     * @param key
+     * @return
+     */
+    public synchronized boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Remove a value from the cache
+     *
+     * @param key
+     * @return True if the value was in the cache
+     */
+    public synchronized boolean remove(K key) {
+        return index.remove(key) != null;
+    }
+
+    /**
+     * Remove the values whose keys match the filter
+     *
+     * @param filter
+     * @return The number of values removed
+     */
+    public synchronized int removeIf(KeyFilter<? super K> filter) {
+        int removed = 0;
+        for (Iterator<K> iter = index.keySet().iterator(); iter.hasNext();) {
+            if (filter.matches(iter.next())) {
+                iter.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all the values, the slabs are kept for reuse
+     */
+    public synchronized void clear() {
+        index.clear();
+        for (int i = 0; i < slabs.length; i++) {
+            slabKeys.get(i).clear();
+            if (slabs[i] != null) {
+                slabs[i].clear();
+            }
+        }
+        currentSlab = 0;
+    }
+
+    /**
+     * Get the number of values in the cache
+     *
+     * @return
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Get the number of bytes allocated off the heap
+     *
+     * @return
+     */
+    public synchronized long getAllocatedBytes() {
+        return (long) usedSlabs * slabBytes;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The number of values removed to make space for new values
+     *
+     * @return
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * The number of values not added because they could not be encoded or were too large
+     *
+     * @return
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Get the average time to copy and decode a value for a hit
+     *
+     * @return The time in nanoseconds, or 0 if there have been no hits
+     */
+    public long getAverageHitNanos() {
+        long count = hits.get();
+        return count == 0 ? 0L : hitNanos.get() / count;
+    }
+
+    /**
+     * Get the longest time to copy and decode a value for a hit
+     *
+     * @return The time in nanoseconds
+     */
+    public long getMaxHitNanos() {
+        return maxHitNanos.get();
+    }
+
+    private static long position(int slab, int offset) {
+        return ((long) slab << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int slabOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Selects keys to remove
+     *
+     * @param <K>
+     */
+    public interface KeyFilter<K> {
+
+        boolean matches(K key);
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.model.Certification;
+import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.config.JobDepartment;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the reference data from the API: genres, certifications, jobs and timezones.
+ *
+ * The data is indexed when the snapshot is created, so the lookups don't need to search the lists. The snapshot is immutable and
+ * can be saved to a file with {@link #write(File)} and read back with {@link #read(File)}.
+ */
+public final class ReferenceData implements Serializable {
+
+    private static final long serialVersionUID = 100L;
+
+    private final String language;
+    private final long loadedAt;
+    private final GenreIndex movieGenres;
+    private final GenreIndex tvGenres;
+    private final Map<String, List<Certification>> movieCertifications;
+    private final Map<String, List<Certification>> tvCertifications;
+    private final Map<String, List<String>> jobs;
+    private final Map<String, String> jobDepartments;
+    private final Map<String, List<String>> timezones;
+
+    /**
+     * Create the snapshot
+     *
+     * @param language The language of the genre names
+     * @param loadedAt When the data was loaded, in milliseconds since the epoch
+     * @param movieGenres
+     * @param tvGenres
+     * @param movieCertifications The movie certifications by country
+     * @param tvCertifications The TV certifications by country
+     * @param jobs
+     * @param timezones The timezones by country
+     */
+    public ReferenceData(String language, long loadedAt, List<Genre> movieGenres, List<Genre> tvGenres,
+            Map<String, List<Certification>> movieCertifications, Map<String, List<Certification>> tvCertifications,
+            List<JobDepartment> jobs, Map<String, List<String>> timezones) {
+        this.language = language;
+        this.loadedAt = loadedAt;
+        this.movieGenres = new GenreIndex(movieGenres);
+        this.tvGenres = new GenreIndex(tvGenres);
+        this.movieCertifications = indexCertifications(movieCertifications);
+        this.tvCertifications = indexCertifications(tvCertifications);
+        this.timezones = copyLists(timezones);
+
+        Map<String, List<String>> departments = new HashMap<>();
+        Map<String, String> byJob = new HashMap<>();
+        if (jobs != null) {
+            for (JobDepartment department : jobs) {
+                List<String> list = department.getJobs() == null ? Collections.<String>emptyList() : department.getJobs();
+                departments.put(department.getDepartment(), Collections.unmodifiableList(new ArrayList<>(list)));
+                for (String job : list) {
+                    byJob.put(job, department.getDepartment());
+                }
+            }
+        }
+        this.jobs = Collections.unmodifiableMap(departments);
+        this.jobDepartments = Collections.unmodifiableMap(byJob);
+    }
+
+    private static Map<String, List<Certification>> indexCertifications(Map<String, List<Certification>> certifications) {
+        Map<String, List<Certification>> index = new HashMap<>();
+        if (certifications != null) {
+            for (Map.Entry<String, List<Certification>> entry : certifications.entrySet()) {
+                List<Certification> list = new ArrayList<>(entry.getValue());
+                Collections.sort(list, new Comparator<Certification>() {
+                    @Override
+                    public int compare(Certification c1, Certification c2) {
+                        return Integer.compare(c1.getOrder(), c2.getOrder());
+                    }
+                });
+                index.put(entry.getKey(), Collections.unmodifiableList(list));
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static Map<String, List<String>> copyLists(Map<String, List<String>> source) {
+        Map<String, List<String>> copy = new HashMap<>();
+        if (source != null) {
+            for (Map.Entry<String, List<String>> entry : source.entrySet()) {
+                copy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            }
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public GenreIndex getMovieGenres() {
+        return movieGenres;
+    }
+
+    public GenreIndex getTvGenres() {
+        return tvGenres;
+    }
+
+    /**
+     * Get the name of a genre, looking in the movie genres then the TV genres
+     *
+     * @param genreId
+     * @return The name, or null if the genre is not known
+     */
+    public String getGenreName(int genreId) {
+        String name = movieGenres.getName(genreId);
+        return name == null ? tvGenres.getName(genreId) : name;
+    }
+
+    /**
+     * Get the genres for the genre IDs of a list result, looking in the movie genres then the TV genres.
+     *
+     * The genres are shared and should not be changed. Unknown IDs are returned as a genre without a name.
+     *
+     * @param genreIds
+     * @return
+     */
+    public List<Genre> getGenres(int[] genreIds) {
+        if (genreIds == null) {
+            return new ArrayList<>();
+        }
+        List<Genre> genres = new ArrayList<>(genreIds.length);
+        for (int genreId : genreIds) {
+            Genre genre = movieGenres.getGenre(genreId);
+            if (genre == null) {
+                genre = tvGenres.getGenre(genreId);
+            }
+            if (genre == null) {
+                genre = new Genre();
+                genre.setId(genreId);
+            }
+            genres.add(genre);
+        }
+        return genres;
+    }
+
+    /**
+     * Get the movie certifications for a country, in order
+     *
+     * @param country
+     * @return The certifications, or an empty list if the country is not known
+     */
+    public List<Certification> getMovieCertifications(String country) {
+        return listOrEmpty(movieCertifications, country);
+    }
+
+    /**
+     * Get the TV certifications for a country, in order
+     *
+     * @param country
+     * @return The certifications, or an empty list if the country is not known
+     */
+    public List<Certification> getTvCertifications(String country) {
+        return listOrEmpty(tvCertifications, country);
+    }
+
+    public Map<String, List<Certification>> getMovieCertifications() {
+        return movieCertifications;
+    }
+
+    public Map<String, List<Certification>> getTvCertifications() {
+        return tvCertifications;
+    }
+
+    /**
+     * Find a movie certification by its value, e.g. "PG-13"
+     *
+     * @param country
+     * @param value
+     * @return The certification, or null if it is not known
+     */
+    public Certification getMovieCertification(String country, String value) {
+        return findCertification(getMovieCertifications(country), value);
+    }
+
+    /**
+     * Find a TV certification by its value, e.g. "TV-MA"
+     *
+     * @param country
+     * @param value
+     * @return The certification, or null if it is not known
+     */
+    public Certification getTvCertification(String country, String value) {
+        return findCertification(getTvCertifications(country), value);
+    }
+
+    private static Certification findCertification(List<Certification> certifications, String value) {
+        for (Certification certification : certifications) {
+            if (certification.getValue().equals(value)) {
+                return certification;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the jobs by department
+     *
+     * @return
+     */
+    public Map<String, List<String>> getJobs() {
+        return jobs;
+    }
+
+    /**
+     * Get the jobs for a department
+     *
+     * @param department
+     * @return The jobs, or an empty list if the department is not known
+     */
+    public List<String> getJobs(String department) {
+        return listOrEmpty(jobs, department);
+    }
+
+    /**
+     * Get the department of a job
+     *
+     * @param job
+     * @return The department, or null if the job is not known
+     */
+    public String getDepartment(String job) {
+        return jobDepartments.get(job);
+    }
+
+    /**
+     * Get the timezones by country
+     *
+     * @return
+     */
+    public Map<String, List<String>> getTimezones() {
+        return timezones;
+    }
+
+    /**
+     * Get the timezones for a country
+     *
+     * @param country
+     * @return The timezones, or an empty list if the country is not known
+     */
+    public List<String> getTimezones(String country) {
+        return listOrEmpty(timezones, country);
+    }
+
+    private static <T> List<T> listOrEmpty(Map<String, List<T>> map, String key) {
+        List<T> list = map.get(key);
+        return list == null ? Collections.<T>emptyList() : list;
+    }
+
+    /**
+     * Save the snapshot to a file.
+     *
+     * The snapshot is written to a temporary file first, so the file is never left half written
+     *
+     * @param file
+     * @throws IOException
+     */
+    public void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        Path temp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp));
+                    ObjectOutputStream out = new ObjectOutputStream(os)) {
+                out.writeObject(this);
+            }
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Read a snapshot from a file
+     *
+     * @param file
+     * @return
+     * @throws IOException If the file could not be read or is not a snapshot
+     */
+    public static ReferenceData read(File file) throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()));
+                ObjectInputStream in = new ObjectInputStream(is)) {
+            return (ReferenceData) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("File " + file + " is not a reference data snapshot", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceData{language=" + language + ", movieGenres=" + movieGenres.size() + ", tvGenres=" + tvGenres.size()
+                + ", movieCertifications=" + movieCertifications.size() + ", tvCertifications=" + tvCertifications.size()
+                + ", jobs=" + jobDepartments.size() + ", timezones=" + timezones.size() + "}";
+    }
+
+    /**
+     * The genres, held as sorted arrays of the IDs and genres so a lookup is a binary search on an int array
+     */
+    public static final class GenreIndex implements Serializable {
+
+        private static final long serialVersionUID = 101L;
+        private final int[] ids;
+        private final Genre[] genres;
+
+        GenreIndex(List<Genre> genres) {
+            List<Genre> sorted = genres == null ? new ArrayList<Genre>() : new ArrayList<>(genres);
+            Collections.sort(sorted, new Comparator<Genre>() {
+                @Override
+                public int compare(Genre g1, Genre g2) {
+                    return Integer.compare(g1.getId(), g2.getId());
+                }
+            });
+
+            ids = new int[sorted.size()];
+            this.genres = new Genre[sorted.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = sorted.get(i).getId();
+                this.genres[i] = new Genre();
+                this.genres[i].setId(ids[i]);
+                this.genres[i].setName(sorted.get(i).getName());
+            }
+        }
+
+        /**
+         * Get the name of a genre
+         *
+         * @param genreId
+         * @return The name, or null if the genre is not known
+         */
+        public String getName(int genreId) {
+            Genre genre = getGenre(genreId);
+            return genre == null ? null : genre.getName();
+        }
+
+        /**
+         * Get a genre, the genre is shared and should not be changed
+         *
+         * @param genreId
+         * @return The genre, or null if it is not known
+         */
+        public Genre getGenre(int genreId) {
+            int index = Arrays.binarySearch(ids, genreId);
+            return index < 0 ? null : genres[index];
+        }
+
+        public boolean contains(int genreId) {
+            return Arrays.binarySearch(ids, genreId) >= 0;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * Get the genres, in ID order
+         *
+         * @return
+         */
+        public List<Genre> getGenres() {
+            List<Genre> list = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                Genre genre = new Genre();
+                genre.setId(ids[i]);
+                genre.setName(genres[i].getName());
+                list.add(genre);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the reference data (genres, certifications, jobs and timezones) once and keeps it up to date.
+ *
+ * The first call to {@link #getData()} loads the data, from the snapshot file if there is one, otherwise from the API. After that
+ * the data is refreshed in the background when it is close to the end of the cache time, and the old data is used until the
+ * refresh completes, so lookups never wait on the network.
+ */
+public class ReferenceDataService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataService.class);
+    private static final long DEFAULT_CACHE_HOURS = 24;
+    private static final long DEFAULT_REFRESH_AHEAD_HOURS = 1;
+
+    private final TheMovieDbApi api;
+    private final String language;
+    private final CachedValue<ReferenceData> data;
+    private final CachedValue.Loader<ReferenceData> loader;
+    private volatile File snapshotFile;
+    private volatile boolean snapshotChecked = false;
+
+    /**
+     * Create the service
+     *
+     * @param api The API to load the data from
+     * @param language The language for the genre names, can be null
+     */
+    public ReferenceDataService(TheMovieDbApi api, String language) {
+        this.api = api;
+        this.language = language;
+        this.data = new CachedValue<>(DEFAULT_CACHE_HOURS, DEFAULT_REFRESH_AHEAD_HOURS, TimeUnit.HOURS);
+        this.loader = new CachedValue.Loader<ReferenceData>() {
+            @Override
+            public ReferenceData load() throws MovieDbException {
+                ReferenceData loaded = loadFromApi();
+                saveSnapshot(loaded);
+                return loaded;
+            }
+        };
+    }
+
+    /**
+     * Get the reference data, only the first call will wait for it to load
+     *
+     * @return
+     * @throws MovieDbException If there is no data and it could not be loaded
+     */
+    public ReferenceData getData() throws MovieDbException {
+        if (data.peek() == null && !snapshotChecked) {
+            loadSnapshot();
+        }
+        return data.get(loader);
+    }
+
+    /**
+     * Load the data from the API now, replacing the current data
+     *
+     * @return
+     * @throws MovieDbException
+     */
+    public ReferenceData refresh() throws MovieDbException {
+        ReferenceData loaded = loader.load();
+        data.set(loaded, loaded.getLoadedAt());
+        return loaded;
+    }
+
+    /**
+     * Load all of the reference data from the API
+     *
+     * @return
+     * @throws MovieDbException
+     */
+    protected ReferenceData loadFromApi() throws MovieDbException {
+        LOG.debug("Loading reference data for language '{}'", language);
+        return new ReferenceData(language, System.currentTimeMillis(),
+                api.getGenreMovieList(language).getResults(),
+                api.getGenreTVList(language).getResults(),
+                api.getMoviesCertification().getResults(),
+                api.getTvCertification().getResults(),
+                api.getJobs().getResults(),
+                api.getTimezones().getResults());
+    }
+
+    private synchronized void loadSnapshot() {
+        File file = snapshotFile;
+        if (snapshotChecked || file == null || !file.isFile()) {
+            return;
+        }
+        snapshotChecked = true;
+
+        try {
+            ReferenceData snapshot = ReferenceData.read(file);
+            if (!StringUtils.equals(language, snapshot.getLanguage())) {
+                LOG.debug("Ignoring reference data in {} for language '{}'", file, snapshot.getLanguage());
+            } else if (data.setIfAbsent(snapshot, snapshot.getLoadedAt())) {
+                LOG.debug("Loaded reference data from {}", file);
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to read reference data from {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private void saveSnapshot(ReferenceData loaded) {
+        File file = snapshotFile;
+        if (file == null) {
+            return;
+        }
+
+        try {
+            loaded.write(file);
+        } catch (IOException ex) {
+            LOG.warn("Failed to save reference data to {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Set a file to save the reference data to.
+     *
+     * The saved data is used on start up instead of waiting for the API, it is refreshed in the background if it is older than
+     * the cache time.
+     *
+     * @param file The file to use, or null to not save the data
+     */
+    public void setSnapshotFile(File file) {
+        this.snapshotFile = file;
+        this.snapshotChecked = false;
+    }
+
+    /**
+     * Set how long the data is cached for
+     *
+     * @param cacheTime How long the data is used before it must be refreshed
+     * @param refreshAhead How long before the cache time ends to start refreshing the data in the background
+     * @param unit The unit of the times
+     */
+    public void setCacheTime(long cacheTime, long refreshAhead, TimeUnit unit) {
+        data.setTimeToLive(cacheTime, refreshAhead, unit);
+    }
+
+    /**
+     * Set the executor used for the background refresh
+     *
+     * @param executor
+     */
+    public void setExecutor(Executor executor) {
+        data.setExecutor(executor);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+}
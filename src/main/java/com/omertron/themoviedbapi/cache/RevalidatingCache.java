@@ -0,0 +1,170 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stale while revalidate cache of result lists by key, the base of the {@link ListCache} and {@link SearchCache}.
+ *
+ * Until the soft cache time has passed the cached list is returned. After that the cached list is still returned straight away
+ * and one background refresh is started for that list. Only once the hard cache time has passed does the caller wait for the
+ * list to be loaded again. The age of a list can be checked with {@link ResultList#getAge()}. Once the cache is full the expired
+ * lists are dropped, if there are none the list is loaded without being cached. A list that fails to load the first time is not
+ * kept.
+ *
+ * The lists returned are shared between callers and should not be changed.
+ */
+public abstract class RevalidatingCache {
+
+    private final ConcurrentMap<String, CachedValue<ResultList<?>>> lists = new ConcurrentHashMap<>();
+    private final int maxLists;
+    private final long softTime;
+    private final long hardTime;
+    private volatile Executor executor;
+
+    /**
+     * Create a cache
+     *
+     * @param softTime How long before a list is refreshed in the background
+     * @param hardTime How long before a list must be loaded again before it is returned
+     * @param unit The unit of the times
+     * @param maxLists The maximum number of lists to cache
+     */
+    protected RevalidatingCache(long softTime, long hardTime, TimeUnit unit, int maxLists) {
+        if (softTime <= 0 || hardTime <= softTime) {
+            throw new IllegalArgumentException("Invalid soft time " + softTime + " with hard time " + hardTime);
+        }
+        this.softTime = unit.toMillis(softTime);
+        this.hardTime = unit.toMillis(hardTime);
+        this.maxLists = maxLists;
+    }
+
+    /**
+     * Get the cached list, loading it if needed
+     *
+     * @param <T>
+     * @param key The key of the list, or null to load it without caching
+     * @param loader
+     * @return
+     * @throws MovieDbException
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> ResultList<T> get(String key, final CachedValue.Loader<ResultList<T>> loader) throws MovieDbException {
+        if (key == null) {
+            return load(loader);
+        }
+        CachedValue<ResultList<?>> cached = lists.get(key);
+        if (cached == null) {
+            if (lists.size() >= maxLists && removeExpired() == 0) {
+                return load(loader);
+            }
+            CachedValue<ResultList<?>> created = createValue();
+            cached = lists.putIfAbsent(key, created);
+            if (cached == null) {
+                cached = created;
+            }
+        }
+
+        try {
+            return (ResultList<T>) cached.get(new CachedValue.Loader<ResultList<?>>() {
+                @Override
+                public ResultList<?> load() throws MovieDbException {
+                    return RevalidatingCache.load(loader);
+                }
+            });
+        } catch (MovieDbException | RuntimeException ex) {
+            // A list that was never loaded would never expire, so don't keep its slot
+            if (cached.peek() == null) {
+                lists.remove(key, cached);
+            }
+            throw ex;
+        }
+    }
+
+    private static <T> ResultList<T> load(CachedValue.Loader<ResultList<T>> loader) throws MovieDbException {
+        ResultList<T> results = loader.load();
+        results.setLoadedAt(System.currentTimeMillis());
+        return results;
+    }
+
+    /**
+     * Remove the lists that have passed the hard cache time
+     *
+     * @return The number removed
+     */
+    public int removeExpired() {
+        int removed = 0;
+        for (Iterator<CachedValue<ResultList<?>>> it = lists.values().iterator(); it.hasNext();) {
+            if (it.next().isExpired()) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Create the cached value for a list, the time to live is the hard time and the refresh starts at the soft time
+     *
+     * @return
+     */
+    protected CachedValue<ResultList<?>> createValue() {
+        CachedValue<ResultList<?>> value = new CachedValue<>(hardTime, hardTime - softTime, TimeUnit.MILLISECONDS);
+        value.setBlockWhenExpired(true);
+        Executor current = executor;
+        if (current != null) {
+            value.setExecutor(current);
+        }
+        return value;
+    }
+
+    /**
+     * Set the executor used for the background refresh of new lists
+     *
+     * @param executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Remove all the cached lists
+     */
+    public void clear() {
+        lists.clear();
+    }
+
+    /**
+     * Get the number of lists cached
+     *
+     * @return
+     */
+    public int size() {
+        return lists.size();
+    }
+}
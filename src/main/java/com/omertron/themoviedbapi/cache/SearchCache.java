@@ -0,0 +1,368 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.enumeration.SearchType;
+import com.omertron.themoviedbapi.model.collection.Collection;
+import com.omertron.themoviedbapi.model.company.Company;
+import com.omertron.themoviedbapi.model.keyword.Keyword;
+import com.omertron.themoviedbapi.model.list.UserList;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.person.PersonFind;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache for the search methods, shared by all callers.
+ *
+ * The query is normalised for the key, so "The Matrix", "the matrix " and "THE MATRIX" are one search: it is converted to
+ * Unicode NFKC, lower cased, and each run of whitespace and punctuation replaced by a single space. The query sent to TMDb is the
+ * one from the caller that loaded the search, only converted to NFKC and trimmed, as TMDb matches on the punctuation too. A query
+ * that is empty once normalised, such as a blank or punctuation only query, is sent as it is without being cached.
+ * The page, language, year, adult flag and search type are also part of the key, with the defaults (no page, page 0, no year,
+ * no adult flag) treated the same as their values.
+ *
+ * As with the {@link ListCache}, a search is refreshed in the background after the soft cache time and must be loaded again
+ * after the hard cache time, see {@link RevalidatingCache}. Search results change slowly, so the default times are longer than
+ * for the lists.
+ *
+ * The lists returned are shared between callers and should not be changed.
+ */
+public class SearchCache extends RevalidatingCache {
+
+    private static final int DEFAULT_MAX_SEARCHES = 10000;
+    private static final long DEFAULT_SOFT_MINUTES = 60;
+    private static final long DEFAULT_HARD_MINUTES = 24 * 60;
+
+    private final TheMovieDbApi api;
+
+    /**
+     * Create a cache with the default cache times
+     *
+     * @param api The API used for the searches
+     */
+    public SearchCache(TheMovieDbApi api) {
+        this(api, DEFAULT_SOFT_MINUTES, DEFAULT_HARD_MINUTES, TimeUnit.MINUTES, DEFAULT_MAX_SEARCHES);
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param api The API used for the searches
+     * @param softTime How long before a search is refreshed in the background
+     * @param hardTime How long before a search must be loaded again before it is returned
+     * @param unit The unit of the times
+     * @param maxSearches The maximum number of searches (each query, page and set of parameters) to cache
+     */
+    public SearchCache(TheMovieDbApi api, long softTime, long hardTime, TimeUnit unit, int maxSearches) {
+        super(softTime, hardTime, unit, maxSearches);
+        this.api = api;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Search methods">
+    /**
+     * Search Companies
+     *
+     * @param query
+     * @param page
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchCompanies(java.lang.String, java.lang.Integer)
+     */
+    public ResultList<Company> searchCompanies(String query, Integer page) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        return get(key("company", normalise(query), normalisedPage), new CachedValue.Loader<ResultList<Company>>() {
+            @Override
+            public ResultList<Company> load() throws MovieDbException {
+                return api.searchCompanies(search, normalisedPage);
+            }
+        });
+    }
+
+    /**
+     * Search for collections by name
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchCollection(java.lang.String, java.lang.Integer, java.lang.String)
+     */
+    public ResultList<Collection> searchCollection(String query, Integer page, String language) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final String normalisedLanguage = language(language);
+        return get(key("collection", normalise(query), normalisedPage, normalisedLanguage), new CachedValue.Loader<ResultList<Collection>>() {
+            @Override
+            public ResultList<Collection> load() throws MovieDbException {
+                return api.searchCollection(search, normalisedPage, normalisedLanguage);
+            }
+        });
+    }
+
+    /**
+     * Search for keywords by name
+     *
+     * @param query
+     * @param page
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchKeyword(java.lang.String, java.lang.Integer)
+     */
+    public ResultList<Keyword> searchKeyword(String query, Integer page) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        return get(key("keyword", normalise(query), normalisedPage), new CachedValue.Loader<ResultList<Keyword>>() {
+            @Override
+            public ResultList<Keyword> load() throws MovieDbException {
+                return api.searchKeyword(search, normalisedPage);
+            }
+        });
+    }
+
+    /**
+     * Search for lists by name and description
+     *
+     * @param query
+     * @param page
+     * @param includeAdult
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchList(java.lang.String, java.lang.Integer, java.lang.Boolean)
+     */
+    public ResultList<UserList> searchList(String query, Integer page, Boolean includeAdult) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final Boolean adult = adult(includeAdult);
+        return get(key("list", normalise(query), normalisedPage, adult), new CachedValue.Loader<ResultList<UserList>>() {
+            @Override
+            public ResultList<UserList> load() throws MovieDbException {
+                return api.searchList(search, normalisedPage, adult);
+            }
+        });
+    }
+
+    /**
+     * Search Movies
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param includeAdult
+     * @param searchYear
+     * @param primaryReleaseYear
+     * @param searchType
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchMovie(java.lang.String, java.lang.Integer, java.lang.String, java.lang.Boolean,
+     * java.lang.Integer, java.lang.Integer, com.omertron.themoviedbapi.enumeration.SearchType)
+     */
+    public ResultList<MovieInfo> searchMovie(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            final SearchType searchType) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final String normalisedLanguage = language(language);
+        final Boolean adult = adult(includeAdult);
+        final Integer year = year(searchYear);
+        final Integer primaryYear = year(primaryReleaseYear);
+        String key = key("movie", normalise(query), normalisedPage, normalisedLanguage, adult, year, primaryYear, searchType);
+        return get(key, new CachedValue.Loader<ResultList<MovieInfo>>() {
+            @Override
+            public ResultList<MovieInfo> load() throws MovieDbException {
+                return api.searchMovie(search, normalisedPage, normalisedLanguage, adult, year, primaryYear, searchType);
+            }
+        });
+    }
+
+    /**
+     * Search the movie, tv show and person collections with a single query
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param includeAdult
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchMulti(java.lang.String, java.lang.Integer, java.lang.String, java.lang.Boolean)
+     */
+    public ResultList<MediaBasic> searchMulti(String query, Integer page, String language, Boolean includeAdult) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final String normalisedLanguage = language(language);
+        final Boolean adult = adult(includeAdult);
+        return get(key("multi", normalise(query), normalisedPage, normalisedLanguage, adult), new CachedValue.Loader<ResultList<MediaBasic>>() {
+            @Override
+            public ResultList<MediaBasic> load() throws MovieDbException {
+                return api.searchMulti(search, normalisedPage, normalisedLanguage, adult);
+            }
+        });
+    }
+
+    /**
+     * Search for people
+     *
+     * @param query
+     * @param page
+     * @param includeAdult
+     * @param searchType
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchPeople(java.lang.String, java.lang.Integer, java.lang.Boolean,
+     * com.omertron.themoviedbapi.enumeration.SearchType)
+     */
+    public ResultList<PersonFind> searchPeople(String query, Integer page, Boolean includeAdult, final SearchType searchType)
+            throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final Boolean adult = adult(includeAdult);
+        return get(key("person", normalise(query), normalisedPage, adult, searchType), new CachedValue.Loader<ResultList<PersonFind>>() {
+            @Override
+            public ResultList<PersonFind> load() throws MovieDbException {
+                return api.searchPeople(search, normalisedPage, adult, searchType);
+            }
+        });
+    }
+
+    /**
+     * Search for TV shows by title
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param firstAirDateYear
+     * @param searchType
+     * @return
+     * @throws MovieDbException
+     * @see TheMovieDbApi#searchTV(java.lang.String, java.lang.Integer, java.lang.String, java.lang.Integer,
+     * com.omertron.themoviedbapi.enumeration.SearchType)
+     */
+    public ResultList<TVBasic> searchTV(String query, Integer page, String language, Integer firstAirDateYear,
+            final SearchType searchType) throws MovieDbException {
+        final String search = query(query);
+        final Integer normalisedPage = page(page);
+        final String normalisedLanguage = language(language);
+        final Integer year = year(firstAirDateYear);
+        String key = key("tv", normalise(query), normalisedPage, normalisedLanguage, year, searchType);
+        return get(key, new CachedValue.Loader<ResultList<TVBasic>>() {
+            @Override
+            public ResultList<TVBasic> load() throws MovieDbException {
+                return api.searchTV(search, normalisedPage, normalisedLanguage, year, searchType);
+            }
+        });
+    }
+    //</editor-fold>
+
+    /**
+     * Normalise a search query: Unicode NFKC, lower case and each run of whitespace and punctuation replaced by a single space
+     *
+     * @param query
+     * @return The normalised query, empty if the query is null or has no letters or digits
+     */
+    public static String normalise(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalised = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(normalised.length());
+        boolean separator = false;
+        for (int i = 0; i < normalised.length(); i++) {
+            char c = normalised.charAt(i);
+            if (isSeparator(c)) {
+                separator = true;
+            } else {
+                if (separator && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                separator = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+            return true;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The query sent to TMDb: the caller's query in Unicode NFKC and trimmed, so the case and punctuation are kept
+     */
+    private static String query(String query) {
+        return query == null ? null : Normalizer.normalize(query, Normalizer.Form.NFKC).trim();
+    }
+
+    private static Integer page(Integer page) {
+        return page == null || page < 1 ? 1 : page;
+    }
+
+    private static Integer year(Integer year) {
+        return year == null || year <= 0 ? null : year;
+    }
+
+    private static String language(String language) {
+        return language == null || language.trim().isEmpty() ? null : language.trim();
+    }
+
+    private static Boolean adult(Boolean includeAdult) {
+        return includeAdult == null ? Boolean.FALSE : includeAdult;
+    }
+
+    /**
+     * Build the key of a search, null if the normalised query is empty and the search should not be cached
+     */
+    private static String key(String method, String query, Object... parameters) {
+        if (query.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(method).append('/').append(query);
+        for (Object parameter : parameters) {
+            sb.append('/').append(parameter);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Codec using Java serialisation, optionally compressed with deflate.
+ *
+ * All the models are serialisable, so this works for any of them.
+ *
+ * @param <V> The type of the values
+ */
+public class SerializingCodec<V extends Serializable> implements EntryCodec<V> {
+
+    private static final int BUFFER_SIZE = 1024;
+    private final Class<V> type;
+    private final boolean compress;
+
+    /**
+     * Create a compressing codec
+     *
+     * @param type The type of the values
+     */
+    public SerializingCodec(Class<V> type) {
+        this(type, true);
+    }
+
+    /**
+     * Create a codec
+     *
+     * @param type The type of the values
+     * @param compress Compress the serialised bytes
+     */
+    public SerializingCodec(Class<V> type, boolean compress) {
+        this.type = type;
+        this.compress = compress;
+    }
+
+    @Override
+    public byte[] encode(V value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    compress ? new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE) : bytes)) {
+                out.writeObject(value);
+            }
+            return bytes.toByteArray();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public V decode(byte[] bytes, int offset, int length) throws IOException {
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes, offset, length);
+        try (ObjectInputStream in = new ObjectInputStream(compress ? new InflaterInputStream(input) : input)) {
+            return type.cast(in.readObject());
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Failed to decode " + type.getSimpleName(), ex);
+        }
+    }
+}
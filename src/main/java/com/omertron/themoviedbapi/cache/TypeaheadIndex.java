@@ -0,0 +1,656 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.model.collection.Collection;
+import com.omertron.themoviedbapi.model.collection.CollectionInfo;
+import com.omertron.themoviedbapi.model.company.Company;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.person.PersonBasic;
+import com.omertron.themoviedbapi.model.person.PersonFind;
+import com.omertron.themoviedbapi.model.person.PersonInfo;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.TitleMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A local index of movie, TV, person, collection and company names for autocomplete, so a search is not needed for each key
+ * press.
+ *
+ * The names are normalised (no diacritics, lower case, punctuation as spaces) and held in a compressed trie, keyed by the
+ * whole name and from the start of each word, so "knight" finds "The Dark Knight". Each node of the trie keeps the most popular
+ * entries below it, so a lookup is a walk down the prefix with no search of the subtree.
+ *
+ * The index is filled from the entity cache and list results, and updated one entry at a time. When it is added to a
+ * {@link ChangeInvalidator} the changed movies, TV shows and people are dropped until they are added again. If an API is given,
+ * {@link #complete(String, int)} searches TMDb for prefixes with no local entries and adds the results.
+ */
+public class TypeaheadIndex implements ChangeListener {
+
+    private static final int DEFAULT_TOP_K = 10;
+    private static final int MAX_WORD_KEYS = 8;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> RANKING = new Comparator<Suggestion>() {
+        @Override
+        public int compare(Suggestion s1, Suggestion s2) {
+            int result = Float.compare(s2.popularity, s1.popularity);
+            if (result == 0) {
+                result = s1.name.compareTo(s2.name);
+            }
+            if (result == 0) {
+                result = s1.kind.compareTo(s2.kind);
+            }
+            return result == 0 ? Integer.compare(s1.id, s2.id) : result;
+        }
+    };
+
+    private final int topK;
+    private final TheMovieDbApi api;
+    private final String language;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Kind, IntObjectMap<Suggestion>> entries = new EnumMap<>(Kind.class);
+    private final Node root = new Node("");
+
+    /**
+     * The kinds of entry in the index
+     */
+    public enum Kind {
+        MOVIE,
+        TV,
+        PERSON,
+        COLLECTION,
+        COMPANY
+    }
+
+    /**
+     * Create a local only index, keeping the top 10 entries for each prefix
+     */
+    public TypeaheadIndex() {
+        this(DEFAULT_TOP_K, null, null);
+    }
+
+    /**
+     * Create an index
+     *
+     * @param topK The number of entries kept for each prefix, the most that can be returned by a lookup
+     * @param api The API used to search for prefixes with no entries, or null to only use the index
+     * @param language The language of the searches
+     */
+    public TypeaheadIndex(int topK, TheMovieDbApi api, String language) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("Invalid top K " + topK);
+        }
+        this.topK = topK;
+        this.api = api;
+        this.language = language;
+        for (Kind kind : Kind.values()) {
+            entries.put(kind, new IntObjectMap<Suggestion>(DEFAULT_TOP_K, 1));
+        }
+    }
+
+    /**
+     * Add or replace an entry
+     *
+     * @param kind
+     * @param id
+     * @param name
+     * @param popularity
+     * @return False if the name is blank
+     */
+    public boolean add(Kind kind, int id, String name, float popularity) {
+        String key = key(name);
+        if (key.isEmpty()) {
+            return false;
+        }
+        Suggestion suggestion = new Suggestion(kind, id, name, popularity, wordKeys(key));
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = entries.get(kind).put(id, suggestion);
+            if (previous != null) {
+                for (String wordKey : previous.keys) {
+                    remove(wordKey, previous);
+                }
+            }
+            for (String wordKey : suggestion.keys) {
+                insert(wordKey, suggestion);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a movie, TV show, person, collection or company
+     *
+     * @param value
+     * @return False if the value is not one of the types in the index or has no name
+     */
+    public boolean add(Object value) {
+        if (value instanceof MovieBasic) {
+            MovieBasic movie = (MovieBasic) value;
+            return add(Kind.MOVIE, movie.getId(), movie.getTitle(), movie.getPopularity());
+        } else if (value instanceof TVBasic) {
+            TVBasic tv = (TVBasic) value;
+            return add(Kind.TV, tv.getId(), tv.getName(), tv.getPopularity());
+        } else if (value instanceof PersonBasic) {
+            PersonBasic person = (PersonBasic) value;
+            return add(Kind.PERSON, person.getId(), person.getName(), personPopularity(person));
+        } else if (value instanceof Collection) {
+            Collection collection = (Collection) value;
+            return add(Kind.COLLECTION, collection.getId(), collection.getName(), collection.getPopularity());
+        } else if (value instanceof CollectionInfo) {
+            CollectionInfo collection = (CollectionInfo) value;
+            return add(Kind.COLLECTION, collection.getId(), collection.getName(), 0f);
+        } else if (value instanceof Company) {
+            Company company = (Company) value;
+            return add(Kind.COMPANY, company.getId(), company.getName(), 0f);
+        }
+        return false;
+    }
+
+    private static float personPopularity(PersonBasic person) {
+        if (person instanceof PersonInfo) {
+            return ((PersonInfo) person).getPopularity();
+        } else if (person instanceof PersonFind && ((PersonFind) person).getPopularity() != null) {
+            return ((PersonFind) person).getPopularity();
+        }
+        return 0f;
+    }
+
+    /**
+     * Add the entries in a list, such as the results of a search
+     *
+     * @param values
+     * @return The number added
+     */
+    public int addAll(List<?> values) {
+        int added = 0;
+        if (values != null) {
+            for (Object value : values) {
+                if (add(value)) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Add the entries in a page of results
+     *
+     * @param results
+     * @return The number added
+     */
+    public int addAll(ResultList<?> results) {
+        return results == null ? 0 : addAll(results.getResults());
+    }
+
+    /**
+     * Add the movies, TV shows and people held on the heap of the entity cache
+     *
+     * @param cache
+     * @return The number added
+     */
+    public int addAll(EntityCache cache) {
+        return addAll(cache.getValues());
+    }
+
+    /**
+     * Remove an entry
+     *
+     * @param kind
+     * @param id
+     * @return True if it was in the index
+     */
+    public boolean remove(Kind kind, int id) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = entries.get(kind).remove(id);
+            if (previous == null) {
+                return false;
+            }
+            for (String wordKey : previous.keys) {
+                remove(wordKey, previous);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The changed movies, TV shows and people are removed, as their names may have changed
+     *
+     * @param type
+     * @param ids
+     * @param loadedBefore
+     */
+    @Override
+    public void changed(EntityType type, int[] ids, long loadedBefore) {
+        Kind kind;
+        if (type == EntityType.MOVIE) {
+            kind = Kind.MOVIE;
+        } else if (type == EntityType.TV) {
+            kind = Kind.TV;
+        } else if (type == EntityType.PERSON) {
+            kind = Kind.PERSON;
+        } else {
+            return;
+        }
+        for (int id : ids) {
+            remove(kind, id);
+        }
+    }
+
+    /**
+     * All the movies, TV shows and people are removed, as any of their names may have changed
+     *
+     * @param loadedBefore
+     */
+    @Override
+    public void changesMissed(long loadedBefore) {
+        for (Kind kind : new Kind[]{Kind.MOVIE, Kind.TV, Kind.PERSON}) {
+            for (int id : entries.get(kind).keys()) {
+                remove(kind, id);
+            }
+        }
+    }
+
+    /**
+     * Get the number of entries
+     *
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (IntObjectMap<Suggestion> map : entries.values()) {
+            size += map.size();
+        }
+        return size;
+    }
+
+    /**
+     * Get the most popular entries whose name, or a word in it, starts with the prefix
+     *
+     * @param prefix
+     * @param limit The number of entries, no more than the top K of the index are returned
+     * @return
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = key(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int offset = 0;
+            while (offset < key.length() && node != null) {
+                Node child = node.child(key.charAt(offset));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int matched = commonPrefix(child.label, key, offset);
+                if (offset + matched == key.length()) {
+                    // The rest of the prefix is part of the label
+                    node = child;
+                    offset = key.length();
+                } else if (matched == child.label.length()) {
+                    node = child;
+                    offset += matched;
+                } else {
+                    return Collections.emptyList();
+                }
+            }
+            Suggestion[] top = node == null ? NO_SUGGESTIONS : node.top;
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(top, Math.min(Math.max(limit, 0), top.length))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the most popular entries for the prefix, searching TMDb for movies, TV shows and people if there are none in the index.
+     *
+     * The multi search maps people without their name, so if it found any they are searched for separately. The results of the
+     * searches are added to the index, so the following prefixes can be found locally
+     *
+     * @param prefix
+     * @param limit
+     * @return
+     * @throws MovieDbException
+     */
+    public List<Suggestion> complete(String prefix, int limit) throws MovieDbException {
+        List<Suggestion> suggestions = suggest(prefix, limit);
+        if (!suggestions.isEmpty() || api == null || key(prefix).isEmpty()) {
+            return suggestions;
+        }
+
+        ResultList<MediaBasic> results = api.searchMulti(prefix, 1, language, Boolean.FALSE);
+        addAll(results);
+        // The search matches more than the prefix, so return what it found
+        List<Suggestion> found = new ArrayList<>();
+        boolean people = false;
+        for (MediaBasic media : results.getResults()) {
+            if (media instanceof MovieBasic) {
+                addFound(found, Kind.MOVIE, media.getId());
+            } else if (media instanceof TVBasic) {
+                addFound(found, Kind.TV, media.getId());
+            } else if (media.getClass() == MediaBasic.class) {
+                people = true;
+            }
+        }
+        if (people) {
+            ResultList<PersonFind> persons = api.searchPeople(prefix, 1, Boolean.FALSE, null);
+            addAll(persons);
+            for (PersonFind person : persons.getResults()) {
+                addFound(found, Kind.PERSON, person.getId());
+            }
+        }
+        Collections.sort(found, RANKING);
+        return found.size() > limit ? found.subList(0, Math.max(limit, 0)) : found;
+    }
+
+    private void addFound(List<Suggestion> found, Kind kind, int id) {
+        Suggestion suggestion = entries.get(kind).get(id);
+        if (suggestion != null) {
+            found.add(suggestion);
+        }
+    }
+
+    /**
+     * Normalise a name or prefix: diacritics removed, lower case and any run of characters that are not letters or digits
+     * replaced by a single space
+     */
+    static String key(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalised = TitleMatcher.normalise(name, false);
+        StringBuilder sb = new StringBuilder(normalised.length());
+        boolean space = false;
+        for (int i = 0; i < normalised.length(); i++) {
+            char c = normalised.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String[] wordKeys(String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        for (int i = key.indexOf(' '); i >= 0 && keys.size() < MAX_WORD_KEYS; i = key.indexOf(' ', i + 1)) {
+            String wordKey = key.substring(i + 1);
+            if (!keys.contains(wordKey)) {
+                keys.add(wordKey);
+            }
+        }
+        return keys.toArray(new String[keys.size()]);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        Node node = root;
+        node.addTop(suggestion, topK);
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                child = new Node(key.substring(offset));
+                node.addChild(child);
+                node = child;
+                node.addTop(suggestion, topK);
+                break;
+            }
+            int matched = commonPrefix(child.label, key, offset);
+            if (matched < child.label.length()) {
+                // Split the edge at the end of the match
+                Node middle = new Node(child.label.substring(0, matched));
+                node.replaceChild(child, middle);
+                child.label = child.label.substring(matched);
+                middle.addChild(child);
+                middle.top = child.top;
+                child = middle;
+            }
+            node = child;
+            node.addTop(suggestion, topK);
+            offset += matched;
+        }
+        node.terminals = append(node.terminals, suggestion);
+    }
+
+    private void remove(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            node = node.child(key.charAt(offset));
+            if (node == null || commonPrefix(node.label, key, offset) < node.label.length()) {
+                return;
+            }
+            path.add(node);
+            offset += node.label.length();
+        }
+        node.terminals = without(node.terminals, suggestion);
+
+        // Rebuild the top entries from the end of the key up, removing and merging nodes that are no longer needed
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.terminals.length == 0) {
+                Node parent = path.get(i - 1);
+                if (current.children.length == 0) {
+                    parent.removeChild(current);
+                    continue;
+                } else if (current.children.length == 1) {
+                    Node only = current.children[0];
+                    current.label = current.label + only.label;
+                    current.firsts = only.firsts;
+                    current.children = only.children;
+                    current.terminals = only.terminals;
+                    current.top = only.top;
+                }
+            }
+            if (contains(current.top, suggestion)) {
+                current.rebuildTop(topK);
+            }
+        }
+    }
+
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(suggestions, suggestions.length + 1);
+        result[suggestions.length] = suggestion;
+        return result;
+    }
+
+    private static Suggestion[] without(Suggestion[] suggestions, Suggestion suggestion) {
+        for (int i = 0; i < suggestions.length; i++) {
+            if (suggestions[i] == suggestion) {
+                Suggestion[] result = new Suggestion[suggestions.length - 1];
+                System.arraycopy(suggestions, 0, result, 0, i);
+                System.arraycopy(suggestions, i + 1, result, i, result.length - i);
+                return result;
+            }
+        }
+        return suggestions;
+    }
+
+    private static boolean contains(Suggestion[] suggestions, Suggestion suggestion) {
+        for (Suggestion s : suggestions) {
+            if (s == suggestion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A node of the trie, reached by the label from its parent
+     */
+    private static final class Node {
+
+        String label;
+        char[] firsts = new char[0];
+        Node[] children = new Node[0];
+        Suggestion[] terminals = NO_SUGGESTIONS;
+        // The most popular entries in this node and below, best first
+        Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index < 0 ? null : children[index];
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(firsts, child.label.charAt(0)) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirsts[index] = child.label.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(firsts, index, newFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        void replaceChild(Node child, Node replacement) {
+            children[Arrays.binarySearch(firsts, child.label.charAt(0))] = replacement;
+        }
+
+        void removeChild(Node child) {
+            int index = Arrays.binarySearch(firsts, child.label.charAt(0));
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, newFirsts.length - index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        /**
+         * Add the entry to the top entries if it ranks high enough, the arrays are replaced rather than changed
+         */
+        void addTop(Suggestion suggestion, int topK) {
+            if (contains(top, suggestion)) {
+                return;
+            }
+            int index = -Arrays.binarySearch(top, suggestion, RANKING) - 1;
+            if (index >= topK) {
+                return;
+            }
+            Suggestion[] result = new Suggestion[Math.min(top.length + 1, topK)];
+            System.arraycopy(top, 0, result, 0, index);
+            result[index] = suggestion;
+            System.arraycopy(top, index, result, index + 1, result.length - index - 1);
+            top = result;
+        }
+
+        /**
+         * Work out the top entries again from the entries of this node and the top entries of the children
+         */
+        void rebuildTop(int topK) {
+            top = NO_SUGGESTIONS;
+            for (Suggestion suggestion : terminals) {
+                addTop(suggestion, topK);
+            }
+            for (Node child : children) {
+                for (Suggestion suggestion : child.top) {
+                    addTop(suggestion, topK);
+                }
+            }
+        }
+    }
+
+    /**
+     * An entry of the index
+     */
+    public static final class Suggestion {
+
+        private final Kind kind;
+        private final int id;
+        private final String name;
+        private final float popularity;
+        private final String[] keys;
+
+        Suggestion(Kind kind, int id, String name, float popularity, String[] keys) {
+            this.kind = kind;
+            this.id = id;
+            this.name = name;
+            this.popularity = popularity;
+            this.keys = keys;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public float getPopularity() {
+            return popularity;
+        }
+
+        @Override
+        public String toString() {
+            return kind + ":" + id + " " + name + " (" + popularity + ")";
+        }
+    }
+}
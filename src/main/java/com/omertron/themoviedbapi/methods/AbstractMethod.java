@@ -19,9 +19,11 @@
  */
 package com.omertron.themoviedbapi.methods;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
 import com.omertron.themoviedbapi.model.artwork.ArtworkMedia;
 import com.omertron.themoviedbapi.model.change.ChangeKeyItem;
 import com.omertron.themoviedbapi.model.change.ChangeListItem;
@@ -39,13 +41,19 @@ import com.omertron.themoviedbapi.model.person.PersonFind;
 import com.omertron.themoviedbapi.model.review.Review;
 import com.omertron.themoviedbapi.model.tv.TVBasic;
 import com.omertron.themoviedbapi.model.tv.TVInfo;
+import com.omertron.themoviedbapi.results.ProjectedPage;
 import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import com.omertron.themoviedbapi.tools.ApiUrl;
+import com.omertron.themoviedbapi.tools.AppendSections;
+import com.omertron.themoviedbapi.tools.GeneratedDeserializers;
 import com.omertron.themoviedbapi.tools.HttpTools;
 import com.omertron.themoviedbapi.tools.MethodBase;
 import com.omertron.themoviedbapi.tools.MethodSub;
 import com.omertron.themoviedbapi.tools.Param;
+import com.omertron.themoviedbapi.tools.Projection;
 import com.omertron.themoviedbapi.tools.TmdbParameters;
+import com.omertron.themoviedbapi.tools.UnknownProperties;
 import com.omertron.themoviedbapi.results.WrapperChanges;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
 import java.io.IOException;
@@ -67,7 +75,7 @@ public class AbstractMethod {
     // The HttpTools to use
     protected final HttpTools httpTools;
     // Jackson JSON configuration
-    protected static final ObjectMapper MAPPER = new ObjectMapper();
+    protected static final ObjectMapper MAPPER = GeneratedDeserializers.configure(AppendSections.configure(UnknownProperties.configure(new ObjectMapper())));
     private static final Map<Class, TypeReference> TYPE_REFS = new HashMap<>();
 
     static {
@@ -168,6 +176,44 @@ public class AbstractMethod {
         }
     }
 
+    /**
+     * Process the page of results, keeping only the projected fields
+     *
+     * @param projection The fields to keep
+     * @param url URL of the page
+     * @param errorMessageSuffix Error message to output (Error output only)
+     * @return
+     * @throws MovieDbException
+     */
+    protected ProjectedPage processProjection(Projection projection, URL url, String errorMessageSuffix) throws MovieDbException {
+        String webpage = httpTools.getRequest(url);
+        try (JsonParser parser = MAPPER.getFactory().createParser(webpage)) {
+            return ProjectedPage.read(parser, projection);
+        } catch (IOException ex) {
+            throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to get " + errorMessageSuffix, url, ex);
+        }
+    }
+
+    /**
+     * Process the page of results, passing each result to the handler as it is read
+     *
+     * @param <T> Type of the results
+     * @param resultClass
+     * @param url URL of the page
+     * @param handler
+     * @param errorMessageSuffix Error message to output (Error output only)
+     * @return The page information
+     * @throws MovieDbException
+     */
+    protected <T> StreamedPage processStream(Class<T> resultClass, URL url, ResultHandler<? super T> handler, String errorMessageSuffix) throws MovieDbException {
+        String webpage = httpTools.getRequest(url);
+        try (JsonParser parser = MAPPER.getFactory().createParser(webpage)) {
+            return StreamedPage.<T>read(parser, MAPPER.readerFor(resultClass), handler);
+        } catch (IOException ex) {
+            throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to get " + errorMessageSuffix, url, ex);
+        }
+    }
+
     /**
      *
      * Look up the media's changes by ID
@@ -189,7 +235,7 @@ public class AbstractMethod {
 
         try {
             WrapperChanges wrapper = MAPPER.readValue(webpage, WrapperChanges.class);
-            ResultList<ChangeKeyItem> results = new ResultList<>(wrapper.getChangedItems());
+            ResultList<ChangeKeyItem> results = ResultList.wrap(wrapper.getChangedItems());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -29,6 +29,10 @@ import com.omertron.themoviedbapi.tools.MethodSub;
 import com.omertron.themoviedbapi.tools.Param;
 import com.omertron.themoviedbapi.tools.TmdbParameters;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import java.net.URL;
 
 /**
@@ -61,14 +65,50 @@ public class TmdbChanges extends AbstractMethod {
      * @throws MovieDbException
      */
     public ResultList<ChangeListItem> getChangeList(MethodBase method, Integer page, String startDate, String endDate) throws MovieDbException {
+        URL url = buildChangeListUrl(method, page, startDate, endDate);
+        WrapperGenericList<ChangeListItem> wrapper = processWrapper(getTypeReference(ChangeListItem.class), url, "changes");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * Get a list of Media IDs that have been edited, keeping only the projected fields.
+     *
+     * @param method The method base to get
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param projection The fields to keep, e.g. {@link Projection#CHANGES}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getChangeList(MethodBase method, Integer page, String startDate, String endDate, Projection projection) throws MovieDbException {
+        URL url = buildChangeListUrl(method, page, startDate, endDate);
+        return processProjection(projection, url, "changes");
+    }
+
+    /**
+     * Get a list of Media IDs that have been edited, passing each result to the handler as soon as it has been read.
+     *
+     * @param method The method base to get
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getChangeList(MethodBase method, Integer page, String startDate, String endDate, ResultHandler<? super ChangeListItem> handler) throws MovieDbException {
+        URL url = buildChangeListUrl(method, page, startDate, endDate);
+        return processStream(ChangeListItem.class, url, handler, "changes");
+    }
+
+    private URL buildChangeListUrl(MethodBase method, Integer page, String startDate, String endDate) {
         TmdbParameters params = new TmdbParameters();
         params.add(Param.PAGE, page);
         params.add(Param.START_DATE, startDate);
         params.add(Param.END_DATE, endDate);
 
-        URL url = new ApiUrl(apiKey, method).subMethod(MethodSub.CHANGES).buildUrl(params);
-        WrapperGenericList<ChangeListItem> wrapper = processWrapper(getTypeReference(ChangeListItem.class), url, "changes");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, method).subMethod(MethodSub.CHANGES).buildUrl(params);
     }
 
 }
@@ -27,15 +27,25 @@ import com.omertron.themoviedbapi.model.config.JobDepartment;
 import com.omertron.themoviedbapi.results.ResultList;
 import com.omertron.themoviedbapi.results.ResultsMap;
 import com.omertron.themoviedbapi.tools.ApiUrl;
+import com.omertron.themoviedbapi.tools.CachedValue;
 import com.omertron.themoviedbapi.tools.HttpTools;
 import com.omertron.themoviedbapi.tools.MethodBase;
 import com.omertron.themoviedbapi.tools.MethodSub;
 import com.omertron.themoviedbapi.results.WrapperConfig;
 import com.omertron.themoviedbapi.results.WrapperJobList;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.yamj.api.common.exception.ApiExceptionType;
 
 /**
@@ -45,11 +55,24 @@ import org.yamj.api.common.exception.ApiExceptionType;
  */
 public class TmdbConfiguration extends AbstractMethod {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TmdbConfiguration.class);
+    private static final long DEFAULT_CACHE_HOURS = 24;
+    private static final long DEFAULT_REFRESH_AHEAD_HOURS = 1;
     /**
      * Cache the configuration in memory<br/>
-     * It rarely changes, so this should be safe.
+     * It rarely changes, so it is refreshed in the background once a day by default
      */
-    private static Configuration config = null;
+    private static final CachedValue<Configuration> CONFIG = new CachedValue<>(DEFAULT_CACHE_HOURS, DEFAULT_REFRESH_AHEAD_HOURS,
+            TimeUnit.HOURS);
+    private static volatile File snapshotFile = null;
+    private static final AtomicBoolean SNAPSHOT_CHECKED = new AtomicBoolean(false);
+
+    private final CachedValue.Loader<Configuration> loader = new CachedValue.Loader<Configuration>() {
+        @Override
+        public Configuration load() throws MovieDbException {
+            return readConfig();
+        }
+    };
 
     /**
      * Constructor
@@ -63,24 +86,117 @@ public class TmdbConfiguration extends AbstractMethod {
 
     /**
      * Get the configuration<br/>
-     * If the configuration has been previously retrieved, use that instead
+     * If the configuration has been previously retrieved, use that instead.
+     *
+     * Only the first call will wait for the configuration to be retrieved, after that the cached copy is returned and it is
+     * refreshed in the background when it is close to expiry.
      *
      * @return
      * @throws MovieDbException
      */
     public Configuration getConfig() throws MovieDbException {
-        if (config == null) {
-            URL configUrl = new ApiUrl(apiKey, MethodBase.CONFIGURATION).buildUrl();
-            String webpage = httpTools.getRequest(configUrl);
+        if (CONFIG.peek() == null) {
+            loadSnapshot();
+        }
+        return CONFIG.get(loader);
+    }
+
+    private Configuration readConfig() throws MovieDbException {
+        URL configUrl = new ApiUrl(apiKey, MethodBase.CONFIGURATION).buildUrl();
+        String webpage = httpTools.getRequest(configUrl);
+
+        Configuration config = parseConfig(webpage, configUrl);
+        saveSnapshot(webpage);
+        return config;
+    }
+
+    private static Configuration parseConfig(String webpage, URL configUrl) throws MovieDbException {
+        try {
+            WrapperConfig wc = MAPPER.readValue(webpage, WrapperConfig.class);
+            if (wc.getTmdbConfiguration() == null) {
+                throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "No configuration found", configUrl);
+            }
+            return wc.getTmdbConfiguration();
+        } catch (IOException ex) {
+            throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to read configuration", configUrl, ex);
+        }
+    }
+
+    /**
+     * Load the saved configuration, if there is one, the first time the configuration is needed
+     */
+    private static void loadSnapshot() {
+        File file = snapshotFile;
+        if (file == null || !file.isFile() || !SNAPSHOT_CHECKED.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            String webpage = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Configuration config = parseConfig(webpage, file.toURI().toURL());
+            if (CONFIG.setIfAbsent(config, file.lastModified())) {
+                LOG.debug("Loaded configuration from {}", file);
+            }
+        } catch (IOException | MovieDbException ex) {
+            LOG.warn("Failed to read saved configuration from {}: {}", file, ex.getMessage());
+        }
+    }
 
+    /**
+     * Save the configuration to the snapshot file, if there is one
+     *
+     * @param webpage
+     */
+    private static void saveSnapshot(String webpage) {
+        File file = snapshotFile;
+        if (file == null) {
+            return;
+        }
+
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            Path temp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp");
             try {
-                WrapperConfig wc = MAPPER.readValue(webpage, WrapperConfig.class);
-                config = wc.getTmdbConfiguration();
-            } catch (IOException ex) {
-                throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to read configuration", configUrl, ex);
+                Files.write(temp, webpage.getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
             }
+        } catch (IOException ex) {
+            LOG.warn("Failed to save configuration to {}: {}", file, ex.getMessage());
         }
-        return config;
+    }
+
+    /**
+     * Set how long the configuration is cached for
+     *
+     * @param cacheTime How long the configuration is used before it must be refreshed
+     * @param refreshAhead How long before the cache time ends to start refreshing the configuration in the background
+     * @param unit The unit of the times
+     */
+    public static void setCacheTime(long cacheTime, long refreshAhead, TimeUnit unit) {
+        CONFIG.setTimeToLive(cacheTime, refreshAhead, unit);
+    }
+
+    /**
+     * Set a file to save the configuration to.
+     *
+     * The saved configuration is used on start up instead of waiting for the API, it is refreshed in the background if it is
+     * older than the cache time.
+     *
+     * @param file The file to use, or null to not save the configuration
+     */
+    public static void setSnapshotFile(File file) {
+        snapshotFile = file;
+        SNAPSHOT_CHECKED.set(false);
+    }
+
+    /**
+     * Remove the cached configuration, the next call will retrieve it again
+     */
+    public static void clearCache() {
+        CONFIG.clear();
+        SNAPSHOT_CHECKED.set(false);
     }
 
     /**
@@ -95,7 +211,7 @@ public class TmdbConfiguration extends AbstractMethod {
 
         try {
             WrapperJobList wrapper = MAPPER.readValue(webpage, WrapperJobList.class);
-            ResultList<JobDepartment> results = new ResultList<>(wrapper.getJobs());
+            ResultList<JobDepartment> results = ResultList.wrap(wrapper.getJobs());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
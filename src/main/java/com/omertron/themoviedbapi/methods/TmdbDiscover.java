@@ -29,6 +29,10 @@ import com.omertron.themoviedbapi.tools.HttpTools;
 import com.omertron.themoviedbapi.tools.MethodBase;
 import com.omertron.themoviedbapi.tools.MethodSub;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import java.net.URL;
 
 /**
@@ -75,4 +79,56 @@ public class TmdbDiscover extends AbstractMethod {
         WrapperGenericList<TVBasic> wrapper = processWrapper(getTypeReference(TVBasic.class), url, webpage);
         return wrapper.getResultsList();
     }
+
+    /**
+     * Discover movies, keeping only the projected fields.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param projection The fields to keep, e.g. {@link Projection#MOVIE}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getDiscoverMovies(Discover discover, Projection projection) throws MovieDbException {
+        URL url = new ApiUrl(apiKey, MethodBase.DISCOVER).subMethod(MethodSub.MOVIE).buildUrl(discover.getParams());
+        return processProjection(projection, url, "discover movies");
+    }
+
+    /**
+     * Discover movies, passing each result to the handler as soon as it has been read.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getDiscoverMovies(Discover discover, ResultHandler<? super MovieBasic> handler) throws MovieDbException {
+        URL url = new ApiUrl(apiKey, MethodBase.DISCOVER).subMethod(MethodSub.MOVIE).buildUrl(discover.getParams());
+        return processStream(MovieBasic.class, url, handler, "discover movies");
+    }
+
+    /**
+     * Discover TV shows, keeping only the projected fields.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param projection The fields to keep, e.g. {@link Projection#TV}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getDiscoverTV(Discover discover, Projection projection) throws MovieDbException {
+        URL url = new ApiUrl(apiKey, MethodBase.DISCOVER).subMethod(MethodSub.TV).buildUrl(discover.getParams());
+        return processProjection(projection, url, "discover TV");
+    }
+
+    /**
+     * Discover TV shows, passing each result to the handler as soon as it has been read.
+     *
+     * @param discover A discover object containing the search criteria required
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getDiscoverTV(Discover discover, ResultHandler<? super TVBasic> handler) throws MovieDbException {
+        URL url = new ApiUrl(apiKey, MethodBase.DISCOVER).subMethod(MethodSub.TV).buildUrl(discover.getParams());
+        return processStream(TVBasic.class, url, handler, "discover TV");
+    }
 }
@@ -52,6 +52,10 @@ import com.omertron.themoviedbapi.tools.PostBody;
 import com.omertron.themoviedbapi.tools.PostTools;
 import com.omertron.themoviedbapi.tools.TmdbParameters;
 import java.io.IOException;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import java.net.URL;
 import org.yamj.api.common.exception.ApiExceptionType;
 
@@ -182,7 +186,7 @@ public class TmdbMovies extends AbstractMethod {
         String webpage = httpTools.getRequest(url);
         try {
             WrapperAlternativeTitles wrapper = MAPPER.readValue(webpage, WrapperAlternativeTitles.class);
-            ResultList<AlternativeTitle> results = new ResultList<>(wrapper.getTitles());
+            ResultList<AlternativeTitle> results = ResultList.wrap(wrapper.getTitles());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -228,7 +232,7 @@ public class TmdbMovies extends AbstractMethod {
 
         try {
             WrapperImages wrapper = MAPPER.readValue(webpage, WrapperImages.class);
-            ResultList<Artwork> results = new ResultList<>(wrapper.getAll());
+            ResultList<Artwork> results = ResultList.wrap(wrapper.getAll());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -254,7 +258,7 @@ public class TmdbMovies extends AbstractMethod {
 
         try {
             WrapperMovieKeywords wrapper = MAPPER.readValue(webpage, WrapperMovieKeywords.class);
-            ResultList<Keyword> results = new ResultList<>(wrapper.getKeywords());
+            ResultList<Keyword> results = ResultList.wrap(wrapper.getKeywords());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -280,7 +284,7 @@ public class TmdbMovies extends AbstractMethod {
 
         try {
             WrapperReleaseInfo wrapper = MAPPER.readValue(webpage, WrapperReleaseInfo.class);
-            ResultList<ReleaseInfo> results = new ResultList<>(wrapper.getCountries());
+            ResultList<ReleaseInfo> results = ResultList.wrap(wrapper.getCountries());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -308,7 +312,7 @@ public class TmdbMovies extends AbstractMethod {
 
         try {
             WrapperVideos wrapper = MAPPER.readValue(webpage, WrapperVideos.class);
-            ResultList<Video> results = new ResultList<>(wrapper.getVideos());
+            ResultList<Video> results = ResultList.wrap(wrapper.getVideos());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -350,7 +354,7 @@ public class TmdbMovies extends AbstractMethod {
 
         try {
             WrapperTranslations wrapper = MAPPER.readValue(webpage, WrapperTranslations.class);
-            ResultList<Translation> results = new ResultList<>(wrapper.getTranslations());
+            ResultList<Translation> results = ResultList.wrap(wrapper.getTranslations());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -549,13 +553,45 @@ public class TmdbMovies extends AbstractMethod {
      * @throws MovieDbException
      */
     public ResultList<MovieInfo> getPopularMovieList(Integer page, String language) throws MovieDbException {
+        URL url = buildPopularMovieUrl(page, language);
+        WrapperGenericList<MovieInfo> wrapper = processWrapper(getTypeReference(MovieInfo.class), url, "popular movie list");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * This method is used to retrieve the daily movie popularity list, keeping only the projected fields.
+     *
+     * @param page
+     * @param language
+     * @param projection The fields to keep, e.g. {@link Projection#MOVIE}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage getPopularMovieList(Integer page, String language, Projection projection) throws MovieDbException {
+        URL url = buildPopularMovieUrl(page, language);
+        return processProjection(projection, url, "popular movie list");
+    }
+
+    /**
+     * This method is used to retrieve the daily movie popularity list, passing each result to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param language
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage getPopularMovieList(Integer page, String language, ResultHandler<? super MovieInfo> handler) throws MovieDbException {
+        URL url = buildPopularMovieUrl(page, language);
+        return processStream(MovieInfo.class, url, handler, "popular movie list");
+    }
+
+    private URL buildPopularMovieUrl(Integer page, String language) {
         TmdbParameters parameters = new TmdbParameters();
         parameters.add(Param.LANGUAGE, language);
         parameters.add(Param.PAGE, page);
 
-        URL url = new ApiUrl(apiKey, MethodBase.MOVIE).subMethod(MethodSub.POPULAR).buildUrl(parameters);
-        WrapperGenericList<MovieInfo> wrapper = processWrapper(getTypeReference(MovieInfo.class), url, "popular movie list");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, MethodBase.MOVIE).subMethod(MethodSub.POPULAR).buildUrl(parameters);
     }
 
     /**
@@ -39,11 +39,13 @@ import com.omertron.themoviedbapi.results.ResultList;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
 import com.omertron.themoviedbapi.results.WrapperImages;
 import com.omertron.themoviedbapi.tools.ApiUrl;
+import com.omertron.themoviedbapi.tools.AppendSections;
 import com.omertron.themoviedbapi.tools.HttpTools;
 import com.omertron.themoviedbapi.tools.MethodBase;
 import com.omertron.themoviedbapi.tools.MethodSub;
 import com.omertron.themoviedbapi.tools.Param;
 import com.omertron.themoviedbapi.tools.TmdbParameters;
+import com.omertron.themoviedbapi.tools.UnknownProperties;
 import java.io.IOException;
 import java.net.URL;
 import org.apache.commons.lang3.StringUtils;
@@ -175,7 +177,7 @@ public class TmdbPeople extends AbstractMethod {
         String webpage = httpTools.getRequest(url);
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
+            ObjectMapper mapper = AppendSections.configure(UnknownProperties.configure(new ObjectMapper()));
             mapper.addMixIn(PersonCreditList.class, PersonCreditsMixIn.class);
             TypeReference tr = new TypeReference<PersonCreditList<CreditBasic>>() {
             };
@@ -222,7 +224,7 @@ public class TmdbPeople extends AbstractMethod {
 
         try {
             WrapperImages wrapper = MAPPER.readValue(webpage, WrapperImages.class);
-            ResultList<Artwork> results = new ResultList<>(wrapper.getAll(ArtworkType.PROFILE));
+            ResultList<Artwork> results = ResultList.wrap(wrapper.getAll(ArtworkType.PROFILE));
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -40,6 +40,10 @@ import com.omertron.themoviedbapi.tools.TmdbParameters;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
 import com.omertron.themoviedbapi.results.WrapperMultiSearch;
 import java.io.IOException;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import java.net.URL;
 import org.yamj.api.common.exception.ApiExceptionType;
 
@@ -161,6 +165,70 @@ public class TmdbSearch extends AbstractMethod {
             Integer searchYear,
             Integer primaryReleaseYear,
             SearchType searchType) throws MovieDbException {
+        URL url = buildSearchMovieUrl(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType);
+        WrapperGenericList<MovieInfo> wrapper = processWrapper(getTypeReference(MovieInfo.class), url, "movie");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * Search Movies, keeping only the projected fields.
+     *
+     * @param query
+     * @param page The page of results to return. 0 to get the default (first page)
+     * @param language The language to include. Can be blank/null.
+     * @param includeAdult true or false to include adult titles in the search
+     * @param searchYear Limit the search to the provided year. Zero (0) will get all years
+     * @param primaryReleaseYear
+     * @param searchType
+     * @param projection The fields to keep, e.g. {@link Projection#MOVIE}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage searchMovie(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            SearchType searchType,
+            Projection projection) throws MovieDbException {
+        URL url = buildSearchMovieUrl(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType);
+        return processProjection(projection, url, "movie");
+    }
+
+    /**
+     * Search Movies, passing each result to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param page The page of results to return. 0 to get the default (first page)
+     * @param language The language to include. Can be blank/null.
+     * @param includeAdult true or false to include adult titles in the search
+     * @param searchYear Limit the search to the provided year. Zero (0) will get all years
+     * @param primaryReleaseYear
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage searchMovie(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            SearchType searchType,
+            ResultHandler<? super MovieInfo> handler) throws MovieDbException {
+        URL url = buildSearchMovieUrl(query, page, language, includeAdult, searchYear, primaryReleaseYear, searchType);
+        return processStream(MovieInfo.class, url, handler, "movie");
+    }
+
+    private URL buildSearchMovieUrl(String query,
+            Integer page,
+            String language,
+            Boolean includeAdult,
+            Integer searchYear,
+            Integer primaryReleaseYear,
+            SearchType searchType) {
         TmdbParameters parameters = new TmdbParameters();
         parameters.add(Param.QUERY, query);
         parameters.add(Param.PAGE, page);
@@ -171,10 +239,7 @@ public class TmdbSearch extends AbstractMethod {
         if (searchType != null) {
             parameters.add(Param.SEARCH_TYPE, searchType.getPropertyString());
         }
-        URL url = new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.MOVIE).buildUrl(parameters);
-
-        WrapperGenericList<MovieInfo> wrapper = processWrapper(getTypeReference(MovieInfo.class), url, "movie");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.MOVIE).buildUrl(parameters);
     }
 
     /**
@@ -225,6 +290,44 @@ public class TmdbSearch extends AbstractMethod {
      * @throws MovieDbException
      */
     public ResultList<PersonFind> searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType) throws MovieDbException {
+        URL url = buildSearchPeopleUrl(query, page, includeAdult, searchType);
+        WrapperGenericList<PersonFind> wrapper = processWrapper(getTypeReference(PersonFind.class), url, "person");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * Search for people, keeping only the projected fields.
+     *
+     * @param query
+     * @param page
+     * @param includeAdult
+     * @param searchType
+     * @param projection The fields to keep, e.g. {@link Projection#PERSON}
+     * @return
+     * @throws MovieDbException
+     */
+    public ProjectedPage searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType, Projection projection) throws MovieDbException {
+        URL url = buildSearchPeopleUrl(query, page, includeAdult, searchType);
+        return processProjection(projection, url, "person");
+    }
+
+    /**
+     * Search for people, passing each result to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param page
+     * @param includeAdult
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws MovieDbException
+     */
+    public StreamedPage searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType, ResultHandler<? super PersonFind> handler) throws MovieDbException {
+        URL url = buildSearchPeopleUrl(query, page, includeAdult, searchType);
+        return processStream(PersonFind.class, url, handler, "person");
+    }
+
+    private URL buildSearchPeopleUrl(String query, Integer page, Boolean includeAdult, SearchType searchType) {
         TmdbParameters parameters = new TmdbParameters();
         parameters.add(Param.QUERY, query);
         parameters.add(Param.ADULT, includeAdult);
@@ -232,9 +335,7 @@ public class TmdbSearch extends AbstractMethod {
         if (searchType != null) {
             parameters.add(Param.SEARCH_TYPE, searchType.getPropertyString());
         }
-        URL url = new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.PERSON).buildUrl(parameters);
-        WrapperGenericList<PersonFind> wrapper = processWrapper(getTypeReference(PersonFind.class), url, "person");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.PERSON).buildUrl(parameters);
     }
 
     /**
@@ -249,6 +350,46 @@ public class TmdbSearch extends AbstractMethod {
      * @throws com.omertron.themoviedbapi.MovieDbException
      */
     public ResultList<TVBasic> searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType) throws MovieDbException {
+        URL url = buildSearchTVUrl(query, page, language, firstAirDateYear, searchType);
+        WrapperGenericList<TVBasic> wrapper = processWrapper(getTypeReference(TVBasic.class), url, "TV Show");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * Search for TV shows by title, keeping only the projected fields.
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param firstAirDateYear
+     * @param searchType
+     * @param projection The fields to keep, e.g. {@link Projection#TV}
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public ProjectedPage searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType, Projection projection) throws MovieDbException {
+        URL url = buildSearchTVUrl(query, page, language, firstAirDateYear, searchType);
+        return processProjection(projection, url, "TV Show");
+    }
+
+    /**
+     * Search for TV shows by title, passing each result to the handler as soon as it has been read.
+     *
+     * @param query
+     * @param page
+     * @param language
+     * @param firstAirDateYear
+     * @param searchType
+     * @param handler Called with each result
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public StreamedPage searchTV(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType, ResultHandler<? super TVBasic> handler) throws MovieDbException {
+        URL url = buildSearchTVUrl(query, page, language, firstAirDateYear, searchType);
+        return processStream(TVBasic.class, url, handler, "TV Show");
+    }
+
+    private URL buildSearchTVUrl(String query, Integer page, String language, Integer firstAirDateYear, SearchType searchType) {
         TmdbParameters parameters = new TmdbParameters();
         parameters.add(Param.QUERY, query);
         parameters.add(Param.PAGE, page);
@@ -257,9 +398,7 @@ public class TmdbSearch extends AbstractMethod {
         if (searchType != null) {
             parameters.add(Param.SEARCH_TYPE, searchType.getPropertyString());
         }
-        URL url = new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.TV).buildUrl(parameters);
-        WrapperGenericList<TVBasic> wrapper = processWrapper(getTypeReference(TVBasic.class), url, "TV Show");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, MethodBase.SEARCH).subMethod(MethodSub.TV).buildUrl(parameters);
     }
 
 }
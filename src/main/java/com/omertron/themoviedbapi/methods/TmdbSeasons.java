@@ -192,7 +192,7 @@ public class TmdbSeasons extends AbstractMethod {
 
         try {
             WrapperImages wrapper = MAPPER.readValue(webpage, WrapperImages.class);
-            ResultList<Artwork> results = new ResultList<>(wrapper.getAll());
+            ResultList<Artwork> results = ResultList.wrap(wrapper.getAll());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -220,7 +220,7 @@ public class TmdbSeasons extends AbstractMethod {
 
         try {
             WrapperVideos wrapper = MAPPER.readValue(webpage, WrapperVideos.class);
-            ResultList<Video> results = new ResultList<>(wrapper.getVideos());
+            ResultList<Video> results = ResultList.wrap(wrapper.getVideos());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
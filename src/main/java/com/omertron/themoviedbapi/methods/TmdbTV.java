@@ -47,6 +47,10 @@ import com.omertron.themoviedbapi.tools.PostBody;
 import com.omertron.themoviedbapi.tools.PostTools;
 import com.omertron.themoviedbapi.tools.TmdbParameters;
 import java.io.IOException;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.results.StreamedPage;
 import java.net.URL;
 import org.yamj.api.common.exception.ApiExceptionType;
 
@@ -230,7 +234,7 @@ public class TmdbTV extends AbstractMethod {
 
         try {
             WrapperImages wrapper = MAPPER.readValue(webpage, WrapperImages.class);
-            ResultList<Artwork> results = new ResultList<>(wrapper.getAll());
+            ResultList<Artwork> results = ResultList.wrap(wrapper.getAll());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -326,7 +330,7 @@ public class TmdbTV extends AbstractMethod {
 
         try {
             WrapperTranslations wrapper = MAPPER.readValue(webpage, WrapperTranslations.class);
-            ResultList<Translation> results = new ResultList<>(wrapper.getTranslations());
+            ResultList<Translation> results = ResultList.wrap(wrapper.getTranslations());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -353,7 +357,7 @@ public class TmdbTV extends AbstractMethod {
 
         try {
             WrapperVideos wrapper = MAPPER.readValue(webpage, WrapperVideos.class);
-            ResultList<Video> results = new ResultList<>(wrapper.getVideos());
+            ResultList<Video> results = ResultList.wrap(wrapper.getVideos());
             wrapper.setResultProperties(results);
             return results;
         } catch (IOException ex) {
@@ -453,12 +457,44 @@ public class TmdbTV extends AbstractMethod {
      * @throws com.omertron.themoviedbapi.MovieDbException
      */
     public ResultList<TVInfo> getTVPopular(Integer page, String language) throws MovieDbException {
+        URL url = buildPopularTVUrl(page, language);
+        WrapperGenericList<TVInfo> wrapper = processWrapper(getTypeReference(TVInfo.class), url, "popular TV shows");
+        return wrapper.getResultsList();
+    }
+
+    /**
+     * Get the list of popular TV shows, keeping only the projected fields.
+     *
+     * @param page
+     * @param language
+     * @param projection The fields to keep, e.g. {@link Projection#TV}
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public ProjectedPage getTVPopular(Integer page, String language, Projection projection) throws MovieDbException {
+        URL url = buildPopularTVUrl(page, language);
+        return processProjection(projection, url, "popular TV shows");
+    }
+
+    /**
+     * Get the list of popular TV shows, passing each result to the handler as soon as it has been read.
+     *
+     * @param page
+     * @param language
+     * @param handler Called with each result
+     * @return
+     * @throws com.omertron.themoviedbapi.MovieDbException
+     */
+    public StreamedPage getTVPopular(Integer page, String language, ResultHandler<? super TVInfo> handler) throws MovieDbException {
+        URL url = buildPopularTVUrl(page, language);
+        return processStream(TVInfo.class, url, handler, "popular TV shows");
+    }
+
+    private URL buildPopularTVUrl(Integer page, String language) {
         TmdbParameters parameters = new TmdbParameters();
         parameters.add(Param.PAGE, page);
         parameters.add(Param.LANGUAGE, language);
 
-        URL url = new ApiUrl(apiKey, MethodBase.TV).subMethod(MethodSub.POPULAR).buildUrl(parameters);
-        WrapperGenericList<TVInfo> wrapper = processWrapper(getTypeReference(TVInfo.class), url, "popular TV shows");
-        return wrapper.getResultsList();
+        return new ApiUrl(apiKey, MethodBase.TV).subMethod(MethodSub.POPULAR).buildUrl(parameters);
     }
 }
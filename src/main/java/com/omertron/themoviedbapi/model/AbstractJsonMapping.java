@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.omertron.themoviedbapi.tools.UnknownProperties;
 import java.io.Serializable;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -27,7 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Abstract class to handle any unknown properties by outputting a log message
+ * Abstract class to handle any unknown properties by counting them and outputting a log message
  *
  * @author stuart.boston
  */
@@ -37,18 +38,18 @@ public abstract class AbstractJsonMapping implements Serializable {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractJsonMapping.class);
 
     /**
-     * Handle unknown properties and print a message
+     * Handle unknown properties by counting them and printing a message if trace logging is enabled
      *
      * @param key
      * @param value
      */
     @JsonAnySetter
     protected void handleUnknown(String key, Object value) {
-        StringBuilder unknown = new StringBuilder(this.getClass().getSimpleName());
-        unknown.append(": Unknown property='").append(key)
-               .append("' value='").append(value).append("'");
+        UnknownProperties.record(this.getClass(), key);
 
-        LOG.trace(unknown.toString());
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}: Unknown property='{}' value='{}'", this.getClass().getSimpleName(), key, value);
+        }
     }
 
     @Override
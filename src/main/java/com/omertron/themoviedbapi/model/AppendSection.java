@@ -0,0 +1,241 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.omertron.themoviedbapi.results.WrapperGenericList;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Holder for an "append to response" section of a model.
+ *
+ * The section is kept as the buffered JSON tokens and only mapped on the first call to {@link #get()}. This saves the CPU and
+ * memory for any appended sections that are never read.
+ *
+ * Lazy mapping is off by default, in which case the section is mapped as soon as it is read from the response. It can be turned
+ * on with {@link #setLazy(boolean)} or the "themoviedbapi.lazyAppendToResponse" system property.
+ *
+ * @param <T> The type of the mapped section
+ */
+public final class AppendSection<T> implements Serializable {
+
+    private static final long serialVersionUID = 100L;
+    /**
+     * System property used to set the default for lazy mapping
+     */
+    public static final String LAZY_PROPERTY = "themoviedbapi.lazyAppendToResponse";
+    private static volatile boolean lazy = Boolean.getBoolean(LAZY_PROPERTY);
+
+    private transient TokenBuffer buffer;
+    private transient Reader<T> reader;
+    private T value;
+    private volatile boolean resolved;
+
+    private AppendSection(TokenBuffer buffer, Reader<T> reader, T value, boolean resolved) {
+        this.buffer = buffer;
+        this.reader = reader;
+        this.value = value;
+        this.resolved = resolved;
+    }
+
+    /**
+     * Create a section from the buffered JSON.
+     *
+     * If lazy mapping is off, the section will be mapped immediately
+     *
+     * @param <T>
+     * @param buffer The JSON tokens for the section
+     * @param reader The reader used to map the section
+     * @return
+     */
+    public static <T> AppendSection<T> create(TokenBuffer buffer, Reader<T> reader) {
+        AppendSection<T> section = new AppendSection<>(buffer, reader, null, false);
+        if (!lazy) {
+            section.get();
+        }
+        return section;
+    }
+
+    /**
+     * Create a section from an already mapped value
+     *
+     * @param <T>
+     * @param value
+     * @return
+     */
+    public static <T> AppendSection<T> of(T value) {
+        return new AppendSection<>(null, null, value, true);
+    }
+
+    /**
+     * Get the mapped section, mapping it from the buffered JSON if needed.
+     *
+     * @return
+     * @throws IllegalStateException if the section could not be mapped
+     */
+    public T get() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    value = read();
+                    buffer = null;
+                    reader = null;
+                    resolved = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the mapped value of a section, or the default if the section was not in the response
+     *
+     * @param <T>
+     * @param section
+     * @param defaultValue
+     * @return
+     */
+    public static <T> T valueOf(AppendSection<T> section, T defaultValue) {
+        return section == null ? defaultValue : section.get();
+    }
+
+    /**
+     * Has the section been mapped yet?
+     *
+     * @return
+     */
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    private T read() {
+        try (JsonParser parser = buffer.asParser()) {
+            parser.nextToken();
+            return reader.read(parser);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to map append to response section", ex);
+        }
+    }
+
+    /**
+     * Map the section before it is written, the JSON buffer can't be serialised
+     *
+     * @param out
+     * @throws IOException
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        get();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Are new sections being mapped lazily?
+     *
+     * @return
+     */
+    public static boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Set whether new sections are mapped lazily (on first access) or as soon as they are read
+     *
+     * @param lazy
+     */
+    public static void setLazy(boolean lazy) {
+        AppendSection.lazy = lazy;
+    }
+
+    @Override
+    public String toString() {
+        return resolved ? String.valueOf(value) : "[Not mapped]";
+    }
+
+    /**
+     * Reader for a section of the response
+     *
+     * @param <T>
+     */
+    public interface Reader<T> {
+
+        /**
+         * Map the section from the parser, which is positioned on the first token of the section
+         *
+         * @param parser
+         * @return
+         * @throws IOException
+         */
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Create a reader that maps the section directly to a class
+     *
+     * @param <T>
+     * @param type
+     * @return
+     */
+    public static <T> Reader<T> reader(final Class<T> type) {
+        return new Reader<T>() {
+            @Override
+            public T read(JsonParser parser) throws IOException {
+                return parser.readValueAs(type);
+            }
+        };
+    }
+
+    /**
+     * Create a reader that maps the section directly to a generic type
+     *
+     * @param <T>
+     * @param type
+     * @return
+     */
+    public static <T> Reader<T> reader(final TypeReference<T> type) {
+        return new Reader<T>() {
+            @Override
+            public T read(JsonParser parser) throws IOException {
+                return parser.readValueAs(type);
+            }
+        };
+    }
+
+    /**
+     * Create a reader that maps a paged list section and returns the results
+     *
+     * @param <T>
+     * @param type
+     * @return
+     */
+    public static <T> Reader<List<T>> listReader(final TypeReference<WrapperGenericList<T>> type) {
+        return new Reader<List<T>>() {
+            @Override
+            public List<T> read(JsonParser parser) throws IOException {
+                WrapperGenericList<T> wrapper = parser.readValueAs(type);
+                return wrapper.getResults();
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+import com.omertron.themoviedbapi.tools.ValueInterner;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Helpers for the genre IDs of the list results, which are held as int arrays rather than lists of objects.
+ *
+ * The names of the genres are not in the list results, use {@code ReferenceData#getGenres(int[])} to look them up.
+ */
+public final class GenreIds {
+
+    private GenreIds() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Convert a list of IDs to an array, skipping any nulls
+     *
+     * @param ids
+     * @return The array, or null if the list is null
+     */
+    public static int[] toArray(List<Integer> ids) {
+        if (ids == null) {
+            return null;
+        }
+        int[] array = new int[ids.size()];
+        int size = 0;
+        for (Integer id : ids) {
+            if (id != null) {
+                array[size++] = id;
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Get a read only list view of the IDs
+     *
+     * @param ids
+     * @return The list, or null if the array is null
+     */
+    public static List<Integer> asList(int[] ids) {
+        if (ids == null) {
+            return null;
+        }
+        return new IntList(ids);
+    }
+
+    /**
+     * Is the genre in the IDs?
+     *
+     * @param ids
+     * @param genreId
+     * @return
+     */
+    public static boolean contains(int[] ids, int genreId) {
+        if (ids != null) {
+            for (int id : ids) {
+                if (id == genreId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Is any of the genres in the IDs?
+     *
+     * @param ids
+     * @param genreIds
+     * @return
+     */
+    public static boolean containsAny(int[] ids, int... genreIds) {
+        for (int genreId : genreIds) {
+            if (contains(ids, genreId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create genres with just the IDs set
+     *
+     * @param ids
+     * @return The genres, or null if the array is null
+     */
+    public static List<Genre> toGenres(int[] ids) {
+        if (ids == null) {
+            return null;
+        }
+        List<Genre> genres = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Genre genre = new Genre();
+            genre.setId(id);
+            genres.add(ValueInterner.canonical(genre));
+        }
+        return genres;
+    }
+
+    private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+        private final int[] ids;
+
+        IntList(int[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return ids[index];
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
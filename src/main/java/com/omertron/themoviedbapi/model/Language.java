@@ -21,6 +21,7 @@ package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -47,7 +48,7 @@ public class Language extends AbstractJsonMapping implements Serializable {
     }
 
     public void setCode(String code) {
-        this.code = code;
+        this.code = ValueInterner.intern(code);
     }
 
     public void setName(String name) {
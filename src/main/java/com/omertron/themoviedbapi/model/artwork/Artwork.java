@@ -21,6 +21,7 @@ package com.omertron.themoviedbapi.model.artwork;
 
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
 import com.omertron.themoviedbapi.enumeration.ArtworkType;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import java.io.Serializable;
@@ -93,7 +94,7 @@ public class Artwork extends AbstractJsonMapping implements Serializable {
     }
 
     public void setLanguage(String language) {
-        this.language = language;
+        this.language = ValueInterner.intern(language);
     }
 
     public int getWidth() {
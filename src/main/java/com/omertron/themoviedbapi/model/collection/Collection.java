@@ -21,8 +21,10 @@ package com.omertron.themoviedbapi.model.collection;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.omertron.themoviedbapi.interfaces.Identification;
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.model.GenreIds;
 import java.io.Serializable;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
@@ -50,7 +52,7 @@ public class Collection extends AbstractJsonMapping implements Serializable, Ide
     @JsonProperty("release_date")
     private String releaseDate;
     @JsonProperty("genre_ids")
-    private List<Integer> genreIds;
+    private int[] genreIds;
     @JsonProperty("adult")
     private boolean adult;
     @JsonProperty("original_language")
@@ -99,10 +101,34 @@ public class Collection extends AbstractJsonMapping implements Serializable, Ide
         return name;
     }
 
+    /**
+     * Get a read only list of the genre IDs
+     *
+     * @return
+     */
     public List<Integer> getGenreIds() {
+        return GenreIds.asList(genreIds);
+    }
+
+    /**
+     * Get the genre IDs, the array should not be changed
+     *
+     * @return
+     */
+    public int[] getGenreIdArray() {
         return genreIds;
     }
 
+    /**
+     * Does the item have the genre?
+     *
+     * @param genreId
+     * @return
+     */
+    public boolean hasGenre(int genreId) {
+        return GenreIds.contains(genreIds, genreId);
+    }
+
     public boolean isAdult() {
         return adult;
     }
@@ -137,6 +163,11 @@ public class Collection extends AbstractJsonMapping implements Serializable, Ide
     }
 
     public void setGenreIds(List<Integer> genreIds) {
+        this.genreIds = GenreIds.toArray(genreIds);
+    }
+
+    @JsonSetter("genre_ids")
+    public void setGenreIds(int[] genreIds) {
         this.genreIds = genreIds;
     }
 
@@ -19,6 +19,7 @@
  */
 package com.omertron.themoviedbapi.model.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.omertron.themoviedbapi.MovieDbException;
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
@@ -50,6 +51,8 @@ public class Configuration extends AbstractJsonMapping implements Serializable {
     private List<String> logoSizes;
     @JsonProperty("still_sizes")
     private List<String> stillSizes;
+    private transient volatile ImageUrlFactory imageUrlFactory;
+    private transient volatile ImageSizeResolver imageSizeResolver;
 
     public List<String> getBackdropSizes() {
         return backdropSizes;
@@ -81,30 +84,37 @@ public class Configuration extends AbstractJsonMapping implements Serializable {
 
     public void setBackdropSizes(List<String> backdropSizes) {
         this.backdropSizes = backdropSizes;
+        resetImages();
     }
 
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
+        resetImages();
     }
 
     public void setPosterSizes(List<String> posterSizes) {
         this.posterSizes = posterSizes;
+        resetImages();
     }
 
     public void setProfileSizes(List<String> profileSizes) {
         this.profileSizes = profileSizes;
+        resetImages();
     }
 
     public void setLogoSizes(List<String> logoSizes) {
         this.logoSizes = logoSizes;
+        resetImages();
     }
 
     public void setSecureBaseUrl(String secureBaseUrl) {
         this.secureBaseUrl = secureBaseUrl;
+        resetImages();
     }
 
     public void setStillSizes(List<String> stillSizes) {
         this.stillSizes = stillSizes;
+        resetImages();
     }
 
     /**
@@ -118,6 +128,7 @@ public class Configuration extends AbstractJsonMapping implements Serializable {
         posterSizes = config.getPosterSizes();
         profileSizes = config.getProfileSizes();
         logoSizes = config.getLogoSizes();
+        resetImages();
     }
 
     /**
@@ -185,6 +196,41 @@ public class Configuration extends AbstractJsonMapping implements Serializable {
                 || isValidLogoSize(sizeToCheck);
     }
 
+    /**
+     * Get the factory used to create the image URLs from this configuration
+     *
+     * @return
+     */
+    @JsonIgnore
+    public ImageUrlFactory getImageUrlFactory() {
+        ImageUrlFactory factory = imageUrlFactory;
+        if (factory == null) {
+            factory = ImageUrlFactory.create(this);
+            imageUrlFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * Get the resolver used to pick the image sizes from this configuration
+     *
+     * @return
+     */
+    @JsonIgnore
+    public ImageSizeResolver getImageSizeResolver() {
+        ImageSizeResolver resolver = imageSizeResolver;
+        if (resolver == null) {
+            resolver = ImageSizeResolver.create(this);
+            imageSizeResolver = resolver;
+        }
+        return resolver;
+    }
+
+    private void resetImages() {
+        imageUrlFactory = null;
+        imageSizeResolver = null;
+    }
+
     /**
      * Generate the full image URL from the size and image path
      *
@@ -194,17 +240,12 @@ public class Configuration extends AbstractJsonMapping implements Serializable {
      * @throws MovieDbException
      */
     public URL createImageUrl(String imagePath, String requiredSize) throws MovieDbException {
-        if (!isValidSize(requiredSize)) {
-            throw new MovieDbException(ApiExceptionType.INVALID_IMAGE, "Required size '" + requiredSize + "' is not valid");
-        }
-
-        StringBuilder sb = new StringBuilder(getBaseUrl());
-        sb.append(requiredSize).append(imagePath);
+        String url = getImageUrlFactory().createImageUrl(imagePath, requiredSize);
 
         try {
-            return new URL(sb.toString());
+            return new URL(url);
         } catch (MalformedURLException ex) {
-            throw new MovieDbException(ApiExceptionType.INVALID_URL, "Failed to create image URL", sb.toString(), ex);
+            throw new MovieDbException(ApiExceptionType.INVALID_URL, "Failed to create image URL", url, ex);
         }
     }
 
@@ -0,0 +1,306 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model.config;
+
+import com.omertron.themoviedbapi.enumeration.ArtworkType;
+import com.omertron.themoviedbapi.model.artwork.Artwork;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks image sizes from a {@link Configuration} by the width or height needed.
+ *
+ * The size names (e.g. "w342", "h632" and "original") are parsed once into sorted arrays of widths and heights for each image
+ * type, so each query is a binary search.
+ *
+ * The resolver is immutable and safe to share between threads.
+ */
+public final class ImageSizeResolver {
+
+    /**
+     * The name of the size for the original image
+     */
+    public static final String ORIGINAL = "original";
+
+    private final Map<ArtworkType, Sizes> typeSizes;
+    private final Sizes logoSizes;
+
+    private ImageSizeResolver(Configuration config) {
+        typeSizes = new EnumMap<>(ArtworkType.class);
+        typeSizes.put(ArtworkType.POSTER, new Sizes(config.getPosterSizes()));
+        typeSizes.put(ArtworkType.BACKDROP, new Sizes(config.getBackdropSizes()));
+        typeSizes.put(ArtworkType.PROFILE, new Sizes(config.getProfileSizes()));
+        typeSizes.put(ArtworkType.STILL, new Sizes(config.getStillSizes()));
+        logoSizes = new Sizes(config.getLogoSizes());
+    }
+
+    /**
+     * Create a resolver for the configuration
+     *
+     * @param config
+     * @return
+     */
+    public static ImageSizeResolver create(Configuration config) {
+        return new ImageSizeResolver(config);
+    }
+
+    /**
+     * Get the sizes for an artwork type
+     *
+     * @param artworkType
+     * @return
+     */
+    public Sizes getSizes(ArtworkType artworkType) {
+        return typeSizes.get(artworkType);
+    }
+
+    /**
+     * Get the sizes for logos
+     *
+     * @return
+     */
+    public Sizes getLogoSizes() {
+        return logoSizes;
+    }
+
+    /**
+     * Pick the smallest size of the artwork that is at least the target width.
+     *
+     * Sizes given as a height (e.g. "h632") are compared using the aspect ratio of the artwork. If the artwork is no wider than
+     * the target, or no size is wide enough, the original is used.
+     *
+     * @param artwork
+     * @param targetWidth The width needed in pixels
+     * @return The size name, or null if there are no sizes for the artwork type
+     */
+    public String selectSize(Artwork artwork, int targetWidth) {
+        Sizes sizes = getSizes(artwork.getArtworkType());
+        if (artwork.getWidth() > 0 && targetWidth >= artwork.getWidth() && sizes.hasOriginal()) {
+            return ORIGINAL;
+        }
+
+        float aspectRatio = aspectRatio(artwork);
+        int width = sizes.ceilingWidthIndex(targetWidth);
+        int height = aspectRatio > 0 ? sizes.ceilingHeightIndex((int) Math.ceil(targetWidth / aspectRatio)) : -1;
+
+        if (width >= 0 && (height < 0 || sizes.widths[width] <= sizes.heights[height] * aspectRatio)) {
+            return sizes.widthNames[width];
+        }
+        if (height >= 0) {
+            return sizes.heightNames[height];
+        }
+        return sizes.hasOriginal() ? ORIGINAL : sizes.largest();
+    }
+
+    /**
+     * Pick the smallest size of the artwork that will cover the target box.
+     *
+     * @param artwork
+     * @param targetWidth The width needed in pixels
+     * @param targetHeight The height needed in pixels
+     * @return The size name, or null if there are no sizes for the artwork type
+     */
+    public String selectSize(Artwork artwork, int targetWidth, int targetHeight) {
+        float aspectRatio = aspectRatio(artwork);
+        int width = targetWidth;
+        if (aspectRatio > 0) {
+            width = Math.max(width, (int) Math.ceil(targetHeight * aspectRatio));
+        }
+        return selectSize(artwork, width);
+    }
+
+    private static float aspectRatio(Artwork artwork) {
+        if (artwork.getAspectRatio() > 0) {
+            return artwork.getAspectRatio();
+        }
+        if (artwork.getWidth() > 0 && artwork.getHeight() > 0) {
+            return (float) artwork.getWidth() / artwork.getHeight();
+        }
+        return 0f;
+    }
+
+    /**
+     * The sizes of one image type, split into the sizes given as a width and those given as a height
+     */
+    public static final class Sizes {
+
+        private final int[] widths;
+        private final String[] widthNames;
+        private final int[] heights;
+        private final String[] heightNames;
+        private final boolean original;
+
+        Sizes(List<String> names) {
+            int[] w = new int[names == null ? 0 : names.size()];
+            int[] h = new int[w.length];
+            int widthCount = 0;
+            int heightCount = 0;
+            boolean hasOriginal = false;
+
+            if (names != null) {
+                for (String name : names) {
+                    if (ORIGINAL.equals(name)) {
+                        hasOriginal = true;
+                    } else if (isSize(name, 'w')) {
+                        w[widthCount++] = Integer.parseInt(name.substring(1));
+                    } else if (isSize(name, 'h')) {
+                        h[heightCount++] = Integer.parseInt(name.substring(1));
+                    }
+                }
+            }
+
+            widths = Arrays.copyOf(w, widthCount);
+            heights = Arrays.copyOf(h, heightCount);
+            Arrays.sort(widths);
+            Arrays.sort(heights);
+            widthNames = toNames('w', widths);
+            heightNames = toNames('h', heights);
+            original = hasOriginal;
+        }
+
+        private static boolean isSize(String name, char prefix) {
+            if (name == null || name.length() < 2 || name.length() > 10 || name.charAt(0) != prefix) {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isDigit(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String[] toNames(char prefix, int[] values) {
+            String[] names = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                names[i] = prefix + Integer.toString(values[i]);
+            }
+            return names;
+        }
+
+        private static int ceilingIndex(int[] values, int target) {
+            int index = Arrays.binarySearch(values, target);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < values.length ? index : -1;
+        }
+
+        private static int floorIndex(int[] values, int target) {
+            int index = Arrays.binarySearch(values, target);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index;
+        }
+
+        int ceilingWidthIndex(int width) {
+            return ceilingIndex(widths, width);
+        }
+
+        int ceilingHeightIndex(int height) {
+            return ceilingIndex(heights, height);
+        }
+
+        /**
+         * Is the original size available?
+         *
+         * @return
+         */
+        public boolean hasOriginal() {
+            return original;
+        }
+
+        /**
+         * Get the smallest size that is at least the width
+         *
+         * @param width
+         * @return The size, "original" if none are wide enough, or null if there is no original
+         */
+        public String ceilingWidth(int width) {
+            int index = ceilingIndex(widths, width);
+            return index >= 0 ? widthNames[index] : originalOrNull();
+        }
+
+        /**
+         * Get the largest size that is no more than the width
+         *
+         * @param width
+         * @return The size, or null if none are small enough
+         */
+        public String floorWidth(int width) {
+            int index = floorIndex(widths, width);
+            return index >= 0 ? widthNames[index] : null;
+        }
+
+        /**
+         * Get the smallest size that is at least the height
+         *
+         * @param height
+         * @return The size, "original" if none are tall enough, or null if there is no original
+         */
+        public String ceilingHeight(int height) {
+            int index = ceilingIndex(heights, height);
+            return index >= 0 ? heightNames[index] : originalOrNull();
+        }
+
+        /**
+         * Get the largest size that is no more than the height
+         *
+         * @param height
+         * @return The size, or null if none are small enough
+         */
+        public String floorHeight(int height) {
+            int index = floorIndex(heights, height);
+            return index >= 0 ? heightNames[index] : null;
+        }
+
+        /**
+         * Get the widths of the sizes given as a width, smallest first
+         *
+         * @return
+         */
+        public int[] getWidths() {
+            return widths.clone();
+        }
+
+        /**
+         * Get the heights of the sizes given as a height, smallest first
+         *
+         * @return
+         */
+        public int[] getHeights() {
+            return heights.clone();
+        }
+
+        private String originalOrNull() {
+            return original ? ORIGINAL : null;
+        }
+
+        private String largest() {
+            if (widths.length > 0) {
+                return widthNames[widths.length - 1];
+            }
+            return heights.length > 0 ? heightNames[heights.length - 1] : null;
+        }
+    }
+}
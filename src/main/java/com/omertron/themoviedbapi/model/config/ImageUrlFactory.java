@@ -0,0 +1,290 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model.config;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.enumeration.ArtworkType;
+import com.omertron.themoviedbapi.model.artwork.Artwork;
+import com.omertron.themoviedbapi.results.ResultList;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.yamj.api.common.exception.ApiExceptionType;
+
+/**
+ * Builds image URLs from a {@link Configuration}.
+ *
+ * The valid sizes are held in a hash set for each artwork type and the base URL is resolved once, so creating a URL is a set
+ * lookup and a string append. The URLs are returned as strings, or written to a buffer supplied by the caller, without creating
+ * a {@link java.net.URL}.
+ *
+ * The factory is immutable and safe to share between threads.
+ */
+public final class ImageUrlFactory {
+
+    private final String baseUrl;
+    private final Map<ArtworkType, Set<String>> typeSizes;
+    private final Set<String> logoSizes;
+    private final Set<String> allSizes;
+
+    private ImageUrlFactory(String baseUrl, Configuration config) {
+        this.baseUrl = baseUrl == null ? "" : baseUrl;
+
+        typeSizes = new EnumMap<>(ArtworkType.class);
+        typeSizes.put(ArtworkType.POSTER, toSet(config.getPosterSizes()));
+        typeSizes.put(ArtworkType.BACKDROP, toSet(config.getBackdropSizes()));
+        typeSizes.put(ArtworkType.PROFILE, toSet(config.getProfileSizes()));
+        typeSizes.put(ArtworkType.STILL, toSet(config.getStillSizes()));
+        logoSizes = toSet(config.getLogoSizes());
+
+        Set<String> all = new HashSet<>();
+        for (Set<String> sizes : typeSizes.values()) {
+            all.addAll(sizes);
+        }
+        all.addAll(logoSizes);
+        allSizes = Collections.unmodifiableSet(all);
+    }
+
+    /**
+     * Create a factory using the (non-secure) base URL of the configuration
+     *
+     * @param config
+     * @return
+     */
+    public static ImageUrlFactory create(Configuration config) {
+        return create(config, false);
+    }
+
+    /**
+     * Create a factory for the configuration
+     *
+     * @param config
+     * @param secure Use the secure base URL
+     * @return
+     */
+    public static ImageUrlFactory create(Configuration config, boolean secure) {
+        return new ImageUrlFactory(secure ? config.getSecureBaseUrl() : config.getBaseUrl(), config);
+    }
+
+    private static Set<String> toSet(Collection<String> sizes) {
+        if (sizes == null || sizes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(sizes));
+    }
+
+    /**
+     * Get the base URL used for the images
+     *
+     * @return
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Check to see if the size is valid for any of the image types
+     *
+     * @param size
+     * @return
+     */
+    public boolean isValidSize(String size) {
+        return size != null && allSizes.contains(size);
+    }
+
+    /**
+     * Check to see if the size is valid for the artwork type
+     *
+     * @param artworkType
+     * @param size
+     * @return
+     */
+    public boolean isValidSize(ArtworkType artworkType, String size) {
+        return size != null && typeSizes.get(artworkType).contains(size);
+    }
+
+    /**
+     * Check to see if the size is valid for a logo
+     *
+     * @param size
+     * @return
+     */
+    public boolean isValidLogoSize(String size) {
+        return size != null && logoSizes.contains(size);
+    }
+
+    /**
+     * Get the valid sizes for the artwork type
+     *
+     * @param artworkType
+     * @return
+     */
+    public Set<String> getSizes(ArtworkType artworkType) {
+        return typeSizes.get(artworkType);
+    }
+
+    private void checkSize(String size) throws MovieDbException {
+        if (!isValidSize(size)) {
+            throw new MovieDbException(ApiExceptionType.INVALID_IMAGE, "Required size '" + size + "' is not valid");
+        }
+    }
+
+    private void checkSize(ArtworkType artworkType, String size) throws MovieDbException {
+        if (!isValidSize(artworkType, size)) {
+            throw new MovieDbException(ApiExceptionType.INVALID_IMAGE,
+                    "Required size '" + size + "' is not valid for " + artworkType);
+        }
+    }
+
+    /**
+     * Generate the full image URL from the size and image path
+     *
+     * @param imagePath
+     * @param size
+     * @return
+     * @throws MovieDbException If the size is not valid for any image type
+     */
+    public String createImageUrl(String imagePath, String size) throws MovieDbException {
+        checkSize(size);
+        return concat(imagePath, size);
+    }
+
+    /**
+     * Generate the full image URL from the size and image path
+     *
+     * @param artworkType
+     * @param imagePath
+     * @param size
+     * @return
+     * @throws MovieDbException If the size is not valid for the artwork type
+     */
+    public String createImageUrl(ArtworkType artworkType, String imagePath, String size) throws MovieDbException {
+        checkSize(artworkType, size);
+        return concat(imagePath, size);
+    }
+
+    private String concat(String imagePath, String size) {
+        String path = path(imagePath);
+        return new StringBuilder(baseUrl.length() + size.length() + path.length())
+                .append(baseUrl).append(size).append(path)
+                .toString();
+    }
+
+    /**
+     * A missing path, e.g. a title with no poster, is written as "null" as it always has been
+     */
+    private static String path(String imagePath) {
+        return imagePath == null ? "null" : imagePath;
+    }
+
+    /**
+     * Append the full image URL to the builder
+     *
+     * @param sb
+     * @param imagePath
+     * @param size
+     * @return The builder
+     * @throws MovieDbException If the size is not valid for any image type
+     */
+    public StringBuilder appendImageUrl(StringBuilder sb, String imagePath, String size) throws MovieDbException {
+        checkSize(size);
+        return sb.append(baseUrl).append(size).append(imagePath);
+    }
+
+    /**
+     * Append the full image URL to the builder
+     *
+     * @param sb
+     * @param artworkType
+     * @param imagePath
+     * @param size
+     * @return The builder
+     * @throws MovieDbException If the size is not valid for the artwork type
+     */
+    public StringBuilder appendImageUrl(StringBuilder sb, ArtworkType artworkType, String imagePath, String size)
+            throws MovieDbException {
+        checkSize(artworkType, size);
+        return sb.append(baseUrl).append(size).append(imagePath);
+    }
+
+    /**
+     * Write the full image URL to the buffer
+     *
+     * @param buffer
+     * @param artworkType
+     * @param imagePath
+     * @param size
+     * @return The buffer
+     * @throws MovieDbException If the size is not valid for the artwork type
+     * @throws BufferOverflowException If there is not enough space in the buffer, nothing is written
+     */
+    public CharBuffer putImageUrl(CharBuffer buffer, ArtworkType artworkType, String imagePath, String size)
+            throws MovieDbException {
+        checkSize(artworkType, size);
+        String path = path(imagePath);
+        if (buffer.remaining() < baseUrl.length() + size.length() + path.length()) {
+            throw new BufferOverflowException();
+        }
+        return buffer.put(baseUrl).put(size).put(path);
+    }
+
+    /**
+     * Generate the image URLs for a list of artwork.
+     *
+     * Artwork is skipped if it has no file path or the size is not valid for its type, so the URLs are a filtered list and the
+     * index of a URL is not the index of its artwork
+     *
+     * @param artwork
+     * @param size
+     * @return The URLs of the artwork that was not skipped, in the order of the artwork
+     */
+    public List<String> createImageUrls(List<Artwork> artwork, String size) {
+        List<String> urls = new ArrayList<>(artwork.size());
+        StringBuilder sb = new StringBuilder(baseUrl.length() + 64).append(baseUrl);
+        for (Artwork art : artwork) {
+            if (art.getFilePath() != null && isValidSize(art.getArtworkType(), size)) {
+                sb.setLength(baseUrl.length());
+                urls.add(sb.append(size).append(art.getFilePath()).toString());
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Generate the image URLs for a list of artwork.
+     *
+     * Artwork is skipped if it has no file path or the size is not valid for its type, so the URLs are a filtered list and the
+     * index of a URL is not the index of its artwork
+     *
+     * @param artwork
+     * @param size
+     * @return The URLs of the artwork that was not skipped, in the order of the artwork
+     */
+    public List<String> createImageUrls(ResultList<Artwork> artwork, String size) {
+        return createImageUrls(artwork.getResults(), size);
+    }
+}
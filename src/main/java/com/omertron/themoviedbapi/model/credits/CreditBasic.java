@@ -26,6 +26,7 @@ import com.omertron.themoviedbapi.enumeration.CreditType;
 import com.omertron.themoviedbapi.enumeration.MediaType;
 import com.omertron.themoviedbapi.interfaces.Identification;
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 
 /**
@@ -115,7 +116,7 @@ public class CreditBasic extends AbstractJsonMapping implements Serializable, Id
     }
 
     public void setDepartment(String department) {
-        this.department = department;
+        this.department = ValueInterner.intern(department);
         setCreditType(CreditType.CREW);
     }
 
@@ -124,7 +125,7 @@ public class CreditBasic extends AbstractJsonMapping implements Serializable, Id
     }
 
     public void setJob(String job) {
-        this.job = job;
+        this.job = ValueInterner.intern(job);
         setCreditType(CreditType.CREW);
     }
 
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model.credits;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 
 /**
@@ -40,7 +41,7 @@ public class MediaCreditCrew extends MediaCredit implements Serializable {
     }
 
     public void setDepartment(String department) {
-        this.department = department;
+        this.department = ValueInterner.intern(department);
     }
 
     public String getJob() {
@@ -48,7 +49,7 @@ public class MediaCreditCrew extends MediaCredit implements Serializable {
     }
 
     public void setJob(String job) {
-        this.job = job;
+        this.job = ValueInterner.intern(job);
     }
 
 }
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model.media;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -45,7 +46,7 @@ public class AlternativeTitle implements Serializable {
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = ValueInterner.intern(country);
     }
 
     public void setTitle(String title) {
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model.media;
 
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -108,11 +109,11 @@ public class Video extends AbstractJsonMapping implements Serializable {
     }
 
     public void setLanguage(String language) {
-        this.language = language;
+        this.language = ValueInterner.intern(language);
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = ValueInterner.intern(country);
     }
 
     @Override
@@ -24,9 +24,13 @@ import com.omertron.themoviedbapi.model.media.Translation;
 import com.omertron.themoviedbapi.model.media.AlternativeTitle;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.omertron.themoviedbapi.enumeration.MovieMethod;
 import com.omertron.themoviedbapi.interfaces.AppendToResponse;
 import com.omertron.themoviedbapi.interfaces.Identification;
+import com.omertron.themoviedbapi.model.AppendSection;
 import com.omertron.themoviedbapi.model.Genre;
 import com.omertron.themoviedbapi.model.Language;
 import com.omertron.themoviedbapi.model.artwork.Artwork;
@@ -46,6 +50,8 @@ import com.omertron.themoviedbapi.results.WrapperMovieKeywords;
 import com.omertron.themoviedbapi.results.WrapperReleaseInfo;
 import com.omertron.themoviedbapi.results.WrapperTranslations;
 import com.omertron.themoviedbapi.results.WrapperVideos;
+import com.omertron.themoviedbapi.tools.ValueInterner;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -86,17 +92,67 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
     // AppendToResponse
     private final Set<MovieMethod> methods = EnumSet.noneOf(MovieMethod.class);
     // AppendToResponse Properties
-    private List<AlternativeTitle> alternativeTitles = Collections.emptyList();
-    private MediaCreditList credits = new MediaCreditList();
-    private List<Artwork> images = Collections.emptyList();
-    private List<Keyword> keywords = Collections.emptyList();
-    private List<ReleaseInfo> releases = Collections.emptyList();
-    private List<Video> videos = Collections.emptyList();
-    private List<Translation> translations = Collections.emptyList();
-    private List<MovieInfo> similarMovies = Collections.emptyList();
-    private List<Review> reviews = Collections.emptyList();
-    private List<UserList> lists = Collections.emptyList();
-    private List<ChangeKeyItem> changes = Collections.emptyList();
+    private AppendSection<List<AlternativeTitle>> alternativeTitles;
+    private AppendSection<MediaCreditList> credits;
+    private AppendSection<List<Artwork>> images;
+    private AppendSection<List<Keyword>> keywords;
+    private AppendSection<List<ReleaseInfo>> releases;
+    private AppendSection<List<Video>> videos;
+    private AppendSection<List<Translation>> translations;
+    private AppendSection<List<MovieInfo>> similarMovies;
+    private AppendSection<List<Review>> reviews;
+    private AppendSection<List<UserList>> lists;
+    private AppendSection<List<ChangeKeyItem>> changes;
+    // AppendToResponse Readers
+    private static final AppendSection.Reader<List<AlternativeTitle>> ALTERNATIVE_TITLES_READER = new AppendSection.Reader<List<AlternativeTitle>>() {
+        @Override
+        public List<AlternativeTitle> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperAlternativeTitles.class).getTitles();
+        }
+    };
+    private static final AppendSection.Reader<MediaCreditList> CREDITS_READER = AppendSection.reader(MediaCreditList.class);
+    private static final AppendSection.Reader<List<Artwork>> IMAGES_READER = new AppendSection.Reader<List<Artwork>>() {
+        @Override
+        public List<Artwork> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperImages.class).getAll();
+        }
+    };
+    private static final AppendSection.Reader<List<Keyword>> KEYWORDS_READER = new AppendSection.Reader<List<Keyword>>() {
+        @Override
+        public List<Keyword> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperMovieKeywords.class).getKeywords();
+        }
+    };
+    private static final AppendSection.Reader<List<ReleaseInfo>> RELEASES_READER = new AppendSection.Reader<List<ReleaseInfo>>() {
+        @Override
+        public List<ReleaseInfo> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperReleaseInfo.class).getCountries();
+        }
+    };
+    private static final AppendSection.Reader<List<Video>> VIDEOS_READER = new AppendSection.Reader<List<Video>>() {
+        @Override
+        public List<Video> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperVideos.class).getVideos();
+        }
+    };
+    private static final AppendSection.Reader<List<Translation>> TRANSLATIONS_READER = new AppendSection.Reader<List<Translation>>() {
+        @Override
+        public List<Translation> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperTranslations.class).getTranslations();
+        }
+    };
+    private static final AppendSection.Reader<List<MovieInfo>> SIMILAR_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<MovieInfo>>() {
+    });
+    private static final AppendSection.Reader<List<UserList>> LISTS_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<UserList>>() {
+    });
+    private static final AppendSection.Reader<List<Review>> REVIEWS_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<Review>>() {
+    });
+    private static final AppendSection.Reader<List<ChangeKeyItem>> CHANGES_READER = new AppendSection.Reader<List<ChangeKeyItem>>() {
+        @Override
+        public List<ChangeKeyItem> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperChanges.class).getChangedItems();
+        }
+    };
 
     // <editor-fold defaultstate="collapsed" desc="Getter methods">
     public Collection getBelongsToCollection() {
@@ -154,7 +210,7 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
     }
 
     public void setGenres(List<Genre> genres) {
-        this.genres = genres;
+        this.genres = ValueInterner.canonicalList(genres);
     }
 
     public void setHomepage(String homepage) {
@@ -166,11 +222,11 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
     }
 
     public void setProductionCompanies(List<ProductionCompany> productionCompanies) {
-        this.productionCompanies = productionCompanies;
+        this.productionCompanies = ValueInterner.canonicalList(productionCompanies);
     }
 
     public void setProductionCountries(List<ProductionCountry> productionCountries) {
-        this.productionCountries = productionCountries;
+        this.productionCountries = ValueInterner.canonicalList(productionCountries);
     }
 
     public void setRuntime(int runtime) {
@@ -178,7 +234,7 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
     }
 
     public void setSpokenLanguages(List<Language> spokenLanguages) {
-        this.spokenLanguages = spokenLanguages;
+        this.spokenLanguages = ValueInterner.canonicalList(spokenLanguages);
     }
 
     public void setTagline(String tagline) {
@@ -192,118 +248,174 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
 
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Getters">
     public List<AlternativeTitle> getAlternativeTitles() {
-        return alternativeTitles;
+        return AppendSection.valueOf(alternativeTitles, Collections.<AlternativeTitle>emptyList());
     }
 
     public List<MediaCreditCast> getCast() {
-        return credits.getCast();
+        return credits == null ? Collections.<MediaCreditCast>emptyList() : credits.get().getCast();
     }
 
     public List<MediaCreditCrew> getCrew() {
-        return credits.getCrew();
+        return credits == null ? Collections.<MediaCreditCrew>emptyList() : credits.get().getCrew();
     }
 
     public List<Artwork> getImages() {
-        return images;
+        return AppendSection.valueOf(images, Collections.<Artwork>emptyList());
     }
 
     public List<Keyword> getKeywords() {
-        return keywords;
+        return AppendSection.valueOf(keywords, Collections.<Keyword>emptyList());
     }
 
     public List<ReleaseInfo> getReleases() {
-        return releases;
+        return AppendSection.valueOf(releases, Collections.<ReleaseInfo>emptyList());
     }
 
     public List<Video> getVideos() {
-        return videos;
+        return AppendSection.valueOf(videos, Collections.<Video>emptyList());
     }
 
     public List<Translation> getTranslations() {
-        return translations;
+        return AppendSection.valueOf(translations, Collections.<Translation>emptyList());
     }
 
     public List<MovieInfo> getSimilarMovies() {
-        return similarMovies;
+        return AppendSection.valueOf(similarMovies, Collections.<MovieInfo>emptyList());
     }
 
     public List<UserList> getLists() {
-        return lists;
+        return AppendSection.valueOf(lists, Collections.<UserList>emptyList());
     }
 
     public List<Review> getReviews() {
-        return reviews;
+        return AppendSection.valueOf(reviews, Collections.<Review>emptyList());
     }
 
     public List<ChangeKeyItem> getChanges() {
-        return changes;
+        return AppendSection.valueOf(changes, Collections.<ChangeKeyItem>emptyList());
     }
     // </editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Setters">
-    @JsonSetter("alternative_titles")
     public void setAlternativeTitles(WrapperAlternativeTitles alternativeTitles) {
-        this.alternativeTitles = alternativeTitles.getTitles();
+        this.alternativeTitles = AppendSection.of(alternativeTitles.getTitles());
+        addMethod(MovieMethod.ALTERNATIVE_TITLES);
+    }
+
+    @JsonSetter("alternative_titles")
+    public void setAlternativeTitles(TokenBuffer alternativeTitles) {
+        this.alternativeTitles = AppendSection.create(alternativeTitles, ALTERNATIVE_TITLES_READER);
         addMethod(MovieMethod.ALTERNATIVE_TITLES);
     }
 
-    @JsonSetter("credits")
     public void setCredits(MediaCreditList credits) {
-        this.credits = credits;
+        this.credits = AppendSection.of(credits);
+        addMethod(MovieMethod.CREDITS);
+    }
+
+    @JsonSetter("credits")
+    public void setCredits(TokenBuffer credits) {
+        this.credits = AppendSection.create(credits, CREDITS_READER);
         addMethod(MovieMethod.CREDITS);
     }
 
-    @JsonSetter("images")
     public void setImages(WrapperImages images) {
-        this.images = images.getAll();
+        this.images = AppendSection.of(images.getAll());
+        addMethod(MovieMethod.IMAGES);
+    }
+
+    @JsonSetter("images")
+    public void setImages(TokenBuffer images) {
+        this.images = AppendSection.create(images, IMAGES_READER);
         addMethod(MovieMethod.IMAGES);
     }
 
-    @JsonSetter("keywords")
     public void setKeywords(WrapperMovieKeywords keywords) {
-        this.keywords = keywords.getKeywords();
+        this.keywords = AppendSection.of(keywords.getKeywords());
+        addMethod(MovieMethod.KEYWORDS);
+    }
+
+    @JsonSetter("keywords")
+    public void setKeywords(TokenBuffer keywords) {
+        this.keywords = AppendSection.create(keywords, KEYWORDS_READER);
         addMethod(MovieMethod.KEYWORDS);
     }
 
-    @JsonSetter("releases")
     public void setReleases(WrapperReleaseInfo releases) {
-        this.releases = releases.getCountries();
+        this.releases = AppendSection.of(releases.getCountries());
+        addMethod(MovieMethod.RELEASES);
+    }
+
+    @JsonSetter("releases")
+    public void setReleases(TokenBuffer releases) {
+        this.releases = AppendSection.create(releases, RELEASES_READER);
         addMethod(MovieMethod.RELEASES);
     }
 
-    @JsonSetter("videos")
     public void setVideos(WrapperVideos trailers) {
-        this.videos = trailers.getVideos();
+        this.videos = AppendSection.of(trailers.getVideos());
+        addMethod(MovieMethod.VIDEOS);
+    }
+
+    @JsonSetter("videos")
+    public void setVideos(TokenBuffer trailers) {
+        this.videos = AppendSection.create(trailers, VIDEOS_READER);
         addMethod(MovieMethod.VIDEOS);
     }
 
-    @JsonSetter("translations")
     public void setTranslations(WrapperTranslations translations) {
-        this.translations = translations.getTranslations();
+        this.translations = AppendSection.of(translations.getTranslations());
+        addMethod(MovieMethod.TRANSLATIONS);
+    }
+
+    @JsonSetter("translations")
+    public void setTranslations(TokenBuffer translations) {
+        this.translations = AppendSection.create(translations, TRANSLATIONS_READER);
         addMethod(MovieMethod.TRANSLATIONS);
     }
 
-    @JsonSetter("similar")
     public void setSimilarMovies(WrapperGenericList<MovieInfo> similarMovies) {
-        this.similarMovies = similarMovies.getResults();
+        this.similarMovies = AppendSection.of(similarMovies.getResults());
+        addMethod(MovieMethod.SIMILAR);
+    }
+
+    @JsonSetter("similar")
+    public void setSimilarMovies(TokenBuffer similarMovies) {
+        this.similarMovies = AppendSection.create(similarMovies, SIMILAR_READER);
         addMethod(MovieMethod.SIMILAR);
     }
 
-    @JsonSetter("lists")
     public void setLists(WrapperGenericList<UserList> lists) {
-        this.lists = lists.getResults();
+        this.lists = AppendSection.of(lists.getResults());
+        addMethod(MovieMethod.LISTS);
+    }
+
+    @JsonSetter("lists")
+    public void setLists(TokenBuffer lists) {
+        this.lists = AppendSection.create(lists, LISTS_READER);
         addMethod(MovieMethod.LISTS);
     }
 
-    @JsonSetter("reviews")
     public void setReviews(WrapperGenericList<Review> reviews) {
-        this.reviews = reviews.getResults();
+        this.reviews = AppendSection.of(reviews.getResults());
+        addMethod(MovieMethod.REVIEWS);
+    }
+
+    @JsonSetter("reviews")
+    public void setReviews(TokenBuffer reviews) {
+        this.reviews = AppendSection.create(reviews, REVIEWS_READER);
         addMethod(MovieMethod.REVIEWS);
     }
 
-    @JsonSetter("changes")
     public void setChanges(WrapperChanges changes) {
-        this.changes = changes.getChangedItems();
+        this.changes = AppendSection.of(changes.getChangedItems());
+        addMethod(MovieMethod.CHANGES);
+    }
+
+    @JsonSetter("changes")
+    public void setChanges(TokenBuffer changes) {
+        this.changes = AppendSection.create(changes, CHANGES_READER);
+        addMethod(MovieMethod.CHANGES);
     }
     // </editor-fold>
 
@@ -315,4 +427,58 @@ public class MovieInfo extends MovieBasic implements Serializable, Identificatio
     public boolean hasMethod(MovieMethod method) {
         return methods.contains(method);
     }
+
+    /**
+     * Copy the append to response sections from the source that are not already in this object.
+     *
+     * Used to combine the sections from separate requests for the same movie
+     *
+     * @param source
+     */
+    public void copySections(MovieInfo source) {
+        if (source.hasMethod(MovieMethod.ALTERNATIVE_TITLES) && !hasMethod(MovieMethod.ALTERNATIVE_TITLES)) {
+            alternativeTitles = source.alternativeTitles;
+            addMethod(MovieMethod.ALTERNATIVE_TITLES);
+        }
+        if (source.hasMethod(MovieMethod.CHANGES) && !hasMethod(MovieMethod.CHANGES)) {
+            changes = source.changes;
+            addMethod(MovieMethod.CHANGES);
+        }
+        if (source.hasMethod(MovieMethod.CREDITS) && !hasMethod(MovieMethod.CREDITS)) {
+            credits = source.credits;
+            addMethod(MovieMethod.CREDITS);
+        }
+        if (source.hasMethod(MovieMethod.IMAGES) && !hasMethod(MovieMethod.IMAGES)) {
+            images = source.images;
+            addMethod(MovieMethod.IMAGES);
+        }
+        if (source.hasMethod(MovieMethod.KEYWORDS) && !hasMethod(MovieMethod.KEYWORDS)) {
+            keywords = source.keywords;
+            addMethod(MovieMethod.KEYWORDS);
+        }
+        if (source.hasMethod(MovieMethod.LISTS) && !hasMethod(MovieMethod.LISTS)) {
+            lists = source.lists;
+            addMethod(MovieMethod.LISTS);
+        }
+        if (source.hasMethod(MovieMethod.RELEASES) && !hasMethod(MovieMethod.RELEASES)) {
+            releases = source.releases;
+            addMethod(MovieMethod.RELEASES);
+        }
+        if (source.hasMethod(MovieMethod.REVIEWS) && !hasMethod(MovieMethod.REVIEWS)) {
+            reviews = source.reviews;
+            addMethod(MovieMethod.REVIEWS);
+        }
+        if (source.hasMethod(MovieMethod.SIMILAR) && !hasMethod(MovieMethod.SIMILAR)) {
+            similarMovies = source.similarMovies;
+            addMethod(MovieMethod.SIMILAR);
+        }
+        if (source.hasMethod(MovieMethod.TRANSLATIONS) && !hasMethod(MovieMethod.TRANSLATIONS)) {
+            translations = source.translations;
+            addMethod(MovieMethod.TRANSLATIONS);
+        }
+        if (source.hasMethod(MovieMethod.VIDEOS) && !hasMethod(MovieMethod.VIDEOS)) {
+            videos = source.videos;
+            addMethod(MovieMethod.VIDEOS);
+        }
+    }
 }
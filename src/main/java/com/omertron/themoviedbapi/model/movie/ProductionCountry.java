@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model.movie;
 
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import java.io.Serializable;
@@ -44,7 +45,7 @@ public class ProductionCountry extends AbstractJsonMapping implements Serializab
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = ValueInterner.intern(country);
     }
 
     public String getName() {
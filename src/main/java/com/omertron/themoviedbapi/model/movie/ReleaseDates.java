@@ -2,6 +2,7 @@ package com.omertron.themoviedbapi.model.movie;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.util.List;
 
 public class ReleaseDates extends AbstractJsonMapping {
@@ -16,7 +17,7 @@ public class ReleaseDates extends AbstractJsonMapping {
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = ValueInterner.intern(country);
     }
 
     public List<ReleaseDate> getReleaseDate() {
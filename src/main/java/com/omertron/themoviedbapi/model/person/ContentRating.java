@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model.person;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 
 /**
@@ -40,7 +41,7 @@ public class ContentRating implements Serializable {
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = ValueInterner.intern(country);
     }
 
     public String getRating() {
@@ -21,9 +21,13 @@ package com.omertron.themoviedbapi.model.person;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.omertron.themoviedbapi.enumeration.Gender;
 import com.omertron.themoviedbapi.enumeration.PeopleMethod;
 import com.omertron.themoviedbapi.interfaces.AppendToResponse;
+import com.omertron.themoviedbapi.model.AppendSection;
 import com.omertron.themoviedbapi.model.artwork.Artwork;
 import com.omertron.themoviedbapi.model.artwork.ArtworkMedia;
 import com.omertron.themoviedbapi.model.change.ChangeKeyItem;
@@ -32,6 +36,7 @@ import com.omertron.themoviedbapi.model.credits.CreditTVBasic;
 import com.omertron.themoviedbapi.results.WrapperChanges;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
 import com.omertron.themoviedbapi.results.WrapperImages;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -67,12 +72,32 @@ public class PersonInfo extends PersonBasic implements Serializable, AppendToRes
     // AppendToResponse
     private final Set<PeopleMethod> methods = EnumSet.noneOf(PeopleMethod.class);
     // AppendToResponse Properties
-    private List<ChangeKeyItem> changes = Collections.emptyList();
-    private ExternalID externalIDs = new ExternalID();
-    private List<Artwork> images = Collections.emptyList();
-    private List<ArtworkMedia> taggedImages = Collections.emptyList();
-    private PersonCreditList<CreditMovieBasic> movieCredits = new PersonCreditList<>();
-    private PersonCreditList<CreditTVBasic> tvCredits = new PersonCreditList<>();
+    private AppendSection<List<ChangeKeyItem>> changes;
+    private AppendSection<ExternalID> externalIDs;
+    private AppendSection<List<Artwork>> images;
+    private AppendSection<List<ArtworkMedia>> taggedImages;
+    private AppendSection<PersonCreditList<CreditMovieBasic>> movieCredits;
+    private AppendSection<PersonCreditList<CreditTVBasic>> tvCredits;
+    // AppendToResponse Readers
+    private static final AppendSection.Reader<List<ChangeKeyItem>> CHANGES_READER = new AppendSection.Reader<List<ChangeKeyItem>>() {
+        @Override
+        public List<ChangeKeyItem> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperChanges.class).getChangedItems();
+        }
+    };
+    private static final AppendSection.Reader<ExternalID> EXTERNAL_IDS_READER = AppendSection.reader(ExternalID.class);
+    private static final AppendSection.Reader<List<Artwork>> IMAGES_READER = new AppendSection.Reader<List<Artwork>>() {
+        @Override
+        public List<Artwork> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperImages.class).getAll();
+        }
+    };
+    private static final AppendSection.Reader<List<ArtworkMedia>> TAGGED_IMAGES_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<ArtworkMedia>>() {
+    });
+    private static final AppendSection.Reader<PersonCreditList<CreditMovieBasic>> MOVIE_CREDITS_READER = AppendSection.reader(new TypeReference<PersonCreditList<CreditMovieBasic>>() {
+    });
+    private static final AppendSection.Reader<PersonCreditList<CreditTVBasic>> TV_CREDITS_READER = AppendSection.reader(new TypeReference<PersonCreditList<CreditTVBasic>>() {
+    });
 
     //<editor-fold defaultstate="collapsed" desc="Getters and Setters">
     public boolean isAdult() {
@@ -166,67 +191,131 @@ public class PersonInfo extends PersonBasic implements Serializable, AppendToRes
         return methods.contains(method);
     }
 
+    /**
+     * Copy the append to response sections from the source that are not already in this object.
+     *
+     * Used to combine the sections from separate requests for the same person
+     *
+     * @param source
+     */
+    public void copySections(PersonInfo source) {
+        if (source.hasMethod(PeopleMethod.CHANGES) && !hasMethod(PeopleMethod.CHANGES)) {
+            changes = source.changes;
+            addMethod(PeopleMethod.CHANGES);
+        }
+        if (source.hasMethod(PeopleMethod.EXTERNAL_IDS) && !hasMethod(PeopleMethod.EXTERNAL_IDS)) {
+            externalIDs = source.externalIDs;
+            addMethod(PeopleMethod.EXTERNAL_IDS);
+        }
+        if (source.hasMethod(PeopleMethod.IMAGES) && !hasMethod(PeopleMethod.IMAGES)) {
+            images = source.images;
+            addMethod(PeopleMethod.IMAGES);
+        }
+        if (source.hasMethod(PeopleMethod.MOVIE_CREDITS) && !hasMethod(PeopleMethod.MOVIE_CREDITS)) {
+            movieCredits = source.movieCredits;
+            addMethod(PeopleMethod.MOVIE_CREDITS);
+        }
+        if (source.hasMethod(PeopleMethod.TAGGED_IMAGES) && !hasMethod(PeopleMethod.TAGGED_IMAGES)) {
+            taggedImages = source.taggedImages;
+            addMethod(PeopleMethod.TAGGED_IMAGES);
+        }
+        if (source.hasMethod(PeopleMethod.TV_CREDITS) && !hasMethod(PeopleMethod.TV_CREDITS)) {
+            tvCredits = source.tvCredits;
+            addMethod(PeopleMethod.TV_CREDITS);
+        }
+    }
+
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Setters">
-    @JsonSetter("changes")
     public void setChanges(WrapperChanges changes) {
-        this.changes = changes.getChangedItems();
+        this.changes = AppendSection.of(changes.getChangedItems());
+        addMethod(PeopleMethod.CHANGES);
+    }
+
+    @JsonSetter("changes")
+    public void setChanges(TokenBuffer changes) {
+        this.changes = AppendSection.create(changes, CHANGES_READER);
         addMethod(PeopleMethod.CHANGES);
     }
 
-    @JsonSetter("external_ids")
     public void setExternalIDs(ExternalID externalIDs) {
-        this.externalIDs = externalIDs;
+        this.externalIDs = AppendSection.of(externalIDs);
+        addMethod(PeopleMethod.EXTERNAL_IDS);
+    }
+
+    @JsonSetter("external_ids")
+    public void setExternalIDs(TokenBuffer externalIDs) {
+        this.externalIDs = AppendSection.create(externalIDs, EXTERNAL_IDS_READER);
         addMethod(PeopleMethod.EXTERNAL_IDS);
     }
 
-    @JsonSetter("images")
     public void setImages(WrapperImages images) {
-        this.images = images.getAll();
+        this.images = AppendSection.of(images.getAll());
+        addMethod(PeopleMethod.IMAGES);
+    }
+
+    @JsonSetter("images")
+    public void setImages(TokenBuffer images) {
+        this.images = AppendSection.create(images, IMAGES_READER);
         addMethod(PeopleMethod.IMAGES);
     }
 
-    @JsonSetter("movie_credits")
     public void setMovieCredits(PersonCreditList<CreditMovieBasic> movieCredits) {
-        this.movieCredits = movieCredits;
+        this.movieCredits = AppendSection.of(movieCredits);
+        addMethod(PeopleMethod.MOVIE_CREDITS);
+    }
+
+    @JsonSetter("movie_credits")
+    public void setMovieCredits(TokenBuffer movieCredits) {
+        this.movieCredits = AppendSection.create(movieCredits, MOVIE_CREDITS_READER);
         addMethod(PeopleMethod.MOVIE_CREDITS);
     }
 
-    @JsonSetter("tagged_images")
     public void setTaggedImages(WrapperGenericList<ArtworkMedia> taggedImages) {
-        this.taggedImages = taggedImages.getResults();
+        this.taggedImages = AppendSection.of(taggedImages.getResults());
+        addMethod(PeopleMethod.TAGGED_IMAGES);
+    }
+
+    @JsonSetter("tagged_images")
+    public void setTaggedImages(TokenBuffer taggedImages) {
+        this.taggedImages = AppendSection.create(taggedImages, TAGGED_IMAGES_READER);
         addMethod(PeopleMethod.TAGGED_IMAGES);
     }
 
-    @JsonSetter("tv_credits")
     public void setTvCredits(PersonCreditList<CreditTVBasic> tvCredits) {
-        this.tvCredits = tvCredits;
+        this.tvCredits = AppendSection.of(tvCredits);
+        addMethod(PeopleMethod.TV_CREDITS);
+    }
+
+    @JsonSetter("tv_credits")
+    public void setTvCredits(TokenBuffer tvCredits) {
+        this.tvCredits = AppendSection.create(tvCredits, TV_CREDITS_READER);
         addMethod(PeopleMethod.TV_CREDITS);
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Getters">
     public List<ChangeKeyItem> getChanges() {
-        return changes;
+        return AppendSection.valueOf(changes, Collections.<ChangeKeyItem>emptyList());
     }
 
     public ExternalID getExternalIDs() {
-        return externalIDs;
+        return AppendSection.valueOf(externalIDs, new ExternalID());
     }
 
     public List<Artwork> getImages() {
-        return images;
+        return AppendSection.valueOf(images, Collections.<Artwork>emptyList());
     }
 
     public PersonCreditList<CreditMovieBasic> getMovieCredits() {
-        return movieCredits;
+        return AppendSection.valueOf(movieCredits, new PersonCreditList<CreditMovieBasic>());
     }
 
     public List<ArtworkMedia> getTaggedImages() {
-        return taggedImages;
+        return AppendSection.valueOf(taggedImages, Collections.<ArtworkMedia>emptyList());
     }
 
     public PersonCreditList<CreditTVBasic> getTvCredits() {
-        return tvCredits;
+        return AppendSection.valueOf(tvCredits, new PersonCreditList<CreditTVBasic>());
     }
     //</editor-fold>
 
@@ -20,8 +20,11 @@
 package com.omertron.themoviedbapi.model.tv;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.omertron.themoviedbapi.enumeration.MediaType;
+import com.omertron.themoviedbapi.model.GenreIds;
 import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.tools.ValueInterner;
 import java.io.Serializable;
 import java.util.List;
 
@@ -45,7 +48,7 @@ public class TVBasic extends MediaBasic implements Serializable {
     @JsonProperty("rating")
     private float rating = -1f;
     @JsonProperty("genre_ids")
-    private List<Integer> genreIds;
+    private int[] genreIds;
     @JsonProperty("original_language")
     private String originalLanguage;
     @JsonProperty("overview")
@@ -84,7 +87,7 @@ public class TVBasic extends MediaBasic implements Serializable {
     }
 
     public void setOriginCountry(List<String> originCountry) {
-        this.originCountry = originCountry;
+        this.originCountry = ValueInterner.internList(originCountry);
     }
 
     public float getRating() {
@@ -95,11 +98,40 @@ public class TVBasic extends MediaBasic implements Serializable {
         this.rating = rating;
     }
 
+    /**
+     * Get a read only list of the genre IDs
+     *
+     * @return
+     */
     public List<Integer> getGenreIds() {
+        return GenreIds.asList(genreIds);
+    }
+
+    /**
+     * Get the genre IDs, the array should not be changed
+     *
+     * @return
+     */
+    public int[] getGenreIdArray() {
         return genreIds;
     }
 
+    /**
+     * Does the item have the genre?
+     *
+     * @param genreId
+     * @return
+     */
+    public boolean hasGenre(int genreId) {
+        return GenreIds.contains(genreIds, genreId);
+    }
+
     public void setGenreIds(List<Integer> genreIds) {
+        this.genreIds = GenreIds.toArray(genreIds);
+    }
+
+    @JsonSetter("genre_ids")
+    public void setGenreIds(int[] genreIds) {
         this.genreIds = genreIds;
     }
 
@@ -108,7 +140,7 @@ public class TVBasic extends MediaBasic implements Serializable {
     }
 
     public void setOriginalLanguage(String originalLanguage) {
-        this.originalLanguage = originalLanguage;
+        this.originalLanguage = ValueInterner.intern(originalLanguage);
     }
 
     public String getOverview() {
@@ -95,6 +95,32 @@ public class TVEpisodeInfo extends TVEpisodeBasic implements Serializable, Appen
         return methods.contains(method);
     }
 
+    /**
+     * Copy the append to response sections from the source that are not already in this object.
+     *
+     * Used to combine the sections from separate requests for the same episode
+     *
+     * @param source
+     */
+    public void copySections(TVEpisodeInfo source) {
+        if (source.hasMethod(TVEpisodeMethod.CREDITS) && !hasMethod(TVEpisodeMethod.CREDITS)) {
+            credits = source.credits;
+            addMethod(TVEpisodeMethod.CREDITS);
+        }
+        if (source.hasMethod(TVEpisodeMethod.EXTERNAL_IDS) && !hasMethod(TVEpisodeMethod.EXTERNAL_IDS)) {
+            externalIDs = source.externalIDs;
+            addMethod(TVEpisodeMethod.EXTERNAL_IDS);
+        }
+        if (source.hasMethod(TVEpisodeMethod.IMAGES) && !hasMethod(TVEpisodeMethod.IMAGES)) {
+            images = source.images;
+            addMethod(TVEpisodeMethod.IMAGES);
+        }
+        if (source.hasMethod(TVEpisodeMethod.VIDEOS) && !hasMethod(TVEpisodeMethod.VIDEOS)) {
+            videos = source.videos;
+            addMethod(TVEpisodeMethod.VIDEOS);
+        }
+    }
+
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Setters">
     @JsonSetter("credits")
     public void setCredits(MediaCreditList credits) {
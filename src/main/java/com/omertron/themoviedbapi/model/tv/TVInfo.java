@@ -21,9 +21,14 @@ package com.omertron.themoviedbapi.model.tv;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.omertron.themoviedbapi.enumeration.TVMethod;
 import com.omertron.themoviedbapi.interfaces.AppendToResponse;
+import com.omertron.themoviedbapi.model.AppendSection;
 import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.GenreIds;
 import com.omertron.themoviedbapi.model.artwork.Artwork;
 import com.omertron.themoviedbapi.model.change.ChangeKeyItem;
 import com.omertron.themoviedbapi.model.keyword.Keyword;
@@ -40,8 +45,9 @@ import com.omertron.themoviedbapi.results.WrapperChanges;
 import com.omertron.themoviedbapi.results.WrapperGenericList;
 import com.omertron.themoviedbapi.results.WrapperImages;
 import com.omertron.themoviedbapi.results.WrapperTranslations;
+import com.omertron.themoviedbapi.tools.ValueInterner;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -90,16 +96,47 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
     // AppendToResponse
     private final Set<TVMethod> methods = EnumSet.noneOf(TVMethod.class);
     // AppendToResponse Properties
-    private List<AlternativeTitle> alternativeTitles = Collections.emptyList();
-    private List<ChangeKeyItem> changes = Collections.emptyList();
-    private List<ContentRating> contentRatings = Collections.emptyList();
-    private MediaCreditList credits = new MediaCreditList();
-    private ExternalID externalIDs = new ExternalID();
-    private List<Artwork> images = Collections.emptyList();
-    private List<Keyword> keywords = Collections.emptyList();
-    private List<Translation> translations = Collections.emptyList();
-    private List<TVInfo> similarTV = Collections.emptyList();
-    private List<Video> videos = Collections.emptyList();
+    private AppendSection<List<AlternativeTitle>> alternativeTitles;
+    private AppendSection<List<ChangeKeyItem>> changes;
+    private AppendSection<List<ContentRating>> contentRatings;
+    private AppendSection<MediaCreditList> credits;
+    private AppendSection<ExternalID> externalIDs;
+    private AppendSection<List<Artwork>> images;
+    private AppendSection<List<Keyword>> keywords;
+    private AppendSection<List<Translation>> translations;
+    private AppendSection<List<TVInfo>> similarTV;
+    private AppendSection<List<Video>> videos;
+    // AppendToResponse Readers
+    private static final AppendSection.Reader<List<AlternativeTitle>> ALTERNATIVE_TITLES_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<AlternativeTitle>>() {
+    });
+    private static final AppendSection.Reader<List<ChangeKeyItem>> CHANGES_READER = new AppendSection.Reader<List<ChangeKeyItem>>() {
+        @Override
+        public List<ChangeKeyItem> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperChanges.class).getChangedItems();
+        }
+    };
+    private static final AppendSection.Reader<List<ContentRating>> CONTENT_RATINGS_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<ContentRating>>() {
+    });
+    private static final AppendSection.Reader<MediaCreditList> CREDITS_READER = AppendSection.reader(MediaCreditList.class);
+    private static final AppendSection.Reader<ExternalID> EXTERNAL_IDS_READER = AppendSection.reader(ExternalID.class);
+    private static final AppendSection.Reader<List<Artwork>> IMAGES_READER = new AppendSection.Reader<List<Artwork>>() {
+        @Override
+        public List<Artwork> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperImages.class).getAll();
+        }
+    };
+    private static final AppendSection.Reader<List<Keyword>> KEYWORDS_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<Keyword>>() {
+    });
+    private static final AppendSection.Reader<List<Translation>> TRANSLATIONS_READER = new AppendSection.Reader<List<Translation>>() {
+        @Override
+        public List<Translation> read(JsonParser parser) throws IOException {
+            return parser.readValueAs(WrapperTranslations.class).getTranslations();
+        }
+    };
+    private static final AppendSection.Reader<List<TVInfo>> SIMILAR_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<TVInfo>>() {
+    });
+    private static final AppendSection.Reader<List<Video>> VIDEOS_READER = AppendSection.listReader(new TypeReference<WrapperGenericList<Video>>() {
+    });
 
     //<editor-fold defaultstate="collapsed" desc="Getters and Setters">
     public List<PersonBasic> getCreatedBy() {
@@ -118,12 +155,22 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
         this.episodeRunTime = episodeRunTime;
     }
 
+    /**
+     * Get the genres.
+     *
+     * For TV shows from a list of results only the genre IDs are known, so the genres will only have their IDs set
+     *
+     * @return
+     */
     public List<Genre> getGenres() {
+        if (genres == null) {
+            return GenreIds.toGenres(getGenreIdArray());
+        }
         return genres;
     }
 
     public void setGenres(List<Genre> genres) {
-        this.genres = genres;
+        this.genres = ValueInterner.canonicalList(genres);
     }
 
     public String getHomepage() {
@@ -163,7 +210,7 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
     }
 
     public void setNetworks(List<Network> networks) {
-        this.networks = networks;
+        this.networks = ValueInterner.canonicalList(networks);
     }
 
     public int getNumberOfEpisodes() {
@@ -203,7 +250,7 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
     }
 
     public void setProductionCompanies(List<ProductionCompany> productionCompanies) {
-        this.productionCompanies = productionCompanies;
+        this.productionCompanies = ValueInterner.canonicalList(productionCompanies);
     }
 
     public List<TVSeasonBasic> getSeasons() {
@@ -231,17 +278,6 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
     }
     //</editor-fold>
 
-    @JsonSetter("genre_ids")
-    public void setGenreIds(List<Integer> ids) {
-        this.genres = new ArrayList<>();
-
-        for (Integer id : ids) {
-            Genre g = new Genre();
-            g.setId(id);
-            genres.add(g);
-        }
-    }
-
     private void addMethod(TVMethod method) {
         methods.add(method);
     }
@@ -251,107 +287,207 @@ public class TVInfo extends TVBasic implements Serializable, AppendToResponse<TV
         return methods.contains(method);
     }
 
+    /**
+     * Copy the append to response sections from the source that are not already in this object.
+     *
+     * Used to combine the sections from separate requests for the same TV show
+     *
+     * @param source
+     */
+    public void copySections(TVInfo source) {
+        if (source.hasMethod(TVMethod.ALTERNATIVE_TITLES) && !hasMethod(TVMethod.ALTERNATIVE_TITLES)) {
+            alternativeTitles = source.alternativeTitles;
+            addMethod(TVMethod.ALTERNATIVE_TITLES);
+        }
+        if (source.hasMethod(TVMethod.CHANGES) && !hasMethod(TVMethod.CHANGES)) {
+            changes = source.changes;
+            addMethod(TVMethod.CHANGES);
+        }
+        if (source.hasMethod(TVMethod.CONTENT_RATINGS) && !hasMethod(TVMethod.CONTENT_RATINGS)) {
+            contentRatings = source.contentRatings;
+            addMethod(TVMethod.CONTENT_RATINGS);
+        }
+        if (source.hasMethod(TVMethod.CREDITS) && !hasMethod(TVMethod.CREDITS)) {
+            credits = source.credits;
+            addMethod(TVMethod.CREDITS);
+        }
+        if (source.hasMethod(TVMethod.EXTERNAL_IDS) && !hasMethod(TVMethod.EXTERNAL_IDS)) {
+            externalIDs = source.externalIDs;
+            addMethod(TVMethod.EXTERNAL_IDS);
+        }
+        if (source.hasMethod(TVMethod.IMAGES) && !hasMethod(TVMethod.IMAGES)) {
+            images = source.images;
+            addMethod(TVMethod.IMAGES);
+        }
+        if (source.hasMethod(TVMethod.KEYWORDS) && !hasMethod(TVMethod.KEYWORDS)) {
+            keywords = source.keywords;
+            addMethod(TVMethod.KEYWORDS);
+        }
+        if (source.hasMethod(TVMethod.SIMILAR) && !hasMethod(TVMethod.SIMILAR)) {
+            similarTV = source.similarTV;
+            addMethod(TVMethod.SIMILAR);
+        }
+        if (source.hasMethod(TVMethod.TRANSLATIONS) && !hasMethod(TVMethod.TRANSLATIONS)) {
+            translations = source.translations;
+            addMethod(TVMethod.TRANSLATIONS);
+        }
+        if (source.hasMethod(TVMethod.VIDEOS) && !hasMethod(TVMethod.VIDEOS)) {
+            videos = source.videos;
+            addMethod(TVMethod.VIDEOS);
+        }
+    }
+
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Setters">
-    @JsonSetter("alternative_titles")
     public void setAlternativeTitles(WrapperGenericList<AlternativeTitle> alternativeTitles) {
-        this.alternativeTitles = alternativeTitles.getResults();
+        this.alternativeTitles = AppendSection.of(alternativeTitles.getResults());
+        addMethod(TVMethod.ALTERNATIVE_TITLES);
+    }
+
+    @JsonSetter("alternative_titles")
+    public void setAlternativeTitles(TokenBuffer alternativeTitles) {
+        this.alternativeTitles = AppendSection.create(alternativeTitles, ALTERNATIVE_TITLES_READER);
         addMethod(TVMethod.ALTERNATIVE_TITLES);
     }
 
-    @JsonSetter("changes")
     public void setChanges(WrapperChanges changes) {
-        this.changes = changes.getChangedItems();
+        this.changes = AppendSection.of(changes.getChangedItems());
+        addMethod(TVMethod.CHANGES);
+    }
+
+    @JsonSetter("changes")
+    public void setChanges(TokenBuffer changes) {
+        this.changes = AppendSection.create(changes, CHANGES_READER);
         addMethod(TVMethod.CHANGES);
     }
 
-    @JsonSetter("content_ratings")
     public void setContentRatings(WrapperGenericList<ContentRating> contentRatings) {
-        this.contentRatings = contentRatings.getResults();
+        this.contentRatings = AppendSection.of(contentRatings.getResults());
+        addMethod(TVMethod.CONTENT_RATINGS);
+    }
+
+    @JsonSetter("content_ratings")
+    public void setContentRatings(TokenBuffer contentRatings) {
+        this.contentRatings = AppendSection.create(contentRatings, CONTENT_RATINGS_READER);
         addMethod(TVMethod.CONTENT_RATINGS);
     }
 
-    @JsonSetter("credits")
     public void setCredits(MediaCreditList credits) {
-        this.credits = credits;
+        this.credits = AppendSection.of(credits);
+        addMethod(TVMethod.CREDITS);
+    }
+
+    @JsonSetter("credits")
+    public void setCredits(TokenBuffer credits) {
+        this.credits = AppendSection.create(credits, CREDITS_READER);
         addMethod(TVMethod.CREDITS);
     }
 
-    @JsonSetter("external_ids")
     public void setExternalIDs(ExternalID externalIDs) {
-        this.externalIDs = externalIDs;
+        this.externalIDs = AppendSection.of(externalIDs);
+        addMethod(TVMethod.EXTERNAL_IDS);
+    }
+
+    @JsonSetter("external_ids")
+    public void setExternalIDs(TokenBuffer externalIDs) {
+        this.externalIDs = AppendSection.create(externalIDs, EXTERNAL_IDS_READER);
         addMethod(TVMethod.EXTERNAL_IDS);
     }
 
-    @JsonSetter("images")
     public void setImages(WrapperImages images) {
-        this.images = images.getAll();
+        this.images = AppendSection.of(images.getAll());
+        addMethod(TVMethod.IMAGES);
+    }
+
+    @JsonSetter("images")
+    public void setImages(TokenBuffer images) {
+        this.images = AppendSection.create(images, IMAGES_READER);
         addMethod(TVMethod.IMAGES);
     }
 
-    @JsonSetter("keywords")
     public void setKeywords(WrapperGenericList<Keyword> keywords) {
-        this.keywords = keywords.getResults();
+        this.keywords = AppendSection.of(keywords.getResults());
+        addMethod(TVMethod.KEYWORDS);
+    }
+
+    @JsonSetter("keywords")
+    public void setKeywords(TokenBuffer keywords) {
+        this.keywords = AppendSection.create(keywords, KEYWORDS_READER);
         addMethod(TVMethod.KEYWORDS);
     }
 
-    @JsonSetter("translations")
     public void setTranslations(WrapperTranslations translations) {
-        this.translations = translations.getTranslations();
+        this.translations = AppendSection.of(translations.getTranslations());
+        addMethod(TVMethod.TRANSLATIONS);
+    }
+
+    @JsonSetter("translations")
+    public void setTranslations(TokenBuffer translations) {
+        this.translations = AppendSection.create(translations, TRANSLATIONS_READER);
         addMethod(TVMethod.TRANSLATIONS);
     }
 
-    @JsonSetter("similar")
     public void setSimilarTV(WrapperGenericList<TVInfo> similarTV) {
-        this.similarTV = similarTV.getResults();
+        this.similarTV = AppendSection.of(similarTV.getResults());
+        addMethod(TVMethod.SIMILAR);
+    }
+
+    @JsonSetter("similar")
+    public void setSimilarTV(TokenBuffer similarTV) {
+        this.similarTV = AppendSection.create(similarTV, SIMILAR_READER);
         addMethod(TVMethod.SIMILAR);
     }
 
-    @JsonSetter("videos")
     public void setVideos(WrapperGenericList<Video> videos) {
-        this.videos = videos.getResults();
+        this.videos = AppendSection.of(videos.getResults());
+        addMethod(TVMethod.VIDEOS);
+    }
+
+    @JsonSetter("videos")
+    public void setVideos(TokenBuffer videos) {
+        this.videos = AppendSection.create(videos, VIDEOS_READER);
         addMethod(TVMethod.VIDEOS);
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Getters">
     public List<AlternativeTitle> getAlternativeTitles() {
-        return alternativeTitles;
+        return AppendSection.valueOf(alternativeTitles, Collections.<AlternativeTitle>emptyList());
     }
 
     public List<ChangeKeyItem> getChanges() {
-        return changes;
+        return AppendSection.valueOf(changes, Collections.<ChangeKeyItem>emptyList());
     }
 
     public List<ContentRating> getContentRatings() {
-        return contentRatings;
+        return AppendSection.valueOf(contentRatings, Collections.<ContentRating>emptyList());
     }
 
     public MediaCreditList getCredits() {
-        return credits;
+        return AppendSection.valueOf(credits, new MediaCreditList());
     }
 
     public ExternalID getExternalIDs() {
-        return externalIDs;
+        return AppendSection.valueOf(externalIDs, new ExternalID());
     }
 
     public List<Artwork> getImages() {
-        return images;
+        return AppendSection.valueOf(images, Collections.<Artwork>emptyList());
     }
 
     public List<Keyword> getKeywords() {
-        return keywords;
+        return AppendSection.valueOf(keywords, Collections.<Keyword>emptyList());
     }
 
     public List<Translation> getTranslations() {
-        return translations;
+        return AppendSection.valueOf(translations, Collections.<Translation>emptyList());
     }
 
     public List<TVInfo> getSimilarTV() {
-        return similarTV;
+        return AppendSection.valueOf(similarTV, Collections.<TVInfo>emptyList());
     }
 
     public List<Video> getVideos() {
-        return videos;
+        return AppendSection.valueOf(videos, Collections.<Video>emptyList());
     }
     //</editor-fold>
 }
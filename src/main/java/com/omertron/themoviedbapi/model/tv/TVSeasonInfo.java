@@ -93,6 +93,32 @@ public class TVSeasonInfo extends TVSeasonBasic implements Serializable, AppendT
         return methods.contains(method);
     }
 
+    /**
+     * Copy the append to response sections from the source that are not already in this object.
+     *
+     * Used to combine the sections from separate requests for the same season
+     *
+     * @param source
+     */
+    public void copySections(TVSeasonInfo source) {
+        if (source.hasMethod(TVSeasonMethod.CREDITS) && !hasMethod(TVSeasonMethod.CREDITS)) {
+            credits = source.credits;
+            addMethod(TVSeasonMethod.CREDITS);
+        }
+        if (source.hasMethod(TVSeasonMethod.EXTERNAL_IDS) && !hasMethod(TVSeasonMethod.EXTERNAL_IDS)) {
+            externalIDs = source.externalIDs;
+            addMethod(TVSeasonMethod.EXTERNAL_IDS);
+        }
+        if (source.hasMethod(TVSeasonMethod.IMAGES) && !hasMethod(TVSeasonMethod.IMAGES)) {
+            images = source.images;
+            addMethod(TVSeasonMethod.IMAGES);
+        }
+        if (source.hasMethod(TVSeasonMethod.VIDEOS) && !hasMethod(TVSeasonMethod.VIDEOS)) {
+            videos = source.videos;
+            addMethod(TVSeasonMethod.VIDEOS);
+        }
+    }
+
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Setters">
     @JsonSetter("credits")
     public void setCredits(MediaCreditList credits) {
@@ -23,6 +23,9 @@ import com.omertron.themoviedbapi.interfaces.WrapperDates;
 import com.omertron.themoviedbapi.interfaces.WrapperPages;
 import com.omertron.themoviedbapi.interfaces.Identification;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
 
 /**
  * Base class for the wrappers
@@ -43,4 +46,31 @@ public class AbstractWrapperAll extends AbstractWrapperIdPages implements Identi
     public void setDates(ResultDates dates) {
         this.dates = dates;
     }
+
+    /**
+     * Read one of the page fields from a streaming parser.
+     *
+     * The parser should be positioned on the value of the field
+     *
+     * @param parser
+     * @param name The field name
+     * @return true if the field was a page field, false otherwise
+     * @throws IOException
+     */
+    protected boolean readPageField(JsonParser parser, String name) throws IOException {
+        if ("page".equals(name)) {
+            setPage(parser.getValueAsInt());
+        } else if ("total_pages".equals(name)) {
+            setTotalPages(parser.getValueAsInt());
+        } else if ("total_results".equals(name)) {
+            setTotalResults(parser.getValueAsInt());
+        } else if ("id".equals(name)) {
+            setId(parser.getValueAsInt());
+        } else if ("dates".equals(name) && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            setDates(parser.readValueAs(ResultDates.class));
+        } else {
+            return false;
+        }
+        return true;
+    }
 }
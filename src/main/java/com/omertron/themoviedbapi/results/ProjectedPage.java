@@ -0,0 +1,248 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.omertron.themoviedbapi.tools.Projection;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A page of results holding only the fields of a {@link Projection}.
+ *
+ * The values are held in one array per field rather than one object per result. Numbers and booleans are stored as doubles
+ * (booleans as 1 or 0), text as strings. Missing and null values are reported as 0, false or null by the getters.
+ */
+public final class ProjectedPage extends AbstractWrapperAll {
+
+    private static final int INITIAL_ROWS = 20;
+    private final Projection projection;
+    private double[][] numbers;
+    private String[][] strings;
+    private int size = 0;
+
+    /**
+     * Create an empty page for the projection
+     *
+     * @param projection
+     */
+    public ProjectedPage(Projection projection) {
+        this.projection = projection;
+        this.numbers = new double[projection.size()][INITIAL_ROWS];
+        this.strings = new String[projection.size()][INITIAL_ROWS];
+        for (double[] column : numbers) {
+            Arrays.fill(column, Double.NaN);
+        }
+    }
+
+    /**
+     * Read a page from the parser, skipping any fields not in the projection.
+     *
+     * The parser should be positioned before or on the start of the page object.
+     *
+     * @param parser
+     * @param projection
+     * @return
+     * @throws IOException
+     */
+    public static ProjectedPage read(JsonParser parser, Projection projection) throws IOException {
+        ProjectedPage page = new ProjectedPage(projection);
+        JsonToken token = parser.getCurrentToken() == null ? parser.nextToken() : parser.getCurrentToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected start of page object, found " + token);
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            token = parser.nextToken();
+            if ("results".equals(name) && token == JsonToken.START_ARRAY) {
+                page.readResults(parser);
+            } else if (!page.readPageField(parser, name)) {
+                parser.skipChildren();
+            }
+        }
+        return page;
+    }
+
+    private void readResults(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            int row = addRow();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int column = projection.indexOf(parser.getCurrentName());
+                token = parser.nextToken();
+                if (column < 0) {
+                    parser.skipChildren();
+                } else {
+                    setValue(parser, token, column, row);
+                }
+            }
+        }
+    }
+
+    private void setValue(JsonParser parser, JsonToken token, int column, int row) throws IOException {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                numbers[column][row] = parser.getDoubleValue();
+                break;
+            case VALUE_TRUE:
+                numbers[column][row] = 1;
+                break;
+            case VALUE_FALSE:
+                numbers[column][row] = 0;
+                break;
+            case VALUE_STRING:
+                strings[column][row] = parser.getText();
+                break;
+            default:
+                // Nulls and structured values are not projected
+                parser.skipChildren();
+                break;
+        }
+    }
+
+    private int addRow() {
+        if (size == numbers[0].length) {
+            int capacity = size * 2;
+            for (int column = 0; column < numbers.length; column++) {
+                int oldLength = numbers[column].length;
+                numbers[column] = Arrays.copyOf(numbers[column], capacity);
+                Arrays.fill(numbers[column], oldLength, capacity, Double.NaN);
+                strings[column] = Arrays.copyOf(strings[column], capacity);
+            }
+        }
+        return size++;
+    }
+
+    /**
+     * Get the projection used for the page
+     *
+     * @return
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Get the number of results on the page
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the column for a field name
+     *
+     * @param field
+     * @return
+     */
+    public int column(String field) {
+        int column = projection.indexOf(field);
+        if (column < 0) {
+            throw new IllegalArgumentException("Field '" + field + "' is not in the projection " + projection);
+        }
+        return column;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside the page size " + size);
+        }
+    }
+
+    /**
+     * Was a value present for the field?
+     *
+     * @param row
+     * @param column
+     * @return
+     */
+    public boolean hasValue(int row, int column) {
+        checkRow(row);
+        return strings[column][row] != null || !Double.isNaN(numbers[column][row]);
+    }
+
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        double value = numbers[column][row];
+        return Double.isNaN(value) ? 0d : value;
+    }
+
+    public int getInt(int row, int column) {
+        return (int) getDouble(row, column);
+    }
+
+    public long getLong(int row, int column) {
+        return (long) getDouble(row, column);
+    }
+
+    public boolean getBoolean(int row, int column) {
+        return getDouble(row, column) != 0d;
+    }
+
+    public String getString(int row, int column) {
+        checkRow(row);
+        return strings[column][row];
+    }
+
+    public double getDouble(int row, String field) {
+        return getDouble(row, column(field));
+    }
+
+    public int getInt(int row, String field) {
+        return getInt(row, column(field));
+    }
+
+    public long getLong(int row, String field) {
+        return getLong(row, column(field));
+    }
+
+    public boolean getBoolean(int row, String field) {
+        return getBoolean(row, column(field));
+    }
+
+    public String getString(int row, String field) {
+        return getString(row, column(field));
+    }
+
+    /**
+     * Get the values of a numeric field for all the results as ints, e.g. the IDs
+     *
+     * @param field
+     * @return
+     */
+    public int[] getInts(String field) {
+        int column = column(field);
+        int[] values = new int[size];
+        for (int row = 0; row < size; row++) {
+            double value = numbers[column][row];
+            values[row] = Double.isNaN(value) ? 0 : (int) value;
+        }
+        return values;
+    }
+}
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.results;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -34,11 +35,17 @@ import java.util.List;
 public final class ResultList<T> extends AbstractWrapperIdPages {
 
     private List<T> results;
+    private long loadedAt = 0L;
 
     public ResultList() {
         this(null);
     }
 
+    /**
+     * Create a result list holding a copy of the list
+     *
+     * @param resultList
+     */
     public ResultList(List<T> resultList) {
         if (resultList == null) {
             results = new ArrayList<>();
@@ -47,6 +54,53 @@ public final class ResultList<T> extends AbstractWrapperIdPages {
         }
     }
 
+    /**
+     * Create a result list that uses the list as is, copying the page values and load time from the source, if any
+     *
+     * @param resultList
+     * @param source
+     */
+    private ResultList(List<T> resultList, ResultList<?> source) {
+        results = resultList;
+        if (source != null) {
+            source.setResultProperties(this);
+            loadedAt = source.loadedAt;
+        }
+    }
+
+    /**
+     * Create a result list that takes ownership of the list rather than copying it.
+     *
+     * The list is used as is, so it should not be changed or shared by the caller afterwards
+     *
+     * @param <T>
+     * @param resultList
+     * @return
+     */
+    public static <T> ResultList<T> wrap(List<T> resultList) {
+        return new ResultList<>(resultList == null ? new ArrayList<T>() : resultList, null);
+    }
+
+    /**
+     * Create a result list with a read only view of the list, without copying it
+     *
+     * @param <T>
+     * @param resultList
+     * @return
+     */
+    public static <T> ResultList<T> unmodifiable(List<T> resultList) {
+        return new ResultList<>(resultList == null ? Collections.<T>emptyList() : Collections.unmodifiableList(resultList), null);
+    }
+
+    /**
+     * Get a read only view of this result list, sharing the results and with the same page values
+     *
+     * @return
+     */
+    public ResultList<T> unmodifiableView() {
+        return new ResultList<>(Collections.unmodifiableList(results), this);
+    }
+
     public List<T> getResults() {
         return results;
     }
@@ -59,6 +113,30 @@ public final class ResultList<T> extends AbstractWrapperIdPages {
         return results.isEmpty();
     }
 
+    /**
+     * Get when the results were loaded from the API, if known.
+     *
+     * This is set by the caches so the age of a cached list can be checked
+     *
+     * @return The time in milliseconds since the epoch, or 0 if not known
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(long loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Get how long ago the results were loaded from the API
+     *
+     * @return The age in milliseconds, or -1 if not known
+     */
+    public long getAge() {
+        return loadedAt == 0L ? -1L : Math.max(0L, System.currentTimeMillis() - loadedAt);
+    }
+
     @Override
     public int getTotalResults() {
         if (super.getTotalResults() == 0) {
@@ -19,6 +19,7 @@
  */
 package com.omertron.themoviedbapi.results;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +41,11 @@ public final class ResultsMap<K, V> extends AbstractWrapperIdPages {
         this(null);
     }
 
+    /**
+     * Create a results map holding a copy of the map
+     *
+     * @param resultsMap
+     */
     public ResultsMap(Map<K, V> resultsMap) {
         if (resultsMap == null) {
             results = new HashMap<>();
@@ -48,6 +54,54 @@ public final class ResultsMap<K, V> extends AbstractWrapperIdPages {
         }
     }
 
+    /**
+     * Create a results map that uses the map as is, copying the page values from the source, if any
+     *
+     * @param resultsMap
+     * @param source
+     */
+    private ResultsMap(Map<K, V> resultsMap, ResultsMap<?, ?> source) {
+        results = resultsMap;
+        if (source != null) {
+            source.setResultProperties(this);
+        }
+    }
+
+    /**
+     * Create a results map that takes ownership of the map rather than copying it.
+     *
+     * The map is used as is, so it should not be changed or shared by the caller afterwards
+     *
+     * @param <K>
+     * @param <V>
+     * @param resultsMap
+     * @return
+     */
+    public static <K, V> ResultsMap<K, V> wrap(Map<K, V> resultsMap) {
+        return new ResultsMap<>(resultsMap == null ? new HashMap<K, V>() : resultsMap, null);
+    }
+
+    /**
+     * Create a results map with a read only view of the map, without copying it
+     *
+     * @param <K>
+     * @param <V>
+     * @param resultsMap
+     * @return
+     */
+    public static <K, V> ResultsMap<K, V> unmodifiable(Map<K, V> resultsMap) {
+        return new ResultsMap<>(resultsMap == null ? Collections.<K, V>emptyMap() : Collections.unmodifiableMap(resultsMap), null);
+    }
+
+    /**
+     * Get a read only view of this results map, sharing the results and with the same page values
+     *
+     * @return
+     */
+    public ResultsMap<K, V> unmodifiableView() {
+        return new ResultsMap<>(Collections.unmodifiableMap(results), this);
+    }
+
     public boolean isEmpty() {
         return results.isEmpty();
     }
@@ -0,0 +1,102 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import java.io.IOException;
+
+/**
+ * The page information for results that have been passed to a {@link ResultHandler} as they were read, rather than collected
+ * into a list.
+ *
+ * TMDb usually sends the page totals after the results, so they are only available once the whole page has been read.
+ */
+public final class StreamedPage extends AbstractWrapperAll {
+
+    private int count = 0;
+    private boolean stopped = false;
+
+    /**
+     * Read a page from the parser, passing each result to the handler as soon as it has been mapped.
+     *
+     * The parser should be positioned before or on the start of the page object. If the handler asks to stop, the rest of the
+     * results are skipped without being mapped, but the page information is still read.
+     *
+     * @param <T> The type of the results
+     * @param parser
+     * @param reader The reader for a single result
+     * @param handler
+     * @return
+     * @throws IOException
+     */
+    public static <T> StreamedPage read(JsonParser parser, ObjectReader reader, ResultHandler<? super T> handler) throws IOException {
+        StreamedPage page = new StreamedPage();
+        JsonToken token = parser.getCurrentToken() == null ? parser.nextToken() : parser.getCurrentToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected start of page object, found " + token);
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            token = parser.nextToken();
+            if ("results".equals(name) && token == JsonToken.START_ARRAY) {
+                page.<T>readResults(parser, reader, handler);
+            } else if (!page.readPageField(parser, name)) {
+                parser.skipChildren();
+            }
+        }
+        return page;
+    }
+
+    private <T> void readResults(JsonParser parser, ObjectReader reader, ResultHandler<? super T> handler) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (stopped || parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            T result = reader.readValue(parser);
+            count++;
+            if (!handler.handle(result)) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of results passed to the handler
+     *
+     * @return
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Did the handler stop before the end of the page?
+     *
+     * @return
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+}
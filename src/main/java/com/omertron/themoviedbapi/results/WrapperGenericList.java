@@ -43,8 +43,15 @@ public class WrapperGenericList<T> extends AbstractWrapperAll {
         this.results = results;
     }
 
+    /**
+     * Get the results with the page values.
+     *
+     * The parsed list is handed over to the result list without being copied
+     *
+     * @return
+     */
     public ResultList<T> getResultsList() {
-        ResultList<T> resultsList = new ResultList<>(results);
+        ResultList<T> resultsList = ResultList.wrap(results);
         setResultProperties(resultsList);
         return resultsList;
     }
@@ -0,0 +1,200 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.Annotations;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.omertron.themoviedbapi.model.AppendSection;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Maps the "append to response" sections of the model classes straight from the response unless lazy mapping is on.
+ *
+ * The model classes read each section with a setter that takes the buffered JSON, so the section can be mapped lazily, see
+ * {@link AppendSection}. With lazy mapping off, the default, that would copy every section into a buffer only to map it
+ * straight away. Once the mapper is configured, each of these properties uses the setter of the same name that takes the mapped
+ * value instead, and only buffers the section while lazy mapping is on.
+ */
+public final class AppendSections {
+
+    private AppendSections() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Configure the mapper to only buffer the sections when lazy mapping is on
+     *
+     * @param mapper
+     * @return The same mapper
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        SimpleModule module = new SimpleModule("AppendSections");
+        module.setDeserializerModifier(new SectionModifier());
+        mapper.registerModule(module);
+        return mapper;
+    }
+
+    /**
+     * Replaces the buffered section properties that have a setter for the mapped value
+     */
+    private static class SectionModifier extends BeanDeserializerModifier {
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+            List<SettableBeanProperty> replacements = new ArrayList<>();
+            for (Iterator<SettableBeanProperty> it = builder.getProperties(); it.hasNext();) {
+                SettableBeanProperty property = it.next();
+                AnnotatedMember member = property.getMember();
+                if (!(member instanceof AnnotatedMethod)) {
+                    continue;
+                }
+                AnnotatedMethod bufferSetter = (AnnotatedMethod) member;
+                if (bufferSetter.getParameterCount() != 1 || bufferSetter.getRawParameterType(0) != TokenBuffer.class) {
+                    continue;
+                }
+                AnnotatedMethod valueSetter = findValueSetter(beanDesc, bufferSetter);
+                if (valueSetter != null) {
+                    replacements.add(new SectionProperty(property, bufferSetter, valueSetter, beanDesc.getClassAnnotations()));
+                }
+            }
+            for (SettableBeanProperty replacement : replacements) {
+                builder.addOrReplaceProperty(replacement, true);
+            }
+            return builder;
+        }
+
+        private static AnnotatedMethod findValueSetter(BeanDescription beanDesc, AnnotatedMethod bufferSetter) {
+            for (AnnotatedMethod method : beanDesc.getClassInfo().memberMethods()) {
+                if (method.getName().equals(bufferSetter.getName())
+                        && method.getParameterCount() == 1
+                        && method.getRawParameterType(0) != TokenBuffer.class) {
+                    return method;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A section property that maps the value with the value setter, or buffers it for the buffer setter in lazy mode. A null
+     * section is passed to the buffer setter as before.
+     */
+    private static final class SectionProperty extends SettableBeanProperty {
+
+        private static final long serialVersionUID = 1L;
+        private final transient AnnotatedMethod bufferSetter;
+        private final transient AnnotatedMethod valueSetter;
+
+        SectionProperty(SettableBeanProperty property, AnnotatedMethod bufferSetter, AnnotatedMethod valueSetter, Annotations contextAnnotations) {
+            super(property.getFullName(), valueSetter.getParameterType(0), property.getWrapperName(), null, contextAnnotations,
+                    property.getMetadata());
+            this.bufferSetter = bufferSetter;
+            this.valueSetter = valueSetter;
+        }
+
+        private SectionProperty(SectionProperty src, JsonDeserializer<?> deserializer) {
+            super(src, deserializer);
+            this.bufferSetter = src.bufferSetter;
+            this.valueSetter = src.valueSetter;
+        }
+
+        private SectionProperty(SectionProperty src, PropertyName name) {
+            super(src, name);
+            this.bufferSetter = src.bufferSetter;
+            this.valueSetter = src.valueSetter;
+        }
+
+        @Override
+        public SettableBeanProperty withValueDeserializer(JsonDeserializer<?> deserializer) {
+            return new SectionProperty(this, deserializer);
+        }
+
+        @Override
+        public SettableBeanProperty withName(PropertyName name) {
+            return new SectionProperty(this, name);
+        }
+
+        @Override
+        public AnnotatedMember getMember() {
+            return valueSetter;
+        }
+
+        @Override
+        public <A extends Annotation> A getAnnotation(Class<A> type) {
+            return valueSetter.getAnnotation(type);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser parser, DeserializationContext ctxt, Object instance) throws IOException {
+            deserializeSetAndReturn(parser, ctxt, instance);
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser parser, DeserializationContext ctxt, Object instance) throws IOException {
+            if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+                return invoke(bufferSetter, instance, null);
+            }
+            if (AppendSection.isLazy()) {
+                TokenBuffer buffer = new TokenBuffer(parser, ctxt);
+                buffer.copyCurrentStructure(parser);
+                return invoke(bufferSetter, instance, buffer);
+            }
+            return invoke(valueSetter, instance, deserialize(parser, ctxt));
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws IOException {
+            setAndReturn(instance, value);
+        }
+
+        @Override
+        public Object setAndReturn(Object instance, Object value) throws IOException {
+            // The value setters expect a section, so a missing one is set through the buffer setter as before
+            return invoke(value == null ? bufferSetter : valueSetter, instance, value);
+        }
+
+        private Object invoke(AnnotatedMethod setter, Object instance, Object value) throws IOException {
+            try {
+                setter.getAnnotated().invoke(instance, value);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                _throwAsIOE(ex, value);
+            }
+            return instance;
+        }
+    }
+}
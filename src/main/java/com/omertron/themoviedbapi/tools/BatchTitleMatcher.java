@@ -0,0 +1,469 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.cache.IntObjectMap;
+import com.omertron.themoviedbapi.model.media.AlternativeTitle;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matches many titles, such as those parsed from file names, against a fixed set of movies.
+ *
+ * The titles of the movies (the title, original title and any alternative titles) are normalised as for {@link TitleMatcher}
+ * and indexed by their trigrams. A title is only compared with the titles that share enough of its trigrams to be within the
+ * maximum distance, and that have the same year if both years are known, rather than with every movie. Titles too short to
+ * have enough trigrams are compared with all of the titles.
+ *
+ * Each match has a confidence from 0 to 1, based on the distance relative to the length of the titles and whether the year was
+ * checked.
+ *
+ * @param <T> The type of the movies
+ */
+public final class BatchTitleMatcher<T extends MovieBasic> {
+
+    private static final int YEAR_LENGTH = 4;
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int[] NO_TITLES = new int[0];
+    // Confidence is reduced when the year could not be checked
+    private static final double UNKNOWN_YEAR_FACTOR = 0.9;
+
+    private final List<T> movies;
+    private final int[] years;
+    private final String[] titles;
+    private final String[] normalisedTitles;
+    private final int[] titleMovies;
+    private final IntObjectMap<int[]> index;
+    private final int maxDistance;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<int[][]> scratch = new ThreadLocal<>();
+
+    private BatchTitleMatcher(Builder<T> builder, int maxDistance, ForkJoinPool pool) {
+        this.movies = new ArrayList<>(builder.movies);
+        this.years = new int[movies.size()];
+        for (int i = 0; i < years.length; i++) {
+            years[i] = parseYear(movies.get(i).getReleaseDate());
+        }
+        this.titles = builder.titles.toArray(new String[builder.titles.size()]);
+        this.normalisedTitles = builder.normalisedTitles.toArray(new String[builder.normalisedTitles.size()]);
+        this.titleMovies = toArray(builder.titleMovies);
+        this.maxDistance = maxDistance;
+        this.pool = pool;
+
+        // The postings are added in title order with the count in the first slot, then trimmed
+        IntObjectMap<int[]> building = new IntObjectMap<>(titles.length * 4, 1);
+        for (int title = 0; title < titles.length; title++) {
+            for (int gram : trigrams(normalisedTitles[title])) {
+                int[] postings = building.get(gram);
+                if (postings == null) {
+                    postings = new int[4];
+                    building.put(gram, postings);
+                } else if (postings[0] + 1 == postings.length) {
+                    postings = Arrays.copyOf(postings, postings.length * 2);
+                    building.put(gram, postings);
+                }
+                postings[++postings[0]] = title;
+            }
+        }
+        final IntObjectMap<int[]> trimmed = new IntObjectMap<>(building.size(), 1);
+        building.forEach(new IntObjectMap.Visitor<int[]>() {
+            @Override
+            public void visit(int gram, int[] postings) {
+                trimmed.put(gram, Arrays.copyOfRange(postings, 1, postings[0] + 1));
+            }
+        });
+        this.index = trimmed;
+    }
+
+    /**
+     * Create a builder for the movies to match against
+     *
+     * @param <T>
+     * @return
+     */
+    public static <T extends MovieBasic> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Get the number of movies
+     *
+     * @return
+     */
+    public int size() {
+        return movies.size();
+    }
+
+    /**
+     * Find the closest movie for a title
+     *
+     * @param title
+     * @param year The year, or blank if not known
+     * @return The match, or null if no movie is within the maximum distance
+     */
+    public Match<T> match(String title, String year) {
+        if (title == null || title.trim().isEmpty()) {
+            return null;
+        }
+        String target = TitleMatcher.normalise(title, false);
+        int targetYear = TitleMatcher.isValidYear(year) ? parseYear(year.trim()) : 0;
+        int[] grams = trigrams(target);
+        // Each edit changes at most three trigrams, so a close title shares the rest. Short titles may not share any, so
+        // all of the titles are checked
+        int needed = grams.length - 3 * maxDistance;
+        if (needed <= 0) {
+            Best best = new Best();
+            for (int candidate = 0; candidate < titles.length; candidate++) {
+                check(best, candidate, target, targetYear);
+            }
+            return best.toMatch();
+        }
+
+        int[][] buffers = buffers();
+        int[] counts = buffers[0];
+        int[] touched = buffers[1];
+        int touchedCount = 0;
+        for (int gram : grams) {
+            int[] postings = index.get(gram);
+            for (int posting : postings == null ? NO_TITLES : postings) {
+                if (counts[posting]++ == 0) {
+                    touched[touchedCount++] = posting;
+                }
+            }
+        }
+
+        Best best = new Best();
+        for (int i = 0; i < touchedCount; i++) {
+            int candidate = touched[i];
+            int shared = counts[candidate];
+            counts[candidate] = 0;
+            if (shared >= needed) {
+                check(best, candidate, target, targetYear);
+            }
+        }
+        return best.toMatch();
+    }
+
+    private void check(Best best, int candidate, String target, int targetYear) {
+        int movieYear = years[titleMovies[candidate]];
+        if (targetYear > 0 && movieYear > 0 && targetYear != movieYear) {
+            return;
+        }
+        int distance = TitleMatcher.distance(target, normalisedTitles[candidate], best.title < 0 ? maxDistance : best.distance);
+        if (distance < 0) {
+            return;
+        }
+        double confidence = confidence(target, normalisedTitles[candidate], distance, targetYear > 0 && movieYear > 0);
+        if (best.title < 0 || distance < best.distance || confidence > best.confidence
+                || (confidence == best.confidence && candidate < best.title)) {
+            best.title = candidate;
+            best.distance = distance;
+            best.confidence = confidence;
+        }
+    }
+
+    /**
+     * Find the closest movie for each of the titles, using the fork join pool if there is one
+     *
+     * @param titles
+     * @param years The years of the titles, or null if none are known
+     * @return The matches in the same order as the titles, with null where there is no match
+     */
+    public List<Match<T>> matchAll(List<String> titles, List<String> years) {
+        if (years != null && years.size() != titles.size()) {
+            throw new IllegalArgumentException("There are " + titles.size() + " titles but " + years.size() + " years");
+        }
+        @SuppressWarnings("unchecked")
+        Match<T>[] matches = new Match[titles.size()];
+        MatchTask task = new MatchTask(titles, years, matches, 0, matches.length);
+        if (pool == null || matches.length <= PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return Arrays.asList(matches);
+    }
+
+    private int[][] buffers() {
+        int[][] buffers = scratch.get();
+        if (buffers == null) {
+            buffers = new int[][]{new int[titles.length], new int[titles.length]};
+            scratch.set(buffers);
+        }
+        return buffers;
+    }
+
+    /**
+     * The closest title found so far
+     */
+    private final class Best {
+
+        int title = -1;
+        int distance;
+        double confidence;
+
+        Match<T> toMatch() {
+            return title < 0 ? null : new Match<>(movies.get(titleMovies[title]), titles[title], distance, confidence);
+        }
+    }
+
+    private static double confidence(String target, String title, int distance, boolean yearChecked) {
+        int length = Math.max(target.length(), title.length());
+        double similarity = length == 0 ? 1d : 1d - (double) distance / length;
+        return yearChecked ? similarity : similarity * UNKNOWN_YEAR_FACTOR;
+    }
+
+    /**
+     * Get the distinct trigrams of the title, padded so the start and end of the title have their own trigrams.
+     *
+     * The characters are packed into an int, which is exact for the first 1024 characters and may merge trigrams of other
+     * characters; that only adds to the candidates that are checked.
+     */
+    static int[] trigrams(String title) {
+        String padded = "  " + title + " ";
+        int[] grams = new int[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (padded.charAt(i) << 20) ^ (padded.charAt(i + 1) << 10) ^ padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static int parseYear(String date) {
+        if (date == null || date.length() < YEAR_LENGTH) {
+            return 0;
+        }
+        int year = 0;
+        for (int i = 0; i < YEAR_LENGTH; i++) {
+            char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            year = year * 10 + c - '0';
+        }
+        return year;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Matches half of the titles each until the range is small enough to match directly
+     */
+    private final class MatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final transient List<String> titles;
+        private final transient List<String> years;
+        private final transient Match<T>[] matches;
+        private final int from;
+        private final int to;
+
+        MatchTask(List<String> titles, List<String> years, Match<T>[] matches, int from, int to) {
+            this.titles = titles;
+            this.years = years;
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    matches[i] = match(titles.get(i), years == null ? null : years.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MatchTask(titles, years, matches, from, middle), new MatchTask(titles, years, matches, middle, to));
+        }
+    }
+
+    /**
+     * Collects the movies and their titles for a matcher
+     *
+     * @param <T>
+     */
+    public static final class Builder<T extends MovieBasic> {
+
+        private final List<T> movies = new ArrayList<>();
+        private final List<String> titles = new ArrayList<>();
+        private final List<String> normalisedTitles = new ArrayList<>();
+        private final List<Integer> titleMovies = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a movie with its title, original title and, for a movie with the alternative titles appended, the alternative
+         * titles
+         *
+         * @param movie
+         * @return
+         */
+        public Builder<T> add(T movie) {
+            List<AlternativeTitle> alternativeTitles = null;
+            if (movie instanceof MovieInfo) {
+                alternativeTitles = ((MovieInfo) movie).getAlternativeTitles();
+            }
+            return add(movie, alternativeTitles);
+        }
+
+        /**
+         * Add a movie with its title, original title and the alternative titles
+         *
+         * @param movie
+         * @param alternativeTitles
+         * @return
+         */
+        public Builder<T> add(T movie, List<AlternativeTitle> alternativeTitles) {
+            int movieIndex = movies.size();
+            movies.add(movie);
+            int first = titles.size();
+            addTitle(movieIndex, first, movie.getTitle());
+            addTitle(movieIndex, first, movie.getOriginalTitle());
+            if (alternativeTitles != null) {
+                for (AlternativeTitle alternativeTitle : alternativeTitles) {
+                    addTitle(movieIndex, first, alternativeTitle.getTitle());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Add all of the movies
+         *
+         * @param movies
+         * @return
+         */
+        public Builder<T> addAll(List<? extends T> movies) {
+            for (T movie : movies) {
+                add(movie);
+            }
+            return this;
+        }
+
+        private void addTitle(int movieIndex, int first, String title) {
+            if (title == null || title.trim().isEmpty()) {
+                return;
+            }
+            String normalised = TitleMatcher.normalise(title, false);
+            // Skip titles that are the same as another title of the movie
+            if (normalisedTitles.subList(first, normalisedTitles.size()).contains(normalised)) {
+                return;
+            }
+            titles.add(title);
+            normalisedTitles.add(normalised);
+            titleMovies.add(movieIndex);
+        }
+
+        /**
+         * Create the matcher, which checks the titles in the calling thread
+         *
+         * @param maxDistance The maximum Levenshtein distance between the normalised titles
+         * @return
+         */
+        public BatchTitleMatcher<T> build(int maxDistance) {
+            return build(maxDistance, null);
+        }
+
+        /**
+         * Create the matcher
+         *
+         * @param maxDistance The maximum Levenshtein distance between the normalised titles
+         * @param pool The pool used to match lists of titles, or null to match them in the calling thread
+         * @return
+         */
+        public BatchTitleMatcher<T> build(int maxDistance, ForkJoinPool pool) {
+            if (maxDistance < 0) {
+                throw new IllegalArgumentException("Invalid maximum distance " + maxDistance);
+            }
+            return new BatchTitleMatcher<>(this, maxDistance, pool);
+        }
+    }
+
+    /**
+     * The movie matched for a title
+     *
+     * @param <T>
+     */
+    public static final class Match<T> {
+
+        private final T movie;
+        private final String title;
+        private final int distance;
+        private final double confidence;
+
+        Match(T movie, String title, int distance, double confidence) {
+            this.movie = movie;
+            this.title = title;
+            this.distance = distance;
+            this.confidence = confidence;
+        }
+
+        public T getMovie() {
+            return movie;
+        }
+
+        /**
+         * Get the title of the movie that matched, which may be the original or an alternative title
+         *
+         * @return
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * Get the confidence in the match, from 0 to 1
+         *
+         * @return
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        @Override
+        public String toString() {
+            return "Match[title=" + title + ", distance=" + distance + ", confidence=" + confidence + "]";
+        }
+    }
+}
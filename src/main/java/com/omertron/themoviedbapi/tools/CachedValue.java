@@ -0,0 +1,311 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single cached value that is refreshed in the background before it expires.
+ *
+ * Only the first load blocks the caller, and concurrent first calls share that one load. After that the cached value is always
+ * returned straight away: when it is close to expiry (or past it) a refresh is started in the background and the old value is
+ * served until the refresh completes. If a refresh fails the old value is kept and the refresh is retried after a delay.
+ *
+ * If {@link #setBlockWhenExpired(boolean)} is set, a value that has passed its time to live is not served, the caller waits for
+ * it to be loaded again instead.
+ *
+ * @param <T> The type of the cached value
+ */
+public class CachedValue<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedValue.class);
+    private static final long DEFAULT_RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+    private static volatile ExecutorService defaultExecutor;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile Entry<T> entry;
+    private volatile long timeToLive;
+    private volatile long refreshAhead;
+    private volatile long retryDelay = DEFAULT_RETRY_DELAY;
+    private volatile long retryAfter = 0L;
+    private volatile Executor executor;
+    private volatile boolean blockWhenExpired = false;
+
+    /**
+     * Loads the value, e.g. from the API
+     *
+     * @param <T>
+     */
+    public interface Loader<T> {
+
+        /**
+         * Load the value
+         *
+         * @return
+         * @throws MovieDbException
+         */
+        T load() throws MovieDbException;
+    }
+
+    /**
+     * Create the cache
+     *
+     * @param timeToLive How long the value is fresh for
+     * @param refreshAhead How long before expiry to start refreshing the value
+     * @param unit The unit of the times
+     */
+    public CachedValue(long timeToLive, long refreshAhead, TimeUnit unit) {
+        setTimeToLive(timeToLive, refreshAhead, unit);
+    }
+
+    /**
+     * Get the value, loading it if there isn't one yet.
+     *
+     * The loader is only called by the calling thread if there is no value. Otherwise it may be called in the background to
+     * refresh the value.
+     *
+     * @param loader The loader to use if the value needs to be loaded or refreshed
+     * @return
+     * @throws MovieDbException If there was no value and it could not be loaded
+     */
+    public T get(Loader<T> loader) throws MovieDbException {
+        Entry<T> current = entry;
+        if (current == null) {
+            return load(loader);
+        }
+        long age = now() - current.loadedAt;
+        if (blockWhenExpired && age >= timeToLive) {
+            return load(loader);
+        }
+        if (age >= timeToLive - refreshAhead) {
+            refreshInBackground(loader);
+        }
+        return current.value;
+    }
+
+    /**
+     * Load the value in the calling thread, unless another thread has just loaded it
+     */
+    private T load(Loader<T> loader) throws MovieDbException {
+        synchronized (loadLock) {
+            Entry<T> current = entry;
+            if (current != null && !(blockWhenExpired && now() - current.loadedAt >= timeToLive)) {
+                return current.value;
+            }
+            T value = loader.load();
+            entry = new Entry<>(value, now());
+            return value;
+        }
+    }
+
+    private void refreshInBackground(final Loader<T> loader) {
+        if (now() < retryAfter || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        Runnable refresh = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    entry = new Entry<>(loader.load(), now());
+                    retryAfter = 0L;
+                } catch (MovieDbException | RuntimeException ex) {
+                    LOG.warn("Failed to refresh cached value, using the old value: {}", ex.getMessage());
+                    LOG.trace("Refresh failure", ex);
+                    retryAfter = now() + retryDelay;
+                } finally {
+                    refreshing.set(false);
+                }
+            }
+        };
+
+        try {
+            getExecutor().execute(refresh);
+        } catch (RejectedExecutionException ex) {
+            LOG.debug("Refresh rejected: {}", ex.getMessage());
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Get the value without loading or refreshing it
+     *
+     * @return The value, or null if there isn't one
+     */
+    public T peek() {
+        Entry<T> current = entry;
+        return current == null ? null : current.value;
+    }
+
+    /**
+     * Is there a value that has passed its time to live?
+     *
+     * @return
+     */
+    public boolean isExpired() {
+        Entry<T> current = entry;
+        return current != null && now() - current.loadedAt >= timeToLive;
+    }
+
+    /**
+     * Set the value, e.g. from a saved copy.
+     *
+     * @param value The value
+     * @param loadedAt When the value was loaded, in milliseconds since the epoch
+     */
+    public void set(T value, long loadedAt) {
+        entry = new Entry<>(value, loadedAt);
+    }
+
+    /**
+     * Set the value if there isn't one already
+     *
+     * @param value The value
+     * @param loadedAt When the value was loaded, in milliseconds since the epoch
+     * @return True if the value was set
+     */
+    public boolean setIfAbsent(T value, long loadedAt) {
+        synchronized (loadLock) {
+            if (entry != null) {
+                return false;
+            }
+            entry = new Entry<>(value, loadedAt);
+            return true;
+        }
+    }
+
+    /**
+     * Remove the value, the next call to {@link #get(Loader)} will load it again
+     */
+    public void clear() {
+        entry = null;
+        retryAfter = 0L;
+    }
+
+    /**
+     * Set the time to live
+     *
+     * @param timeToLive How long the value is fresh for
+     * @param refreshAhead How long before expiry to start refreshing the value, must be less than the time to live
+     * @param unit The unit of the times
+     */
+    public final void setTimeToLive(long timeToLive, long refreshAhead, TimeUnit unit) {
+        if (timeToLive <= 0 || refreshAhead < 0 || refreshAhead >= timeToLive) {
+            throw new IllegalArgumentException("Invalid time to live " + timeToLive + " with refresh ahead " + refreshAhead);
+        }
+        this.timeToLive = unit.toMillis(timeToLive);
+        this.refreshAhead = unit.toMillis(refreshAhead);
+    }
+
+    /**
+     * Set whether callers wait for a new value once the time to live has passed.
+     *
+     * By default the old value is served until the background refresh completes, however old it is
+     *
+     * @param blockWhenExpired
+     */
+    public void setBlockWhenExpired(boolean blockWhenExpired) {
+        this.blockWhenExpired = blockWhenExpired;
+    }
+
+    /**
+     * Get when the current value was loaded
+     *
+     * @return The time in milliseconds since the epoch, or 0 if there is no value
+     */
+    public long getLoadedAt() {
+        Entry<T> current = entry;
+        return current == null ? 0L : current.loadedAt;
+    }
+
+    /**
+     * Set how long to wait after a failed refresh before trying again
+     *
+     * @param delay
+     * @param unit
+     */
+    public void setRetryDelay(long delay, TimeUnit unit) {
+        this.retryDelay = unit.toMillis(delay);
+    }
+
+    /**
+     * Set the executor used for the background refresh.
+     *
+     * By default a shared daemon thread is used
+     *
+     * @param executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    private Executor getExecutor() {
+        Executor current = executor;
+        return current == null ? getDefaultExecutor() : current;
+    }
+
+    private static Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (CachedValue.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "themoviedbapi-cache-refresh");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * The current time in milliseconds
+     *
+     * @return
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static final class Entry<T> {
+
+        final T value;
+        final long loadedAt;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
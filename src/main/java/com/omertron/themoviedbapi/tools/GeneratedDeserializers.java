@@ -0,0 +1,240 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Support for the deserializers generated at build time by the themoviedbapi-processor module.
+ *
+ * The generated deserializers are only present when the library is built with the "generated-deserializers" profile. If they
+ * are not present, or are disabled with the "themoviedbapi.disableGeneratedDeserializers" system property, the model classes are
+ * mapped by Jackson as normal.
+ *
+ * The static methods are called by the generated code and are not intended for general use.
+ */
+public final class GeneratedDeserializers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedDeserializers.class);
+    /**
+     * The module class written by the annotation processor
+     */
+    public static final String MODULE_CLASS = "com.omertron.themoviedbapi.tools.GeneratedDeserializerModule";
+    /**
+     * System property used to turn off the generated deserializers
+     */
+    public static final String DISABLE_PROPERTY = "themoviedbapi.disableGeneratedDeserializers";
+    private static final Class<? extends Module> MODULE = findModule();
+
+    private GeneratedDeserializers() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    private static Class<? extends Module> findModule() {
+        if (Boolean.getBoolean(DISABLE_PROPERTY)) {
+            return null;
+        }
+        try {
+            return Class.forName(MODULE_CLASS).asSubclass(Module.class);
+        } catch (ClassNotFoundException ex) {
+            LOG.trace("Generated deserializers not found, using Jackson bean deserializers");
+            return null;
+        }
+    }
+
+    /**
+     * Are the generated deserializers available?
+     *
+     * @return
+     */
+    public static boolean isAvailable() {
+        return MODULE != null;
+    }
+
+    /**
+     * Register the generated deserializers with the mapper, if they are available
+     *
+     * @param mapper
+     * @return The same mapper
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        if (MODULE != null) {
+            try {
+                mapper.registerModule(MODULE.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException ex) {
+                LOG.warn("Failed to create the generated deserializers: {}", ex.getMessage(), ex);
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Read a value with the deserializer, handling nulls
+     *
+     * @param parser
+     * @param ctxt
+     * @param deserializer
+     * @return
+     * @throws IOException
+     */
+    public static Object value(JsonParser parser, DeserializationContext ctxt, JsonDeserializer<Object> deserializer) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return deserializer.getNullValue(ctxt);
+        }
+        return deserializer.deserialize(parser, ctxt);
+    }
+
+    /**
+     * Copy the current value into a buffer
+     *
+     * @param parser
+     * @param ctxt
+     * @return
+     * @throws IOException
+     */
+    public static TokenBuffer buffer(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser, ctxt);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    /**
+     * Skip an unknown property, counting it unless unknown properties are being skipped
+     *
+     * @param parser
+     * @param beanClass
+     * @param name
+     * @throws IOException
+     */
+    public static void unknown(JsonParser parser, Class<?> beanClass, String name) throws IOException {
+        if (!UnknownProperties.isSkipUnknown()) {
+            UnknownProperties.record(beanClass, name);
+        }
+        parser.skipChildren();
+    }
+
+    /**
+     * Read an object that has its type name as one of its properties
+     *
+     * @param parser
+     * @param ctxt
+     * @param property The type property, e.g. "media_type"
+     * @param names The type names
+     * @param types The types, in the same order as the names
+     * @param defaultType The type to use if the name is missing or not known
+     * @return
+     * @throws IOException
+     */
+    public static Object typed(JsonParser parser, DeserializationContext ctxt, String property, String[] names, Class<?>[] types, Class<?> defaultType) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw ctxt.mappingException(defaultType, parser.getCurrentToken());
+        }
+
+        // Copy the object without the type property, as Jackson does
+        TokenBuffer buffer = new TokenBuffer(parser, ctxt);
+        String typeName = null;
+        buffer.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (typeName == null && property.equals(name)) {
+                typeName = parser.getValueAsString();
+            } else {
+                buffer.writeFieldName(name);
+                buffer.copyCurrentStructure(parser);
+            }
+        }
+        buffer.writeEndObject();
+        return readBuffer(buffer, parser, ctxt, typeName, names, types, defaultType);
+    }
+
+    /**
+     * Read a list of objects that have their type name as one of their properties
+     *
+     * @param parser
+     * @param ctxt
+     * @param property The type property, e.g. "media_type"
+     * @param names The type names
+     * @param types The types, in the same order as the names
+     * @param defaultType The type to use if the name is missing or not known
+     * @return
+     * @throws IOException
+     */
+    public static List<Object> typedList(JsonParser parser, DeserializationContext ctxt, String property, String[] names, Class<?>[] types, Class<?> defaultType) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(List.class, parser.getCurrentToken());
+        }
+
+        List<Object> results = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            results.add(typed(parser, ctxt, property, names, types, defaultType));
+        }
+        return results;
+    }
+
+    /**
+     * Read a buffered object whose type name was a property of its parent
+     *
+     * @param buffer The buffered object
+     * @param parser The parser for the parent
+     * @param ctxt
+     * @param typeName The type name, can be null
+     * @param names The type names
+     * @param types The types, in the same order as the names
+     * @param defaultType The type to use if the name is missing or not known
+     * @return
+     * @throws IOException
+     */
+    public static Object external(TokenBuffer buffer, JsonParser parser, DeserializationContext ctxt, String typeName, String[] names, Class<?>[] types, Class<?> defaultType) throws IOException {
+        return readBuffer(buffer, parser, ctxt, typeName, names, types, defaultType);
+    }
+
+    private static Object readBuffer(TokenBuffer buffer, JsonParser parser, DeserializationContext ctxt, String typeName, String[] names, Class<?>[] types, Class<?> defaultType) throws IOException {
+        Class<?> type = defaultType;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(typeName)) {
+                type = types[i];
+                break;
+            }
+        }
+
+        try (JsonParser bufferParser = buffer.asParser(parser.getCodec())) {
+            bufferParser.nextToken();
+            return ctxt.readValue(bufferParser, type);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The set of JSON fields to keep when reading a page of results.
+ *
+ * Only simple values (numbers, strings and booleans) can be projected, any other value in the results is skipped by the parser
+ * without being mapped.
+ */
+public final class Projection {
+
+    /**
+     * ID, title, popularity and release date of a movie
+     */
+    public static final Projection MOVIE = of("id", "title", "popularity", "release_date");
+    /**
+     * ID, name, popularity and first air date of a TV show
+     */
+    public static final Projection TV = of("id", "name", "popularity", "first_air_date");
+    /**
+     * ID, name and popularity of a person
+     */
+    public static final Projection PERSON = of("id", "name", "popularity");
+    /**
+     * ID and adult flag of a change list item
+     */
+    public static final Projection CHANGES = of("id", "adult");
+
+    private final List<String> fields;
+    private final Map<String, Integer> index;
+
+    private Projection(String[] fields) {
+        this.fields = Collections.unmodifiableList(Arrays.asList(fields));
+        this.index = new HashMap<>(fields.length * 2);
+        for (int i = 0; i < fields.length; i++) {
+            if (index.put(fields[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate field '" + fields[i] + "' in projection");
+            }
+        }
+    }
+
+    /**
+     * Create a projection of the JSON field names
+     *
+     * @param fields The JSON field names, e.g. "release_date"
+     * @return
+     */
+    public static Projection of(String... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Projection must have at least one field");
+        }
+        return new Projection(fields.clone());
+    }
+
+    /**
+     * Get the field names in column order
+     *
+     * @return
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Get the number of fields
+     *
+     * @return
+     */
+    public int size() {
+        return fields.size();
+    }
+
+    /**
+     * Get the column of a field
+     *
+     * @param field
+     * @return The column, or -1 if the field is not in the projection
+     */
+    public int indexOf(String field) {
+        Integer column = index.get(field);
+        return column == null ? -1 : column;
+    }
+
+    @Override
+    public String toString() {
+        return fields.toString();
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Matches movie titles allowing for a small number of differences.
+ *
+ * The titles are normalised before they are compared: accents and other diacritics are removed, compatibility characters such
+ * as ligatures are replaced and, unless the match is case sensitive, the titles are lower cased. The difference is the
+ * Levenshtein distance, which is only worked out as far as the maximum distance so titles that are not close are rejected
+ * quickly.
+ *
+ * A matcher caches the normalised titles of the movies it has seen, so the same candidates can be matched against many titles.
+ * Long lists of candidates are split over the fork join pool, if one is given.
+ */
+public final class TitleMatcher {
+
+    private static final int YEAR_LENGTH = 4;
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int MAX_CACHED_TITLES = 10000;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final ThreadLocal<int[][]> ROWS = new ThreadLocal<int[][]>() {
+        @Override
+        protected int[][] initialValue() {
+            return new int[2][64];
+        }
+    };
+
+    private final int maxDistance;
+    private final boolean caseSensitive;
+    private final ForkJoinPool pool;
+    private final ConcurrentMap<String, String> normalised = new ConcurrentHashMap<>();
+
+    /**
+     * Create a matcher that checks the titles in the calling thread
+     *
+     * @param maxDistance The maximum Levenshtein distance between the titles, 0 for an exact match
+     * @param caseSensitive
+     */
+    public TitleMatcher(int maxDistance, boolean caseSensitive) {
+        this(maxDistance, caseSensitive, null);
+    }
+
+    /**
+     * Create a matcher
+     *
+     * @param maxDistance The maximum Levenshtein distance between the titles, 0 for an exact match
+     * @param caseSensitive
+     * @param pool The pool used to check long lists of movies, or null to check them in the calling thread
+     */
+    public TitleMatcher(int maxDistance, boolean caseSensitive, ForkJoinPool pool) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Invalid maximum distance " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        this.caseSensitive = caseSensitive;
+        this.pool = pool;
+    }
+
+    /**
+     * Does the title or original title of the movie match, and the year if both are known?
+     *
+     * @param movie
+     * @param title
+     * @param year
+     * @return
+     */
+    public boolean matches(MovieBasic movie, String title, String year) {
+        if (movie == null || StringUtils.isBlank(title)) {
+            return false;
+        }
+        return distance(movie, normalise(title, caseSensitive), year, maxDistance, caseSensitive, normalised) >= 0;
+    }
+
+    /**
+     * Find the movie with the closest title that matches.
+     *
+     * If more than one movie is as close, the first in the list is returned
+     *
+     * @param <T>
+     * @param movies
+     * @param title
+     * @param year The year of the movie, or blank if not known
+     * @return The movie, or null if none match
+     */
+    public <T extends MovieBasic> T bestMatch(List<T> movies, String title, String year) {
+        if (movies == null || movies.isEmpty() || StringUtils.isBlank(title)) {
+            return null;
+        }
+        String target = normalise(title, caseSensitive);
+        Match match;
+        if (pool == null || movies.size() <= PARALLEL_THRESHOLD) {
+            match = bestMatch(movies, 0, movies.size(), target, year);
+        } else {
+            match = pool.invoke(new MatchTask(movies, 0, movies.size(), target, year));
+        }
+        return match == null ? null : movies.get(match.index);
+    }
+
+    private Match bestMatch(List<? extends MovieBasic> movies, int from, int to, String target, String year) {
+        Match best = null;
+        int limit = maxDistance;
+        for (int index = from; index < to; index++) {
+            int distance = distance(movies.get(index), target, year, limit, caseSensitive, normalised);
+            if (distance >= 0) {
+                best = new Match(index, distance);
+                if (distance == 0) {
+                    break;
+                }
+                // Only a closer title can be a better match
+                limit = distance - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Does the title or original title of the movie match, and the year if both are known?
+     *
+     * @param movie
+     * @param title
+     * @param year
+     * @param maxDistance The maximum Levenshtein distance between the titles, 0 for an exact match
+     * @param caseSensitive
+     * @return
+     */
+    public static boolean matches(MovieBasic movie, String title, String year, int maxDistance, boolean caseSensitive) {
+        if (movie == null || StringUtils.isBlank(title)) {
+            return false;
+        }
+        return distance(movie, normalise(title, caseSensitive), year, maxDistance, caseSensitive, null) >= 0;
+    }
+
+    private static int distance(MovieBasic movie, String target, String year, int limit, boolean caseSensitive,
+            ConcurrentMap<String, String> cache) {
+        if (isValidYear(year) && isValidYear(movie.getReleaseDate())) {
+            String releaseDate = movie.getReleaseDate();
+            if (year.length() != YEAR_LENGTH || !releaseDate.startsWith(year)) {
+                return -1;
+            }
+        }
+
+        int distance = -1;
+        String title = normalise(movie.getTitle(), caseSensitive, cache);
+        if (title != null) {
+            distance = distance(target, title, limit);
+        }
+        String originalTitle = normalise(movie.getOriginalTitle(), caseSensitive, cache);
+        if (distance != 0 && originalTitle != null && !originalTitle.equals(title)) {
+            int other = distance(target, originalTitle, distance < 0 ? limit : distance - 1);
+            if (other >= 0) {
+                distance = other;
+            }
+        }
+        return distance;
+    }
+
+    private static String normalise(String title, boolean caseSensitive, ConcurrentMap<String, String> cache) {
+        if (title == null || cache == null) {
+            return normalise(title, caseSensitive);
+        }
+        String value = cache.get(title);
+        if (value == null) {
+            value = normalise(title, caseSensitive);
+            if (cache.size() >= MAX_CACHED_TITLES) {
+                cache.clear();
+            }
+            cache.put(title, value);
+        }
+        return value;
+    }
+
+    /**
+     * Normalise a title for comparison, removing the diacritics and lower casing it if the match is not case sensitive
+     *
+     * @param title
+     * @param caseSensitive
+     * @return The normalised title, or null if the title is null
+     */
+    public static String normalise(String title, boolean caseSensitive) {
+        if (title == null) {
+            return null;
+        }
+        String value = title;
+        if (!StringUtils.isAsciiPrintable(value)) {
+            value = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+        }
+        return caseSensitive ? value : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the Levenshtein distance between two strings if it is no more than the maximum.
+     *
+     * Only the cells of the distance table within the maximum of the diagonal are worked out, and the calculation stops as soon
+     * as a row has no cell within the maximum.
+     *
+     * @param first
+     * @param second
+     * @param maxDistance
+     * @return The distance, or -1 if it is more than the maximum
+     */
+    public static int distance(CharSequence first, CharSequence second, int maxDistance) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+        if (maxDistance < 0) {
+            return -1;
+        }
+
+        // Work across the longer string
+        CharSequence s = first.length() <= second.length() ? first : second;
+        CharSequence t = s == first ? second : first;
+        int sEnd = s.length();
+        int tEnd = t.length();
+        if (tEnd - sEnd > maxDistance) {
+            return -1;
+        }
+
+        // The common prefix and suffix don't change the distance
+        int start = 0;
+        while (start < sEnd && s.charAt(start) == t.charAt(start)) {
+            start++;
+        }
+        while (sEnd > start && s.charAt(sEnd - 1) == t.charAt(tEnd - 1)) {
+            sEnd--;
+            tEnd--;
+        }
+        int sLength = sEnd - start;
+        int tLength = tEnd - start;
+        if (sLength == 0) {
+            return tLength;
+        }
+        if (maxDistance == 0) {
+            return -1;
+        }
+
+        int[][] rows = rows(tLength + 1);
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        int outside = maxDistance + 1;
+        for (int j = 0; j <= tLength; j++) {
+            previous[j] = j <= maxDistance ? j : outside;
+        }
+
+        for (int i = 1; i <= sLength; i++) {
+            char c = s.charAt(start + i - 1);
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(tLength, i + maxDistance);
+            current[0] = i <= maxDistance ? i : outside;
+            current[from - 1] = from == 1 ? current[0] : outside;
+            int rowMin = current[from - 1];
+
+            for (int j = from; j <= to; j++) {
+                int cost = c == t.charAt(start + j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+                if (value > outside) {
+                    value = outside;
+                }
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (to < tLength) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > maxDistance) {
+                return -1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[tLength] <= maxDistance ? previous[tLength] : -1;
+    }
+
+    /**
+     * The two rows of the distance table, reused by each thread
+     */
+    private static int[][] rows(int length) {
+        int[][] rows = ROWS.get();
+        if (rows[0].length < length) {
+            rows = new int[2][Math.max(length, rows[0].length * 2)];
+            ROWS.set(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Check the year is not blank or UNKNOWN
+     *
+     * @param year
+     * @return
+     */
+    public static boolean isValidYear(final String year) {
+        return StringUtils.isNotBlank(year) && !"UNKNOWN".equals(year);
+    }
+
+    private static final class Match {
+
+        final int index;
+        final int distance;
+
+        Match(int index, int distance) {
+            this.index = index;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Checks half of the movies each until the range is small enough to check directly
+     */
+    private final class MatchTask extends RecursiveTask<Match> {
+
+        private static final long serialVersionUID = 1L;
+        private final transient List<? extends MovieBasic> movies;
+        private final int from;
+        private final int to;
+        private final String target;
+        private final String year;
+
+        MatchTask(List<? extends MovieBasic> movies, int from, int to, String target, String year) {
+            this.movies = movies;
+            this.from = from;
+            this.to = to;
+            this.target = target;
+            this.year = year;
+        }
+
+        @Override
+        protected Match compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return bestMatch(movies, from, to, target, year);
+            }
+            int middle = (from + to) >>> 1;
+            MatchTask right = new MatchTask(movies, middle, to, target, year);
+            right.fork();
+            Match first = new MatchTask(movies, from, middle, target, year).compute();
+            Match second = right.join();
+            if (first == null) {
+                return second;
+            }
+            // The first half wins a tie, as it is earlier in the list
+            return second == null || first.distance <= second.distance ? first : second;
+        }
+    }
+}
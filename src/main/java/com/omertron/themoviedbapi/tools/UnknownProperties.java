@@ -0,0 +1,187 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the unknown JSON properties found when mapping the model classes.
+ *
+ * Once a class/property pair has been seen, recording it again does not allocate, so the counters can be left on to spot new
+ * fields added to the API.
+ *
+ * For maximum throughput the unknown properties can be skipped by the parser instead, see {@link #setSkipUnknown(boolean)}
+ */
+public final class UnknownProperties {
+
+    /**
+     * System property used to set the default for skipping unknown properties
+     */
+    public static final String SKIP_PROPERTY = "themoviedbapi.skipUnknownProperties";
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, AtomicLong>> COUNTS = new ConcurrentHashMap<>();
+    private static volatile boolean skipUnknown = Boolean.getBoolean(SKIP_PROPERTY);
+
+    private UnknownProperties() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Record an unknown property for a class
+     *
+     * @param mappedClass The class being mapped
+     * @param key The unknown property name
+     */
+    public static void record(Class<?> mappedClass, String key) {
+        ConcurrentMap<String, AtomicLong> keys = COUNTS.get(mappedClass);
+        if (keys == null) {
+            keys = new ConcurrentHashMap<>();
+            ConcurrentMap<String, AtomicLong> existing = COUNTS.putIfAbsent(mappedClass, keys);
+            if (existing != null) {
+                keys = existing;
+            }
+        }
+
+        AtomicLong count = keys.get(key);
+        if (count == null) {
+            count = new AtomicLong();
+            AtomicLong existing = keys.putIfAbsent(key, count);
+            if (existing != null) {
+                count = existing;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Get the number of times the unknown property has been seen for a class
+     *
+     * @param mappedClass
+     * @param key
+     * @return
+     */
+    public static long getCount(Class<?> mappedClass, String key) {
+        ConcurrentMap<String, AtomicLong> keys = COUNTS.get(mappedClass);
+        if (keys == null) {
+            return 0L;
+        }
+        AtomicLong count = keys.get(key);
+        return count == null ? 0L : count.get();
+    }
+
+    /**
+     * Get the total number of unknown properties seen across all classes
+     *
+     * @return
+     */
+    public static long getTotal() {
+        long total = 0L;
+        for (ConcurrentMap<String, AtomicLong> keys : COUNTS.values()) {
+            for (AtomicLong count : keys.values()) {
+                total += count.get();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get a snapshot of the counters, keyed on the class name and then property name
+     *
+     * @return
+     */
+    public static Map<String, Map<String, Long>> getCounts() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        for (Map.Entry<Class<?>, ConcurrentMap<String, AtomicLong>> classEntry : COUNTS.entrySet()) {
+            Map<String, Long> keys = new TreeMap<>();
+            for (Map.Entry<String, AtomicLong> keyEntry : classEntry.getValue().entrySet()) {
+                keys.put(keyEntry.getKey(), keyEntry.getValue().get());
+            }
+            snapshot.put(classEntry.getKey().getName(), keys);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clear all the counters
+     */
+    public static void reset() {
+        COUNTS.clear();
+    }
+
+    /**
+     * Are unknown properties being skipped by the parser?
+     *
+     * @return
+     */
+    public static boolean isSkipUnknown() {
+        return skipUnknown;
+    }
+
+    /**
+     * Skip unknown properties in the parser rather than passing them to the model.
+     *
+     * Jackson caches the deserializers, so this must be set before the first API call to have any effect. Skipped properties are
+     * not counted.
+     *
+     * @param skipUnknown
+     */
+    public static void setSkipUnknown(boolean skipUnknown) {
+        UnknownProperties.skipUnknown = skipUnknown;
+    }
+
+    /**
+     * Register the unknown property handling with the mapper
+     *
+     * @param mapper
+     * @return The same mapper
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        SimpleModule module = new SimpleModule("UnknownProperties");
+        module.setDeserializerModifier(new SkipUnknownModifier());
+        mapper.registerModule(module);
+        return mapper;
+    }
+
+    /**
+     * Removes the any-setter from the model classes when skipping is enabled, so the values are skipped by the parser rather
+     * than being deserialized and discarded
+     */
+    private static class SkipUnknownModifier extends BeanDeserializerModifier {
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+            if (skipUnknown && AbstractJsonMapping.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                builder.setAnySetter(null);
+                builder.setIgnoreUnknownProperties(true);
+            }
+            return builder;
+        }
+    }
+}
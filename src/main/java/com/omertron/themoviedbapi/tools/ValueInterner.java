@@ -0,0 +1,196 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared instances of the small values that are repeated across many responses.
+ *
+ * Genres, languages, countries, companies and networks, the ISO codes and the crew departments and jobs only have a few hundred
+ * distinct values, but each response creates new copies of them. The model setters pass these values through the interner so
+ * that equal values share one instance.
+ *
+ * Interning is off by default, as the shared genres, languages and companies have setters and a change to one would be seen in
+ * every response holding it. It can be turned on with {@link #setEnabled(boolean)} or the "themoviedbapi.interning" system
+ * property by applications that don't change the models. The lists passed to the setters are never changed, the shared
+ * instances are put in a copy. Each pool holds at most {@value #MAX_POOL_SIZE} values, after that new values are returned as
+ * they are.
+ */
+public final class ValueInterner {
+
+    /**
+     * System property used to turn on interning
+     */
+    public static final String ENABLE_PROPERTY = "themoviedbapi.interning";
+    /**
+     * The maximum number of values held for each type
+     */
+    public static final int MAX_POOL_SIZE = 10000;
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLE_PROPERTY);
+    private static final ConcurrentMap<String, String> STRINGS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Object, Object>> VALUES = new ConcurrentHashMap<>();
+
+    private ValueInterner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Get the shared instance of a string, e.g. an ISO code
+     *
+     * @param value
+     * @return The shared instance, or the value if interning is off or the pool is full
+     */
+    public static String intern(String value) {
+        if (!enabled || value == null) {
+            return value;
+        }
+        return lookup(STRINGS, value);
+    }
+
+    /**
+     * Get the shared instance of a value.
+     *
+     * The equals method of the value must compare all of its fields. Values of different classes are never shared, even if they
+     * are equal.
+     *
+     * @param <T>
+     * @param value
+     * @return The shared instance, or the value if interning is off or the pool is full
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T canonical(T value) {
+        if (!enabled || value == null) {
+            return value;
+        }
+        ConcurrentMap<Object, Object> pool = VALUES.get(value.getClass());
+        if (pool == null) {
+            pool = new ConcurrentHashMap<>();
+            ConcurrentMap<Object, Object> existing = VALUES.putIfAbsent(value.getClass(), pool);
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+        return (T) lookup(pool, value);
+    }
+
+    /**
+     * Get a list of the shared instances of the items, the list passed in is not changed
+     *
+     * @param <T>
+     * @param values
+     * @return A copy of the list with the shared instances, or the same list if interning is off or all the items are shared
+     */
+    public static <T> List<T> canonicalList(List<T> values) {
+        if (!enabled || values == null) {
+            return values;
+        }
+        List<T> result = values;
+        for (int i = 0; i < values.size(); i++) {
+            T value = values.get(i);
+            T shared = canonical(value);
+            if (shared != value) {
+                if (result == values) {
+                    result = new ArrayList<>(values);
+                }
+                result.set(i, shared);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a list of the shared instances of the strings, the list passed in is not changed
+     *
+     * @param values
+     * @return A copy of the list with the shared instances, or the same list if interning is off or all the strings are shared
+     */
+    public static List<String> internList(List<String> values) {
+        if (!enabled || values == null) {
+            return values;
+        }
+        List<String> result = values;
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            String shared = intern(value);
+            if (shared != value) {
+                if (result == values) {
+                    result = new ArrayList<>(values);
+                }
+                result.set(i, shared);
+            }
+        }
+        return result;
+    }
+
+    private static <T> T lookup(ConcurrentMap<T, T> pool, T value) {
+        T shared = pool.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (pool.size() >= MAX_POOL_SIZE) {
+            return value;
+        }
+        shared = pool.putIfAbsent(value, value);
+        return shared == null ? value : shared;
+    }
+
+    /**
+     * Is interning on?
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn interning on or off, values already shared are not changed
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        ValueInterner.enabled = enabled;
+    }
+
+    /**
+     * Get the number of values held in all the pools
+     *
+     * @return
+     */
+    public static int size() {
+        int size = STRINGS.size();
+        for (ConcurrentMap<Object, Object> pool : VALUES.values()) {
+            size += pool.size();
+        }
+        return size;
+    }
+
+    /**
+     * Remove all the values from the pools
+     */
+    public static void clear() {
+        STRINGS.clear();
+        VALUES.clear();
+    }
+}
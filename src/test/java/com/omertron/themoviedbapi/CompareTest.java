@@ -20,11 +20,14 @@
 package com.omertron.themoviedbapi;
 
 import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.util.Arrays;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -123,4 +126,19 @@ public class CompareTest {
         assertTrue(result);
     }
 
+    /**
+     * Missing original title and accents
+     */
+    @Test
+    public void testNullOriginalTitle() {
+        LOG.info("Null Original Title Test");
+        MovieInfo movie = new MovieInfo();
+        movie.setTitle("Amélie");
+        movie.setReleaseDate("2001-04-25");
+
+        assertTrue("Should match without the accent", Compare.movies(movie, "amelie", "2001", 0, NOT_CASE_SENSITIVE));
+        assertTrue("Should match case sensitive", Compare.movies(movie, "Amelie", "2001", 0, CASE_SENSITIVE));
+        assertFalse("Wrong year should not match", Compare.movies(movie, "Amelie", "2002", 0, CASE_SENSITIVE));
+        assertEquals("Wrong best match", movie, Compare.bestMatch(Arrays.asList(moviedb, movie), "Amelia", "", 1, CASE_SENSITIVE));
+    }
 }
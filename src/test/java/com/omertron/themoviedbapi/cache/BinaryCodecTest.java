@@ -0,0 +1,247 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.enumeration.MovieMethod;
+import com.omertron.themoviedbapi.enumeration.PeopleMethod;
+import com.omertron.themoviedbapi.enumeration.TVMethod;
+import com.omertron.themoviedbapi.model.AppendSection;
+import com.omertron.themoviedbapi.model.change.ChangedItem;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.person.PersonInfo;
+import com.omertron.themoviedbapi.model.tv.TVInfo;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test case for BinaryCodec
+ */
+public class BinaryCodecTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryCodecTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @After
+    public void tearDown() {
+        AppendSection.setLazy(false);
+    }
+
+    /**
+     * Read a JSON file from the test resources
+     *
+     * @param name
+     * @return
+     */
+    public static String readResource(String name) {
+        try (InputStream in = BinaryCodecTest.class.getResourceAsStream(name)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read " + name, ex);
+        }
+    }
+
+    private static <T extends Serializable> T roundTrip(Class<T> type, String resource) throws IOException {
+        String json = readResource(resource);
+        T value = MAPPER.readValue(json, type);
+        BinaryCodec<T> codec = new BinaryCodec<>(type);
+        byte[] bytes = codec.encode(value);
+        int serialized = SerializationUtils.serialize(value).length;
+        LOG.info("{}: binary {} bytes, serialised {} bytes, JSON {} bytes", type.getSimpleName(), bytes.length, serialized,
+                json.getBytes(StandardCharsets.UTF_8).length);
+        assertTrue("Should be smaller than Java serialisation", bytes.length < serialized);
+
+        T copy = codec.decode(bytes, 0, bytes.length);
+        assertEquals("Round trip should match", value.toString(), copy.toString());
+        return copy;
+    }
+
+    @Test
+    public void testMovieInfo() throws IOException {
+        LOG.info("MovieInfo Test");
+        MovieInfo movie = roundTrip(MovieInfo.class, "/movie-info.json");
+        assertEquals("Wrong title", "Fight Club", movie.getTitle());
+        assertEquals("Wrong budget", 63000000L, movie.getBudget());
+        assertTrue("Missing credits method", movie.hasMethod(MovieMethod.CREDITS));
+        assertFalse("Unexpected videos method", movie.hasMethod(MovieMethod.VIDEOS));
+        assertEquals("Wrong character", "Tyler Durden", movie.getCast().get(1).getCharacter());
+        assertEquals("Wrong keywords", 4, movie.getKeywords().size());
+        assertTrue("Videos should be empty", movie.getVideos().isEmpty());
+    }
+
+    @Test
+    public void testTVInfo() throws IOException {
+        LOG.info("TVInfo Test");
+        TVInfo tv = roundTrip(TVInfo.class, "/tv-info.json");
+        assertEquals("Wrong name", "Breaking Bad", tv.getName());
+        assertEquals("Wrong run time", Arrays.asList(45, 47), tv.getEpisodeRunTime());
+        assertTrue("Missing external IDs method", tv.hasMethod(TVMethod.EXTERNAL_IDS));
+        assertEquals("Wrong IMDB ID", "tt0903747", tv.getExternalIDs().getImdbId());
+        assertEquals("Wrong seasons", 3, tv.getSeasons().size());
+    }
+
+    @Test
+    public void testPersonInfo() throws IOException {
+        LOG.info("PersonInfo Test");
+        AppendSection.setLazy(true);
+        PersonInfo person = roundTrip(PersonInfo.class, "/person-info.json");
+        assertEquals("Wrong name", "Brad Pitt", person.getName());
+        assertTrue("Missing movie credits method", person.hasMethod(PeopleMethod.MOVIE_CREDITS));
+        assertEquals("Wrong movie credits", 2, person.getMovieCredits().getCast().size());
+        assertEquals("Wrong images", 1, person.getImages().size());
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        LOG.info("Compressed Test");
+        MovieInfo movie = MAPPER.readValue(readResource("/movie-info.json"), MovieInfo.class);
+        BinaryCodec<MovieInfo> plain = new BinaryCodec<>(MovieInfo.class);
+        BinaryCodec<MovieInfo> compressed = new BinaryCodec<>(MovieInfo.class, true);
+
+        byte[] plainBytes = plain.encode(movie);
+        byte[] compressedBytes = compressed.encode(movie);
+        LOG.info("MovieInfo: binary {} bytes, compressed {} bytes", plainBytes.length, compressedBytes.length);
+        assertTrue("Should be smaller when compressed", compressedBytes.length < plainBytes.length);
+
+        // Either codec reads both forms
+        assertEquals("Wrong compressed copy", movie.toString(), plain.decode(compressedBytes, 0, compressedBytes.length).toString());
+        assertEquals("Wrong plain copy", movie.toString(), compressed.decode(plainBytes, 0, plainBytes.length).toString());
+        checkInvalid(compressed, Arrays.copyOf(compressedBytes, compressedBytes.length / 2));
+    }
+
+    /**
+     * The first version of a record, written before the "added" field existed
+     */
+    private static class RecordOne {
+
+        private int id;
+        private String title;
+        private List<String> removed;
+    }
+
+    /**
+     * The second version of the record, with "removed" dropped and "added" new. The name has the same length as the first
+     * version, so the name can be swapped in the encoded bytes
+     */
+    private static class RecordTwo {
+
+        private int id;
+        private String title;
+        private int added = 7;
+    }
+
+    @Test
+    public void testSchemaEvolution() throws IOException {
+        LOG.info("Schema Evolution Test");
+        RecordOne one = new RecordOne();
+        one.id = 550;
+        one.title = "Fight Club";
+        one.removed = Arrays.asList("a", "b");
+        byte[] bytes = renameClass(new BinaryCodec<>(RecordOne.class).encode(one), RecordOne.class, RecordTwo.class);
+
+        RecordTwo two = new BinaryCodec<>(RecordTwo.class).decode(bytes, 0, bytes.length);
+        assertEquals("Wrong ID", 550, two.id);
+        assertEquals("Wrong title", "Fight Club", two.title);
+        assertEquals("New field should keep its default", 7, two.added);
+
+        two.added = 3;
+        bytes = renameClass(new BinaryCodec<>(RecordTwo.class).encode(two), RecordTwo.class, RecordOne.class);
+        one = new BinaryCodec<>(RecordOne.class).decode(bytes, 0, bytes.length);
+        assertEquals("Wrong ID", 550, one.id);
+        assertEquals("Wrong title", "Fight Club", one.title);
+        assertNull("Missing field should keep its default", one.removed);
+    }
+
+    /**
+     * Swap the class name written in the bytes, as if the class had been changed between writing and reading
+     */
+    private static byte[] renameClass(byte[] bytes, Class<?> from, Class<?> to) {
+        byte[] fromName = from.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] toName = to.getName().getBytes(StandardCharsets.UTF_8);
+        assertEquals("Names should be the same length", fromName.length, toName.length);
+        byte[] renamed = bytes.clone();
+        for (int i = 0; i + fromName.length <= renamed.length; i++) {
+            if (Arrays.equals(fromName, Arrays.copyOfRange(renamed, i, i + fromName.length))) {
+                System.arraycopy(toName, 0, renamed, i, toName.length);
+                return renamed;
+            }
+        }
+        fail("Class name not found in the bytes");
+        return bytes;
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        LOG.info("Unsupported Type Test");
+        ChangedItem item = new ChangedItem();
+        item.setValue(new Date());
+        try {
+            new BinaryCodec<>(ChangedItem.class).encode(item);
+            fail("Date should not be supported");
+        } catch (IOException ex) {
+            LOG.trace("Expected: {}", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidBytes() throws IOException {
+        LOG.info("Invalid Bytes Test");
+        BinaryCodec<MovieInfo> codec = new BinaryCodec<>(MovieInfo.class);
+        byte[] bytes = codec.encode(MAPPER.readValue(readResource("/movie-info.json"), MovieInfo.class));
+
+        checkInvalid(codec, Arrays.copyOf(bytes, bytes.length / 2));
+        byte[] newer = bytes.clone();
+        newer[1] = (byte) (BinaryCodec.VERSION + 1);
+        checkInvalid(codec, newer);
+        checkInvalid(codec, new byte[]{1, 2, 3});
+    }
+
+    private static void checkInvalid(BinaryCodec<?> codec, byte[] bytes) {
+        try {
+            codec.decode(bytes, 0, bytes.length);
+            fail("Should not decode");
+        } catch (IOException ex) {
+            LOG.trace("Expected: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.results.ProjectedPage;
+import com.omertron.themoviedbapi.tools.Projection;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.exception.ApiExceptionType;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test case for ChangeInvalidator
+ */
+public class ChangeInvalidatorTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeInvalidatorTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * Invalidator with two pages of movie changes and one of TV changes.
+     *
+     * The changes for today are movies 10, 11, 20 and 21, the earlier changes are movies 11, 12, 21 and 22. Both have TV show
+     * 1399 unless there are no changes today.
+     */
+    private static class TestInvalidator extends ChangeInvalidator {
+
+        private final List<String> requests = new ArrayList<>();
+        private long time = 1450000000000L;
+        private boolean quietToday = false;
+
+        TestInvalidator(ChangeListener listener) {
+            super(null, listener);
+        }
+
+        @Override
+        protected ProjectedPage getChanges(EntityType type, int page, String startDate, String endDate) throws MovieDbException {
+            requests.add(type + "/" + page + "/" + startDate + "/" + endDate);
+            DateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            int offset = endDate.equals(format.format(new Date(time))) ? 0 : 1;
+            String json;
+            if (quietToday && offset == 0) {
+                json = "{\"results\":[],\"page\":1,\"total_pages\":1,\"total_results\":0}";
+            } else if (type == EntityType.MOVIE) {
+                json = "{\"results\":[{\"id\":" + (page * 10 + offset) + ",\"adult\":false},{\"id\":" + (page * 10 + offset + 1)
+                        + ",\"adult\":false}],\"page\":" + page + ",\"total_pages\":2,\"total_results\":4}";
+            } else if (type == EntityType.TV) {
+                json = "{\"results\":[{\"id\":1399}],\"page\":1,\"total_pages\":1,\"total_results\":1}";
+            } else {
+                json = "{\"results\":[],\"page\":1,\"total_pages\":0,\"total_results\":0}";
+            }
+
+            try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+                return ProjectedPage.read(parser, Projection.CHANGES);
+            } catch (IOException ex) {
+                throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to read changes", "", ex);
+            }
+        }
+
+        @Override
+        protected long now() {
+            return time;
+        }
+    }
+
+    @Test
+    public void testPoll() throws MovieDbException {
+        LOG.info("Poll Test");
+        final List<String> changed = new ArrayList<>();
+        TestInvalidator invalidator = new TestInvalidator(new ChangeListener() {
+            @Override
+            public void changed(EntityType type, int[] ids, long loadedBefore) {
+                changed.add(type + Arrays.toString(ids));
+            }
+
+            @Override
+            public void changesMissed(long loadedBefore) {
+                changed.add("ALL");
+            }
+        });
+
+        invalidator.setLastPollDate("2015-12-10");
+        assertEquals("Wrong change count", 7, invalidator.poll());
+        assertEquals("Wrong requests", Arrays.asList(
+                "MOVIE/1/2015-12-13/2015-12-13", "MOVIE/2/2015-12-13/2015-12-13",
+                "MOVIE/1/2015-12-10/2015-12-12", "MOVIE/2/2015-12-10/2015-12-12",
+                "TV/1/2015-12-13/2015-12-13", "TV/1/2015-12-10/2015-12-12",
+                "PERSON/1/2015-12-13/2015-12-13", "PERSON/1/2015-12-10/2015-12-12"), invalidator.requests);
+        assertEquals("Wrong changes", Arrays.asList("MOVIE[10, 11]", "MOVIE[20, 21]", "MOVIE[12]", "MOVIE[22]", "TV[1399]"),
+                changed);
+        assertEquals("Wrong last poll date", "2015-12-13", invalidator.getLastPollDate());
+    }
+
+    @Test
+    public void testSeenIds() throws MovieDbException {
+        LOG.info("Seen IDs Test");
+        final List<String> changed = new ArrayList<>();
+        final List<Long> times = new ArrayList<>();
+        TestInvalidator invalidator = new TestInvalidator(new ChangeListener() {
+            @Override
+            public void changed(EntityType type, int[] ids, long loadedBefore) {
+                changed.add(type + Arrays.toString(ids));
+                times.add(loadedBefore);
+            }
+
+            @Override
+            public void changesMissed(long loadedBefore) {
+                changed.add("ALL");
+            }
+        });
+
+        assertEquals("Wrong change count", 5, invalidator.poll());
+        long firstPoll = invalidator.time;
+
+        // Later polls on the same day skip the IDs already passed on
+        invalidator.time += TimeUnit.HOURS.toMillis(1);
+        assertEquals("Seen IDs should be skipped", 0, invalidator.poll());
+        assertEquals("Wrong changes", Arrays.asList("MOVIE[10, 11]", "MOVIE[20, 21]", "TV[1399]"), changed);
+        assertEquals("Wrong change time", Arrays.asList(firstPoll, firstPoll, firstPoll), times);
+
+        // The next day the changes from yesterday that were already seen are skipped
+        changed.clear();
+        invalidator.time += TimeUnit.DAYS.toMillis(1);
+        invalidator.quietToday = true;
+        assertEquals("Wrong change count", 2, invalidator.poll());
+        assertEquals("Wrong changes", Arrays.asList("MOVIE[12]", "MOVIE[22]"), changed);
+    }
+
+    @Test
+    public void testMissedChanges() throws MovieDbException {
+        LOG.info("Missed Changes Test");
+        final List<String> changed = new ArrayList<>();
+        TestInvalidator invalidator = new TestInvalidator(new ChangeListener() {
+            @Override
+            public void changed(EntityType type, int[] ids, long loadedBefore) {
+                changed.add(type + Arrays.toString(ids));
+            }
+
+            @Override
+            public void changesMissed(long loadedBefore) {
+                changed.add("ALL");
+            }
+        });
+
+        // The feed only covers 14 days, so the earlier changes are missed
+        invalidator.setLastPollDate("2015-11-01");
+        assertEquals("Wrong change count", 7, invalidator.poll());
+        assertEquals("Wrong earliest request", "MOVIE/1/2015-11-30/2015-12-12", invalidator.requests.get(2));
+        assertEquals("Wrong changes", Arrays.asList("ALL", "MOVIE[10, 11]", "MOVIE[20, 21]", "MOVIE[12]", "MOVIE[22]", "TV[1399]"),
+                changed);
+
+        // Two weeks back is still covered
+        changed.clear();
+        invalidator.requests.clear();
+        invalidator.setLastPollDate("2015-11-30");
+        invalidator.poll();
+        assertEquals("Wrong earliest request", "MOVIE/1/2015-11-30/2015-12-12", invalidator.requests.get(2));
+        assertEquals("Nothing should be missed", "MOVIE[10, 11]", changed.get(0));
+    }
+}
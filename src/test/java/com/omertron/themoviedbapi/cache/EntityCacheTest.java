@@ -0,0 +1,282 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.enumeration.MovieMethod;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.exception.ApiExceptionType;
+import org.yamj.api.common.http.SimpleHttpClientBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test case for EntityCache
+ */
+public class EntityCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * API that builds the movie from JSON and records the sections asked for
+     */
+    private static class FakeApi extends TheMovieDbApi {
+
+        private final List<String> requests = new ArrayList<>();
+
+        FakeApi() throws MovieDbException {
+            super("key", new SimpleHttpClientBuilder().build());
+        }
+
+        @Override
+        public MovieInfo getMovieInfo(int movieId, String language, String... appendToResponse) throws MovieDbException {
+            String append = StringUtils.join(appendToResponse, ",");
+            requests.add(append);
+            if (movieId <= 0) {
+                throw new MovieDbException(ApiExceptionType.ID_NOT_FOUND, "No movie found for ID: " + movieId);
+            }
+
+            StringBuilder json = new StringBuilder("{\"id\":").append(movieId).append(",\"title\":\"Title\"");
+            for (String section : StringUtils.split(append, ',')) {
+                switch (section) {
+                    case "credits":
+                        json.append(",\"credits\":{\"cast\":[{\"id\":1,\"name\":\"Actor\"}],\"crew\":[]}");
+                        break;
+                    case "keywords":
+                        json.append(",\"keywords\":{\"keywords\":[{\"id\":2,\"name\":\"keyword\"}]}");
+                        break;
+                    case "images":
+                        json.append(",\"images\":{\"posters\":[{\"file_path\":\"/a.jpg\"}],\"backdrops\":[]}");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            json.append('}');
+
+            try {
+                return MAPPER.readValue(json.toString(), MovieInfo.class);
+            } catch (IOException ex) {
+                throw new MovieDbException(ApiExceptionType.MAPPING_FAILED, "Failed to map movie", "", ex);
+            }
+        }
+    }
+
+    @Test
+    public void testSubsetHit() throws MovieDbException {
+        LOG.info("Subset Hit Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api);
+
+        MovieInfo first = cache.getMovieInfo(603, "en", "credits,images");
+        MovieInfo second = cache.getMovieInfo(603, "en", "credits");
+        MovieInfo third = cache.getMovieInfo(603, "en");
+
+        assertSame("Should be served from the cache", first, second);
+        assertSame("Should be served from the cache", first, third);
+        assertEquals("Wrong requests", Arrays.asList("credits,images"), api.requests);
+        assertEquals("Wrong hits", 2, cache.getHits());
+
+        cache.getMovieInfo(603, "de", "credits");
+        assertEquals("Languages should be cached separately", 2, api.requests.size());
+    }
+
+    @Test
+    public void testPartialHit() throws MovieDbException {
+        LOG.info("Partial Hit Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api);
+
+        cache.getMovieInfo(603, "en", "credits");
+        MovieInfo movie = cache.getMovieInfo(603, "en", "credits", "keywords");
+
+        assertEquals("Should only fetch the missing section", Arrays.asList("credits", "keywords"), api.requests);
+        assertEquals("Wrong partial hits", 1, cache.getPartialHits());
+        assertTrue("Missing credits", movie.hasMethod(MovieMethod.CREDITS));
+        assertTrue("Missing keywords", movie.hasMethod(MovieMethod.KEYWORDS));
+        assertEquals("Wrong cast", "Actor", movie.getCast().get(0).getName());
+        assertEquals("Wrong keyword", "keyword", movie.getKeywords().get(0).getName());
+
+        assertSame("Merged movie should be cached", movie, cache.getMovieInfo(603, "en", "keywords,credits"));
+    }
+
+    @Test
+    public void testPartialHitLoadTime() throws MovieDbException {
+        LOG.info("Partial Hit Load Time Test");
+        FakeApi api = new FakeApi();
+        final long[] time = {1000L};
+        EntityCache cache = new EntityCache(api, 10, 1000, TimeUnit.MILLISECONDS) {
+            @Override
+            protected long now() {
+                return time[0];
+            }
+        };
+
+        cache.getMovieInfo(603, "en", "credits");
+        time[0] = 1500L;
+        cache.getMovieInfo(603, "en", "keywords");
+
+        // The credits were loaded before the change, so the merged entry must go
+        cache.changed(EntityCache.EntityType.MOVIE, new int[]{603}, 1200L);
+        assertEquals("Merged entry should be removed by the change", 0, cache.size());
+
+        cache.getMovieInfo(603, "en", "credits");
+        time[0] = 1900L;
+        cache.getMovieInfo(603, "en", "credits", "keywords");
+        time[0] = 2600L;
+        cache.getMovieInfo(603, "en", "keywords");
+        assertEquals("Merged entry should expire with the oldest section", 5, api.requests.size());
+    }
+
+    @Test
+    public void testInvalidate() throws MovieDbException {
+        LOG.info("Invalidate Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api, 2, 1, TimeUnit.HOURS);
+
+        cache.getMovieInfo(1, "en");
+        cache.getMovieInfo(1, "fr");
+        assertEquals("Wrong removed count", 2, cache.invalidate(EntityCache.EntityType.MOVIE, 1));
+        cache.getMovieInfo(1, "en");
+        assertEquals("Should reload after invalidate", 3, api.requests.size());
+
+        cache.getMovieInfo(2, "en");
+        cache.getMovieInfo(3, "en");
+        assertEquals("Should be limited to the maximum entries", 2, cache.size());
+    }
+
+    @Test
+    public void testNegativeCache() throws MovieDbException {
+        LOG.info("Negative Cache Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api);
+        cache.setNegativeCache(new NegativeCache());
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                cache.getMovieInfo(-1, "en");
+                fail("Movie should not be found");
+            } catch (MovieDbException ex) {
+                assertEquals("Wrong exception", ApiExceptionType.ID_NOT_FOUND, ex.getExceptionType());
+            }
+        }
+        assertEquals("Should only request once", 1, api.requests.size());
+
+        cache.getNegativeCache().invalidate(EntityCache.EntityType.MOVIE, -1);
+        try {
+            cache.getMovieInfo(-1, "en");
+        } catch (MovieDbException ex) {
+            LOG.trace("Expected: {}", ex.getMessage());
+        }
+        assertEquals("Should request again after invalidate", 2, api.requests.size());
+    }
+
+    @Test
+    public void testChanged() throws MovieDbException {
+        LOG.info("Changed Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api);
+
+        cache.getMovieInfo(550, "en");
+        cache.getMovieInfo(603, "en");
+        cache.getMovieInfo(603, "fr");
+
+        // Entries loaded after the change time are kept
+        cache.changed(EntityCache.EntityType.MOVIE, new int[]{603}, 0L);
+        assertEquals("Nothing should be removed", 3, cache.size());
+
+        cache.changed(EntityCache.EntityType.TV, new int[]{550}, Long.MAX_VALUE);
+        assertEquals("Wrong type should be ignored", 3, cache.size());
+
+        cache.changed(EntityCache.EntityType.MOVIE, new int[]{700, 603}, Long.MAX_VALUE);
+        assertEquals("Changed movie should be removed", 1, cache.size());
+    }
+
+    @Test
+    public void testOffHeapTier() throws MovieDbException {
+        LOG.info("Off Heap Tier Test");
+        FakeApi api = new FakeApi();
+        EntityCache cache = new EntityCache(api, 1, 1, TimeUnit.HOURS);
+        cache.enableOffHeapTier(1024 * 1024, 64 * 1024);
+
+        cache.getMovieInfo(550, "en", "credits");
+        cache.getMovieInfo(603, "en");
+        assertEquals("Evicted movie should be in the tier", 1, cache.getOffHeapTier().size());
+
+        MovieInfo movie = cache.getMovieInfo(550, "en", "credits");
+        assertEquals("Should be served from the tier", 2, api.requests.size());
+        assertEquals("Wrong title", "Title", movie.getTitle());
+        assertEquals("Wrong cast", "Actor", movie.getCast().get(0).getName());
+        assertEquals("Wrong tier hits", 1, cache.getOffHeapTier().getHits());
+
+        assertEquals("Wrong removed count", 1, cache.invalidate(EntityCache.EntityType.MOVIE, 603));
+        assertEquals("Tier should be empty", 0, cache.getOffHeapTier().size());
+    }
+
+    @Test
+    public void testOffHeapTierInvalidated() throws MovieDbException {
+        LOG.info("Off Heap Tier Invalidated Test");
+        FakeApi api = new FakeApi();
+        final boolean[] changeOnNextCall = {false};
+        final EntityCache[] holder = new EntityCache[1];
+        EntityCache cache = new EntityCache(api, 1, 1, TimeUnit.HOURS) {
+            @Override
+            protected long now() {
+                // Called after the entry is decoded from the tier, before it is put back on the heap
+                if (changeOnNextCall[0]) {
+                    changeOnNextCall[0] = false;
+                    holder[0].changed(EntityCache.EntityType.MOVIE, new int[]{550}, Long.MAX_VALUE);
+                }
+                return super.now();
+            }
+        };
+        holder[0] = cache;
+        cache.enableOffHeapTier(1024 * 1024, 64 * 1024);
+
+        cache.getMovieInfo(550, "en");
+        cache.getMovieInfo(603, "en");
+        assertEquals("Evicted movie should be in the tier", 1, cache.getOffHeapTier().size());
+
+        changeOnNextCall[0] = true;
+        cache.getMovieInfo(550, "en");
+        assertEquals("Changed movie should be loaded again", 3, api.requests.size());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.TestLogger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test case for IntIntMap
+ */
+public class IntIntMapTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntIntMapTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testPutGet() {
+        LOG.info("Put Get Test");
+        IntIntMap map = new IntIntMap(0);
+        assertEquals("Should be empty", 0, map.size());
+        assertEquals("Wrong previous", IntIntMap.MISSING, map.put(550, 1000));
+        assertEquals("Wrong previous", IntIntMap.MISSING, map.put(0, 0));
+        assertEquals("Wrong previous", IntIntMap.MISSING, map.put(-1, 7));
+        assertEquals("Wrong previous", 1000, map.put(550, 2000));
+
+        assertEquals("Wrong size", 3, map.size());
+        assertEquals("Wrong value", 2000, map.get(550));
+        assertEquals("Wrong value", 0, map.get(0));
+        assertEquals("Wrong value", 7, map.get(-1));
+        assertEquals("Unknown key", IntIntMap.MISSING, map.get(551));
+
+        map.clear();
+        assertEquals("Should be empty", 0, map.size());
+        assertEquals("Should be cleared", IntIntMap.MISSING, map.get(550));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingValue() {
+        LOG.info("Missing Value Test");
+        new IntIntMap(8).put(1, IntIntMap.MISSING);
+    }
+
+    @Test
+    public void testGrow() {
+        LOG.info("Grow Test");
+        IntIntMap map = new IntIntMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(200000) - 1000;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals("Wrong size", expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals("Wrong value for " + entry.getKey(), entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+        map.clear();
+        assertEquals("Should be empty", 0, map.size());
+        map.put(1, 2);
+        assertEquals("Wrong value after clear", 2, map.get(1));
+    }
+}
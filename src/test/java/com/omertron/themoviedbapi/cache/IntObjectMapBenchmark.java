@@ -0,0 +1,158 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares IntObjectMap with HashMap and ConcurrentHashMap for looking up and adding TMDb IDs.
+ *
+ * Run with "mvn test-compile exec:exec -P benchmark -Dbenchmark=IntObjectMapBenchmark", the "gc.alloc.rate.norm" lines of the
+ * fill benchmarks give the bytes allocated to build each map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntObjectMapBenchmark {
+
+    private static final int LOOKUPS = 1024;
+    @Param({"10000", "1000000"})
+    private int size;
+    private int[] ids;
+    private int[] lookups;
+    private final Object value = new Object();
+    private IntObjectMap<Object> intMap;
+    private Map<Integer, Object> hashMap;
+    private Map<Integer, Object> concurrentMap;
+
+    @Setup
+    public void setUp() {
+        // IDs spread over the range used by TMDb, looked up in a random order
+        Random random = new Random(42);
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 1 + random.nextInt(500000) + i * 3;
+        }
+        lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = ids[random.nextInt(size)];
+        }
+        intMap = fillIntMap();
+        hashMap = fillHashMap();
+        concurrentMap = fillConcurrentMap();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int getIntMap() {
+        int found = 0;
+        for (int id : lookups) {
+            if (intMap.get(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int getHashMap() {
+        int found = 0;
+        for (int id : lookups) {
+            if (hashMap.get(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int getConcurrentMap() {
+        int found = 0;
+        for (int id : lookups) {
+            if (concurrentMap.get(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(LOOKUPS)
+    public int getIntMapThreads() {
+        return getIntMap();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(LOOKUPS)
+    public int getConcurrentMapThreads() {
+        return getConcurrentMap();
+    }
+
+    @Benchmark
+    public IntObjectMap<Object> fillIntMap() {
+        IntObjectMap<Object> map = new IntObjectMap<>();
+        for (int id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> fillHashMap() {
+        Map<Integer, Object> map = new HashMap<>();
+        for (int id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> fillConcurrentMap() {
+        Map<Integer, Object> map = new ConcurrentHashMap<>();
+        for (int id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.TestLogger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for IntObjectMap
+ */
+public class IntObjectMapTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IntObjectMapTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        LOG.info("Put Get Remove Test");
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertTrue("Should be empty", map.isEmpty());
+        assertNull("Wrong previous", map.put(550, "Fight Club"));
+        assertNull("Wrong previous", map.put(0, "Zero"));
+        assertNull("Wrong previous", map.put(-1, "Negative"));
+        assertEquals("Wrong previous", "Fight Club", map.put(550, "Fight Club (1999)"));
+        assertEquals("Wrong current", "Zero", map.putIfAbsent(0, "Other"));
+
+        assertEquals("Wrong size", 3, map.size());
+        assertEquals("Wrong value", "Fight Club (1999)", map.get(550));
+        assertEquals("Wrong value", "Zero", map.get(0));
+        assertEquals("Wrong value", "Negative", map.get(-1));
+        assertNull("Unknown key", map.get(551));
+
+        assertEquals("Wrong removed", "Zero", map.remove(0));
+        assertNull("Already removed", map.remove(0));
+        assertFalse("Should be removed", map.containsKey(0));
+        assertEquals("Wrong size", 2, map.size());
+        assertNull("Wrong previous", map.putIfAbsent(0, "Again"));
+        assertEquals("Wrong value", "Again", map.get(0));
+
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals("Wrong keys", new int[]{-1, 0, 550}, keys);
+
+        final AtomicInteger total = new AtomicInteger();
+        map.forEach(new IntObjectMap.Visitor<String>() {
+            @Override
+            public void visit(int key, String value) {
+                total.addAndGet(key);
+            }
+        });
+        assertEquals("Wrong visited keys", 549, total.get());
+
+        map.clear();
+        assertEquals("Wrong size after clear", 0, map.size());
+        assertNull("Should be cleared", map.get(550));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        LOG.info("Null Value Test");
+        new IntObjectMap<String>().put(1, null);
+    }
+
+    @Test
+    public void testRandom() {
+        LOG.info("Random Test");
+        Random random = new Random(7);
+        IntObjectMap<Integer> map = new IntObjectMap<>(16, 4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(20000);
+            if (random.nextInt(3) == 0) {
+                assertEquals("Wrong removed", expected.remove(key), map.remove(key));
+            } else {
+                assertEquals("Wrong previous", expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals("Wrong size", expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals("Wrong value", entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals("Wrong key count", expected.size(), map.keys().length);
+    }
+
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        LOG.info("Concurrent Reads Test");
+        final IntObjectMap<Integer> map = new IntObjectMap<>();
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicInteger errors = new AtomicInteger();
+        for (int key = 0; key < 1000; key++) {
+            map.put(key, key);
+        }
+
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!done.get()) {
+                        for (int key = 0; key < 1000; key++) {
+                            // The first 1000 keys are never changed
+                            Integer value = map.get(key);
+                            if (value == null || value != key) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            });
+            readers[t].start();
+        }
+
+        // Grow and churn the map while it is being read
+        for (int key = 1000; key < 200000; key++) {
+            map.put(key, key);
+            if (key % 3 == 0 && key >= 1500) {
+                map.remove(key - 500);
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals("Readers saw wrong values", 0, errors.get());
+    }
+}
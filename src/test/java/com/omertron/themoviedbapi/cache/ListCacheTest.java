@@ -0,0 +1,159 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.http.SimpleHttpClientBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for ListCache
+ */
+public class ListCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ListCacheTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * API that counts the requests for the popular list
+     */
+    private static class FakeApi extends TheMovieDbApi {
+
+        private int requests = 0;
+
+        FakeApi() throws MovieDbException {
+            super("key", new SimpleHttpClientBuilder().build());
+        }
+
+        @Override
+        public ResultList<MovieInfo> getPopularMovieList(Integer page, String language) throws MovieDbException {
+            requests++;
+            ResultList<MovieInfo> results = new ResultList<>(Collections.<MovieInfo>emptyList());
+            results.setPage(page);
+            return results;
+        }
+    }
+
+    /**
+     * List cache with a clock and executor controlled by the test
+     */
+    private static class TestCache extends ListCache {
+
+        private long time = 1000L;
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        TestCache(TheMovieDbApi api) {
+            super(api, 10, 60, TimeUnit.MILLISECONDS, 2);
+        }
+
+        @Override
+        protected CachedValue<ResultList<?>> createValue() {
+            CachedValue<ResultList<?>> value = new CachedValue<ResultList<?>>(60, 50, TimeUnit.MILLISECONDS) {
+                @Override
+                protected long now() {
+                    return time;
+                }
+            };
+            value.setBlockWhenExpired(true);
+            value.setExecutor(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    tasks.add(command);
+                }
+            });
+            return value;
+        }
+
+        void runTasks() {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            tasks.clear();
+        }
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() throws MovieDbException {
+        LOG.info("Stale While Revalidate Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api);
+
+        ResultList<MovieInfo> first = cache.getPopularMovieList(1, "en");
+        assertSame("Should be cached", first, cache.getPopularMovieList(1, "en"));
+        assertTrue("Age should be known", first.getAge() >= 0);
+
+        // Past the soft time the stale list is returned and one refresh queued
+        cache.time += 20;
+        assertSame("Should return the stale list", first, cache.getPopularMovieList(1, "en"));
+        assertSame("Should return the stale list", first, cache.getPopularMovieList(1, "en"));
+        assertEquals("Wrong refreshes queued", 1, cache.tasks.size());
+        cache.runTasks();
+        assertEquals("Wrong requests", 2, api.requests);
+        ResultList<MovieInfo> second = cache.getPopularMovieList(1, "en");
+        assertNotSame("Should return the refreshed list", first, second);
+
+        // Past the hard time the caller waits for the list
+        cache.time += 100;
+        assertNotSame("Should load a new list", second, cache.getPopularMovieList(1, "en"));
+        assertEquals("Wrong requests", 3, api.requests);
+    }
+
+    @Test
+    public void testMaxLists() throws MovieDbException {
+        LOG.info("Max Lists Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api);
+
+        for (int page = 1; page <= 3; page++) {
+            cache.getPopularMovieList(page, "en");
+            cache.getPopularMovieList(page, "en");
+        }
+        assertEquals("Wrong number of lists", 2, cache.size());
+        assertEquals("Uncached page should be loaded each time", 4, api.requests);
+
+        // Once the lists have expired they make room for new ones
+        cache.time += 100;
+        cache.getPopularMovieList(3, "en");
+        cache.getPopularMovieList(3, "en");
+        assertEquals("Expired lists should be removed", 1, cache.size());
+        assertEquals("New page should be cached", 5, api.requests);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.cache.MediaCatalog.Sort;
+import com.omertron.themoviedbapi.enumeration.MediaType;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.ResultList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for MediaCatalog
+ */
+public class MediaCatalogTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MediaCatalogTest.class);
+    private static final int SCIENCE_FICTION = 878;
+    private static final int DRAMA = 18;
+    private static final int ACTION = 28;
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testQuery() {
+        LOG.info("Query Test");
+        List<MovieBasic> page = new ArrayList<>();
+        page.add(movie(1, "1999-03-31", 8.1f, 12000, "en", SCIENCE_FICTION, ACTION));
+        page.add(movie(2, "1997-07-11", 6.9f, 4000, "en", SCIENCE_FICTION, DRAMA));
+        page.add(movie(3, "1995-09-22", 7.4f, 300, "en", SCIENCE_FICTION));
+        page.add(movie(4, "2010-07-16", 8.3f, 20000, "en", SCIENCE_FICTION, ACTION));
+        page.add(movie(5, "1991-07-03", 8.0f, 6000, "en", ACTION));
+        page.add(movie(6, "1990-01-01", 7.7f, 900, "fr", SCIENCE_FICTION));
+        page.add(movie(7, null, 9.0f, 10000, "en", SCIENCE_FICTION));
+
+        MediaCatalog catalog = new MediaCatalog();
+        assertEquals("Wrong added", 7, catalog.addAll(ResultList.wrap(page)));
+        assertEquals("Wrong size", 7, catalog.size());
+
+        int[] ids = catalog.query(MediaType.MOVIE)
+                .withGenres(SCIENCE_FICTION)
+                .releasedInYears(1990, 1999)
+                .minVoteCount(500)
+                .orderBy(Sort.VOTE_AVERAGE, true)
+                .ids();
+        assertArrayEquals("Wrong top rated", new int[]{1, 6, 2}, ids);
+
+        assertArrayEquals("Wrong language", new int[]{1, 2}, catalog.query(MediaType.MOVIE)
+                .withGenres(SCIENCE_FICTION).releasedBetween("1990-01-01", "1999-12-31").minVoteCount(500).language("en")
+                .orderBy(Sort.RELEASE_DATE, true).ids());
+        assertArrayEquals("Wrong all genres", new int[]{1, 4}, catalog.query(MediaType.MOVIE)
+                .withGenres(SCIENCE_FICTION, ACTION).ids());
+        assertArrayEquals("Wrong limit", new int[]{4}, catalog.query(MediaType.MOVIE)
+                .orderBy(Sort.VOTE_COUNT, true).limit(1).ids());
+        assertEquals("Unknown genre should not match", 0, catalog.query(MediaType.MOVIE).withGenres(99).count());
+        assertEquals("Unknown language should not match", 0, catalog.query(MediaType.MOVIE).language("xx").count());
+        assertEquals("No TV shows", 0, catalog.query(MediaType.TV).count());
+
+        // Replace a movie and add a TV show with the same ID
+        catalog.add(movie(3, "1995-09-22", 7.4f, 800, "en", SCIENCE_FICTION));
+        TVBasic tv = new TVBasic();
+        tv.setId(1);
+        tv.setFirstAirDate("1993-09-10");
+        tv.setVoteCount(1000);
+        tv.setGenreIds(new int[]{SCIENCE_FICTION});
+        catalog.add(tv);
+        assertEquals("Wrong size", 8, catalog.size());
+        assertEquals("Wrong replaced", 4, catalog.query(MediaType.MOVIE).withGenres(SCIENCE_FICTION)
+                .releasedInYears(1990, 1999).minVoteCount(500).count());
+        assertArrayEquals("Wrong TV", new int[]{1}, catalog.query(MediaType.TV).releasedInYears(1990, 1999).ids());
+    }
+
+    @Test
+    public void testChanged() {
+        LOG.info("Changed Test");
+        MediaCatalog catalog = new MediaCatalog();
+        catalog.add(movie(1, "1999-03-31", 8.1f, 12000, "en", SCIENCE_FICTION));
+        catalog.add(movie(2, "1997-07-11", 6.9f, 4000, "en", SCIENCE_FICTION));
+
+        catalog.changed(EntityType.TV, new int[]{1}, System.currentTimeMillis());
+        assertTrue("TV change should not remove a movie", catalog.contains(MediaType.MOVIE, 1));
+        catalog.changed(EntityType.MOVIE, new int[]{1, 3}, System.currentTimeMillis());
+        assertFalse("Changed movie should be removed", catalog.contains(MediaType.MOVIE, 1));
+        assertEquals("Wrong size", 1, catalog.size());
+        assertArrayEquals("Wrong IDs", new int[]{2}, catalog.query(MediaType.MOVIE).ids());
+
+        catalog.add(movie(1, "1999-03-31", 8.1f, 12000, "en", SCIENCE_FICTION));
+        assertEquals("Wrong size after adding again", 2, catalog.size());
+    }
+
+    @Test
+    public void testParallel() {
+        LOG.info("Parallel Test");
+        Random random = new Random(42);
+        MediaCatalog catalog = new MediaCatalog();
+        int[] genreIds = {12, 14, 16, 18, 27, 28, 35, 53, 80, 99, 878, 10402, 10749, 10751, 10752, 10770};
+        for (int id = 1; id <= 200000; id++) {
+            int genre1 = genreIds[random.nextInt(genreIds.length)];
+            int genre2 = genreIds[random.nextInt(genreIds.length)];
+            String date = String.format("%04d-%02d-%02d", 1950 + random.nextInt(70), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            catalog.add(movie(id, date, random.nextInt(100) / 10f, random.nextInt(5000), random.nextBoolean() ? "en" : "ja",
+                    genre1, genre2));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MediaCatalog.Query query = catalog.query(MediaType.MOVIE).withGenres(SCIENCE_FICTION).releasedInYears(1990, 1999)
+                    .minVoteCount(500).orderBy(Sort.VOTE_AVERAGE, true);
+            long start = System.nanoTime();
+            int[] sequential = query.ids();
+            long sequentialTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            int[] parallel = query.parallel(pool).ids();
+            long parallelTime = System.nanoTime() - start;
+            LOG.info("Matched {} of {} rows, sequential {}us, parallel {}us", sequential.length, catalog.size(),
+                    sequentialTime / 1000, parallelTime / 1000);
+
+            assertTrue("Should have matches", sequential.length > 0);
+            assertTrue("Parallel results should match", Arrays.equals(sequential, parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEpochDay() {
+        LOG.info("Epoch Day Test");
+        assertEquals("Wrong epoch", 0, MediaCatalog.toEpochDay("1970-01-01"));
+        assertEquals("Wrong leap day", 11016, MediaCatalog.toEpochDay("2000-02-29"));
+        assertEquals("Wrong date before epoch", -1, MediaCatalog.toEpochDay("1969-12-31"));
+        assertEquals("Blank date", MediaCatalog.NO_DATE, MediaCatalog.toEpochDay(""));
+        assertEquals("Invalid date", MediaCatalog.NO_DATE, MediaCatalog.toEpochDay("19xx-01-01"));
+    }
+
+    private static MovieBasic movie(int id, String releaseDate, float voteAverage, int voteCount, String language,
+            int... genreIds) {
+        MovieBasic movie = new MovieBasic();
+        movie.setId(id);
+        movie.setReleaseDate(releaseDate);
+        movie.setVoteAverage(voteAverage);
+        movie.setVoteCount(voteCount);
+        movie.setOriginalLanguage(language);
+        movie.setGenreIds(genreIds);
+        return movie;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.model.AbstractJsonMapping;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.person.PersonInfo;
+import com.omertron.themoviedbapi.model.tv.TVInfo;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the binary codec with Java serialisation and the JSON response for reading and writing the models.
+ *
+ * Run with "mvn test-compile exec:exec -P benchmark".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelCodecBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    @Param({"movie", "tv", "person"})
+    private String model;
+    private Class<? extends AbstractJsonMapping> type;
+    private BinaryCodec<AbstractJsonMapping> codec;
+    private AbstractJsonMapping value;
+    private String json;
+    private byte[] binary;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (model) {
+            case "movie":
+                type = MovieInfo.class;
+                break;
+            case "tv":
+                type = TVInfo.class;
+                break;
+            default:
+                type = PersonInfo.class;
+                break;
+        }
+        json = BinaryCodecTest.readResource("/" + model + "-info.json");
+        value = mapper.readValue(json, type);
+        codec = new BinaryCodec<>(AbstractJsonMapping.class);
+        binary = codec.encode(value);
+        serialized = SerializationUtils.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] binaryWrite() throws IOException {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object binaryRead() throws IOException {
+        return codec.decode(binary, 0, binary.length);
+    }
+
+    @Benchmark
+    public byte[] serializableWrite() {
+        return SerializationUtils.serialize(value);
+    }
+
+    @Benchmark
+    public Object serializableRead() {
+        return SerializationUtils.deserialize(serialized);
+    }
+
+    @Benchmark
+    public Object jsonRead() throws IOException {
+        return mapper.readValue(json, type);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.enumeration.ExternalSource;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.exception.ApiExceptionType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for NegativeCache
+ */
+public class NegativeCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NegativeCacheTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * Negative cache with a clock that is moved by the test
+     */
+    private static class TestCache extends NegativeCache {
+
+        private long time = 1000L;
+
+        TestCache(int maxEntries) {
+            super(maxEntries, 100, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected long now() {
+            return time;
+        }
+    }
+
+    @Test
+    public void testMissing() {
+        LOG.info("Missing Test");
+        TestCache cache = new TestCache(100);
+        cache.markMissing(EntityType.MOVIE, 603);
+        cache.markMissing(ExternalSource.IMDB_ID, "tt0000000");
+
+        assertTrue("Should be missing", cache.isMissing(EntityType.MOVIE, 603));
+        assertFalse("Different type", cache.isMissing(EntityType.TV, 603));
+        assertFalse("Different ID", cache.isMissing(EntityType.MOVIE, 604));
+        assertTrue("Should be missing", cache.isMissing(ExternalSource.IMDB_ID, "tt0000000"));
+
+        cache.time += 100;
+        assertFalse("Should have expired", cache.isMissing(EntityType.MOVIE, 603));
+    }
+
+    @Test
+    public void testInvalidate() {
+        LOG.info("Invalidate Test");
+        TestCache cache = new TestCache(100);
+        cache.markMissing(EntityType.PERSON, 1);
+        cache.markMissing(ExternalSource.TVDB_ID, "123");
+
+        assertTrue("Should remove the ID", cache.invalidate(EntityType.PERSON, 1));
+        assertFalse("Should not be missing", cache.isMissing(EntityType.PERSON, 1));
+        assertEquals("Wrong external removed", 1, cache.invalidateExternal());
+        assertEquals("Should be empty", 0, cache.size());
+    }
+
+    @Test
+    public void testChanged() {
+        LOG.info("Changed Test");
+        TestCache cache = new TestCache(100);
+        cache.setExternalCacheTime(50, TimeUnit.MILLISECONDS);
+        cache.markMissing(EntityType.MOVIE, 603);
+        cache.markMissing(EntityType.MOVIE, 604);
+        cache.markMissing(ExternalSource.IMDB_ID, "tt0000000");
+
+        cache.changed(EntityType.MOVIE, new int[]{603, 700}, Long.MAX_VALUE);
+        assertFalse("Changed ID should be removed", cache.isMissing(EntityType.MOVIE, 603));
+        assertTrue("Unchanged ID should be kept", cache.isMissing(EntityType.MOVIE, 604));
+        assertTrue("External miss should be kept", cache.isMissing(ExternalSource.IMDB_ID, "tt0000000"));
+
+        cache.time += 50;
+        assertFalse("External miss should have expired", cache.isMissing(ExternalSource.IMDB_ID, "tt0000000"));
+        assertTrue("ID miss should be kept", cache.isMissing(EntityType.MOVIE, 604));
+    }
+
+    @Test
+    public void testChangesMissed() {
+        LOG.info("Changes Missed Test");
+        TestCache cache = new TestCache(100);
+        cache.markMissing(EntityType.MOVIE, 603);
+        cache.markMissing(ExternalSource.IMDB_ID, "tt0000000");
+        cache.time += 10;
+        cache.markMissing(EntityType.TV, 1399);
+
+        cache.changesMissed(cache.time);
+        assertFalse("Older ID miss should be removed", cache.isMissing(EntityType.MOVIE, 603));
+        assertTrue("Newer ID miss should be kept", cache.isMissing(EntityType.TV, 1399));
+        assertTrue("External miss should be kept", cache.isMissing(ExternalSource.IMDB_ID, "tt0000000"));
+    }
+
+    @Test
+    public void testBounded() {
+        LOG.info("Bounded Test");
+        TestCache cache = new TestCache(10);
+        for (int id = 0; id < 1000; id++) {
+            cache.markMissing(EntityType.MOVIE, id);
+        }
+        assertEquals("Wrong size", 10, cache.size());
+        assertFalse("Oldest should be removed", cache.isMissing(EntityType.MOVIE, 0));
+        assertTrue("Newest should be kept", cache.isMissing(EntityType.MOVIE, 999));
+    }
+
+    @Test
+    public void testNotFound() {
+        LOG.info("Not Found Test");
+        assertTrue("ID not found", NegativeCache.isNotFound(new MovieDbException(ApiExceptionType.ID_NOT_FOUND, "")));
+        assertTrue("404", NegativeCache.isNotFound(new MovieDbException(ApiExceptionType.HTTP_404_ERROR, "", 404, "")));
+        assertFalse("401", NegativeCache.isNotFound(new MovieDbException(ApiExceptionType.HTTP_404_ERROR, "", 401, "")));
+        assertFalse("Connection", NegativeCache.isNotFound(new MovieDbException(ApiExceptionType.CONNECTION_ERROR, "")));
+    }
+}
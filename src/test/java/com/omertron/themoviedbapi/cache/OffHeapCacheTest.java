@@ -0,0 +1,149 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.TestLogger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for OffHeapCache
+ */
+public class OffHeapCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapCacheTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * Uncompressed codec so the sizes are predictable
+     */
+    private static class StringCodec implements EntryCodec<String> {
+
+        @Override
+        public byte[] encode(String value) throws IOException {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes, int offset, int length) throws IOException {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testPutGet() {
+        LOG.info("Put Get Test");
+        OffHeapCache<Integer, String> cache = new OffHeapCache<>(1024, 256, new StringCodec());
+
+        assertTrue("Should be added", cache.put(1, "one"));
+        assertTrue("Should be added", cache.put(2, "two"));
+        assertEquals("Wrong value", "one", cache.get(1));
+        assertEquals("Wrong value", "two", cache.get(2));
+        assertNull("Should be missing", cache.get(3));
+
+        cache.put(1, "uno");
+        assertEquals("Should be replaced", "uno", cache.get(1));
+        assertEquals("Wrong size", 2, cache.size());
+
+        assertEquals("Wrong hits", 3, cache.getHits());
+        assertEquals("Wrong misses", 1, cache.getMisses());
+        assertTrue("Max latency should be at least the average", cache.getMaxHitNanos() >= cache.getAverageHitNanos());
+
+        assertTrue("Should be removed", cache.remove(2));
+        assertFalse("Should be gone", cache.containsKey(2));
+    }
+
+    @Test
+    public void testEviction() {
+        LOG.info("Eviction Test");
+        // Four slabs of 64 bytes, each holding four 16 byte entries (with the length)
+        OffHeapCache<Integer, String> cache = new OffHeapCache<>(256, 64, new StringCodec());
+        for (int i = 0; i < 16; i++) {
+            cache.put(i, String.format("value-%06d", i));
+        }
+        assertEquals("Wrong size", 16, cache.size());
+        assertEquals("Nothing should be evicted", 0, cache.getEvictions());
+        assertEquals("Wrong allocated bytes", 256, cache.getAllocatedBytes());
+
+        // The next entry reuses the oldest slab
+        cache.put(16, String.format("value-%06d", 16));
+        assertEquals("Wrong evictions", 4, cache.getEvictions());
+        assertNull("Oldest should be evicted", cache.get(0));
+        assertEquals("Wrong value", "value-000004", cache.get(4));
+        assertEquals("Wrong value", "value-000016", cache.get(16));
+    }
+
+    @Test
+    public void testReplacedNotEvicted() {
+        LOG.info("Replaced Not Evicted Test");
+        OffHeapCache<Integer, String> cache = new OffHeapCache<>(128, 64, new StringCodec());
+        cache.put(1, "first-value-0001");
+        cache.put(1, "second-value-001");
+        cache.put(2, "other-value-0002");
+        // Moves to the second slab
+        cache.put(3, "third-value-0003");
+        cache.put(1, "moved-value-0001");
+        // Reuses the first slab, which only has old copies of key 1
+        cache.put(4, "fourth-value-004");
+        cache.put(5, "fifth-value-0005");
+
+        assertEquals("Replaced value should be kept", "moved-value-0001", cache.get(1));
+        assertNull("Key 2 should be evicted", cache.get(2));
+    }
+
+    @Test
+    public void testRejected() {
+        LOG.info("Rejected Test");
+        OffHeapCache<Integer, String> cache = new OffHeapCache<>(128, 64, new StringCodec());
+        cache.put(1, "small");
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            large.append('x');
+        }
+        assertFalse("Should be too large", cache.put(1, large.toString()));
+        assertEquals("Wrong rejected", 1, cache.getRejected());
+        assertNull("Old value should be removed", cache.get(1));
+    }
+
+    @Test
+    public void testSerializingCodec() throws IOException {
+        LOG.info("Serializing Codec Test");
+        SerializingCodec<String> codec = new SerializingCodec<>(String.class);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            value.append("repeated text ");
+        }
+        byte[] bytes = codec.encode(value.toString());
+        assertTrue("Should be compressed", bytes.length < value.length() / 4);
+        assertEquals("Wrong round trip", value.toString(), codec.decode(bytes, 0, bytes.length));
+    }
+}
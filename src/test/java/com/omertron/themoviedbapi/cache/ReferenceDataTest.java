@@ -0,0 +1,167 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.Certification;
+import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.config.JobDepartment;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for ReferenceData and ReferenceDataService
+ */
+public class ReferenceDataTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataTest.class);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testLookups() {
+        LOG.info("Lookups Test");
+        ReferenceData data = createData("en");
+
+        assertEquals("Wrong movie genre", "Drama", data.getMovieGenres().getName(18));
+        assertEquals("Wrong genre", "Action & Adventure", data.getGenreName(10759));
+        assertNull("Unknown genre", data.getGenreName(1));
+        assertEquals("Wrong genre order", 12, data.getMovieGenres().getGenres().get(0).getId());
+
+        List<Genre> genres = data.getGenres(new int[]{28, 10759, 1});
+        assertEquals("Wrong resolved genre", "Action", genres.get(0).getName());
+        assertEquals("Wrong resolved genre", "Action & Adventure", genres.get(1).getName());
+        assertEquals("Wrong unknown genre ID", 1, genres.get(2).getId());
+        assertNull("Unknown genre should have no name", genres.get(2).getName());
+        assertSame("Genres should be shared", genres.get(0), data.getGenres(new int[]{28}).get(0));
+
+        List<Certification> us = data.getMovieCertifications("US");
+        assertEquals("Wrong first certification", "G", us.get(0).getValue());
+        assertEquals("Wrong last certification", "R", us.get(us.size() - 1).getValue());
+        assertEquals("Wrong order", 3, data.getMovieCertification("US", "PG-13").getOrder());
+        assertTrue("Unknown country should be empty", data.getTvCertifications("XX").isEmpty());
+
+        assertEquals("Wrong department", "Directing", data.getDepartment("Director"));
+        assertEquals("Wrong jobs", 2, data.getJobs("Writing").size());
+        assertEquals("Wrong timezones", Arrays.asList("Europe/London"), data.getTimezones("GB"));
+    }
+
+    @Test
+    public void testSnapshot() throws IOException, MovieDbException {
+        LOG.info("Snapshot Test");
+        File file = new File(folder.getRoot(), "reference.dat");
+        createData("en").write(file);
+
+        ReferenceData read = ReferenceData.read(file);
+        assertEquals("Wrong genre after reading", "Drama", read.getGenreName(18));
+        assertEquals("Wrong department after reading", "Writing", read.getDepartment("Screenplay"));
+
+        // The service should use the snapshot without loading from the API
+        CountingService service = new CountingService("en");
+        service.setSnapshotFile(file);
+        assertEquals("Wrong genre from service", "Drama", service.getData().getGenreName(18));
+        assertEquals("Should not load from the API", 0, service.loads);
+
+        // A snapshot in a different language is ignored, and the loaded data is saved
+        CountingService german = new CountingService("de");
+        german.setSnapshotFile(file);
+        assertEquals("Wrong language", "de", german.getData().getLanguage());
+        assertEquals("Should load from the API", 1, german.loads);
+        assertEquals("Snapshot should be replaced", "de", ReferenceData.read(file).getLanguage());
+    }
+
+    private static class CountingService extends ReferenceDataService {
+
+        private int loads = 0;
+
+        CountingService(String language) {
+            super(null, language);
+        }
+
+        @Override
+        protected ReferenceData loadFromApi() throws MovieDbException {
+            loads++;
+            return createData(getLanguage());
+        }
+    }
+
+    private static ReferenceData createData(String language) {
+        List<Genre> movieGenres = Arrays.asList(genre(18, "Drama"), genre(28, "Action"), genre(12, "Adventure"));
+        List<Genre> tvGenres = Arrays.asList(genre(10759, "Action & Adventure"), genre(18, "Drama"));
+
+        Map<String, List<Certification>> movieCerts = new HashMap<>();
+        movieCerts.put("US", Arrays.asList(certification("R", 4), certification("G", 1), certification("PG-13", 3),
+                certification("PG", 2)));
+
+        List<JobDepartment> jobs = new ArrayList<>();
+        jobs.add(department("Directing", "Director", "Assistant Director"));
+        jobs.add(department("Writing", "Screenplay", "Novel"));
+
+        Map<String, List<String>> timezones = new HashMap<>();
+        timezones.put("GB", Arrays.asList("Europe/London"));
+
+        return new ReferenceData(language, System.currentTimeMillis(), movieGenres, tvGenres, movieCerts,
+                Collections.<String, List<Certification>>emptyMap(), jobs, timezones);
+    }
+
+    private static Genre genre(int id, String name) {
+        Genre genre = new Genre();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+
+    private static Certification certification(String value, int order) {
+        Certification certification = new Certification();
+        certification.setValue(value);
+        certification.setOrder(order);
+        return certification;
+    }
+
+    private static JobDepartment department(String name, String... jobs) {
+        JobDepartment department = new JobDepartment();
+        department.setDepartment(name);
+        department.setJobs(Arrays.asList(jobs));
+        return department;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.enumeration.SearchType;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.results.ResultList;
+import com.omertron.themoviedbapi.tools.CachedValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.exception.ApiExceptionType;
+import org.yamj.api.common.http.SimpleHttpClientBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Test case for SearchCache
+ */
+public class SearchCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchCacheTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * API that records the movie and multi searches
+     */
+    private static class FakeApi extends TheMovieDbApi {
+
+        private final List<String> requests = new ArrayList<>();
+
+        FakeApi() throws MovieDbException {
+            super("key", new SimpleHttpClientBuilder().build());
+        }
+
+        @Override
+        public ResultList<MovieInfo> searchMovie(String query, Integer page, String language, Boolean includeAdult,
+                Integer searchYear, Integer primaryReleaseYear, SearchType searchType) throws MovieDbException {
+            requests.add(query + "|" + page + "|" + language + "|" + includeAdult + "|" + searchYear + "|" + primaryReleaseYear
+                    + "|" + searchType);
+            if ("fail".equals(query)) {
+                throw new MovieDbException(ApiExceptionType.HTTP_503_ERROR, "Service unavailable");
+            }
+            ResultList<MovieInfo> results = new ResultList<>(Collections.<MovieInfo>emptyList());
+            results.setPage(page);
+            return results;
+        }
+
+        @Override
+        public ResultList<MediaBasic> searchMulti(String query, Integer page, String language, Boolean includeAdult)
+                throws MovieDbException {
+            requests.add("multi " + query);
+            return new ResultList<>(Collections.<MediaBasic>emptyList());
+        }
+    }
+
+    /**
+     * Search cache with a clock and executor controlled by the test
+     */
+    private static class TestCache extends SearchCache {
+
+        private long time = 1000L;
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        TestCache(TheMovieDbApi api, int maxSearches) {
+            super(api, 10, 60, TimeUnit.MILLISECONDS, maxSearches);
+        }
+
+        @Override
+        protected CachedValue<ResultList<?>> createValue() {
+            CachedValue<ResultList<?>> value = new CachedValue<ResultList<?>>(60, 50, TimeUnit.MILLISECONDS) {
+                @Override
+                protected long now() {
+                    return time;
+                }
+            };
+            value.setBlockWhenExpired(true);
+            value.setExecutor(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    tasks.add(command);
+                }
+            });
+            return value;
+        }
+    }
+
+    @Test
+    public void testNormalise() {
+        LOG.info("Normalise Test");
+        assertEquals("Wrong case", "the matrix", SearchCache.normalise("THE MATRIX"));
+        assertEquals("Wrong whitespace", "the matrix", SearchCache.normalise("  The\t Matrix \n"));
+        assertEquals("Wrong punctuation", "spider man no way home", SearchCache.normalise("Spider-Man: No Way Home!"));
+        assertEquals("Wrong compatibility form", "rocky ii", SearchCache.normalise("Ｒｏｃｋｙ Ⅱ"));
+        assertEquals("Wrong accents", "amélie", SearchCache.normalise("Amélie"));
+        assertEquals("Symbols should be kept", "romeo + juliet", SearchCache.normalise("Romeo + Juliet"));
+        assertEquals("Wrong blank query", "", SearchCache.normalise(" ... "));
+        assertEquals("Wrong null query", "", SearchCache.normalise(null));
+    }
+
+    @Test
+    public void testSharedSearch() throws MovieDbException {
+        LOG.info("Shared Search Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api, 10);
+
+        ResultList<MovieInfo> first = cache.searchMovie("The Matrix", null, "en", null, 0, null, null);
+        assertSame("Should share the search", first, cache.searchMovie("the matrix ", 1, "en", false, null, 0, null));
+        assertSame("Should share the search", first, cache.searchMovie("THE  MATRIX", 0, " en", Boolean.FALSE, null, null, null));
+        assertEquals("Wrong requests", Collections.singletonList("The Matrix|1|en|false|null|null|null"), api.requests);
+
+        // The other parameters are part of the key
+        assertNotSame("Page should be in the key", first, cache.searchMovie("the matrix", 2, "en", false, null, null, null));
+        assertNotSame("Year should be in the key", first, cache.searchMovie("the matrix", 1, "en", false, 1999, null, null));
+        assertNotSame("Language should be in the key", first, cache.searchMovie("the matrix", 1, "de", false, null, null, null));
+        assertNotSame("Type should be in the key", first,
+                cache.searchMovie("the matrix", 1, "en", false, null, null, SearchType.NGRAM));
+        cache.searchMulti("the matrix", 1, "en", false);
+        assertEquals("Wrong requests", 6, api.requests.size());
+        assertEquals("Wrong multi search", "multi the matrix", api.requests.get(5));
+        assertEquals("Wrong number of searches", 6, cache.size());
+    }
+
+    @Test
+    public void testExpiry() throws MovieDbException {
+        LOG.info("Expiry Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api, 2);
+
+        ResultList<MovieInfo> first = cache.searchMovie("alien", 1, null, null, null, null, null);
+        cache.searchMovie("aliens", 1, null, null, null, null, null);
+        cache.searchMovie("alien 3", 1, null, null, null, null, null);
+        cache.searchMovie("alien 3", 1, null, null, null, null, null);
+        assertEquals("Full cache should not add searches", 2, cache.size());
+        assertEquals("Uncached search should be loaded each time", 4, api.requests.size());
+
+        // Once the searches have expired they make room for new ones
+        cache.time += 100;
+        cache.searchMovie("alien 3", 1, null, null, null, null, null);
+        assertEquals("Expired searches should be removed", 1, cache.size());
+        assertNotSame("Should load a new search", first, cache.searchMovie("Alien", 1, null, null, null, null, null));
+        assertEquals("Wrong requests", 6, api.requests.size());
+    }
+
+    @Test
+    public void testBlankQuery() throws MovieDbException {
+        LOG.info("Blank Query Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api, 10);
+
+        cache.searchMovie(" ", 1, null, null, null, null, null);
+        assertEquals("Blank search should not be cached", 0, cache.size());
+        assertEquals("Wrong requests", 1, api.requests.size());
+        assertEquals("Wrong request", "|1|null|false|null|null|null", api.requests.get(0));
+
+        cache.searchMovie(" ... ", 1, null, null, null, null, null);
+        assertEquals("Punctuation only search should not be cached", 0, cache.size());
+        assertEquals("Wrong request", "...|1|null|false|null|null|null", api.requests.get(1));
+    }
+
+    @Test
+    public void testSentQuery() throws MovieDbException {
+        LOG.info("Sent Query Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api, 10);
+
+        // The punctuation and case are only dropped from the key, not from the query sent
+        ResultList<MovieInfo> first = cache.searchMovie(" Ocean's Eleven ", 1, null, null, null, null, null);
+        assertSame("Should share the search", first, cache.searchMovie("ocean s eleven", 1, null, null, null, null, null));
+        cache.searchMovie("M*A*S*H", 1, null, null, null, null, null);
+        cache.searchMovie("Ｍ＊Ａ＊Ｓ＊Ｈ", 1, null, null, null, null, null);
+        assertEquals("Wrong number of searches", 2, cache.size());
+        assertEquals("Wrong requests", 2, api.requests.size());
+        assertEquals("Wrong request", "Ocean's Eleven|1|null|false|null|null|null", api.requests.get(0));
+        assertEquals("Wrong request", "M*A*S*H|1|null|false|null|null|null", api.requests.get(1));
+    }
+
+    @Test
+    public void testFailedSearch() throws MovieDbException {
+        LOG.info("Failed Search Test");
+        FakeApi api = new FakeApi();
+        TestCache cache = new TestCache(api, 2);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                cache.searchMovie("fail", 1, null, null, null, null, null);
+                fail("Search should fail");
+            } catch (MovieDbException ex) {
+                assertEquals("Wrong exception", ApiExceptionType.HTTP_503_ERROR, ex.getExceptionType());
+            }
+        }
+        assertEquals("Failed search should not be kept", 0, cache.size());
+        assertEquals("Failed search should be tried each time", 3, api.requests.size());
+
+        // The failures have not used up the space for other searches
+        cache.searchMovie("alien", 1, null, null, null, null, null);
+        cache.searchMovie("aliens", 1, null, null, null, null, null);
+        assertEquals("Wrong number of searches", 2, cache.size());
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.cache;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.TheMovieDbApi;
+import com.omertron.themoviedbapi.cache.EntityCache.EntityType;
+import com.omertron.themoviedbapi.cache.TypeaheadIndex.Kind;
+import com.omertron.themoviedbapi.cache.TypeaheadIndex.Suggestion;
+import com.omertron.themoviedbapi.enumeration.SearchType;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.person.PersonFind;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.ResultList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.http.SimpleHttpClientBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for TypeaheadIndex
+ */
+public class TypeaheadIndexTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeaheadIndexTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testSuggest() {
+        LOG.info("Suggest Test");
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.add(Kind.MOVIE, 155, "The Dark Knight", 30.5f);
+        index.add(Kind.MOVIE, 49026, "The Dark Knight Rises", 25.1f);
+        index.add(Kind.MOVIE, 272, "Batman Begins", 20.0f);
+        index.add(Kind.TV, 2098, "Batman: The Animated Series", 15.2f);
+        index.add(Kind.PERSON, 3894, "Christian Bale", 18.0f);
+        index.add(Kind.COLLECTION, 263, "The Dark Knight Collection", 5.0f);
+        index.add(Kind.COMPANY, 9993, "DC Entertainment", 0f);
+        assertEquals("Wrong size", 7, index.size());
+
+        assertEquals("Wrong prefix matches", Arrays.asList(155, 49026, 263), ids(index.suggest("the dark", 10)));
+        assertEquals("Wrong partial word matches", Arrays.asList(155, 49026, 263), ids(index.suggest("The Dark Kn", 10)));
+        assertEquals("Wrong word start matches", Arrays.asList(155, 49026, 263), ids(index.suggest("knight", 10)));
+        assertEquals("Wrong matches ignoring punctuation", Arrays.asList(2098), ids(index.suggest("batman the an", 10)));
+        assertEquals("Wrong single letter matches", Arrays.asList(272, 3894, 2098), ids(index.suggest("b", 10)));
+        assertEquals("Wrong limited matches", Arrays.asList(155), ids(index.suggest("dark", 1)));
+        assertEquals("Wrong kind", Kind.PERSON, index.suggest("bale", 1).get(0).getKind());
+        assertEquals("Wrong name", "DC Entertainment", index.suggest("entertain", 1).get(0).getName());
+        assertTrue("Should have no matches", index.suggest("joker", 10).isEmpty());
+        assertTrue("Should have no matches past a label", index.suggest("the darker", 10).isEmpty());
+        assertEquals("Wrong blank prefix matches", 7, index.suggest("", 10).size());
+    }
+
+    @Test
+    public void testDiacritics() {
+        LOG.info("Diacritics Test");
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.add(Kind.MOVIE, 194, "Le Fabuleux Destin d'Amélie Poulain", 12f);
+        index.add(Kind.PERSON, 1245, "Scarlett Johansson", 40f);
+
+        assertEquals("Wrong match without accent", Arrays.asList(194), ids(index.suggest("amelie", 10)));
+        assertEquals("Wrong match with accent", Arrays.asList(194), ids(index.suggest("AMÉLIE P", 10)));
+        assertEquals("Wrong match after apostrophe", Arrays.asList(194), ids(index.suggest("d amel", 10)));
+        assertEquals("Wrong match with case", Arrays.asList(1245), ids(index.suggest("JOHANS", 10)));
+    }
+
+    @Test
+    public void testTopK() {
+        LOG.info("Top K Test");
+        TypeaheadIndex index = new TypeaheadIndex(3, null, null);
+        for (int id = 1; id <= 20; id++) {
+            index.add(Kind.MOVIE, id, "Star " + id, id);
+        }
+        assertEquals("Wrong top entries", Arrays.asList(20, 19, 18), ids(index.suggest("star", 10)));
+        assertEquals("Wrong top entries for word", Arrays.asList(19, 18, 17), ids(index.suggest("1", 10)));
+
+        // Removing a top entry brings up the next from below
+        index.remove(Kind.MOVIE, 20);
+        index.remove(Kind.MOVIE, 19);
+        assertEquals("Wrong top entries after remove", Arrays.asList(18, 17, 16), ids(index.suggest("star", 10)));
+        assertEquals("Wrong top entries for word after remove", Arrays.asList(18, 17, 16), ids(index.suggest("1", 10)));
+    }
+
+    @Test
+    public void testUpdate() {
+        LOG.info("Update Test");
+        TypeaheadIndex index = new TypeaheadIndex();
+        MovieBasic movie = new MovieBasic();
+        movie.setId(550);
+        movie.setTitle("Fight Club");
+        movie.setPopularity(10f);
+        assertTrue("Should add movie", index.add(movie));
+        assertFalse("Should not add other types", index.add("Fight Club"));
+
+        // Changing the title replaces the old keys
+        movie.setTitle("Fight Club (Director's Cut)");
+        movie.setPopularity(5f);
+        assertTrue("Should add movie", index.add(movie));
+        assertEquals("Wrong size", 1, index.size());
+        assertEquals("Wrong match", 5f, index.suggest("fight", 10).get(0).getPopularity(), 0f);
+        assertEquals("Wrong new word match", Arrays.asList(550), ids(index.suggest("director", 10)));
+
+        movie.setTitle("Club Fight");
+        index.add(movie);
+        assertTrue("Old key should be removed", index.suggest("director", 10).isEmpty());
+        assertTrue("Old key should be removed", index.suggest("fight club", 10).isEmpty());
+        assertEquals("Wrong match", Arrays.asList(550), ids(index.suggest("club f", 10)));
+
+        assertTrue("Should remove", index.remove(Kind.MOVIE, 550));
+        assertFalse("Should already be removed", index.remove(Kind.MOVIE, 550));
+        assertTrue("Should have no matches", index.suggest("", 10).isEmpty());
+        assertEquals("Wrong size", 0, index.size());
+    }
+
+    @Test
+    public void testAddAll() {
+        LOG.info("Add All Test");
+        TVBasic tv = new TVBasic();
+        tv.setId(1396);
+        tv.setName("Breaking Bad");
+        tv.setPopularity(50f);
+        PersonFind person = new PersonFind();
+        person.setId(17419);
+        person.setName("Bryan Cranston");
+
+        TypeaheadIndex index = new TypeaheadIndex();
+        assertEquals("Wrong number added", 2, index.addAll(Arrays.asList(tv, person, "other")));
+        assertEquals("Wrong order", Arrays.asList(1396, 17419), ids(index.suggest("br", 10)));
+    }
+
+    @Test
+    public void testComplete() throws MovieDbException {
+        LOG.info("Complete Test");
+        MovieBasic movie = new MovieBasic();
+        movie.setId(603);
+        movie.setTitle("The Matrix");
+        movie.setPopularity(20f);
+        // The multi search maps a person without the name
+        MediaBasic personHit = new MediaBasic();
+        personHit.setId(6384);
+        PersonFind person = new PersonFind();
+        person.setId(6384);
+        person.setName("Keanu Reeves");
+        person.setPopularity(30f);
+        FakeApi api = new FakeApi(Arrays.asList(movie, personHit), Arrays.asList(person));
+
+        TypeaheadIndex index = new TypeaheadIndex(10, api, "en");
+        List<Suggestion> found = index.complete("keanu matrix", 10);
+        assertEquals("Wrong results", Arrays.asList(6384, 603), ids(found));
+        assertEquals("Wrong kind", Kind.PERSON, found.get(0).getKind());
+        assertEquals("Person should be indexed", Arrays.asList(6384), ids(index.suggest("keanu", 10)));
+        assertEquals("Wrong number of people searches", 1, api.peopleSearches);
+
+        // No people found, so no need to search for them
+        api = new FakeApi(Arrays.<MediaBasic>asList(movie), Arrays.asList(person));
+        index = new TypeaheadIndex(10, api, "en");
+        assertEquals("Wrong results", Arrays.asList(603), ids(index.complete("matrix", 10)));
+        assertEquals("Should not search for people", 0, api.peopleSearches);
+    }
+
+    @Test
+    public void testChanged() {
+        LOG.info("Changed Test");
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.add(Kind.MOVIE, 1, "Alien", 10f);
+        index.add(Kind.MOVIE, 2, "Aliens", 9f);
+        index.add(Kind.TV, 1, "Alien Nation", 2f);
+        index.add(Kind.COLLECTION, 8091, "Alien Collection", 3f);
+
+        index.changed(EntityType.MOVIE, new int[]{1}, Long.MAX_VALUE);
+
+        assertEquals("Wrong matches after change", Arrays.asList(2, 8091, 1), ids(index.suggest("alien", 10)));
+        assertEquals("Wrong kind", Kind.TV, index.suggest("alien n", 10).get(0).getKind());
+    }
+
+    @Test
+    public void testLatency() {
+        LOG.info("Latency Test");
+        Random random = new Random(42);
+        String[] words = {"star", "war", "dark", "knight", "love", "story", "the", "return", "night", "life", "man", "city",
+            "last", "first", "house", "blood", "king", "lost", "world", "secret"};
+        TypeaheadIndex index = new TypeaheadIndex();
+        for (int id = 0; id < 50000; id++) {
+            StringBuilder name = new StringBuilder();
+            int count = 1 + random.nextInt(4);
+            for (int w = 0; w < count; w++) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            name.append(id);
+            index.add(Kind.values()[id % 3], id, name.toString(), random.nextFloat() * 100);
+        }
+
+        String[] prefixes = {"s", "st", "sta", "star w", "dark kn", "the ret", "lo", "king 1", "x"};
+        int lookups = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 20000; i++) {
+            List<Suggestion> suggestions = index.suggest(prefixes[i % prefixes.length], 10);
+            lookups += suggestions.isEmpty() ? 0 : 1;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        LOG.info("20000 lookups over {} entries took {}us, {}us per lookup", index.size(), micros, micros / 20000d);
+        assertTrue("Should find matches", lookups > 0);
+
+        List<Suggestion> top = index.suggest("star", 10);
+        assertEquals("Wrong number of matches", 10, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue("Matches should be by popularity", top.get(i - 1).getPopularity() >= top.get(i).getPopularity());
+        }
+    }
+
+    private static List<Integer> ids(List<Suggestion> suggestions) {
+        List<Integer> ids = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            ids.add(suggestion.getId());
+        }
+        return ids;
+    }
+
+    private static class FakeApi extends TheMovieDbApi {
+
+        private final List<MediaBasic> multi;
+        private final List<PersonFind> people;
+        private int peopleSearches = 0;
+
+        FakeApi(List<MediaBasic> multi, List<PersonFind> people) throws MovieDbException {
+            super("key", new SimpleHttpClientBuilder().build());
+            this.multi = multi;
+            this.people = people;
+        }
+
+        @Override
+        public ResultList<MediaBasic> searchMulti(String query, Integer page, String language, Boolean includeAdult) {
+            return new ResultList<>(multi);
+        }
+
+        @Override
+        public ResultList<PersonFind> searchPeople(String query, Integer page, Boolean includeAdult, SearchType searchType) {
+            peopleSearches++;
+            return new ResultList<>(people);
+        }
+    }
+}
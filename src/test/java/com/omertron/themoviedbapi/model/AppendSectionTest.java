@@ -0,0 +1,151 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.enumeration.MovieMethod;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.tools.AppendSections;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for AppendSection
+ */
+public class AppendSectionTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppendSectionTest.class);
+    private static final ObjectMapper MAPPER = AppendSections.configure(new ObjectMapper());
+    private static final String MOVIE_JSON = "{\"id\":550,\"title\":\"Fight Club\","
+            + "\"keywords\":{\"keywords\":[{\"id\":825,\"name\":\"support group\"},{\"id\":851,\"name\":\"dual identity\"}]},"
+            + "\"credits\":{\"cast\":[{\"cast_id\":4,\"character\":\"The Narrator\",\"credit_id\":\"52fe4250c3a36847f80149f3\","
+            + "\"id\":819,\"name\":\"Edward Norton\",\"order\":0}],\"crew\":[]},"
+            + "\"similar\":{\"page\":1,\"results\":[{\"id\":807,\"title\":\"Se7en\"}],\"total_pages\":1,\"total_results\":1}}";
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @After
+    public void tearDown() {
+        AppendSection.setLazy(false);
+    }
+
+    @Test
+    public void testEager() throws IOException {
+        LOG.info("Eager Test");
+        AppendSection.setLazy(false);
+        MovieInfo movie = MAPPER.readValue(MOVIE_JSON, MovieInfo.class);
+        checkMovie(movie);
+    }
+
+    @Test
+    public void testLazy() throws IOException, ClassNotFoundException {
+        LOG.info("Lazy Test");
+        AppendSection.setLazy(true);
+        MovieInfo movie = MAPPER.readValue(MOVIE_JSON, MovieInfo.class);
+        checkMovie(movie);
+
+        // Serialise a fresh copy with the sections not yet mapped
+        movie = MAPPER.readValue(MOVIE_JSON, MovieInfo.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(movie);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            checkMovie((MovieInfo) in.readObject());
+        }
+    }
+
+    @Test
+    public void testBuffered() throws IOException {
+        LOG.info("Buffered Test");
+        AppendSection.setLazy(false);
+        CountingMovie movie = MAPPER.readValue(MOVIE_JSON, CountingMovie.class);
+        checkMovie(movie);
+        assertEquals("Eager section should not be buffered", 0, movie.buffered);
+
+        AppendSection.setLazy(true);
+        movie = MAPPER.readValue(MOVIE_JSON, CountingMovie.class);
+        checkMovie(movie);
+        assertEquals("Lazy section should be buffered", 1, movie.buffered);
+
+        // Without the configuration the section is always buffered
+        AppendSection.setLazy(false);
+        movie = new ObjectMapper().readValue(MOVIE_JSON, CountingMovie.class);
+        checkMovie(movie);
+        assertEquals("Unconfigured section should be buffered", 1, movie.buffered);
+    }
+
+    @Test
+    public void testSection() {
+        LOG.info("Section Test");
+        AppendSection<String> section = AppendSection.of("value");
+        assertTrue("Should be resolved", section.isResolved());
+        assertEquals("Wrong value", "value", section.get());
+        assertEquals("Wrong default", "default", AppendSection.valueOf(null, "default"));
+    }
+
+    private void checkMovie(MovieInfo movie) {
+        assertEquals("Wrong ID", 550, movie.getId());
+        assertTrue("Missing keywords method", movie.hasMethod(MovieMethod.KEYWORDS));
+        assertTrue("Missing credits method", movie.hasMethod(MovieMethod.CREDITS));
+        assertTrue("Missing similar method", movie.hasMethod(MovieMethod.SIMILAR));
+        assertFalse("Unexpected images method", movie.hasMethod(MovieMethod.IMAGES));
+
+        assertEquals("Wrong keywords", 2, movie.getKeywords().size());
+        assertEquals("Wrong keyword", "dual identity", movie.getKeywords().get(1).getName());
+        assertEquals("Wrong cast", 1, movie.getCast().size());
+        assertEquals("Wrong character", "The Narrator", movie.getCast().get(0).getCharacter());
+        assertTrue("Crew should be empty", movie.getCrew().isEmpty());
+        assertEquals("Wrong similar", 1, movie.getSimilarMovies().size());
+        assertEquals("Wrong similar title", "Se7en", movie.getSimilarMovies().get(0).getTitle());
+        assertTrue("Images should be empty", movie.getImages().isEmpty());
+    }
+
+    /**
+     * Counts the keyword sections read through the buffer
+     */
+    private static class CountingMovie extends MovieInfo {
+
+        private static final long serialVersionUID = 1L;
+        private int buffered = 0;
+
+        @Override
+        public void setKeywords(TokenBuffer keywords) {
+            buffered++;
+            super.setKeywords(keywords);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.tv.TVInfo;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for GenreIds
+ */
+public class GenreIdsTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GenreIdsTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testMovie() throws IOException {
+        LOG.info("Movie Test");
+        MovieBasic movie = MAPPER.readValue("{\"id\":550,\"title\":\"Fight Club\",\"genre_ids\":[18,53]}", MovieBasic.class);
+
+        assertArrayEquals("Wrong genre IDs", new int[]{18, 53}, movie.getGenreIdArray());
+        assertEquals("Wrong genre ID list", Arrays.asList(18, 53), movie.getGenreIds());
+        assertTrue("Should have drama", movie.hasGenre(18));
+        assertFalse("Should not have action", movie.hasGenre(28));
+
+        movie.setGenreIds(Arrays.asList(28, null, 12));
+        assertArrayEquals("Wrong genre IDs after set", new int[]{28, 12}, movie.getGenreIdArray());
+    }
+
+    @Test
+    public void testTv() throws IOException {
+        LOG.info("TV Test");
+        TVInfo tv = MAPPER.readValue("{\"id\":1396,\"name\":\"Breaking Bad\",\"genre_ids\":[18,80]}", TVInfo.class);
+
+        assertTrue("Should have crime", tv.hasGenre(80));
+        List<Genre> genres = tv.getGenres();
+        assertEquals("Wrong genres", 2, genres.size());
+        assertEquals("Wrong genre ID", 80, genres.get(1).getId());
+        assertNull("Genre name is not in the list results", genres.get(1).getName());
+    }
+
+    @Test
+    public void testHelpers() {
+        LOG.info("Helpers Test");
+        int[] ids = {16, 35, 10751};
+        assertTrue("Should contain any", GenreIds.containsAny(ids, 28, 10751));
+        assertFalse("Should not contain any", GenreIds.containsAny(ids, 28, 18));
+        assertFalse("Null should not contain", GenreIds.contains(null, 16));
+        assertNull("Null list", GenreIds.toArray(null));
+        assertNull("Null array", GenreIds.asList(null));
+        assertEquals("Wrong view", Integer.valueOf(10751), GenreIds.asList(ids).get(2));
+    }
+}
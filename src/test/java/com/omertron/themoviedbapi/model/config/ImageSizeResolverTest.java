@@ -0,0 +1,95 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model.config;
+
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.enumeration.ArtworkType;
+import com.omertron.themoviedbapi.model.artwork.Artwork;
+import java.util.Arrays;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test case for ImageSizeResolver
+ */
+public class ImageSizeResolverTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageSizeResolverTest.class);
+    private static ImageSizeResolver resolver;
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+        Configuration config = new Configuration();
+        config.setPosterSizes(Arrays.asList("w92", "w154", "w185", "w342", "w500", "w780", "original"));
+        config.setBackdropSizes(Arrays.asList("w300", "w780", "w1280", "original"));
+        config.setProfileSizes(Arrays.asList("w45", "w185", "h632", "original"));
+        config.setLogoSizes(Arrays.asList("w500", "w45", "w92"));
+        config.setStillSizes(Arrays.asList("w92", "w185", "w300", "original"));
+        resolver = config.getImageSizeResolver();
+    }
+
+    @Test
+    public void testSizes() {
+        LOG.info("Sizes Test");
+        ImageSizeResolver.Sizes posters = resolver.getSizes(ArtworkType.POSTER);
+        assertEquals("Wrong ceiling", "w342", posters.ceilingWidth(342));
+        assertEquals("Wrong ceiling", "w342", posters.ceilingWidth(300));
+        assertEquals("Wrong ceiling", "original", posters.ceilingWidth(1000));
+        assertEquals("Wrong floor", "w185", posters.floorWidth(300));
+        assertNull("Wrong floor", posters.floorWidth(50));
+
+        ImageSizeResolver.Sizes logos = resolver.getLogoSizes();
+        assertArrayEquals("Sizes should be sorted", new int[]{45, 92, 500}, logos.getWidths());
+        assertNull("No original logo", logos.ceilingWidth(600));
+
+        ImageSizeResolver.Sizes profiles = resolver.getSizes(ArtworkType.PROFILE);
+        assertEquals("Wrong height ceiling", "h632", profiles.ceilingHeight(400));
+        assertEquals("Wrong height floor", "h632", profiles.floorHeight(700));
+    }
+
+    @Test
+    public void testSelectSize() {
+        LOG.info("Select Size Test");
+        Artwork poster = artwork(ArtworkType.POSTER, 1000, 1500);
+        assertEquals("Wrong poster size", "w342", resolver.selectSize(poster, 342));
+        assertEquals("Wrong poster size", "w500", resolver.selectSize(poster, 200, 700));
+        assertEquals("Should not upscale", "original", resolver.selectSize(poster, 1200));
+
+        // 400 wide needs a 600 high profile, h632 is narrower than the original
+        Artwork profile = artwork(ArtworkType.PROFILE, 1000, 1500);
+        assertEquals("Wrong profile size", "h632", resolver.selectSize(profile, 400));
+        assertEquals("Wrong profile size", "w185", resolver.selectSize(profile, 150));
+    }
+
+    private static Artwork artwork(ArtworkType type, int width, int height) {
+        Artwork artwork = new Artwork();
+        artwork.setArtworkType(type);
+        artwork.setWidth(width);
+        artwork.setHeight(height);
+        artwork.setAspectRatio((float) width / height);
+        return artwork;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model.config;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.enumeration.ArtworkType;
+import com.omertron.themoviedbapi.model.artwork.Artwork;
+import com.omertron.themoviedbapi.results.ResultList;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for ImageUrlFactory
+ */
+public class ImageUrlFactoryTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageUrlFactoryTest.class);
+    private static Configuration config;
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+        config = new Configuration();
+        config.setBaseUrl("http://image.tmdb.org/t/p/");
+        config.setSecureBaseUrl("https://image.tmdb.org/t/p/");
+        config.setPosterSizes(Arrays.asList("w92", "w342", "original"));
+        config.setBackdropSizes(Arrays.asList("w300", "w1280", "original"));
+        config.setProfileSizes(Arrays.asList("w45", "h632", "original"));
+        config.setLogoSizes(Arrays.asList("w45", "w500", "original"));
+        config.setStillSizes(Arrays.asList("w92", "w300", "original"));
+    }
+
+    @Test
+    public void testCreateImageUrl() throws MovieDbException {
+        LOG.info("Create Image URL Test");
+        ImageUrlFactory factory = config.getImageUrlFactory();
+        assertEquals("Wrong URL", "http://image.tmdb.org/t/p/w342/poster.jpg", factory.createImageUrl("/poster.jpg", "w342"));
+        assertEquals("Wrong URL", config.createImageUrl("/poster.jpg", "w342").toString(),
+                factory.createImageUrl("/poster.jpg", "w342"));
+        assertEquals("Wrong secure URL", "https://image.tmdb.org/t/p/w1280/back.jpg",
+                ImageUrlFactory.create(config, true).createImageUrl(ArtworkType.BACKDROP, "/back.jpg", "w1280"));
+
+        assertTrue("Logo size should be valid", factory.isValidSize("w500"));
+        assertTrue("Logo size should be valid", factory.isValidLogoSize("w500"));
+        assertFalse("Size should not be valid for posters", factory.isValidSize(ArtworkType.POSTER, "w500"));
+        assertFalse("Null size should not be valid", factory.isValidSize(null));
+    }
+
+    @Test
+    public void testNullPath() throws MovieDbException {
+        LOG.info("Null Path Test");
+        ImageUrlFactory factory = config.getImageUrlFactory();
+        // Titles without a poster have a null path, which has always given a URL ending in "null"
+        assertEquals("Wrong URL", "http://image.tmdb.org/t/p/w342null", factory.createImageUrl(null, "w342"));
+        assertEquals("Wrong URL", "http://image.tmdb.org/t/p/w342null", config.createImageUrl(null, "w342").toString());
+        assertEquals("Wrong URL", "http://image.tmdb.org/t/p/w92null",
+                factory.appendImageUrl(new StringBuilder(), ArtworkType.POSTER, null, "w92").toString());
+        CharBuffer buffer = CharBuffer.allocate(64);
+        factory.putImageUrl(buffer, ArtworkType.POSTER, null, "w92").flip();
+        assertEquals("Wrong URL", "http://image.tmdb.org/t/p/w92null", buffer.toString());
+    }
+
+    @Test(expected = MovieDbException.class)
+    public void testInvalidSize() throws MovieDbException {
+        LOG.info("Invalid Size Test");
+        config.getImageUrlFactory().createImageUrl(ArtworkType.POSTER, "/poster.jpg", "w1280");
+    }
+
+    @Test
+    public void testBuffers() throws MovieDbException {
+        LOG.info("Buffers Test");
+        ImageUrlFactory factory = config.getImageUrlFactory();
+        StringBuilder sb = new StringBuilder("<img src=\"");
+        factory.appendImageUrl(sb, ArtworkType.PROFILE, "/face.jpg", "h632").append("\">");
+        assertEquals("Wrong builder", "<img src=\"http://image.tmdb.org/t/p/h632/face.jpg\">", sb.toString());
+
+        CharBuffer buffer = CharBuffer.allocate(64);
+        factory.putImageUrl(buffer, ArtworkType.STILL, "/still.jpg", "w300");
+        buffer.flip();
+        assertEquals("Wrong buffer", "http://image.tmdb.org/t/p/w300/still.jpg", buffer.toString());
+    }
+
+    @Test
+    public void testCreateImageUrls() {
+        LOG.info("Create Image URLs Test");
+        ResultList<Artwork> artwork = new ResultList<>(Arrays.asList(
+                artwork(ArtworkType.POSTER, "/a.jpg"),
+                artwork(ArtworkType.BACKDROP, "/b.jpg"),
+                artwork(ArtworkType.POSTER, null),
+                artwork(ArtworkType.POSTER, "/c.jpg")));
+
+        List<String> urls = config.getImageUrlFactory().createImageUrls(artwork, "w342");
+        assertEquals("Wrong URLs", Arrays.asList("http://image.tmdb.org/t/p/w342/a.jpg", "http://image.tmdb.org/t/p/w342/c.jpg"),
+                urls);
+    }
+
+    @Test
+    public void testReset() {
+        LOG.info("Reset Test");
+        Configuration copy = new Configuration();
+        copy.setBaseUrl("http://one/");
+        copy.setPosterSizes(Arrays.asList("w92"));
+        assertEquals("Wrong base URL", "http://one/", copy.getImageUrlFactory().getBaseUrl());
+        copy.setBaseUrl("http://two/");
+        assertEquals("Factory should be rebuilt", "http://two/", copy.getImageUrlFactory().getBaseUrl());
+    }
+
+    private static Artwork artwork(ArtworkType type, String path) {
+        Artwork artwork = new Artwork();
+        artwork.setArtworkType(type);
+        artwork.setFilePath(path);
+        return artwork;
+    }
+}
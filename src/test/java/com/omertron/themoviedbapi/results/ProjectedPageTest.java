@@ -0,0 +1,109 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.tools.Projection;
+import java.io.IOException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for ProjectedPage
+ */
+public class ProjectedPageTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectedPageTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double DELTA = 0.0001;
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    private static ProjectedPage read(String json, Projection projection) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            return ProjectedPage.read(parser, projection);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        LOG.info("Read Test");
+        String json = "{\"page\":2,\"results\":["
+                + "{\"poster_path\":\"/a.jpg\",\"adult\":false,\"genre_ids\":[18,53],\"id\":550,\"title\":\"Fight Club\","
+                + "\"release_date\":\"1999-10-15\",\"popularity\":12.5,\"video\":false,\"extra\":{\"nested\":[{\"id\":1}]}},"
+                + "{\"id\":807,\"title\":\"Se7en\",\"release_date\":null,\"popularity\":8}"
+                + "],\"dates\":{\"minimum\":\"2016-01-01\",\"maximum\":\"2016-02-01\"},\"total_pages\":10,\"total_results\":200}";
+
+        ProjectedPage page = read(json, Projection.MOVIE);
+
+        assertEquals("Wrong page", 2, page.getPage());
+        assertEquals("Wrong total pages", 10, page.getTotalPages());
+        assertEquals("Wrong total results", 200, page.getTotalResults());
+        assertEquals("Wrong dates", "2016-01-01", page.getDates().getMinimum());
+        assertEquals("Wrong size", 2, page.size());
+
+        assertArrayEquals("Wrong IDs", new int[]{550, 807}, page.getInts("id"));
+        assertEquals("Wrong title", "Fight Club", page.getString(0, "title"));
+        assertEquals("Wrong release date", "1999-10-15", page.getString(0, "release_date"));
+        assertEquals("Wrong popularity", 12.5, page.getDouble(0, "popularity"), DELTA);
+        assertEquals("Wrong title", "Se7en", page.getString(1, "title"));
+        assertNull("Release date should be null", page.getString(1, "release_date"));
+        assertFalse("Release date should be missing", page.hasValue(1, page.column("release_date")));
+        assertEquals("Wrong popularity", 8, page.getInt(1, "popularity"));
+    }
+
+    @Test
+    public void testGrow() throws IOException {
+        LOG.info("Grow Test");
+        StringBuilder json = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"adult\":").append(i % 2 == 0).append('}');
+        }
+        json.append("]}");
+
+        ProjectedPage page = read(json.toString(), Projection.CHANGES);
+        assertEquals("Wrong size", 50, page.size());
+        assertEquals("Wrong ID", 49, page.getInt(49, "id"));
+        assertTrue("Wrong adult", page.getBoolean(48, "adult"));
+        assertFalse("Wrong adult", page.getBoolean(49, "adult"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField() throws IOException {
+        LOG.info("Unknown Field Test");
+        ProjectedPage page = read("{\"results\":[{\"id\":1}]}", Projection.MOVIE);
+        page.getString(0, "name");
+    }
+}
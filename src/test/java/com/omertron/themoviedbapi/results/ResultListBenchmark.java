@@ -0,0 +1,109 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocation of copying a parsed page into a result list with handing the list over.
+ *
+ * Run with "mvn test-compile exec:exec -P benchmark -Dbenchmark=ResultListBenchmark", the "gc.alloc.rate.norm" lines give
+ * the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultListBenchmark {
+
+    private static final TypeReference<WrapperGenericList<MovieBasic>> TYPE = new TypeReference<WrapperGenericList<MovieBasic>>() {
+    };
+    private final ObjectMapper mapper = new ObjectMapper();
+    @Param({"20", "1000", "10000"})
+    private int size;
+    private String json;
+    private WrapperGenericList<MovieBasic> wrapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder sb = new StringBuilder("{\"page\":1,\"results\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"title\":\"Movie ").append(i).append("\",\"genre_ids\":[18,53]}");
+        }
+        sb.append("],\"total_pages\":1,\"total_results\":").append(size).append('}');
+        json = sb.toString();
+        wrapper = mapper.readValue(json, TYPE);
+    }
+
+    @Benchmark
+    public ResultList<MovieBasic> copy() {
+        ResultList<MovieBasic> results = new ResultList<>(wrapper.getResults());
+        wrapper.setResultProperties(results);
+        return results;
+    }
+
+    @Benchmark
+    public ResultList<MovieBasic> wrap() {
+        ResultList<MovieBasic> results = ResultList.wrap(wrapper.getResults());
+        wrapper.setResultProperties(results);
+        return results;
+    }
+
+    @Benchmark
+    public ResultList<MovieBasic> unmodifiable() {
+        ResultList<MovieBasic> results = ResultList.unmodifiable(wrapper.getResults());
+        wrapper.setResultProperties(results);
+        return results;
+    }
+
+    @Benchmark
+    public ResultList<MovieBasic> parseAndCopy() throws IOException {
+        WrapperGenericList<MovieBasic> parsed = mapper.readValue(json, TYPE);
+        ResultList<MovieBasic> results = new ResultList<>(parsed.getResults());
+        parsed.setResultProperties(results);
+        return results;
+    }
+
+    @Benchmark
+    public ResultList<MovieBasic> parseAndWrap() throws IOException {
+        WrapperGenericList<MovieBasic> parsed = mapper.readValue(json, TYPE);
+        return parsed.getResultsList();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.TestLogger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test case for the ResultList and ResultsMap factories
+ */
+public class ResultListTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResultListTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testWrap() {
+        LOG.info("Wrap Test");
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        assertSame("Wrapped list should not be copied", list, ResultList.wrap(list).getResults());
+        assertNotSame("Constructor should copy the list", list, new ResultList<>(list).getResults());
+        assertTrue("Null should be empty", ResultList.wrap(null).isEmpty());
+        ResultList.<String>wrap(null).getResults().add("c");
+
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        assertSame("Wrapped map should not be copied", map, ResultsMap.wrap(map).getResults());
+        assertTrue("Null should be empty", ResultsMap.wrap(null).isEmpty());
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        LOG.info("Unmodifiable Test");
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        ResultList<String> results = ResultList.wrap(list);
+        results.setPage(2);
+        results.setTotalPages(5);
+        results.setLoadedAt(1000L);
+
+        ResultList<String> view = results.unmodifiableView();
+        assertEquals("Wrong page", 2, view.getPage());
+        assertEquals("Wrong total pages", 5, view.getTotalPages());
+        assertEquals("Wrong loaded at", 1000L, view.getLoadedAt());
+        list.add("c");
+        assertEquals("View should see changes", 3, view.getResults().size());
+        try {
+            view.getResults().add("d");
+            fail("View should be read only");
+        } catch (UnsupportedOperationException ex) {
+            LOG.trace("Expected: {}", ex.getMessage());
+        }
+
+        Map<String, Integer> map = new HashMap<>();
+        ResultsMap<String, Integer> mapView = ResultsMap.wrap(map).unmodifiableView();
+        map.put("a", 1);
+        assertEquals("View should see changes", Integer.valueOf(1), mapView.get("a"));
+        try {
+            mapView.put("b", 2);
+            fail("View should be read only");
+        } catch (UnsupportedOperationException ex) {
+            LOG.trace("Expected: {}", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testResultsList() {
+        LOG.info("Results List Test");
+        WrapperGenericList<String> wrapper = new WrapperGenericList<>();
+        List<String> list = new ArrayList<>(Arrays.asList("a"));
+        wrapper.setResults(list);
+        wrapper.setPage(3);
+        ResultList<String> results = wrapper.getResultsList();
+        assertSame("Parsed list should be handed over", list, results.getResults());
+        assertEquals("Wrong page", 3, results.getPage());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.interfaces.ResultHandler;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for StreamedPage
+ */
+public class StreamedPageTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamedPageTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PAGE_JSON = "{\"page\":3,\"results\":["
+            + "{\"id\":550,\"title\":\"Fight Club\",\"genre_ids\":[18]},"
+            + "{\"id\":807,\"title\":\"Se7en\",\"genre_ids\":[80,53]},"
+            + "{\"id\":13,\"title\":\"Forrest Gump\",\"genre_ids\":[35,18]}"
+            + "],\"dates\":{\"minimum\":\"2016-01-01\",\"maximum\":\"2016-02-01\"},\"total_pages\":7,\"total_results\":130}";
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    private static StreamedPage read(ResultHandler<MovieBasic> handler) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(PAGE_JSON)) {
+            return StreamedPage.read(parser, MAPPER.readerFor(MovieBasic.class), handler);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        LOG.info("Read Test");
+        final List<MovieBasic> movies = new ArrayList<>();
+        StreamedPage page = read(new ResultHandler<MovieBasic>() {
+            @Override
+            public boolean handle(MovieBasic result) {
+                movies.add(result);
+                return true;
+            }
+        });
+
+        assertEquals("Wrong number of results", 3, movies.size());
+        assertEquals("Wrong count", 3, page.getCount());
+        assertFalse("Should not be stopped", page.isStopped());
+        assertEquals("Wrong title", "Se7en", movies.get(1).getTitle());
+        assertEquals("Wrong genres", 2, movies.get(2).getGenreIds().size());
+        assertEquals("Wrong page", 3, page.getPage());
+        assertEquals("Wrong total pages", 7, page.getTotalPages());
+        assertEquals("Wrong total results", 130, page.getTotalResults());
+        assertEquals("Wrong dates", "2016-02-01", page.getDates().getMaximum());
+    }
+
+    @Test
+    public void testStop() throws IOException {
+        LOG.info("Stop Test");
+        final List<Integer> ids = new ArrayList<>();
+        StreamedPage page = read(new ResultHandler<MovieBasic>() {
+            @Override
+            public boolean handle(MovieBasic result) {
+                ids.add(result.getId());
+                return ids.size() < 2;
+            }
+        });
+
+        assertEquals("Wrong number of results", 2, ids.size());
+        assertEquals("Wrong count", 2, page.getCount());
+        assertTrue("Should be stopped", page.isStopped());
+        assertEquals("Page information should still be read", 7, page.getTotalPages());
+    }
+}
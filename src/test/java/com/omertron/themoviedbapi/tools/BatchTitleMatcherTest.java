@@ -0,0 +1,205 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.media.AlternativeTitle;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for BatchTitleMatcher
+ */
+public class BatchTitleMatcherTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchTitleMatcherTest.class);
+    private static final String[] WORDS = {"the", "dark", "night", "star", "wars", "return", "of", "king", "lord", "rings",
+        "matrix", "alien", "blade", "runner", "god", "father", "part", "ii", "back", "to", "future", "jaws", "rocky", "heat",
+        "fight", "club", "seven", "se7en", "pulp", "fiction", "kill", "bill", "toy", "story", "up", "cars", "her", "it"};
+    private static final int MAX_DISTANCE = 2;
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testMatch() {
+        LOG.info("Match Test");
+        MovieInfo leon = movie(101, "Léon: The Professional", "Léon", "1994-09-14");
+        AlternativeTitle alternative = new AlternativeTitle();
+        alternative.setTitle("The Professional");
+        MovieInfo alien = movie(348, "Alien", null, "1979-05-25");
+        MovieInfo aliens = movie(679, "Aliens", null, "1986-07-18");
+
+        BatchTitleMatcher<MovieInfo> matcher = BatchTitleMatcher.<MovieInfo>builder()
+                .add(leon, Arrays.asList(alternative))
+                .add(alien)
+                .add(aliens)
+                .build(MAX_DISTANCE);
+        assertEquals("Wrong size", 3, matcher.size());
+
+        BatchTitleMatcher.Match<MovieInfo> match = matcher.match("leon", "1994");
+        assertSame("Wrong original title match", leon, match.getMovie());
+        assertEquals("Wrong title", "Léon", match.getTitle());
+        assertEquals("Wrong distance", 0, match.getDistance());
+        assertEquals("Wrong confidence", 1d, match.getConfidence(), 0.0001);
+
+        match = matcher.match("The Profesional", "");
+        assertSame("Wrong alternative title match", leon, match.getMovie());
+        assertEquals("Wrong distance", 1, match.getDistance());
+        assertTrue("Confidence should be lower without a year", match.getConfidence() < 0.9);
+
+        assertSame("Wrong exact match", alien, matcher.match("Alien", "1979").getMovie());
+        assertSame("Wrong year match", aliens, matcher.match("Alien", "1986").getMovie());
+        assertNull("Wrong year should not match", matcher.match("Alien", "1990"));
+        assertNull("Unknown title should not match", matcher.match("Heat", ""));
+        assertNull("Blank title should not match", matcher.match(" ", ""));
+    }
+
+    @Test
+    public void testAgainstPairwise() {
+        LOG.info("Against Pairwise Test");
+        Random random = new Random(5);
+        List<MovieBasic> movies = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            MovieBasic movie = new MovieBasic();
+            movie.setId(i);
+            movie.setTitle(randomTitle(random));
+            if (random.nextInt(4) == 0) {
+                movie.setOriginalTitle(randomTitle(random));
+            }
+            movie.setReleaseDate(random.nextInt(10) == 0 ? null : (1960 + random.nextInt(60)) + "-01-01");
+            movies.add(movie);
+        }
+
+        List<String> titles = new ArrayList<>();
+        List<String> years = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            MovieBasic movie = movies.get(random.nextInt(movies.size()));
+            titles.add(i % 3 == 0 ? randomTitle(random) : typo(random, movie.getTitle()));
+            String date = movie.getReleaseDate();
+            years.add(random.nextBoolean() && date != null ? date.substring(0, 4) : "");
+        }
+
+        BatchTitleMatcher<MovieBasic> matcher = BatchTitleMatcher.<MovieBasic>builder().addAll(movies).build(MAX_DISTANCE);
+        long start = System.nanoTime();
+        List<BatchTitleMatcher.Match<MovieBasic>> matches = matcher.matchAll(titles, years);
+        long indexedTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int matched = 0;
+        for (int i = 0; i < titles.size(); i++) {
+            int expected = pairwiseDistance(movies, titles.get(i), years.get(i));
+            BatchTitleMatcher.Match<MovieBasic> match = matches.get(i);
+            if (expected < 0) {
+                assertNull("Should not match '" + titles.get(i) + "'", match);
+            } else {
+                assertNotNull("Should match '" + titles.get(i) + "'", match);
+                assertEquals("Wrong distance for '" + titles.get(i) + "'", expected, match.getDistance());
+                matched++;
+            }
+        }
+        long pairwiseTime = System.nanoTime() - start;
+        LOG.info("Matched {} of {} titles against {} movies, indexed {}ms, pairwise {}ms", matched, titles.size(), movies.size(),
+                indexedTime / 1000000, pairwiseTime / 1000000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchTitleMatcher<MovieBasic> parallel = BatchTitleMatcher.<MovieBasic>builder().addAll(movies).build(MAX_DISTANCE, pool);
+            List<BatchTitleMatcher.Match<MovieBasic>> parallelMatches = parallel.matchAll(titles, years);
+            for (int i = 0; i < titles.size(); i++) {
+                BatchTitleMatcher.Match<MovieBasic> match = matches.get(i);
+                BatchTitleMatcher.Match<MovieBasic> parallelMatch = parallelMatches.get(i);
+                assertSame("Parallel match should be the same", match == null ? null : match.getMovie(),
+                        parallelMatch == null ? null : parallelMatch.getMovie());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int pairwiseDistance(List<MovieBasic> movies, String title, String year) {
+        int best = -1;
+        for (MovieBasic movie : movies) {
+            if (TitleMatcher.matches(movie, title, year, MAX_DISTANCE, false)) {
+                for (String movieTitle : new String[]{movie.getTitle(), movie.getOriginalTitle()}) {
+                    if (movieTitle != null) {
+                        int distance = TitleMatcher.distance(TitleMatcher.normalise(title, false),
+                                TitleMatcher.normalise(movieTitle, false), MAX_DISTANCE);
+                        if (distance >= 0 && (best < 0 || distance < best)) {
+                            best = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static MovieInfo movie(int id, String title, String originalTitle, String releaseDate) {
+        MovieInfo movie = new MovieInfo();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setOriginalTitle(originalTitle);
+        movie.setReleaseDate(releaseDate);
+        return movie;
+    }
+
+    private static String randomTitle(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 1 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String typo(Random random, String title) {
+        StringBuilder sb = new StringBuilder(title);
+        int changes = random.nextInt(4);
+        for (int i = 0; i < changes && sb.length() > 0; i++) {
+            int position = random.nextInt(sb.length());
+            if (random.nextBoolean()) {
+                sb.setCharAt(position, (char) ('a' + random.nextInt(26)));
+            } else {
+                sb.deleteCharAt(position);
+            }
+        }
+        return random.nextBoolean() ? sb.toString().toUpperCase() : sb.toString();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.TestLogger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.api.common.exception.ApiExceptionType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for CachedValue
+ */
+public class CachedValueTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedValueTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * Cached value with a clock that is moved by the test
+     */
+    private static class TestCache extends CachedValue<String> {
+
+        private long time = 1000L;
+
+        TestCache() {
+            super(100, 10, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected long now() {
+            return time;
+        }
+    }
+
+    /**
+     * Executor that holds the tasks until they are run by the test
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        int runAll() {
+            int count = tasks.size();
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            tasks.clear();
+            return count;
+        }
+    }
+
+    private static class CountingLoader implements CachedValue.Loader<String> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean fail = false;
+
+        @Override
+        public String load() throws MovieDbException {
+            int call = calls.incrementAndGet();
+            if (fail) {
+                throw new MovieDbException(ApiExceptionType.CONNECTION_ERROR, "Failed");
+            }
+            return "value" + call;
+        }
+    }
+
+    @Test
+    public void testRefreshAhead() throws MovieDbException {
+        LOG.info("Refresh Ahead Test");
+        TestCache cache = new TestCache();
+        ManualExecutor executor = new ManualExecutor();
+        cache.setExecutor(executor);
+        CountingLoader loader = new CountingLoader();
+
+        assertNull("Should be empty", cache.peek());
+        assertEquals("Wrong first value", "value1", cache.get(loader));
+
+        cache.time += 50;
+        assertEquals("Should use cached value", "value1", cache.get(loader));
+        assertEquals("No refresh expected", 0, executor.runAll());
+
+        // Inside the refresh ahead window the old value is returned and one refresh started
+        cache.time += 45;
+        assertEquals("Should use stale value", "value1", cache.get(loader));
+        assertEquals("Should use stale value", "value1", cache.get(loader));
+        assertEquals("Wrong number of refreshes", 1, executor.runAll());
+        assertEquals("Should use refreshed value", "value2", cache.get(loader));
+        assertEquals("Wrong number of loads", 2, loader.calls.get());
+
+        // Past the expiry the stale value is still returned without waiting
+        cache.time += 500;
+        assertTrue("Should be expired", cache.isExpired());
+        assertEquals("Should use stale value", "value2", cache.get(loader));
+        executor.runAll();
+        assertFalse("Should not be expired", cache.isExpired());
+        assertEquals("Should use refreshed value", "value3", cache.get(loader));
+    }
+
+    @Test
+    public void testBlockWhenExpired() throws MovieDbException {
+        LOG.info("Block When Expired Test");
+        TestCache cache = new TestCache();
+        cache.setBlockWhenExpired(true);
+        ManualExecutor executor = new ManualExecutor();
+        cache.setExecutor(executor);
+        CountingLoader loader = new CountingLoader();
+
+        assertEquals("Wrong first value", "value1", cache.get(loader));
+        cache.time += 95;
+        assertEquals("Should use stale value", "value1", cache.get(loader));
+
+        // The refresh hasn't run, so once expired the caller loads the value
+        cache.time += 10;
+        assertEquals("Should load a new value", "value2", cache.get(loader));
+        assertEquals("Wrong loaded time", cache.time, cache.getLoadedAt());
+    }
+
+    @Test
+    public void testFailedRefresh() throws MovieDbException {
+        LOG.info("Failed Refresh Test");
+        TestCache cache = new TestCache();
+        cache.setRetryDelay(50, TimeUnit.MILLISECONDS);
+        ManualExecutor executor = new ManualExecutor();
+        cache.setExecutor(executor);
+        CountingLoader loader = new CountingLoader();
+
+        cache.set("saved", cache.time - 200);
+        loader.fail = true;
+        assertEquals("Should use saved value", "saved", cache.get(loader));
+        assertEquals("Wrong number of refreshes", 1, executor.runAll());
+        assertEquals("Should keep the old value", "saved", cache.get(loader));
+        assertEquals("Should wait before retrying", 0, executor.runAll());
+
+        cache.time += 60;
+        loader.fail = false;
+        cache.get(loader);
+        assertEquals("Should retry", 1, executor.runAll());
+        assertEquals("Should use refreshed value", "value2", cache.get(loader));
+    }
+
+    @Test
+    public void testSingleLoad() throws Exception {
+        LOG.info("Single Load Test");
+        final CachedValue<String> cache = new CachedValue<>(1, 0, TimeUnit.HOURS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedValue.Loader<String> loader = new CachedValue.Loader<String>() {
+            @Override
+            public String load() throws MovieDbException {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "value";
+            }
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return cache.get(loader);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("Wrong value", "value", result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals("Should only load once", 1, calls.get());
+    }
+
+    @Test(expected = MovieDbException.class)
+    public void testFailedFirstLoad() throws MovieDbException {
+        LOG.info("Failed First Load Test");
+        CountingLoader loader = new CountingLoader();
+        loader.fail = true;
+        new TestCache().get(loader);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.artwork.ArtworkMedia;
+import com.omertron.themoviedbapi.model.media.MediaBasic;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import com.omertron.themoviedbapi.model.person.PersonFind;
+import com.omertron.themoviedbapi.model.tv.TVBasic;
+import com.omertron.themoviedbapi.results.WrapperMultiSearch;
+import java.io.IOException;
+import java.util.List;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Test case for GeneratedDeserializers.
+ *
+ * The results are compared with the Jackson bean deserializers. The comparisons are skipped if the generated deserializers are
+ * not available, e.g. when the generated-deserializers profile has not been used, but the fallback and the helper methods called
+ * by the generated code are always tested.
+ */
+public class GeneratedDeserializersTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedDeserializersTest.class);
+    private static final ObjectMapper JACKSON = UnknownProperties.configure(new ObjectMapper());
+    private static final ObjectMapper GENERATED = GeneratedDeserializers.configure(UnknownProperties.configure(new ObjectMapper()));
+    private static final String MOVIE_JSON = "{\"adult\":false,\"backdrop_path\":\"/87hTDiay2N2qWyX4Ds7ybXi9h8I.jpg\","
+            + "\"belongs_to_collection\":null,\"budget\":63000000,\"genres\":[{\"id\":18,\"name\":\"Drama\"}],"
+            + "\"homepage\":\"\",\"id\":550,\"imdb_id\":\"tt0137523\",\"original_language\":\"en\",\"original_title\":\"Fight Club\","
+            + "\"overview\":null,\"popularity\":2.5,\"poster_path\":\"/811DjJTon9gD6hZ8nCjSitaIXFQ.jpg\","
+            + "\"production_companies\":[{\"name\":\"Regency Enterprises\",\"id\":508}],"
+            + "\"production_countries\":[{\"iso_3166_1\":\"US\",\"name\":\"United States of America\"}],"
+            + "\"release_date\":\"1999-10-15\",\"revenue\":100853753,\"runtime\":139,\"spoken_languages\":[{\"iso_639_1\":\"en\",\"name\":\"English\"}],"
+            + "\"status\":\"Released\",\"tagline\":\"Mischief. Mayhem. Soap.\",\"title\":\"Fight Club\",\"video\":false,"
+            + "\"vote_average\":7.7,\"vote_count\":3185,\"not_a_field\":{\"nested\":[1,2]},"
+            + "\"keywords\":{\"keywords\":[{\"id\":825,\"name\":\"support group\"}]},"
+            + "\"similar\":{\"page\":1,\"results\":[{\"id\":807,\"title\":\"Se7en\"}],\"total_pages\":1,\"total_results\":1}}";
+    private static final String MULTI_JSON = "{\"page\":1,\"results\":["
+            + "{\"id\":550,\"media_type\":\"movie\",\"title\":\"Fight Club\",\"vote_average\":7.7},"
+            + "{\"id\":1396,\"name\":\"Breaking Bad\",\"media_type\":\"tv\",\"first_air_date\":\"2008-01-19\"},"
+            + "{\"id\":1,\"media_type\":\"unknown\",\"popularity\":1.5}],"
+            + "\"total_pages\":1,\"total_results\":3}";
+    private static final String KNOWN_FOR_JSON = "{\"id\":287,\"name\":\"Brad Pitt\",\"known_for\":["
+            + "{\"id\":550,\"media_type\":\"movie\",\"title\":\"Fight Club\"}]}";
+    private static final String ARTWORK_JSON = "{\"id\":\"52fe4250c3a36847f80149f3\",\"file_path\":\"/a.jpg\",\"width\":500,"
+            + "\"media\":{\"id\":1396,\"name\":\"Breaking Bad\"},\"media_type\":\"tv\"}";
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    /**
+     * Reads the results with the helper the generated code uses for typed lists
+     */
+    private static final class TypedResults {
+
+        @JsonDeserialize(using = TypedListDeserializer.class)
+        private List<Object> results;
+        private int page;
+
+        public void setResults(List<Object> results) {
+            this.results = results;
+        }
+
+        public void setPage(int page) {
+            this.page = page;
+        }
+    }
+
+    private static final class TypedListDeserializer extends JsonDeserializer<List<Object>> {
+
+        @Override
+        public List<Object> deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            return GeneratedDeserializers.typedList(parser, ctxt, "media_type", new String[]{"movie", "tv"},
+                    new Class<?>[]{MovieBasic.class, TVBasic.class}, MediaBasic.class);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        UnknownProperties.reset();
+    }
+
+    @Test
+    public void testMovie() throws IOException {
+        LOG.info("Movie Test");
+        assumeTrue("Generated deserializers are not available", GeneratedDeserializers.isAvailable());
+        MovieInfo expected = JACKSON.readValue(MOVIE_JSON, MovieInfo.class);
+        MovieInfo actual = GENERATED.readValue(MOVIE_JSON, MovieInfo.class);
+        assertEquals("Wrong movie", expected.toString(), actual.toString());
+        assertEquals("Wrong similar title", "Se7en", actual.getSimilarMovies().get(0).getTitle());
+        assertEquals("Wrong unknown count", 2, UnknownProperties.getCount(MovieInfo.class, "not_a_field"));
+    }
+
+    @Test
+    public void testTypedList() throws IOException {
+        LOG.info("Typed List Test");
+        assumeTrue("Generated deserializers are not available", GeneratedDeserializers.isAvailable());
+        WrapperMultiSearch expected = JACKSON.readValue(MULTI_JSON, WrapperMultiSearch.class);
+        WrapperMultiSearch actual = GENERATED.readValue(MULTI_JSON, WrapperMultiSearch.class);
+        assertEquals("Wrong results", expected.getResults().toString(), actual.getResults().toString());
+        assertTrue("Wrong movie type", actual.getResults().get(0) instanceof MovieBasic);
+        assertTrue("Wrong TV type", actual.getResults().get(1) instanceof TVBasic);
+        assertEquals("Wrong default type", expected.getResults().get(2).getClass(), actual.getResults().get(2).getClass());
+
+        PersonFind expectedPerson = JACKSON.readValue(KNOWN_FOR_JSON, PersonFind.class);
+        PersonFind actualPerson = GENERATED.readValue(KNOWN_FOR_JSON, PersonFind.class);
+        assertEquals("Wrong person", expectedPerson.toString(), actualPerson.toString());
+    }
+
+    @Test
+    public void testExternalType() throws IOException {
+        LOG.info("External Type Test");
+        assumeTrue("Generated deserializers are not available", GeneratedDeserializers.isAvailable());
+        ArtworkMedia expected = JACKSON.readValue(ARTWORK_JSON, ArtworkMedia.class);
+        ArtworkMedia actual = GENERATED.readValue(ARTWORK_JSON, ArtworkMedia.class);
+        assertEquals("Wrong artwork", expected.toString(), actual.toString());
+        assertTrue("Wrong media type", actual.getMedia() instanceof TVBasic);
+        assertEquals("Wrong media type", expected.getMediaType(), actual.getMediaType());
+    }
+
+    @Test
+    public void testFallback() throws IOException {
+        LOG.info("Fallback Test");
+        boolean present;
+        try {
+            Class.forName(GeneratedDeserializers.MODULE_CLASS);
+            present = true;
+        } catch (ClassNotFoundException ex) {
+            present = false;
+        }
+        assertEquals("Wrong availability", present && !Boolean.getBoolean(GeneratedDeserializers.DISABLE_PROPERTY),
+                GeneratedDeserializers.isAvailable());
+
+        // Without the generated module the mapper is returned as it was and maps with the bean deserializers
+        ObjectMapper mapper = new ObjectMapper();
+        assertSame("Should return the mapper", mapper, GeneratedDeserializers.configure(mapper));
+        UnknownProperties.configure(mapper);
+        MovieInfo expected = JACKSON.readValue(MOVIE_JSON, MovieInfo.class);
+        MovieInfo actual = mapper.readValue(MOVIE_JSON, MovieInfo.class);
+        assertEquals("Wrong movie", expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testTypedHelper() throws IOException {
+        LOG.info("Typed Helper Test");
+        WrapperMultiSearch expected = JACKSON.readValue(MULTI_JSON, WrapperMultiSearch.class);
+        TypedResults actual = JACKSON.readValue(MULTI_JSON.replace(",\"total_pages\":1,\"total_results\":3", ""), TypedResults.class);
+        assertEquals("Wrong page", 1, actual.page);
+        assertEquals("Wrong results", expected.getResults().toString(), actual.results.toString());
+        assertTrue("Wrong movie type", actual.results.get(0) instanceof MovieBasic);
+        assertTrue("Wrong TV type", actual.results.get(1) instanceof TVBasic);
+        assertEquals("Wrong default type", MediaBasic.class, actual.results.get(2).getClass());
+
+        TypedResults empty = JACKSON.readValue("{\"results\":null}", TypedResults.class);
+        assertNull("Null list should stay null", empty.results);
+    }
+}
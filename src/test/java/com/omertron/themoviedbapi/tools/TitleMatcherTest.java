@@ -0,0 +1,165 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.movie.MovieBasic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for TitleMatcher
+ */
+public class TitleMatcherTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TitleMatcherTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Test
+    public void testDistance() {
+        LOG.info("Distance Test");
+        assertEquals("Wrong distance", 3, TitleMatcher.distance("kitten", "sitting", 3));
+        assertEquals("Over the maximum", -1, TitleMatcher.distance("kitten", "sitting", 2));
+        assertEquals("Equal strings", 0, TitleMatcher.distance("Alien", "Alien", 0));
+        assertEquals("Different at distance 0", -1, TitleMatcher.distance("Alien", "Aliens", 0));
+        assertEquals("Empty string", 2, TitleMatcher.distance("", "ab", 2));
+
+        // Compare with the full calculation for random strings
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            String first = randomString(random);
+            String second = random.nextBoolean() ? randomString(random) : mutate(random, first);
+            int expected = StringUtils.getLevenshteinDistance(first, second);
+            int maxDistance = random.nextInt(8);
+            int actual = TitleMatcher.distance(first, second, maxDistance);
+            assertEquals("Wrong distance between '" + first + "' and '" + second + "' with maximum " + maxDistance,
+                    expected <= maxDistance ? expected : -1, actual);
+        }
+    }
+
+    @Test
+    public void testNormalise() {
+        LOG.info("Normalise Test");
+        assertEquals("Wrong accents", "Amelie", TitleMatcher.normalise("Amélie", true));
+        assertEquals("Wrong case", "les miserables", TitleMatcher.normalise("Les Misérables", false));
+        assertEquals("Wrong ligature", "fin", TitleMatcher.normalise("ﬁn", true));
+        assertNull("Null title", TitleMatcher.normalise(null, true));
+    }
+
+    @Test
+    public void testMatches() {
+        LOG.info("Matches Test");
+        MovieBasic movie = movie("Léon", null, "1994-09-14");
+        TitleMatcher matcher = new TitleMatcher(1, false);
+        assertTrue("Should match", matcher.matches(movie, "LEON", "1994"));
+        assertTrue("Should match within the distance", matcher.matches(movie, "Lean", ""));
+        assertFalse("Should not match the year", matcher.matches(movie, "Leon", "1995"));
+        assertFalse("Should not match a blank title", matcher.matches(movie, " ", "1994"));
+        assertFalse("Should not match without a movie", matcher.matches(null, "Leon", "1994"));
+    }
+
+    @Test
+    public void testBestMatch() {
+        LOG.info("Best Match Test");
+        Random random = new Random(3);
+        List<MovieBasic> movies = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            movies.add(movie(randomString(random), random.nextBoolean() ? null : randomString(random), null));
+        }
+        MovieBasic close = movie("The Godfather Part II", "Il padrino - Parte II", "1974-12-12");
+        MovieBasic exact = movie("The Godfather Part III", null, "1990-12-25");
+        movies.add(15000, close);
+        movies.add(19000, exact);
+
+        TitleMatcher matcher = new TitleMatcher(2, false);
+        assertSame("Wrong closest", close, matcher.bestMatch(movies, "The Godfather Part 2", ""));
+        assertSame("Wrong exact", exact, matcher.bestMatch(movies, "the godfather part iii", ""));
+        assertSame("Wrong year", close, matcher.bestMatch(movies, "The Godfather Part I", "1974"));
+        assertNull("Should not match", matcher.bestMatch(movies, "Apocalypse Now", ""));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TitleMatcher parallel = new TitleMatcher(2, false, pool);
+            for (int i = 0; i < 200; i++) {
+                String title = i % 2 == 0 ? movies.get(random.nextInt(movies.size())).getTitle() : randomString(random);
+                assertSame("Parallel match should be the same for '" + title + "'", matcher.bestMatch(movies, title, ""),
+                        parallel.bestMatch(movies, title, ""));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static MovieBasic movie(String title, String originalTitle, String releaseDate) {
+        MovieBasic movie = new MovieBasic();
+        movie.setTitle(title);
+        movie.setOriginalTitle(originalTitle);
+        movie.setReleaseDate(releaseDate);
+        return movie;
+    }
+
+    private static String randomString(Random random) {
+        char[] chars = new char[random.nextInt(12)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+    private static String mutate(Random random, String value) {
+        StringBuilder sb = new StringBuilder(value);
+        int changes = random.nextInt(5);
+        for (int i = 0; i < changes; i++) {
+            int position = sb.length() == 0 ? 0 : random.nextInt(sb.length());
+            switch (random.nextInt(3)) {
+                case 0:
+                    sb.insert(position, 'x');
+                    break;
+                case 1:
+                    if (sb.length() > 0) {
+                        sb.deleteCharAt(position);
+                    }
+                    break;
+                default:
+                    if (sb.length() > 0) {
+                        sb.setCharAt(position, 'y');
+                    }
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
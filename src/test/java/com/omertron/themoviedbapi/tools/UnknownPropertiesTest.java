@@ -0,0 +1,89 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.Genre;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for UnknownProperties
+ */
+public class UnknownPropertiesTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UnknownPropertiesTest.class);
+    private static final String GENRE_JSON = "{\"id\":28,\"name\":\"Action\",\"extra\":{\"nested\":[1,2,3]},\"other\":\"value\"}";
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @After
+    public void tearDown() {
+        UnknownProperties.setSkipUnknown(false);
+        UnknownProperties.reset();
+    }
+
+    @Test
+    public void testRecord() throws IOException {
+        LOG.info("Record Test");
+        UnknownProperties.reset();
+        ObjectMapper mapper = UnknownProperties.configure(new ObjectMapper());
+
+        Genre genre = mapper.readValue(GENRE_JSON, Genre.class);
+        mapper.readValue(GENRE_JSON, Genre.class);
+
+        assertEquals("Wrong ID", 28, genre.getId());
+        assertEquals("Wrong name", "Action", genre.getName());
+        assertEquals("Wrong 'extra' count", 2L, UnknownProperties.getCount(Genre.class, "extra"));
+        assertEquals("Wrong 'other' count", 2L, UnknownProperties.getCount(Genre.class, "other"));
+        assertEquals("Wrong total", 4L, UnknownProperties.getTotal());
+
+        Map<String, Map<String, Long>> counts = UnknownProperties.getCounts();
+        assertTrue("Missing class", counts.containsKey(Genre.class.getName()));
+        assertEquals("Wrong number of keys", 2, counts.get(Genre.class.getName()).size());
+    }
+
+    @Test
+    public void testSkipUnknown() throws IOException {
+        LOG.info("Skip Unknown Test");
+        UnknownProperties.reset();
+        UnknownProperties.setSkipUnknown(true);
+        // Use a new mapper as the deserializers are cached
+        ObjectMapper mapper = UnknownProperties.configure(new ObjectMapper());
+
+        Genre genre = mapper.readValue(GENRE_JSON, Genre.class);
+
+        assertEquals("Wrong ID", 28, genre.getId());
+        assertEquals("Wrong name", "Action", genre.getName());
+        assertEquals("Unknown properties should not be counted", 0L, UnknownProperties.getTotal());
+    }
+
+}
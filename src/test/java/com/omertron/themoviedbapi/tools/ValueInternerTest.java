@@ -0,0 +1,302 @@
+/*
+ *      Copyright (c) 2004-2016 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omertron.themoviedbapi.TestLogger;
+import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.movie.MovieInfo;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test case for ValueInterner
+ */
+public class ValueInternerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ValueInternerTest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] GENRES = {"Action", "Adventure", "Animation", "Comedy", "Crime", "Documentary", "Drama", "Family",
+        "Fantasy", "History", "Horror", "Music", "Mystery", "Romance", "Science Fiction", "TV Movie", "Thriller", "War", "Western"};
+    private static final String[] LANGUAGES = {"en", "fr", "de", "es", "it", "ja", "ko", "zh", "ru", "pt", "hi", "sv", "da", "nl"};
+    private static final String[] COUNTRIES = {"US", "GB", "FR", "DE", "ES", "IT", "JP", "KR", "CN", "RU", "BR", "IN", "SE", "CA"};
+    private static final String[][] JOBS = {{"Directing", "Director"}, {"Writing", "Screenplay"}, {"Writing", "Novel"},
+        {"Production", "Producer"}, {"Production", "Casting"}, {"Sound", "Original Music Composer"}, {"Camera", "Director of Photography"},
+        {"Editing", "Editor"}};
+
+    @BeforeClass
+    public static void setUpClass() {
+        TestLogger.configure();
+    }
+
+    @Before
+    public void setUp() {
+        ValueInterner.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        ValueInterner.setEnabled(false);
+        ValueInterner.clear();
+    }
+
+    @Test
+    public void testIntern() {
+        LOG.info("Intern Test");
+        String first = ValueInterner.intern(new String("en"));
+        String second = ValueInterner.intern(new String("en"));
+        assertSame("Should share the string", first, second);
+
+        Genre genre = genre(18, "Drama");
+        assertSame("Should share the genre", ValueInterner.canonical(genre), ValueInterner.canonical(genre(18, "Drama")));
+        assertNotSame("Different values should not be shared", genre, ValueInterner.canonical(genre(18, "Dramas")));
+
+        ValueInterner.setEnabled(false);
+        assertNotSame("Should not share when disabled", first, ValueInterner.intern(new String("en")));
+    }
+
+    @Test
+    public void testListNotChanged() {
+        LOG.info("List Not Changed Test");
+        Genre shared = ValueInterner.canonical(genre(18, "Drama"));
+        Genre copy = genre(18, "Drama");
+        List<Genre> genres = new ArrayList<>(Arrays.asList(copy, genre(35, "Comedy")));
+
+        List<Genre> result = ValueInterner.canonicalList(genres);
+        assertNotSame("Should return a copy", genres, result);
+        assertSame("Copy should hold the shared genre", shared, result.get(0));
+        assertSame("Caller's list should not change", copy, genres.get(0));
+        assertSame("Fully shared list should be returned as it is", result, ValueInterner.canonicalList(result));
+
+        String us = ValueInterner.intern("US");
+        List<String> codes = Arrays.asList(new String("US"), new String("GB"));
+        List<String> interned = ValueInterner.internList(codes);
+        assertNotSame("Should return a copy", codes, interned);
+        assertSame("Should share the code", us, interned.get(0));
+
+        ValueInterner.setEnabled(false);
+        assertSame("Should not copy when disabled", genres, ValueInterner.canonicalList(genres));
+    }
+
+    @Test
+    public void testDeserialization() throws IOException {
+        LOG.info("Deserialization Test");
+        String json = movieJson(new Random(1), 550);
+        MovieInfo first = MAPPER.readValue(json, MovieInfo.class);
+        MovieInfo second = MAPPER.readValue(json, MovieInfo.class);
+
+        assertSame("Genres should be shared", first.getGenres().get(0), second.getGenres().get(0));
+        assertSame("Languages should be shared", first.getSpokenLanguages().get(0), second.getSpokenLanguages().get(0));
+        assertSame("Countries should be shared", first.getProductionCountries().get(0), second.getProductionCountries().get(0));
+        assertSame("Companies should be shared", first.getProductionCompanies().get(0), second.getProductionCompanies().get(0));
+        assertSame("Jobs should be shared", first.getCrew().get(0).getJob(), second.getCrew().get(0).getJob());
+        assertSame("Original language should be shared", first.getOriginalLanguage(), second.getOriginalLanguage());
+    }
+
+    /**
+     * Estimate the memory saved on a catalog of movies.
+     *
+     * The size defaults to a small catalog for the test, use "-Dinterner.catalogSize=100000" for the full catalog
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRetainedBytes() throws IOException {
+        LOG.info("Retained Bytes Test");
+        int catalogSize = Integer.getInteger("interner.catalogSize", 2000);
+
+        ValueInterner.setEnabled(false);
+        long plain = estimateSize(loadCatalog(catalogSize));
+        ValueInterner.setEnabled(true);
+        long interned = estimateSize(loadCatalog(catalogSize));
+
+        long saved = plain - interned;
+        LOG.info("Catalog of {} movies: {} bytes without interning, {} bytes with, {} bytes ({}%) saved", catalogSize, plain,
+                interned, saved, saved * 100 / plain);
+        LOG.info("Estimated saving for 100,000 movies: {} MB", saved * 100000L / catalogSize / (1024 * 1024));
+        assertTrue("Interning should save memory", saved > 0);
+        assertTrue("Values should be pooled", ValueInterner.size() > GENRES.length);
+    }
+
+    private static List<MovieInfo> loadCatalog(int size) throws IOException {
+        Random random = new Random(42);
+        List<MovieInfo> catalog = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            catalog.add(MAPPER.readValue(movieJson(random, id), MovieInfo.class));
+        }
+        return catalog;
+    }
+
+    private static String movieJson(Random random, int id) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(id).append(",\"title\":\"Movie ").append(id).append('"');
+        json.append(",\"original_language\":\"").append(LANGUAGES[random.nextInt(LANGUAGES.length)]).append('"');
+
+        json.append(",\"genres\":[");
+        for (int i = 0; i < 3; i++) {
+            int genre = random.nextInt(GENRES.length);
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(genre + 1).append(",\"name\":\"").append(GENRES[genre]).append("\"}");
+        }
+        json.append("],\"spoken_languages\":[");
+        for (int i = 0; i < 2; i++) {
+            String language = LANGUAGES[random.nextInt(LANGUAGES.length)];
+            json.append(i > 0 ? "," : "").append("{\"iso_639_1\":\"").append(language).append("\",\"name\":\"Language ")
+                    .append(language).append("\"}");
+        }
+        json.append("],\"production_countries\":[");
+        for (int i = 0; i < 2; i++) {
+            String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+            json.append(i > 0 ? "," : "").append("{\"iso_3166_1\":\"").append(country).append("\",\"name\":\"Country ")
+                    .append(country).append("\"}");
+        }
+        json.append("],\"production_companies\":[");
+        for (int i = 0; i < 3; i++) {
+            int company = random.nextInt(500);
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(company).append(",\"name\":\"Company ").append(company).append("\"}");
+        }
+        json.append("],\"credits\":{\"cast\":[],\"crew\":[");
+        for (int i = 0; i < 10; i++) {
+            String[] job = JOBS[random.nextInt(JOBS.length)];
+            int person = random.nextInt(100000);
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(person).append(",\"name\":\"Person ").append(person)
+                    .append("\",\"department\":\"").append(job[0]).append("\",\"job\":\"").append(job[1]).append("\"}");
+        }
+        json.append("]}}");
+        return json.toString();
+    }
+
+    private static Genre genre(int id, String name) {
+        Genre genre = new Genre();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+
+    /**
+     * Estimate the retained size of the objects, assuming compressed references and compact strings
+     */
+    private static long estimateSize(Object root) {
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long total = 0;
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            if (object instanceof Enum || object instanceof Boolean || seen.put(object, Boolean.TRUE) != null) {
+                continue;
+            }
+
+            Class<?> cls = object.getClass();
+            if (object instanceof String) {
+                total += align(24) + align(16 + ((String) object).length());
+            } else if (object instanceof Number) {
+                total += object instanceof Long || object instanceof Double ? 24 : 16;
+            } else if (cls.isArray()) {
+                int length = Array.getLength(object);
+                if (cls.getComponentType().isPrimitive()) {
+                    total += align(16 + length * primitiveSize(cls.getComponentType()));
+                } else {
+                    total += align(16 + length * 4L);
+                    for (int i = 0; i < length; i++) {
+                        push(pending, Array.get(object, i));
+                    }
+                }
+            } else if (object instanceof Collection) {
+                Collection<?> collection = (Collection<?>) object;
+                total += 24 + align(16 + collection.size() * 4L);
+                for (Object item : collection) {
+                    push(pending, item);
+                }
+            } else if (object instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) object;
+                total += 48 + align(16 + map.size() * 4L) + map.size() * 32L;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    push(pending, entry.getKey());
+                    push(pending, entry.getValue());
+                }
+            } else if (cls.getName().startsWith("com.omertron.")) {
+                long size = 12;
+                for (Class<?> current = cls; current != Object.class; current = current.getSuperclass()) {
+                    for (Field field : current.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers())) {
+                            continue;
+                        }
+                        if (field.getType().isPrimitive()) {
+                            size += primitiveSize(field.getType());
+                        } else {
+                            size += 4;
+                            field.setAccessible(true);
+                            try {
+                                push(pending, field.get(object));
+                            } catch (IllegalAccessException ex) {
+                                throw new IllegalStateException(ex);
+                            }
+                        }
+                    }
+                }
+                total += align(size);
+            } else {
+                total += 16;
+            }
+        }
+        return total;
+    }
+
+    private static void push(Deque<Object> pending, Object object) {
+        if (object != null) {
+            pending.push(object);
+        }
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) / 8 * 8;
+    }
+}